@@ -0,0 +1,136 @@
+package com.neuramatch.matching.alert;
+
+import com.neuramatch.matching.embedding.GeminiEmbeddingService;
+import com.neuramatch.matching.vector.JobIndexedEvent;
+import com.neuramatch.matching.vector.JobVector;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Matches each newly indexed job against all saved searches in one pass and publishes
+ * a job alert per match.
+ *
+ * Saved searches are stored as vectors next to their filters, so percolating a job is a
+ * single HNSW query over query vectors, with the filters checked on the nearest
+ * {@code max-matches-per-job} searches, instead of one search per candidate. An alert is sent at most once per (search, job), so job edits
+ * do not re-notify.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class JobAlertPercolator {
+
+    private static final String SENT_KEY_PREFIX = "alert:sent:";
+
+    private final SavedSearchRepository savedSearchRepository;
+    private final GeminiEmbeddingService geminiEmbeddingService;
+    private final KafkaTemplate<String, Map<String, Object>> kafkaTemplate;
+    private final RedisTemplate<String, String> redisTemplate;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${matching.alerts.enabled:true}")
+    private boolean enabled;
+
+    @Value("${matching.alerts.topic:job-alert-events}")
+    private String topic;
+
+    @Value("${matching.alerts.max-matches-per-job:1000}")
+    private int maxMatchesPerJob;
+
+    @Value("${matching.alerts.dedupe-ttl-hours:720}")
+    private long dedupeTtlHours;
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onJobIndexed(JobIndexedEvent event) {
+        JobVector job = event.getJobVector();
+        if (!enabled || job.getJobId() == null || !Boolean.TRUE.equals(job.getIsActive())) {
+            return;
+        }
+
+        try {
+            percolate(job);
+        } catch (Exception e) {
+            log.warn("Failed to percolate job {} against saved searches: {}", job.getJobId(), e.getMessage());
+        }
+    }
+
+    /**
+     * Publish alerts for every saved search the job satisfies
+     *
+     * @return number of alerts published
+     */
+    public int percolate(JobVector job) {
+        long start = System.currentTimeMillis();
+
+        List<SavedSearch> matches = savedSearchRepository.percolate(
+            job.getEmbedding().toString(),
+            job.getLocation(),
+            job.getRemoteType(),
+            job.getEmploymentType(),
+            job.getMaxSalary(),
+            job.getMinYearsExperience(),
+            maxMatchesPerJob
+        );
+
+        int published = 0;
+        float[] jobEmbedding = job.getEmbedding().toArray();
+        for (SavedSearch search : matches) {
+            if (markSent(search.getId(), job.getJobId())) {
+                double similarity = geminiEmbeddingService.cosineSimilarity(jobEmbedding, search.getEmbedding().toArray());
+                kafkaTemplate.send(topic, String.valueOf(search.getResumeId()), alertEvent(search, job, similarity));
+                published++;
+            }
+        }
+
+        meterRegistry.counter("matching.alerts.published").increment(published);
+        if (matches.size() >= maxMatchesPerJob) {
+            log.warn("Job {} matched {} saved searches, the per-job cap; some alerts were not sent",
+                job.getJobId(), matches.size());
+        }
+        log.debug("Percolated job {}: {} matching searches, {} alerts in {} ms",
+            job.getJobId(), matches.size(), published, System.currentTimeMillis() - start);
+        return published;
+    }
+
+    /**
+     * Record the (search, job) pair; false when it was already alerted
+     */
+    private boolean markSent(Long searchId, Long jobId) {
+        try {
+            Boolean first = redisTemplate.opsForValue().setIfAbsent(
+                SENT_KEY_PREFIX + searchId + ":" + jobId, "1", Duration.ofHours(dedupeTtlHours));
+            return !Boolean.FALSE.equals(first);
+        } catch (Exception e) {
+            // Prefer a possible duplicate alert over a missed one
+            log.debug("Alert dedupe unavailable: {}", e.getMessage());
+            return true;
+        }
+    }
+
+    private Map<String, Object> alertEvent(SavedSearch search, JobVector job, double similarity) {
+        Map<String, Object> event = new HashMap<>();
+        event.put("savedSearchId", search.getId());
+        event.put("resumeId", search.getResumeId());
+        event.put("source", search.getSource().name());
+        event.put("jobId", job.getJobId());
+        event.put("title", job.getTitle());
+        event.put("companyName", job.getCompanyName());
+        event.put("location", job.getLocation());
+        event.put("remoteType", job.getRemoteType());
+        event.put("similarity", similarity);
+        event.put("timestamp", LocalDateTime.now().toString());
+        return event;
+    }
+}
@@ -0,0 +1,88 @@
+package com.neuramatch.matching.alert;
+
+import com.pgvector.PGvector;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * A candidate's standing job query: an embedding plus filters, matched against every
+ * newly indexed job by the percolator.
+ */
+@Entity
+@Table(name = "saved_searches", indexes = {
+    @Index(name = "idx_saved_search_resume_id", columnList = "resume_id")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SavedSearch {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "resume_id", nullable = false)
+    private Long resumeId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "source", nullable = false)
+    private Source source;
+
+    @Column(name = "query_text", length = 1000)
+    private String queryText; // null for PROFILE searches
+
+    @Column(name = "embedding", columnDefinition = "vector(768)", nullable = false)
+    private PGvector embedding;
+
+    @Column(name = "min_similarity", nullable = false)
+    private Double minSimilarity;
+
+    // Filters pre-checked before similarity; null means "any"
+    @Column(name = "location")
+    private String location;
+
+    @Column(name = "remote_type")
+    private String remoteType; // REMOTE, HYBRID, ONSITE
+
+    @Column(name = "employment_type")
+    private String employmentType;
+
+    @Column(name = "min_salary")
+    private Integer minSalary;
+
+    @Column(name = "years_of_experience")
+    private Integer yearsOfExperience;
+
+    @Column(name = "is_active")
+    @Builder.Default
+    private Boolean isActive = true;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    /**
+     * Helper method to set embedding from List<Double>
+     */
+    public void setEmbeddingFromList(java.util.List<Double> embeddingList) {
+        float[] floatArray = new float[embeddingList.size()];
+        for (int i = 0; i < embeddingList.size(); i++) {
+            floatArray[i] = embeddingList.get(i).floatValue();
+        }
+        this.embedding = new PGvector(floatArray);
+    }
+
+    public enum Source {
+        QUERY,   // free-text query, embedded once on creation
+        PROFILE  // follows the candidate's resume embedding
+    }
+}
@@ -0,0 +1,68 @@
+package com.neuramatch.matching.alert;
+
+import com.neuramatch.matching.vector.HnswSearchTuning;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Repository for saved searches and their reverse (job to query) matching
+ */
+@Repository
+public interface SavedSearchRepository extends JpaRepository<SavedSearch, Long>, HnswSearchTuning {
+
+    List<SavedSearch> findByResumeIdAndIsActiveTrue(Long resumeId);
+
+    /**
+     * Percolate one job: every active saved search whose filters accept the job and whose
+     * similarity threshold it clears, nearest first.
+     *
+     * The {@code limit} nearest searches come from the HNSW index on saved_searches.embedding,
+     * with ef_search raised so the index can return that many; filters and per-search
+     * thresholds are applied to those.
+     */
+    @Transactional(readOnly = true)
+    default List<SavedSearch> percolate(String embedding, String location, String remoteType,
+                                        String employmentType, Integer maxSalary, Integer minYears, int limit) {
+        setLocalEfSearch(HnswSearchTuning.efSearchFor(limit));
+        return percolateNearest(embedding, location, remoteType, employmentType, maxSalary, minYears, limit);
+    }
+
+    /**
+     * The inner query is a plain index-ordered scan; filtering inside it would stop HNSW
+     * from serving the ORDER BY. A remote job passes any location filter.
+     */
+    @Query(value = """
+        SELECT s.*
+        FROM (
+            SELECT n.*, (n.embedding <=> CAST(:embedding AS vector)) AS distance
+            FROM saved_searches n
+            ORDER BY n.embedding <=> CAST(:embedding AS vector)
+            LIMIT :limit
+        ) s
+        WHERE s.is_active = true
+        AND (s.remote_type IS NULL OR s.remote_type = CAST(:remoteType AS text))
+        AND (s.employment_type IS NULL OR s.employment_type = CAST(:employmentType AS text))
+        AND (s.location IS NULL OR CAST(:remoteType AS text) = 'REMOTE'
+             OR CAST(:location AS text) ILIKE CONCAT('%', s.location, '%'))
+        AND (s.min_salary IS NULL OR CAST(:maxSalary AS integer) IS NULL
+             OR CAST(:maxSalary AS integer) >= s.min_salary)
+        AND (s.years_of_experience IS NULL OR CAST(:minYears AS integer) IS NULL
+             OR s.years_of_experience >= CAST(:minYears AS integer))
+        AND s.distance <= 1 - s.min_similarity
+        ORDER BY s.distance
+        """, nativeQuery = true)
+    List<SavedSearch> percolateNearest(
+        @Param("embedding") String embedding,
+        @Param("location") String location,
+        @Param("remoteType") String remoteType,
+        @Param("employmentType") String employmentType,
+        @Param("maxSalary") Integer maxSalary,
+        @Param("minYears") Integer minYears,
+        @Param("limit") int limit
+    );
+}
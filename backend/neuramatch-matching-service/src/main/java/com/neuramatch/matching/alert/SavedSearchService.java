@@ -0,0 +1,125 @@
+package com.neuramatch.matching.alert;
+
+import com.neuramatch.matching.embedding.GeminiEmbeddingService;
+import com.neuramatch.matching.vector.ResumeIndexedEvent;
+import com.neuramatch.matching.vector.ResumeRemovedEvent;
+import com.neuramatch.matching.vector.ResumeVector;
+import com.neuramatch.matching.vector.ResumeVectorRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+
+/**
+ * Manages candidates' saved searches (standing job queries).
+ *
+ * A QUERY search embeds its text once. A PROFILE search uses the candidate's resume
+ * embedding and experience, and is kept in sync as the resume is re-indexed.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SavedSearchService {
+
+    private final SavedSearchRepository savedSearchRepository;
+    private final ResumeVectorRepository resumeVectorRepository;
+    private final GeminiEmbeddingService geminiEmbeddingService;
+
+    @Value("${matching.alerts.default-min-similarity:0.75}")
+    private double defaultMinSimilarity;
+
+    @Transactional
+    public SavedSearch create(SavedSearchRequest request) {
+        ResumeVector resume = resumeVectorRepository.findByResumeId(request.getResumeId())
+            .orElseThrow(() -> new IllegalArgumentException("Resume not found: " + request.getResumeId()));
+
+        boolean fromQuery = request.getQuery() != null && !request.getQuery().isBlank();
+        SavedSearch search = SavedSearch.builder()
+            .resumeId(resume.getResumeId())
+            .source(fromQuery ? SavedSearch.Source.QUERY : SavedSearch.Source.PROFILE)
+            .queryText(fromQuery ? request.getQuery() : null)
+            .embedding(resume.getEmbedding())
+            .minSimilarity(request.getMinSimilarity() != null ? request.getMinSimilarity() : defaultMinSimilarity)
+            .location(request.getLocation())
+            .remoteType(request.getRemoteType())
+            .employmentType(request.getEmploymentType())
+            .minSalary(request.getMinSalary())
+            .yearsOfExperience(resume.getYearsOfExperience())
+            .isActive(true)
+            .build();
+        if (fromQuery) {
+            search.setEmbeddingFromList(geminiEmbeddingService.generateEmbedding(request.getQuery()));
+        }
+
+        search = savedSearchRepository.save(search);
+        log.info("Saved {} search {} for resume {}", search.getSource(), search.getId(), search.getResumeId());
+        return search;
+    }
+
+    public List<SavedSearch> findForResume(Long resumeId) {
+        return savedSearchRepository.findByResumeIdAndIsActiveTrue(resumeId);
+    }
+
+    @Transactional
+    public void deactivate(Long id) {
+        savedSearchRepository.findById(id).ifPresent(search -> {
+            search.setIsActive(false);
+            savedSearchRepository.save(search);
+        });
+    }
+
+    /**
+     * Follow resume changes: PROFILE searches take the new embedding, all searches the new experience
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void onResumeIndexed(ResumeIndexedEvent event) {
+        ResumeVector resume = event.getResumeVector();
+        if (resume.getResumeId() == null) {
+            return;
+        }
+
+        List<SavedSearch> searches = savedSearchRepository.findByResumeIdAndIsActiveTrue(resume.getResumeId());
+        for (SavedSearch search : searches) {
+            if (search.getSource() == SavedSearch.Source.PROFILE) {
+                search.setEmbedding(resume.getEmbedding());
+            }
+            search.setYearsOfExperience(resume.getYearsOfExperience());
+        }
+        if (!searches.isEmpty()) {
+            savedSearchRepository.saveAll(searches);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void onResumeRemoved(ResumeRemovedEvent event) {
+        List<SavedSearch> searches = savedSearchRepository.findByResumeIdAndIsActiveTrue(event.getResumeId());
+        searches.forEach(search -> search.setIsActive(false));
+        if (!searches.isEmpty()) {
+            savedSearchRepository.saveAll(searches);
+            log.info("Deactivated {} saved searches of removed resume {}", searches.size(), event.getResumeId());
+        }
+    }
+
+    // ========== DTOs ==========
+
+    @lombok.Data
+    @lombok.Builder
+    @lombok.NoArgsConstructor
+    @lombok.AllArgsConstructor
+    public static class SavedSearchRequest {
+        private Long resumeId;
+        private String query; // omit to follow the resume profile
+        private Double minSimilarity;
+        private String location;
+        private String remoteType;
+        private String employmentType;
+        private Integer minSalary;
+    }
+}
@@ -0,0 +1,76 @@
+package com.neuramatch.matching.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
+import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.util.backoff.FixedBackOff;
+
+import java.util.Map;
+
+/**
+ * Kafka wiring for the batch feedback consumer: raw-byte batches with manual commits,
+ * and a dead-letter publisher for records that can't be parsed.
+ */
+@Configuration
+@Slf4j
+public class FeedbackKafkaConfig {
+
+    public static final String FEEDBACK_BATCH_FACTORY = "feedbackBatchListenerFactory";
+
+    @Value("${matching.feedback.consumer.max-poll-records:500}")
+    private int maxPollRecords;
+
+    @Value("${matching.feedback.consumer.concurrency:1}")
+    private int concurrency;
+
+    @Value("${matching.feedback.consumer.retry-interval-ms:5000}")
+    private long retryIntervalMs;
+
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, byte[]> feedbackBatchListenerFactory(
+            KafkaProperties kafkaProperties) {
+        Map<String, Object> props = kafkaProperties.buildConsumerProperties(null);
+        props.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ByteArrayDeserializer.class);
+        props.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, maxPollRecords);
+        props.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+
+        ConcurrentKafkaListenerContainerFactory<String, byte[]> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(new DefaultKafkaConsumerFactory<>(props));
+        factory.setBatchListener(true);
+        factory.setConcurrency(concurrency);
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL);
+        // A batch that could not be applied is redelivered until the database is back
+        factory.setCommonErrorHandler(new DefaultErrorHandler(
+            new FixedBackOff(retryIntervalMs, FixedBackOff.UNLIMITED_ATTEMPTS)));
+        return factory;
+    }
+
+    @Bean
+    public DeadLetterPublishingRecoverer feedbackDeadLetterRecoverer(KafkaProperties kafkaProperties) {
+        Map<String, Object> props = kafkaProperties.buildProducerProperties(null);
+        props.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        props.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class);
+        KafkaTemplate<String, byte[]> template = new KafkaTemplate<>(new DefaultKafkaProducerFactory<>(props));
+
+        // <topic>.DLT, partition chosen by the producer so the DLT may have fewer partitions
+        return new DeadLetterPublishingRecoverer(template,
+            (record, exception) -> new TopicPartition(record.topic() + ".DLT", -1));
+    }
+}
@@ -1,11 +1,20 @@
 package com.neuramatch.matching.config;
 
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
 import io.github.resilience4j.ratelimiter.RateLimiter;
 import io.github.resilience4j.ratelimiter.RateLimiterConfig;
 import io.github.resilience4j.ratelimiter.RateLimiterRegistry;
 import io.github.resilience4j.retry.Retry;
 import io.github.resilience4j.retry.RetryConfig;
 import io.github.resilience4j.retry.RetryRegistry;
+import io.github.resilience4j.timelimiter.TimeLimiter;
+import io.github.resilience4j.timelimiter.TimeLimiterConfig;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
@@ -14,7 +23,7 @@ import org.springframework.context.annotation.Configuration;
 import java.time.Duration;
 
 /**
- * Configuration for Resilience4j rate limiting and retry logic
+ * Configuration for Resilience4j rate limiting, retry logic and the skill graph circuit breaker
  */
 @Configuration
 @Slf4j
@@ -26,6 +35,21 @@ public class Resilience4jConfig {
     @Value("${openai.retry.max-attempts:3}")
     private int maxRetryAttempts;
 
+    @Value("${matching.skill-graph.timeout-ms:250}")
+    private long skillGraphTimeoutMs;
+
+    @Value("${matching.skill-graph.failure-rate-threshold:50}")
+    private float skillGraphFailureRateThreshold;
+
+    @Value("${matching.skill-graph.slow-call-threshold-ms:150}")
+    private long skillGraphSlowCallThresholdMs;
+
+    @Value("${matching.skill-graph.open-state-duration-ms:15000}")
+    private long skillGraphOpenStateDurationMs;
+
+    @Value("${matching.skill-graph.max-concurrent-calls:16}")
+    private int skillGraphMaxConcurrentCalls;
+
     @Bean
     public RateLimiter openAiRateLimiter() {
         RateLimiterConfig config = RateLimiterConfig.custom()
@@ -66,4 +90,52 @@ public class Resilience4jConfig {
         log.info("Configured OpenAI retry: {} max attempts", maxRetryAttempts);
         return retry;
     }
+
+    @Bean
+    public CircuitBreaker skillGraphCircuitBreaker() {
+        CircuitBreakerConfig config = CircuitBreakerConfig.custom()
+            .slidingWindowType(CircuitBreakerConfig.SlidingWindowType.COUNT_BASED)
+            .slidingWindowSize(20)
+            .minimumNumberOfCalls(10)
+            .failureRateThreshold(skillGraphFailureRateThreshold)
+            .slowCallDurationThreshold(Duration.ofMillis(skillGraphSlowCallThresholdMs))
+            .slowCallRateThreshold(80)
+            .waitDurationInOpenState(Duration.ofMillis(skillGraphOpenStateDurationMs))
+            .permittedNumberOfCallsInHalfOpenState(5)
+            .automaticTransitionFromOpenToHalfOpenEnabled(true)
+            .build();
+
+        CircuitBreakerRegistry registry = CircuitBreakerRegistry.of(config);
+        CircuitBreaker circuitBreaker = registry.circuitBreaker("skillGraph");
+
+        circuitBreaker.getEventPublisher()
+            .onStateTransition(event -> log.warn("Skill graph circuit breaker: {}",
+                event.getStateTransition()));
+
+        log.info("Configured skill graph circuit breaker: {}% failure rate, {} ms open state",
+            skillGraphFailureRateThreshold, skillGraphOpenStateDurationMs);
+        return circuitBreaker;
+    }
+
+    @Bean
+    public TimeLimiter skillGraphTimeLimiter() {
+        TimeLimiterConfig config = TimeLimiterConfig.custom()
+            .timeoutDuration(Duration.ofMillis(skillGraphTimeoutMs))
+            .cancelRunningFuture(true)
+            .build();
+
+        log.info("Configured skill graph time limiter: {} ms", skillGraphTimeoutMs);
+        return TimeLimiterRegistry.of(config).timeLimiter("skillGraph");
+    }
+
+    @Bean
+    public Bulkhead skillGraphBulkhead() {
+        BulkheadConfig config = BulkheadConfig.custom()
+            .maxConcurrentCalls(skillGraphMaxConcurrentCalls)
+            .maxWaitDuration(Duration.ZERO)
+            .build();
+
+        log.info("Configured skill graph bulkhead: {} concurrent calls", skillGraphMaxConcurrentCalls);
+        return BulkheadRegistry.of(config).bulkhead("skillGraph");
+    }
 }
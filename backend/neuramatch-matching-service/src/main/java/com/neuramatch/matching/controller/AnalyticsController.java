@@ -44,9 +44,13 @@ public class AnalyticsController {
     }
 
     @GetMapping("/skills/{skill}/supply-demand")
-    public ResponseEntity<Map<String, Object>> getSupplyDemand(@PathVariable String skill) {
+    public ResponseEntity<Map<String, Object>> getSupplyDemand(
+            @PathVariable String skill,
+            @RequestParam(required = false) String location,
+            @RequestParam(required = false) Integer experience,
+            @RequestParam(required = false) String remoteType) {
         log.info("GET /api/v1/analytics/skills/{}/supply-demand", skill);
-        Map<String, Object> analysis = analyticsService.getSupplyDemandAnalysis(skill);
+        Map<String, Object> analysis = analyticsService.getSupplyDemandAnalysis(skill, location, experience, remoteType);
         return ResponseEntity.ok(analysis);
     }
 
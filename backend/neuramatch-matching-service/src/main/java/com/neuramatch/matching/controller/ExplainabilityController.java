@@ -9,6 +9,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/v1/explainability")
@@ -27,20 +28,12 @@ public class ExplainabilityController {
 
         log.info("GET /api/v1/explainability/match/{}/{} - Explaining match", jobId, resumeId);
 
-        // Get match result
-        ResumeJobMatchingService.MatchingCriteria criteria =
-                ResumeJobMatchingService.MatchingCriteria.builder()
-                        .limit(1)
-                        .build();
-
-        List<ResumeJobMatchingService.JobMatch> matches =
-                matchingService.findMatchingJobsForResume(resumeId, criteria);
-
-        if (matches.isEmpty()) {
+        // Score this exact pair
+        Optional<ResumeJobMatchingService.JobMatch> scored = matchingService.scorePair(jobId, resumeId);
+        if (scored.isEmpty()) {
             return ResponseEntity.notFound().build();
         }
-
-        ResumeJobMatchingService.JobMatch match = matches.get(0);
+        ResumeJobMatchingService.JobMatch match = scored.get();
 
         // Generate explanation
         MatchExplanationDTO explanation = explainabilityService.explainMatch(
@@ -5,10 +5,12 @@ import com.neuramatch.matching.dto.FeedbackRequest;
 import com.neuramatch.matching.service.FeedbackService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 
@@ -44,9 +46,17 @@ public class FeedbackController {
     }
 
     @GetMapping("/job/{jobId}/statistics")
-    public ResponseEntity<Map<String, Object>> getFeedbackStatistics(@PathVariable Long jobId) {
-        log.info("GET /api/v1/feedback/job/{}/statistics", jobId);
-        Map<String, Object> stats = feedbackService.getFeedbackStatistics(jobId);
+    public ResponseEntity<Map<String, Object>> getFeedbackStatistics(
+            @PathVariable Long jobId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        log.info("GET /api/v1/feedback/job/{}/statistics - from={}, to={}", jobId, from, to);
+        if ((from == null) != (to == null)) {
+            return ResponseEntity.badRequest().build();
+        }
+        Map<String, Object> stats = from != null
+                ? feedbackService.getFeedbackStatistics(jobId, from, to)
+                : feedbackService.getFeedbackStatistics(jobId);
         return ResponseEntity.ok(stats);
     }
 }
@@ -0,0 +1,67 @@
+package com.neuramatch.matching.controller;
+
+import com.neuramatch.matching.alert.SavedSearch;
+import com.neuramatch.matching.alert.SavedSearchService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * REST API for candidates' saved searches (job alerts)
+ */
+@RestController
+@RequestMapping("/api/v1/saved-searches")
+@Slf4j
+@RequiredArgsConstructor
+public class SavedSearchController {
+
+    private final SavedSearchService savedSearchService;
+
+    @PostMapping
+    public ResponseEntity<SavedSearchView> create(@RequestBody SavedSearchService.SavedSearchRequest request) {
+        log.info("POST /api/v1/saved-searches - resume: {}", request.getResumeId());
+        SavedSearch search = savedSearchService.create(request);
+        return ResponseEntity.status(HttpStatus.CREATED).body(SavedSearchView.of(search));
+    }
+
+    @GetMapping("/resume/{resumeId}")
+    public ResponseEntity<List<SavedSearchView>> getForResume(@PathVariable Long resumeId) {
+        log.info("GET /api/v1/saved-searches/resume/{}", resumeId);
+        return ResponseEntity.ok(savedSearchService.findForResume(resumeId).stream()
+            .map(SavedSearchView::of)
+            .toList());
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> delete(@PathVariable Long id) {
+        log.info("DELETE /api/v1/saved-searches/{}", id);
+        savedSearchService.deactivate(id);
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Saved search without its embedding
+     */
+    @lombok.Value
+    public static class SavedSearchView {
+        Long id;
+        Long resumeId;
+        String source;
+        String query;
+        Double minSimilarity;
+        String location;
+        String remoteType;
+        String employmentType;
+        Integer minSalary;
+
+        static SavedSearchView of(SavedSearch search) {
+            return new SavedSearchView(search.getId(), search.getResumeId(), search.getSource().name(),
+                search.getQueryText(), search.getMinSimilarity(), search.getLocation(), search.getRemoteType(),
+                search.getEmploymentType(), search.getMinSalary());
+        }
+    }
+}
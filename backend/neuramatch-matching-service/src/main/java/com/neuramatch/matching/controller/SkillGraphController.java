@@ -2,6 +2,7 @@ package com.neuramatch.matching.controller;
 
 import com.neuramatch.matching.dto.SkillEnrichmentDTO;
 import com.neuramatch.matching.dto.SkillRecommendationDTO;
+import com.neuramatch.matching.index.SkillProfileIndexService;
 import com.neuramatch.matching.service.SkillEnrichmentService;
 import com.neuramatch.matching.service.SkillGraphService;
 import lombok.RequiredArgsConstructor;
@@ -22,6 +23,7 @@ public class SkillGraphController {
 
     private final SkillGraphService skillGraphService;
     private final SkillEnrichmentService skillEnrichmentService;
+    private final SkillProfileIndexService skillProfileIndexService;
 
     /**
      * Enrich a single skill
@@ -175,6 +177,22 @@ public class SkillGraphController {
         return ResponseEntity.ok(result);
     }
 
+    /**
+     * Find resumes with similar skill profiles (MinHash/LSH candidates, graph-aware rerank)
+     */
+    @PostMapping("/similar-profiles")
+    public ResponseEntity<List<SkillProfileIndexService.SkillProfileMatch>> findSimilarProfiles(
+            @RequestBody SimilarProfilesRequest request) {
+        if (request.getSkills() == null || request.getSkills().isEmpty() || request.getLimit() <= 0) {
+            return ResponseEntity.badRequest().build();
+        }
+        log.debug("POST /api/skills/similar-profiles - {} skills, limit {}",
+            request.getSkills().size(), request.getLimit());
+
+        return ResponseEntity.ok(
+            skillProfileIndexService.findSimilarProfiles(request.getSkills(), request.getLimit()));
+    }
+
     // ========== Request DTOs ==========
 
     @lombok.Data
@@ -189,4 +207,10 @@ public class SkillGraphController {
         private Set<String> skillSet1;
         private Set<String> skillSet2;
     }
+
+    @lombok.Data
+    public static class SimilarProfilesRequest {
+        private Set<String> skills;
+        private int limit = 20;
+    }
 }
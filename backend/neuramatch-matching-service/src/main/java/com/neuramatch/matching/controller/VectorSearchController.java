@@ -1,17 +1,26 @@
 package com.neuramatch.matching.controller;
 
+import com.neuramatch.matching.ranking.MultiStageRankingService;
+import com.neuramatch.matching.search.CandidateStreamService;
+import com.neuramatch.matching.search.MatchPaginationService;
 import com.neuramatch.matching.search.ResumeJobMatchingService;
 import com.neuramatch.matching.search.SemanticSearchService;
 import com.neuramatch.matching.vector.JobVector;
 import com.neuramatch.matching.vector.ResumeVector;
 import com.neuramatch.matching.vector.VectorIndexingService;
+import com.neuramatch.matching.warmup.SearchQueryRecorder;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
 
 /**
  * REST API for vector search and matching operations
@@ -25,6 +34,9 @@ public class VectorSearchController {
     private final SemanticSearchService searchService;
     private final ResumeJobMatchingService matchingService;
     private final VectorIndexingService indexingService;
+    private final SearchQueryRecorder searchQueryRecorder;
+    private final MatchPaginationService paginationService;
+    private final CandidateStreamService streamService;
 
     /**
      * Search for resumes using natural language query
@@ -45,6 +57,7 @@ public class VectorSearchController {
 
         List<SemanticSearchService.SearchResult<ResumeVector>> results =
             searchService.searchResumes(request.getQuery(), filters, request.getLimit());
+        searchQueryRecorder.record("resumes", request.getQuery(), filters, request.getLimit());
 
         return ResponseEntity.ok(results);
     }
@@ -68,6 +81,7 @@ public class VectorSearchController {
 
         List<SemanticSearchService.SearchResult<JobVector>> results =
             searchService.searchJobs(request.getQuery(), filters, request.getLimit());
+        searchQueryRecorder.record("jobs", request.getQuery(), filters, request.getLimit());
 
         return ResponseEntity.ok(results);
     }
@@ -105,7 +119,8 @@ public class VectorSearchController {
     }
 
     /**
-     * Find matching jobs for a resume
+     * Find matching jobs for a resume, one page at a time.
+     * Pass the X-Next-Cursor header of a response as {@code cursor} to get the next page.
      */
     @GetMapping("/resumes/{resumeId}/matches")
     public ResponseEntity<List<ResumeJobMatchingService.JobMatch>> getJobMatchesForResume(
@@ -113,9 +128,10 @@ public class VectorSearchController {
             @RequestParam(required = false) String location,
             @RequestParam(required = false) String remoteType,
             @RequestParam(required = false) String employmentType,
-            @RequestParam(defaultValue = "50") int limit) {
+            @RequestParam(defaultValue = "50") int limit,
+            @RequestParam(required = false) String cursor) {
 
-        log.info("GET /api/search/resumes/{}/matches - limit: {}", resumeId, limit);
+        log.info("GET /api/search/resumes/{}/matches - limit: {}, cursor: {}", resumeId, limit, cursor != null);
 
         ResumeJobMatchingService.MatchingCriteria criteria =
             ResumeJobMatchingService.MatchingCriteria.builder()
@@ -125,14 +141,13 @@ public class VectorSearchController {
                 .employmentType(employmentType)
                 .build();
 
-        List<ResumeJobMatchingService.JobMatch> matches =
-            matchingService.findMatchingJobsForResume(resumeId, criteria);
-
-        return ResponseEntity.ok(matches);
+        return pageResponse(() -> paginationService.jobsPage(resumeId, criteria, limit, cursor));
     }
 
     /**
-     * Find matching candidates for a job
+     * Find matching candidates for a job, one page at a time.
+     * Unfiltered first pages are served from the materialized top-K list; {@code refresh}
+     * recomputes it first.
      */
     @GetMapping("/jobs/{jobId}/candidates")
     public ResponseEntity<List<ResumeJobMatchingService.CandidateMatch>> getCandidateMatchesForJob(
@@ -140,9 +155,12 @@ public class VectorSearchController {
             @RequestParam(required = false) String location,
             @RequestParam(required = false) String remoteType,
             @RequestParam(required = false) Integer minQualityScore,
-            @RequestParam(defaultValue = "100") int limit) {
+            @RequestParam(defaultValue = "100") int limit,
+            @RequestParam(defaultValue = "false") boolean refresh,
+            @RequestParam(required = false) String cursor) {
 
-        log.info("GET /api/search/jobs/{}/candidates - limit: {}", jobId, limit);
+        log.info("GET /api/search/jobs/{}/candidates - limit: {}, refresh: {}, cursor: {}",
+            jobId, limit, refresh, cursor != null);
 
         ResumeJobMatchingService.MatchingCriteria criteria =
             ResumeJobMatchingService.MatchingCriteria.builder()
@@ -152,10 +170,67 @@ public class VectorSearchController {
                 .minQualityScore(minQualityScore)
                 .build();
 
-        List<ResumeJobMatchingService.CandidateMatch> matches =
-            matchingService.findMatchingCandidatesForJob(jobId, criteria);
+        return pageResponse(() -> paginationService.candidatesPage(jobId, criteria, limit, refresh, cursor));
+    }
+
+    /**
+     * Stream ranked candidates for a job as Server-Sent Events: the recall top N first,
+     * then a refined list after each ranking stage. 503 when too many streams are open.
+     */
+    @GetMapping(value = "/jobs/{jobId}/candidates/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamCandidateMatchesForJob(
+            @PathVariable Long jobId,
+            @RequestParam(required = false) String location,
+            @RequestParam(required = false) String remoteType,
+            @RequestParam(required = false) Integer minQualityScore,
+            @RequestParam(defaultValue = "10") int limit,
+            @RequestParam(required = false) Long timeBudgetMs) {
 
-        return ResponseEntity.ok(matches);
+        log.info("GET /api/search/jobs/{}/candidates/stream - limit: {}", jobId, limit);
+
+        ResumeJobMatchingService.MatchingCriteria criteria =
+            ResumeJobMatchingService.MatchingCriteria.builder()
+                .location(location)
+                .remoteType(remoteType)
+                .minQualityScore(minQualityScore)
+                .build();
+        MultiStageRankingService.RankingConfig config = MultiStageRankingService.getDefaultConfig();
+        config.setFinalLimit(limit);
+        config.setStage3Limit(Math.max(config.getStage3Limit(), limit * 2));
+        config.setTimeBudgetMs(timeBudgetMs);
+
+        try {
+            return ResponseEntity.ok(streamService.streamCandidates(jobId, criteria, config));
+        } catch (RejectedExecutionException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+    }
+
+    /**
+     * Score a single job/resume pair
+     */
+    @GetMapping("/jobs/{jobId}/resumes/{resumeId}/score")
+    public ResponseEntity<ResumeJobMatchingService.JobMatch> scorePair(
+            @PathVariable Long jobId,
+            @PathVariable Long resumeId) {
+
+        log.info("GET /api/search/jobs/{}/resumes/{}/score", jobId, resumeId);
+
+        return matchingService.scorePair(jobId, resumeId)
+            .map(ResponseEntity::ok)
+            .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Score a batch of job/resume pairs
+     */
+    @PostMapping("/pairs/score")
+    public ResponseEntity<List<ResumeJobMatchingService.JobMatch>> scorePairs(
+            @RequestBody List<ResumeJobMatchingService.PairRef> pairs) {
+
+        log.info("POST /api/search/pairs/score - pairs: {}", pairs.size());
+
+        return ResponseEntity.ok(matchingService.scorePairs(pairs));
     }
 
     /**
@@ -217,6 +292,30 @@ public class VectorSearchController {
         ));
     }
 
+    /**
+     * Page body plus cursor and staleness headers; 410 for an expired cursor, 400 for a foreign one
+     */
+    private <T> ResponseEntity<List<T>> pageResponse(Supplier<MatchPaginationService.Page<T>> pageSupplier) {
+        MatchPaginationService.Page<T> page;
+        try {
+            page = pageSupplier.get();
+        } catch (MatchPaginationService.CursorExpiredException e) {
+            return ResponseEntity.status(HttpStatus.GONE).build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+            .header("X-Result-Source", page.getSource())
+            .header("X-Computed-At", page.getComputedAt().toString())
+            .header("X-Updated-At", page.getUpdatedAt().toString())
+            .header("X-Age-Ms", String.valueOf(page.getAge().toMillis()));
+        if (page.getNextCursor() != null) {
+            response.header("X-Next-Cursor", page.getNextCursor());
+        }
+        return response.body(page.getItems());
+    }
+
     // ========== Request DTOs ==========
 
     @lombok.Data
@@ -0,0 +1,193 @@
+package com.neuramatch.matching.cooccurrence;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing hash map from non-negative {@code long} keys to {@code double} values.
+ *
+ * Avoids boxing a Long and a Double per entry, which matters for sparse pair-count
+ * matrices with millions of cells. Linear probing with backward-shift deletion, so no
+ * tombstones accumulate. Not thread-safe.
+ */
+public class LongDoubleHashMap {
+
+    private static final long EMPTY = -1L;
+    private static final float LOAD_FACTOR = 0.6f;
+
+    private long[] keys;
+    private double[] values;
+    private int size;
+    private int mask;
+    private int resizeAt;
+
+    public LongDoubleHashMap() {
+        this(1024);
+    }
+
+    public LongDoubleHashMap(int expectedSize) {
+        allocate(tableSizeFor((int) Math.ceil(Math.max(expectedSize, 4) / LOAD_FACTOR)));
+    }
+
+    /**
+     * Value for the key, or 0 if absent
+     */
+    public double get(long key) {
+        int slot = find(key);
+        return slot >= 0 ? values[slot] : 0.0;
+    }
+
+    public boolean containsKey(long key) {
+        return find(key) >= 0;
+    }
+
+    /**
+     * Add {@code delta} to the key's value (absent keys start at 0) and return the new value
+     */
+    public double addTo(long key, double delta) {
+        checkKey(key);
+        int slot = slotOf(key);
+        while (keys[slot] != EMPTY) {
+            if (keys[slot] == key) {
+                values[slot] += delta;
+                return values[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        keys[slot] = key;
+        values[slot] = delta;
+        if (++size >= resizeAt) {
+            rehash(keys.length << 1);
+        }
+        return delta;
+    }
+
+    public void put(long key, double value) {
+        checkKey(key);
+        int slot = find(key);
+        if (slot >= 0) {
+            values[slot] = value;
+        } else {
+            addTo(key, value);
+        }
+    }
+
+    /**
+     * Remove the key and return its value, or 0 if absent
+     */
+    public double remove(long key) {
+        int slot = find(key);
+        if (slot < 0) {
+            return 0.0;
+        }
+
+        double removed = values[slot];
+        size--;
+
+        // Backward-shift following entries so probe chains stay unbroken
+        int gap = slot;
+        int next = (gap + 1) & mask;
+        while (keys[next] != EMPTY) {
+            int home = slotOf(keys[next]);
+            if (((next - home) & mask) >= ((next - gap) & mask)) {
+                keys[gap] = keys[next];
+                values[gap] = values[next];
+                gap = next;
+            }
+            next = (next + 1) & mask;
+        }
+        keys[gap] = EMPTY;
+        values[gap] = 0.0;
+
+        return removed;
+    }
+
+    /**
+     * Multiply every value by {@code factor}
+     */
+    public void scaleAll(double factor) {
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != EMPTY) {
+                values[i] *= factor;
+            }
+        }
+    }
+
+    public void forEach(Entry consumer) {
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != EMPTY) {
+                consumer.accept(keys[i], values[i]);
+            }
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void clear() {
+        Arrays.fill(keys, EMPTY);
+        Arrays.fill(values, 0.0);
+        size = 0;
+    }
+
+    @FunctionalInterface
+    public interface Entry {
+        void accept(long key, double value);
+    }
+
+    private int find(long key) {
+        if (key < 0) {
+            return -1;
+        }
+        int slot = slotOf(key);
+        while (keys[slot] != EMPTY) {
+            if (keys[slot] == key) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    private int slotOf(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        double[] oldValues = values;
+
+        allocate(capacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                int slot = slotOf(oldKeys[i]);
+                while (keys[slot] != EMPTY) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new double[capacity];
+        Arrays.fill(keys, EMPTY);
+        mask = capacity - 1;
+        resizeAt = (int) (capacity * LOAD_FACTOR);
+    }
+
+    private static void checkKey(long key) {
+        if (key < 0) {
+            throw new IllegalArgumentException("Keys must be non-negative: " + key);
+        }
+    }
+
+    private static int tableSizeFor(int n) {
+        int capacity = Integer.highestOneBit(Math.max(n - 1, 1)) << 1;
+        return Math.min(capacity, 1 << 30);
+    }
+}
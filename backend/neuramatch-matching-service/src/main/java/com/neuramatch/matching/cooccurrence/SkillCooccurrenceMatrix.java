@@ -0,0 +1,386 @@
+package com.neuramatch.matching.cooccurrence;
+
+import com.neuramatch.matching.snapshot.SnapshotCodec;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Time-decayed skill and skill-pair document counts for one corpus (jobs or resumes).
+ *
+ * Uses forward decay: a document added at time t is stored with weight
+ * {@code exp(lambda * (t - t0))} and every count is read back multiplied by
+ * {@code exp(-lambda * (now - t0))}. Nothing has to be touched as time passes;
+ * stored values are only rescaled when the weights grow too large. Ratios such as
+ * lift and PMI need no correction at all because the common factor cancels.
+ *
+ * Pair cells live in a {@link LongDoubleHashMap} keyed by {@code (min << 32) | max}.
+ */
+public class SkillCooccurrenceMatrix {
+
+    /**
+     * Rescale stored weights before exp() gets anywhere near overflow
+     */
+    private static final double MAX_EXPONENT = 40.0;
+
+    private final double lambdaPerMilli;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final LongDoubleHashMap pairCounts = new LongDoubleHashMap(1 << 14);
+    private final Map<Long, Document> documents = new HashMap<>();
+    private double[] skillCounts = new double[256];
+    private int[][] neighbours = new int[256][];
+    private int[] neighbourCounts = new int[256];
+    private double totalDocuments;
+    private long epochMillis;
+
+    public SkillCooccurrenceMatrix(double halfLifeDays, long nowMillis) {
+        this.lambdaPerMilli = Math.log(2) / (halfLifeDays * 24 * 60 * 60 * 1000);
+        this.epochMillis = nowMillis;
+    }
+
+    /**
+     * Add (or replace) a document's skill set observed at the given time
+     */
+    public void add(long documentId, int[] skillIds, long timestampMillis) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(documentId);
+            if (skillIds.length == 0) {
+                return;
+            }
+
+            if (lambdaPerMilli * (timestampMillis - epochMillis) > MAX_EXPONENT) {
+                rescale(timestampMillis);
+            }
+            double weight = Math.exp(lambdaPerMilli * (timestampMillis - epochMillis));
+
+            apply(skillIds, weight);
+            documents.put(documentId, new Document(skillIds, weight));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove a document's contribution
+     */
+    public void remove(long documentId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(documentId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Drop all documents and counts
+     */
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            clearLocked();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Ids of the documents currently contributing
+     */
+    public Set<Long> documentIds() {
+        lock.readLock().lock();
+        try {
+            return new HashSet<>(documents.keySet());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Serialize documents and their stored weights (counts are derived on restore)
+     */
+    public void writeTo(DataOutputStream out) throws IOException {
+        lock.readLock().lock();
+        try {
+            out.writeLong(epochMillis);
+            out.writeInt(documents.size());
+            for (Map.Entry<Long, Document> entry : documents.entrySet()) {
+                out.writeLong(entry.getKey());
+                out.writeDouble(entry.getValue().getWeight());
+                SnapshotCodec.writeInts(out, entry.getValue().getSkillIds());
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Replace the current state with one written by {@link #writeTo(DataOutputStream)}
+     */
+    public void readFrom(ByteBuffer in) {
+        lock.writeLock().lock();
+        try {
+            clearLocked();
+            epochMillis = in.getLong();
+
+            int count = in.getInt();
+            for (int i = 0; i < count; i++) {
+                long documentId = in.getLong();
+                double weight = in.getDouble();
+                int[] skillIds = SnapshotCodec.readInts(in);
+                apply(skillIds, weight);
+                documents.put(documentId, new Document(skillIds, weight));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Decayed number of documents containing the skill
+     */
+    public double skillCount(int skillId, long nowMillis) {
+        lock.readLock().lock();
+        try {
+            return rawSkillCount(skillId) * decay(nowMillis);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Decayed number of documents containing both skills
+     */
+    public double pairCount(int skillId1, int skillId2, long nowMillis) {
+        lock.readLock().lock();
+        try {
+            return pairCounts.get(pairKey(skillId1, skillId2)) * decay(nowMillis);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Decayed number of documents
+     */
+    public double totalDocuments(long nowMillis) {
+        lock.readLock().lock();
+        try {
+            return totalDocuments * decay(nowMillis);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Number of documents currently contributing (undecayed)
+     */
+    public int documentCount() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Co-occurring skills of {@code skillId} with decayed pair support of at least {@code minSupport}
+     */
+    public List<PairScore> cooccurring(int skillId, double minSupport, long nowMillis) {
+        lock.readLock().lock();
+        try {
+            if (skillId < 0 || skillId >= neighbours.length || neighbours[skillId] == null) {
+                return List.of();
+            }
+
+            double decay = decay(nowMillis);
+            double nA = rawSkillCount(skillId);
+            List<PairScore> scores = new ArrayList<>();
+
+            int[] candidates = neighbours[skillId];
+            for (int i = 0; i < neighbourCounts[skillId]; i++) {
+                int other = candidates[i];
+                double nAB = pairCounts.get(pairKey(skillId, other));
+                if (nAB <= 0 || nAB * decay < minSupport) {
+                    continue;
+                }
+                scores.add(score(skillId, other, nA, rawSkillCount(other), nAB, decay));
+            }
+            return scores;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private PairScore score(int skillId, int other, double nA, double nB, double nAB, double decay) {
+        double n = totalDocuments;
+        double lift = nAB * n / (nA * nB);
+        double pmi = Math.log(lift);
+        double pAB = nAB / n;
+        double npmi = pAB >= 1.0 ? 1.0 : pmi / -Math.log(pAB);
+
+        return new PairScore(skillId, other, nAB * decay, lift, npmi, nAB / nA);
+    }
+
+    private void apply(int[] skillIds, double weight) {
+        totalDocuments += weight;
+        for (int i = 0; i < skillIds.length; i++) {
+            int a = skillIds[i];
+            ensureCapacity(a);
+            skillCounts[a] += weight;
+
+            for (int j = i + 1; j < skillIds.length; j++) {
+                int b = skillIds[j];
+                ensureCapacity(b);
+                if (pairCounts.addTo(pairKey(a, b), weight) == weight) {
+                    addNeighbour(a, b);
+                    addNeighbour(b, a);
+                }
+            }
+        }
+    }
+
+    private void removeLocked(long documentId) {
+        Document previous = documents.remove(documentId);
+        if (previous == null) {
+            return;
+        }
+
+        int[] skillIds = previous.getSkillIds();
+        double weight = previous.getWeight();
+        double epsilon = weight * 1e-6;
+
+        totalDocuments = Math.max(0.0, totalDocuments - weight);
+        for (int i = 0; i < skillIds.length; i++) {
+            int a = skillIds[i];
+            skillCounts[a] = Math.max(0.0, skillCounts[a] - weight);
+
+            for (int j = i + 1; j < skillIds.length; j++) {
+                long key = pairKey(a, skillIds[j]);
+                if (pairCounts.addTo(key, -weight) <= epsilon) {
+                    pairCounts.remove(key);
+                }
+            }
+        }
+    }
+
+    private void clearLocked() {
+        pairCounts.clear();
+        documents.clear();
+        Arrays.fill(skillCounts, 0.0);
+        Arrays.fill(neighbours, null);
+        Arrays.fill(neighbourCounts, 0);
+        totalDocuments = 0.0;
+    }
+
+    /**
+     * Fold the accumulated decay into stored values and move the epoch forward
+     */
+    private void rescale(long nowMillis) {
+        double factor = decay(nowMillis);
+
+        pairCounts.scaleAll(factor);
+        for (int i = 0; i < skillCounts.length; i++) {
+            skillCounts[i] *= factor;
+        }
+        totalDocuments *= factor;
+        documents.replaceAll((id, doc) -> new Document(doc.getSkillIds(), doc.getWeight() * factor));
+        epochMillis = nowMillis;
+
+        compactNeighbours();
+    }
+
+    /**
+     * Drop neighbour entries whose pair cell was removed
+     */
+    private void compactNeighbours() {
+        for (int a = 0; a < neighbours.length; a++) {
+            int[] list = neighbours[a];
+            if (list == null) {
+                continue;
+            }
+            int kept = 0;
+            for (int i = 0; i < neighbourCounts[a]; i++) {
+                if (pairCounts.containsKey(pairKey(a, list[i]))) {
+                    list[kept++] = list[i];
+                }
+            }
+            neighbourCounts[a] = kept;
+        }
+    }
+
+    private void addNeighbour(int skillId, int neighbour) {
+        int[] list = neighbours[skillId];
+        int count = neighbourCounts[skillId];
+        if (list == null) {
+            list = new int[8];
+        } else if (count == list.length) {
+            list = Arrays.copyOf(list, count * 2);
+        }
+        // A removed pair may come back; avoid listing it twice
+        for (int i = 0; i < count; i++) {
+            if (list[i] == neighbour) {
+                neighbours[skillId] = list;
+                return;
+            }
+        }
+        list[count] = neighbour;
+        neighbours[skillId] = list;
+        neighbourCounts[skillId] = count + 1;
+    }
+
+    private void ensureCapacity(int skillId) {
+        if (skillId >= skillCounts.length) {
+            int capacity = Math.max(skillCounts.length * 2, skillId + 1);
+            skillCounts = Arrays.copyOf(skillCounts, capacity);
+            neighbours = Arrays.copyOf(neighbours, capacity);
+            neighbourCounts = Arrays.copyOf(neighbourCounts, capacity);
+        }
+    }
+
+    private double rawSkillCount(int skillId) {
+        return skillId >= 0 && skillId < skillCounts.length ? skillCounts[skillId] : 0.0;
+    }
+
+    private double decay(long nowMillis) {
+        return Math.exp(-lambdaPerMilli * (nowMillis - epochMillis));
+    }
+
+    static long pairKey(int a, int b) {
+        int min = Math.min(a, b);
+        int max = Math.max(a, b);
+        return ((long) min << 32) | (max & 0xFFFFFFFFL);
+    }
+
+    @lombok.Value
+    private static class Document {
+        int[] skillIds;
+        double weight;
+    }
+
+    /**
+     * Association statistics for one skill pair
+     */
+    @lombok.Value
+    public static class PairScore {
+        int skillId;
+        int otherSkillId;
+        double support; // decayed co-occurrence count
+        double lift; // P(a,b) / (P(a) P(b))
+        double npmi; // normalised PMI, -1..1
+        double confidence; // P(b | a)
+    }
+}
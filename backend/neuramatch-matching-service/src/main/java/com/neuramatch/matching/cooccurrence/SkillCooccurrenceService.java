@@ -0,0 +1,299 @@
+package com.neuramatch.matching.cooccurrence;
+
+import com.neuramatch.matching.graph.SkillDictionary;
+import com.neuramatch.matching.graph.SkillGraphTableService;
+import com.neuramatch.matching.repository.SkillGraphRepository;
+import com.neuramatch.matching.snapshot.SnapshotContributor;
+import com.neuramatch.matching.vector.JobIndexedEvent;
+import com.neuramatch.matching.vector.JobRemovedEvent;
+import com.neuramatch.matching.vector.JobVectorRepository;
+import com.neuramatch.matching.vector.ResumeIndexedEvent;
+import com.neuramatch.matching.vector.ResumeRemovedEvent;
+import com.neuramatch.matching.vector.ResumeVectorRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Skill co-occurrence statistics over indexed job postings (demand) and resumes (supply).
+ *
+ * Counts are maintained incrementally from index events and decay with a configurable
+ * half-life, so complements reflect what the market asks for now rather than the static
+ * seed graph. Learned complement weights are periodically written back to Neo4j.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SkillCooccurrenceService implements SnapshotContributor {
+
+    private static final int WRITE_BACK_BATCH_SIZE = 500;
+
+    private final JobVectorRepository jobVectorRepository;
+    private final ResumeVectorRepository resumeVectorRepository;
+    private final SkillGraphTableService skillGraphTableService;
+    private final SkillGraphRepository skillGraphRepository;
+    private final SkillDictionary skillDictionary;
+
+    @Value("${matching.cooccurrence.half-life-days:90}")
+    private double halfLifeDays;
+
+    @Value("${matching.cooccurrence.min-support:3}")
+    private double minSupport;
+
+    @Value("${matching.cooccurrence.write-back-enabled:true}")
+    private boolean writeBackEnabled;
+
+    @Value("${matching.cooccurrence.write-back-per-skill:10}")
+    private int writeBackPerSkill;
+
+    private SkillCooccurrenceMatrix jobMatrix;
+    private SkillCooccurrenceMatrix resumeMatrix;
+
+    @PostConstruct
+    void init() {
+        long now = System.currentTimeMillis();
+        jobMatrix = new SkillCooccurrenceMatrix(halfLifeDays, now);
+        resumeMatrix = new SkillCooccurrenceMatrix(halfLifeDays, now);
+    }
+
+    /**
+     * Build counts from all active jobs and resumes
+     */
+    @Override
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+
+        try {
+            jobMatrix.clear();
+            resumeMatrix.clear();
+
+            List<JobVectorRepository.SkillProfile> jobs = jobVectorRepository.findActiveSkillProfiles();
+            jobs.forEach(job -> addDocument(jobMatrix, job.getJobId(), job.getRequiredSkills(), job.getUpdatedAt()));
+
+            List<ResumeVectorRepository.SkillProfile> resumes = resumeVectorRepository.findActiveSkillProfiles();
+            resumes.forEach(resume ->
+                addDocument(resumeMatrix, resume.getResumeId(), resume.getTopSkills(), resume.getUpdatedAt()));
+
+            log.info("Built skill co-occurrence counts from {} jobs and {} resumes in {} ms",
+                jobs.size(), resumes.size(), System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            log.warn("Failed to build skill co-occurrence counts: {}", e.getMessage());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onJobIndexed(JobIndexedEvent event) {
+        addDocument(jobMatrix, event.getJobVector().getJobId(), event.getJobVector().getRequiredSkills(), null);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onJobRemoved(JobRemovedEvent event) {
+        jobMatrix.remove(event.getJobId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onResumeIndexed(ResumeIndexedEvent event) {
+        addDocument(resumeMatrix, event.getResumeVector().getResumeId(), event.getResumeVector().getTopSkills(), null);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onResumeRemoved(ResumeRemovedEvent event) {
+        resumeMatrix.remove(event.getResumeId());
+    }
+
+    /**
+     * Skills most often required together with the given skills in job postings,
+     * ranked by summed normalised PMI across the input skills
+     */
+    public List<ComplementScore> findComplements(Collection<String> skills, int limit) {
+        long now = System.currentTimeMillis();
+        int[] seedIds = skillGraphTableService.resolveIds(skills, false);
+
+        Map<Integer, ComplementScore> candidates = new HashMap<>();
+        for (int seedId : seedIds) {
+            for (SkillCooccurrenceMatrix.PairScore pair : jobMatrix.cooccurring(seedId, minSupport, now)) {
+                if (pair.getNpmi() <= 0 || Arrays.binarySearch(seedIds, pair.getOtherSkillId()) >= 0) {
+                    continue;
+                }
+
+                ComplementScore score = candidates.computeIfAbsent(pair.getOtherSkillId(), id ->
+                    ComplementScore.builder().skillName(skillDictionary.nameOf(id)).build());
+                score.setScore(score.getScore() + pair.getNpmi());
+                score.setLift(Math.max(score.getLift(), pair.getLift()));
+                score.setSupport(Math.max(score.getSupport(), pair.getSupport()));
+                score.getBecauseOf().add(skillDictionary.nameOf(seedId));
+            }
+        }
+
+        return candidates.values().stream()
+            .sorted(Comparator.comparingDouble(ComplementScore::getScore).reversed())
+            .limit(limit)
+            .toList();
+    }
+
+    /**
+     * Decayed number of active job postings requiring the skill
+     */
+    public double demandCount(String skill) {
+        return jobMatrix.skillCount(skillId(skill), System.currentTimeMillis());
+    }
+
+    /**
+     * Decayed number of active resumes listing the skill
+     */
+    public double supplyCount(String skill) {
+        return resumeMatrix.skillCount(skillId(skill), System.currentTimeMillis());
+    }
+
+    /**
+     * Whether enough job postings have been seen for statistics to be meaningful
+     */
+    public boolean hasData() {
+        return jobMatrix.documentCount() > 0;
+    }
+
+    /**
+     * Write the strongest learned complements back to the graph as COMPLEMENTS weights
+     */
+    @Scheduled(
+        fixedDelayString = "${matching.cooccurrence.write-back-interval-ms:3600000}",
+        initialDelayString = "${matching.cooccurrence.write-back-interval-ms:3600000}")
+    public void writeBackComplementWeights() {
+        if (!writeBackEnabled || !hasData()) {
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        List<Map<String, Object>> rows = new ArrayList<>();
+
+        for (int skillId = 0; skillId < skillDictionary.size(); skillId++) {
+            jobMatrix.cooccurring(skillId, minSupport, now).stream()
+                .filter(pair -> pair.getNpmi() > 0)
+                .sorted(Comparator.comparingDouble(SkillCooccurrenceMatrix.PairScore::getNpmi).reversed())
+                .limit(writeBackPerSkill)
+                .forEach(pair -> {
+                    Map<String, Object> row = new HashMap<>();
+                    row.put("source", skillDictionary.nameOf(pair.getSkillId()));
+                    row.put("target", skillDictionary.nameOf(pair.getOtherSkillId()));
+                    row.put("strength", pair.getNpmi());
+                    row.put("commonality", pair.getConfidence());
+                    rows.add(row);
+                });
+        }
+
+        try {
+            long written = 0;
+            for (int from = 0; from < rows.size(); from += WRITE_BACK_BATCH_SIZE) {
+                Long count = skillGraphRepository.mergeComplementWeights(
+                    rows.subList(from, Math.min(from + WRITE_BACK_BATCH_SIZE, rows.size())));
+                written += count != null ? count : 0;
+            }
+            log.info("Wrote back {} learned COMPLEMENTS weights ({} candidates)", written, rows.size());
+        } catch (Exception e) {
+            log.warn("Failed to write back complement weights: {}", e.getMessage());
+        }
+    }
+
+    // ========== Snapshot ==========
+
+    @Override
+    public String snapshotSection() {
+        return "skill-cooccurrence";
+    }
+
+    @Override
+    public void writeSnapshot(DataOutputStream out) throws IOException {
+        jobMatrix.writeTo(out);
+        resumeMatrix.writeTo(out);
+    }
+
+    @Override
+    public void restoreSnapshot(ByteBuffer section) {
+        jobMatrix.readFrom(section);
+        resumeMatrix.readFrom(section);
+    }
+
+    @Override
+    public void replaySince(LocalDateTime watermark) {
+        List<JobVectorRepository.SkillProfile> jobs = jobVectorRepository.findSkillProfilesUpdatedSince(watermark);
+        for (JobVectorRepository.SkillProfile job : jobs) {
+            if (Boolean.TRUE.equals(job.getIsActive())) {
+                addDocument(jobMatrix, job.getJobId(), job.getRequiredSkills(), job.getUpdatedAt());
+            } else {
+                jobMatrix.remove(job.getJobId());
+            }
+        }
+        removeMissing(jobMatrix, jobVectorRepository.findActiveJobIds());
+
+        List<ResumeVectorRepository.SkillProfile> resumes = resumeVectorRepository.findSkillProfilesUpdatedSince(watermark);
+        for (ResumeVectorRepository.SkillProfile resume : resumes) {
+            if (Boolean.TRUE.equals(resume.getIsActive())) {
+                addDocument(resumeMatrix, resume.getResumeId(), resume.getTopSkills(), resume.getUpdatedAt());
+            } else {
+                resumeMatrix.remove(resume.getResumeId());
+            }
+        }
+        removeMissing(resumeMatrix, resumeVectorRepository.findActiveResumeIds());
+
+        log.info("Replayed {} changed jobs and {} changed resumes into co-occurrence counts",
+            jobs.size(), resumes.size());
+    }
+
+    private void removeMissing(SkillCooccurrenceMatrix matrix, List<Long> activeIds) {
+        Set<Long> active = new HashSet<>(activeIds);
+        matrix.documentIds().stream()
+            .filter(id -> !active.contains(id))
+            .forEach(matrix::remove);
+    }
+
+    private void addDocument(SkillCooccurrenceMatrix matrix, Long documentId, String[] skills, LocalDateTime observedAt) {
+        if (documentId == null) {
+            return;
+        }
+
+        int[] ids = skills != null
+            ? skillGraphTableService.resolveIds(Arrays.asList(skills), true)
+            : new int[0];
+        long timestamp = observedAt != null
+            ? observedAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()
+            : System.currentTimeMillis();
+
+        matrix.add(documentId, ids, timestamp);
+    }
+
+    private int skillId(String skill) {
+        return skillDictionary.lookup(skillGraphTableService.current().canonicalName(skill));
+    }
+
+    // ========== DTOs ==========
+
+    @lombok.Data
+    @lombok.Builder
+    public static class ComplementScore {
+        private String skillName;
+        private double score; // summed NPMI over input skills
+        private double lift; // best lift over input skills
+        private double support; // decayed number of postings with the pair
+        @lombok.Builder.Default
+        private List<String> becauseOf = new ArrayList<>();
+    }
+}
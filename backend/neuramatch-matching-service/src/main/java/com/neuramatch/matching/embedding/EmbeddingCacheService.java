@@ -3,8 +3,10 @@ package com.neuramatch.matching.embedding;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.stereotype.Service;
 
@@ -12,12 +14,15 @@ import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
 /**
- * Redis-based cache for embeddings to reduce API costs
+ * Redis-based cache for embeddings to reduce API costs, fronted by a small in-process
+ * LRU so hot query embeddings skip the Redis round trip and JSON decoding
  */
 @Service
 @RequiredArgsConstructor
@@ -30,18 +35,39 @@ public class EmbeddingCacheService {
     private static final String CACHE_PREFIX = "embedding:";
     private static final Duration DEFAULT_TTL = Duration.ofDays(30);
 
+    @Value("${matching.cache.embedding-l1-size:5000}")
+    private int l1Size;
+
+    private Map<String, List<Double>> l1Cache;
+
+    @PostConstruct
+    void init() {
+        l1Cache = Collections.synchronizedMap(new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, List<Double>> eldest) {
+                return size() > l1Size;
+            }
+        });
+    }
+
     /**
      * Get cached embedding for text
      */
     public Optional<List<Double>> getCachedEmbedding(String text, String model) {
         String cacheKey = generateCacheKey(text, model);
 
+        List<Double> local = l1Cache.get(cacheKey);
+        if (local != null) {
+            return Optional.of(local);
+        }
+
         try {
             String cachedJson = redisTemplate.opsForValue().get(cacheKey);
 
             if (cachedJson != null) {
                 log.debug("Cache HIT for text hash: {}", cacheKey);
                 List<Double> embedding = objectMapper.readValue(cachedJson, new TypeReference<List<Double>>() {});
+                l1Cache.put(cacheKey, embedding);
                 return Optional.of(embedding);
             }
 
@@ -59,6 +85,7 @@ public class EmbeddingCacheService {
      */
     public void cacheEmbedding(String text, String model, List<Double> embedding) {
         String cacheKey = generateCacheKey(text, model);
+        l1Cache.put(cacheKey, embedding);
 
         try {
             String embeddingJson = objectMapper.writeValueAsString(embedding);
@@ -108,6 +135,7 @@ public class EmbeddingCacheService {
      */
     public void invalidateCache(String text, String model) {
         String cacheKey = generateCacheKey(text, model);
+        l1Cache.remove(cacheKey);
         redisTemplate.delete(cacheKey);
         log.debug("Invalidated cache for text hash: {}", cacheKey);
     }
@@ -116,6 +144,7 @@ public class EmbeddingCacheService {
      * Clear all cached embeddings
      */
     public void clearAllCache() {
+        l1Cache.clear();
         redisTemplate.keys(CACHE_PREFIX + "*").forEach(redisTemplate::delete);
         log.info("Cleared all embedding cache");
     }
@@ -156,6 +185,7 @@ public class EmbeddingCacheService {
 
         return Map.of(
             "totalCachedEmbeddings", totalKeys,
+            "localCachedEmbeddings", l1Cache.size(),
             "cachePrefix", CACHE_PREFIX,
             "cacheTTL", DEFAULT_TTL.toDays() + " days"
         );
@@ -103,6 +103,16 @@ public class GeminiEmbeddingService {
         }
     }
 
+    /**
+     * Whether an embedding for the text is already cached (never calls the API)
+     */
+    public boolean isCached(String text) {
+        if (text == null || text.trim().isEmpty()) {
+            return false;
+        }
+        return cacheService.getCachedEmbedding(text, geminiConfig.getEmbedding().getModel()).isPresent();
+    }
+
     /**
      * Generate embeddings for multiple texts in batch
      */
@@ -224,4 +234,31 @@ public class GeminiEmbeddingService {
 
         return dotProduct / (Math.sqrt(norm1) * Math.sqrt(norm2));
     }
+
+    /**
+     * Cosine similarity on raw vectors (avoids boxing when scoring many pairs)
+     */
+    public double cosineSimilarity(float[] embedding1, float[] embedding2) {
+        if (embedding1 == null || embedding2 == null || embedding1.length != embedding2.length) {
+            return 0.0;
+        }
+
+        double dotProduct = 0.0;
+        double norm1 = 0.0;
+        double norm2 = 0.0;
+
+        for (int i = 0; i < embedding1.length; i++) {
+            double a = embedding1[i];
+            double b = embedding2[i];
+            dotProduct += a * b;
+            norm1 += a * a;
+            norm2 += b * b;
+        }
+
+        if (norm1 == 0.0 || norm2 == 0.0) {
+            return 0.0;
+        }
+
+        return dotProduct / (Math.sqrt(norm1) * Math.sqrt(norm2));
+    }
 }
@@ -0,0 +1,35 @@
+package com.neuramatch.matching.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * All-time number of feedback events per job and action, upserted together with the
+ * daily rollups so all-time statistics read one row per action
+ */
+@Entity
+@Table(name = "feedback_action_totals", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_feedback_total_job_action", columnNames = {"job_id", "action"})
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FeedbackActionTotal {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "job_id", nullable = false)
+    private Long jobId;
+
+    @Column(name = "action", nullable = false)
+    private String action;
+
+    @Column(name = "count", nullable = false)
+    private Long count;
+}
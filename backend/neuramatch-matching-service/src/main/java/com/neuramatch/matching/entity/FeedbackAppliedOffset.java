@@ -0,0 +1,35 @@
+package com.neuramatch.matching.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Offset after the last feedback-events record of a partition folded into the rollups,
+ * written in the same transaction as the rollup upsert
+ */
+@Entity
+@Table(name = "feedback_applied_offsets", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_feedback_offset_topic_partition", columnNames = {"topic", "partition_id"})
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FeedbackAppliedOffset {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "topic", nullable = false)
+    private String topic;
+
+    @Column(name = "partition_id", nullable = false)
+    private Integer partitionId;
+
+    @Column(name = "next_offset", nullable = false)
+    private Long nextOffset;
+}
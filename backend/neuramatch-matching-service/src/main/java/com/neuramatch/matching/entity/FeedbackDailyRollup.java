@@ -0,0 +1,39 @@
+package com.neuramatch.matching.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Number of feedback events per job, action and day, maintained by the feedback consumer
+ */
+@Entity
+@Table(name = "feedback_daily_rollups", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_feedback_rollup_job_action_day", columnNames = {"job_id", "action", "day"})
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FeedbackDailyRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "job_id", nullable = false)
+    private Long jobId;
+
+    @Column(name = "action", nullable = false)
+    private String action;
+
+    @Column(name = "day", nullable = false)
+    private LocalDate day;
+
+    @Column(name = "count", nullable = false)
+    private Long count;
+}
@@ -10,7 +10,9 @@ import org.hibernate.annotations.CreationTimestamp;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "match_feedback")
+@Table(name = "match_feedback", indexes = {
+    @Index(name = "idx_match_feedback_job_action_created", columnList = "job_id, action, created_at")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
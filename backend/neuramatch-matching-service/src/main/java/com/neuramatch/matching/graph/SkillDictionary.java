@@ -0,0 +1,130 @@
+package com.neuramatch.matching.graph;
+
+import com.neuramatch.matching.snapshot.SnapshotCodec;
+import com.neuramatch.matching.snapshot.SnapshotContributor;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Interns canonical skill names to dense int ids.
+ *
+ * Ids are assigned once and never reused, so in-memory indexes can key
+ * their tables by id instead of by string.
+ */
+@Component
+@Order(0)
+public class SkillDictionary implements SnapshotContributor {
+
+    private final Map<String, Integer> ids = new ConcurrentHashMap<>();
+    private volatile String[] names = new String[256];
+    private int size; // guarded by this
+
+    /**
+     * Get the id for a skill name, assigning a new one if needed
+     */
+    public int idOf(String skillName) {
+        String key = normalize(skillName);
+        Integer id = ids.get(key);
+        if (id != null) {
+            return id;
+        }
+
+        synchronized (this) {
+            id = ids.get(key);
+            if (id != null) {
+                return id;
+            }
+
+            int next = size++;
+            if (next == names.length) {
+                names = Arrays.copyOf(names, names.length * 2);
+            }
+            names[next] = key;
+            ids.put(key, next);
+            return next;
+        }
+    }
+
+    /**
+     * Get the id for a skill name, or -1 if it has never been seen
+     */
+    public int lookup(String skillName) {
+        Integer id = ids.get(normalize(skillName));
+        return id != null ? id : -1;
+    }
+
+    /**
+     * Get the canonical name for an id
+     */
+    public String nameOf(int id) {
+        String[] current = names;
+        return id >= 0 && id < current.length ? current[id] : null;
+    }
+
+    /**
+     * Number of ids assigned so far
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    // ========== Snapshot ==========
+
+    @Override
+    public String snapshotSection() {
+        return "skill-dictionary";
+    }
+
+    @Override
+    public synchronized void writeSnapshot(DataOutputStream out) throws IOException {
+        out.writeInt(size);
+        for (int id = 0; id < size; id++) {
+            SnapshotCodec.writeString(out, names[id]);
+        }
+    }
+
+    /**
+     * Restore ids exactly as they were; only allowed before anything has been interned
+     */
+    @Override
+    public synchronized void restoreSnapshot(ByteBuffer section) {
+        if (size > 0) {
+            throw new IllegalStateException("Skill dictionary already has " + size + " entries");
+        }
+
+        int count = section.getInt();
+        String[] restored = new String[Math.max(256, Integer.highestOneBit(Math.max(count, 1)) << 1)];
+        for (int id = 0; id < count; id++) {
+            restored[id] = SnapshotCodec.readString(section);
+            ids.put(restored[id], id);
+        }
+        names = restored;
+        size = count;
+    }
+
+    @Override
+    public void replaySince(LocalDateTime watermark) {
+        // Ids are append-only; new names are interned as they are seen
+    }
+
+    @Override
+    public void rebuild() {
+        // Populated by the structures that intern names
+    }
+
+    /**
+     * Normalize a skill name the same way the graph stores it (trimmed, lowercase)
+     */
+    public static String normalize(String skillName) {
+        return skillName == null ? "" : skillName.trim().toLowerCase(Locale.ROOT);
+    }
+}
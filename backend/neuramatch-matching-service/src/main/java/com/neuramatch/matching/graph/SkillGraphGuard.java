@@ -0,0 +1,89 @@
+package com.neuramatch.matching.graph;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.timelimiter.TimeLimiter;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Resilience layer around skill graph (Neo4j) calls on the matching hot path.
+ *
+ * Calls run on a small dedicated pool behind a bulkhead, a time limiter and a circuit
+ * breaker. Any rejection, timeout or error returns the caller's fallback, which is
+ * expected to use the last-known {@link SkillGraphTables}. Callers on the matching path
+ * make one batched call per request, so a slow graph adds at most one timeout to a
+ * request and none at all while the circuit is open.
+ *
+ * The guard keeps no degradation state of its own: a fallback result carries its own
+ * flag (see {@link SkillResolution#isDegraded()}), so one slow call never marks
+ * unrelated responses as degraded.
+ */
+@Component
+@Slf4j
+public class SkillGraphGuard {
+
+    private final CircuitBreaker circuitBreaker;
+    private final TimeLimiter timeLimiter;
+    private final Bulkhead bulkhead;
+    private final ThreadPoolExecutor executor;
+
+    public SkillGraphGuard(CircuitBreaker skillGraphCircuitBreaker,
+                           TimeLimiter skillGraphTimeLimiter,
+                           Bulkhead skillGraphBulkhead) {
+        this.circuitBreaker = skillGraphCircuitBreaker;
+        this.timeLimiter = skillGraphTimeLimiter;
+        this.bulkhead = skillGraphBulkhead;
+
+        int threads = skillGraphBulkhead.getBulkheadConfig().getMaxConcurrentCalls();
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+            threads, threads, 60, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(threads),
+            runnable -> {
+                Thread thread = new Thread(runnable, "skill-graph-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            },
+            new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * Run a graph call, or the fallback if the graph is unavailable, slow or saturated
+     */
+    public <T> T call(String operation, Supplier<T> graphCall, Supplier<T> fallback) {
+        try {
+            return Bulkhead.decorateCallable(bulkhead,
+                CircuitBreaker.decorateCallable(circuitBreaker,
+                    TimeLimiter.decorateFutureSupplier(timeLimiter, () -> executor.submit(graphCall::get))))
+                .call();
+        } catch (Exception e) {
+            log.debug("Skill graph {} degraded to in-memory tables: {}", operation, e.toString());
+            return fallback.get();
+        }
+    }
+
+    /**
+     * Whether the graph should be bypassed entirely (circuit open)
+     */
+    public boolean isOpen() {
+        CircuitBreaker.State state = circuitBreaker.getState();
+        return state == CircuitBreaker.State.OPEN || state == CircuitBreaker.State.FORCED_OPEN;
+    }
+
+    public CircuitBreaker.State getState() {
+        return circuitBreaker.getState();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+}
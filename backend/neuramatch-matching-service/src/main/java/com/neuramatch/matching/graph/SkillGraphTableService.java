@@ -0,0 +1,150 @@
+package com.neuramatch.matching.graph;
+
+import com.neuramatch.matching.repository.SkillGraphRepository;
+import com.neuramatch.matching.snapshot.SnapshotContributor;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Keeps an in-memory copy of the skill graph tables and refreshes it periodically.
+ *
+ * Readers always see a complete, immutable {@link SkillGraphTables}; a failed refresh
+ * keeps the last successfully loaded tables.
+ */
+@Service
+@Order(10)
+@RequiredArgsConstructor
+@Slf4j
+public class SkillGraphTableService implements SnapshotContributor {
+
+    private final SkillGraphRepository skillGraphRepository;
+    private final SkillDictionary skillDictionary;
+
+    private volatile SkillGraphTables tables = SkillGraphTables.EMPTY;
+
+    /**
+     * Reload synonym and relationship tables from Neo4j
+     */
+    @Scheduled(
+        fixedDelayString = "${matching.skill-graph.refresh-interval-ms:300000}",
+        initialDelayString = "${matching.skill-graph.refresh-interval-ms:300000}")
+    public synchronized void refresh() {
+        long start = System.currentTimeMillis();
+
+        try {
+            List<SkillGraphRepository.SynonymMapping> synonyms = skillGraphRepository.findAllSynonymMappings();
+            List<SkillGraphRepository.SkillEdge> alternatives = skillGraphRepository.findAllAlternativeEdges();
+            List<SkillGraphRepository.SkillEdge> complements = skillGraphRepository.findAllComplementEdges();
+
+            SkillGraphTables.Builder builder = SkillGraphTables.builder(skillDictionary);
+            synonyms.forEach(s -> builder.synonym(s.getName(), s.getCanonical()));
+            alternatives.forEach(e -> builder.alternative(e.getSource(), e.getTarget(), e.getWeight(), e.getTransferability()));
+            complements.forEach(e -> builder.complement(e.getSource(), e.getTarget(), e.getWeight()));
+
+            tables = builder.build();
+
+            log.info("Loaded skill graph tables: {} synonyms, {} alternatives, {} complements in {} ms",
+                synonyms.size(), alternatives.size(), complements.size(), System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            log.warn("Skill graph table refresh failed, keeping tables loaded at {}: {}",
+                tables.getLoadedAt(), e.getMessage());
+        }
+    }
+
+    /**
+     * Current tables (never null, may be empty before the first load)
+     */
+    public SkillGraphTables current() {
+        return tables;
+    }
+
+    /**
+     * Alternatives of a canonical skill from the loaded tables, filtered by transferability
+     */
+    public List<String> alternativeNames(String canonicalName, double minTransferability) {
+        SkillGraphTables current = tables;
+        int skillId = skillDictionary.lookup(canonicalName);
+
+        int[] ids = current.alternativeIds(skillId);
+        float[] transferability = current.alternativeTransferability(skillId);
+
+        List<String> names = new ArrayList<>(ids.length);
+        for (int i = 0; i < ids.length; i++) {
+            if (transferability[i] >= minTransferability) {
+                names.add(skillDictionary.nameOf(ids[i]));
+            }
+        }
+        return names;
+    }
+
+    /**
+     * Resolve skill names to sorted, de-duplicated canonical ids.
+     *
+     * With {@code intern = false} unknown skills are not added to the dictionary; they get a
+     * stable negative id instead, so they still count for exact matches but have no relationships.
+     */
+    public int[] resolveIds(Collection<String> skillNames, boolean intern) {
+        SkillGraphTables current = tables;
+
+        int[] ids = new int[skillNames.size()];
+        int count = 0;
+        for (String skillName : skillNames) {
+            if (skillName == null || skillName.isBlank()) {
+                continue;
+            }
+            String canonical = current.canonicalName(skillName);
+            int id = intern ? skillDictionary.idOf(canonical) : skillDictionary.lookup(canonical);
+            ids[count++] = id >= 0 ? id : -1 - (canonical.hashCode() & 0x3FFFFFFF);
+        }
+
+        int[] resolved = Arrays.copyOf(ids, count);
+        Arrays.sort(resolved);
+        return Arrays.stream(resolved).distinct().toArray();
+    }
+
+    // ========== Snapshot ==========
+
+    @Override
+    public String snapshotSection() {
+        return "skill-graph";
+    }
+
+    @Override
+    public void writeSnapshot(DataOutputStream out) throws IOException {
+        tables.writeTo(out);
+    }
+
+    @Override
+    public void restoreSnapshot(ByteBuffer section) {
+        tables = SkillGraphTables.readFrom(section);
+    }
+
+    /**
+     * The graph has no change log, so the snapshot tables are served as they are and the
+     * graph is reloaded in the background; a slow or unavailable Neo4j does not hold up
+     * startup, and a failed reload keeps the snapshot tables.
+     */
+    @Override
+    public void replaySince(LocalDateTime watermark) {
+        Thread reload = new Thread(this::refresh, "skill-graph-reload");
+        reload.setDaemon(true);
+        reload.start();
+    }
+
+    @Override
+    public void rebuild() {
+        refresh();
+    }
+}
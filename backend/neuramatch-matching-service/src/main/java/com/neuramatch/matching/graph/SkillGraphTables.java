@@ -0,0 +1,258 @@
+package com.neuramatch.matching.graph;
+
+import com.neuramatch.matching.snapshot.SnapshotCodec;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable in-memory copy of the skill graph relationships used on hot paths.
+ *
+ * Relationship arrays are indexed by {@link SkillDictionary} id:
+ * - related: undirected ALTERNATIVE_TO/COMPLEMENTS edges weighted for set similarity
+ * - alternatives: directed ALTERNATIVE_TO edges with transferability for coverage
+ */
+public final class SkillGraphTables {
+
+    /**
+     * Complements count for less than a true alternative when comparing skill sets
+     */
+    static final float COMPLEMENT_DISCOUNT = 0.5f;
+
+    private static final int[] NO_IDS = new int[0];
+    private static final float[] NO_WEIGHTS = new float[0];
+
+    public static final SkillGraphTables EMPTY = new SkillGraphTables(
+        Collections.emptyMap(), new int[0][], new float[0][], new int[0][], new float[0][], null);
+
+    private final Map<String, String> canonicalNames;
+    private final int[][] relatedIds;
+    private final float[][] relatedWeights;
+    private final int[][] alternativeIds;
+    private final float[][] alternativeTransferability;
+    private final Instant loadedAt;
+
+    SkillGraphTables(Map<String, String> canonicalNames,
+                     int[][] relatedIds,
+                     float[][] relatedWeights,
+                     int[][] alternativeIds,
+                     float[][] alternativeTransferability,
+                     Instant loadedAt) {
+        this.canonicalNames = canonicalNames;
+        this.relatedIds = relatedIds;
+        this.relatedWeights = relatedWeights;
+        this.alternativeIds = alternativeIds;
+        this.alternativeTransferability = alternativeTransferability;
+        this.loadedAt = loadedAt;
+    }
+
+    /**
+     * Resolve a skill name to its canonical form (handles synonyms)
+     */
+    public String canonicalName(String skillName) {
+        String normalized = SkillDictionary.normalize(skillName);
+        return canonicalNames.getOrDefault(normalized, normalized);
+    }
+
+    /**
+     * Skills related to the given skill (alternatives and complements, both directions)
+     */
+    public int[] relatedIds(int skillId) {
+        return skillId >= 0 && skillId < relatedIds.length ? relatedIds[skillId] : NO_IDS;
+    }
+
+    /**
+     * Similarity weights aligned with {@link #relatedIds(int)}
+     */
+    public float[] relatedWeights(int skillId) {
+        return skillId >= 0 && skillId < relatedWeights.length ? relatedWeights[skillId] : NO_WEIGHTS;
+    }
+
+    /**
+     * Outgoing ALTERNATIVE_TO targets of the given skill
+     */
+    public int[] alternativeIds(int skillId) {
+        return skillId >= 0 && skillId < alternativeIds.length ? alternativeIds[skillId] : NO_IDS;
+    }
+
+    /**
+     * Transferability weights aligned with {@link #alternativeIds(int)}
+     */
+    public float[] alternativeTransferability(int skillId) {
+        return skillId >= 0 && skillId < alternativeTransferability.length
+            ? alternativeTransferability[skillId] : NO_WEIGHTS;
+    }
+
+    public Map<String, String> getCanonicalNames() {
+        return canonicalNames;
+    }
+
+    public Instant getLoadedAt() {
+        return loadedAt;
+    }
+
+    public boolean isEmpty() {
+        return loadedAt == null;
+    }
+
+    /**
+     * Serialize for a snapshot section
+     */
+    public void writeTo(DataOutputStream out) throws IOException {
+        out.writeLong(loadedAt != null ? loadedAt.toEpochMilli() : -1L);
+
+        out.writeInt(canonicalNames.size());
+        for (Map.Entry<String, String> entry : canonicalNames.entrySet()) {
+            SnapshotCodec.writeString(out, entry.getKey());
+            SnapshotCodec.writeString(out, entry.getValue());
+        }
+
+        out.writeInt(relatedIds.length);
+        for (int id = 0; id < relatedIds.length; id++) {
+            SnapshotCodec.writeInts(out, relatedIds[id]);
+            SnapshotCodec.writeFloats(out, relatedWeights[id]);
+            SnapshotCodec.writeInts(out, alternativeIds[id]);
+            SnapshotCodec.writeFloats(out, alternativeTransferability[id]);
+        }
+    }
+
+    /**
+     * Read tables written by {@link #writeTo(DataOutputStream)}
+     */
+    public static SkillGraphTables readFrom(ByteBuffer in) {
+        long loadedAtMillis = in.getLong();
+
+        int synonymCount = in.getInt();
+        Map<String, String> canonicalNames = new HashMap<>(synonymCount * 2);
+        for (int i = 0; i < synonymCount; i++) {
+            canonicalNames.put(SnapshotCodec.readString(in), SnapshotCodec.readString(in));
+        }
+
+        int size = in.getInt();
+        int[][] relatedIds = new int[size][];
+        float[][] relatedWeights = new float[size][];
+        int[][] alternativeIds = new int[size][];
+        float[][] alternativeTransferability = new float[size][];
+        for (int id = 0; id < size; id++) {
+            relatedIds[id] = SnapshotCodec.readInts(in);
+            relatedWeights[id] = SnapshotCodec.readFloats(in);
+            alternativeIds[id] = SnapshotCodec.readInts(in);
+            alternativeTransferability[id] = SnapshotCodec.readFloats(in);
+        }
+
+        return new SkillGraphTables(
+            Collections.unmodifiableMap(canonicalNames),
+            relatedIds, relatedWeights,
+            alternativeIds, alternativeTransferability,
+            loadedAtMillis >= 0 ? Instant.ofEpochMilli(loadedAtMillis) : null);
+    }
+
+    public static Builder builder(SkillDictionary dictionary) {
+        return new Builder(dictionary);
+    }
+
+    /**
+     * Accumulates graph rows and freezes them into tables
+     */
+    public static final class Builder {
+
+        private final SkillDictionary dictionary;
+        private final Map<String, String> canonicalNames = new HashMap<>();
+        private final Map<Integer, Map<Integer, Float>> related = new HashMap<>();
+        private final Map<Integer, List<Integer>> alternatives = new HashMap<>();
+        private final Map<Integer, List<Float>> transferability = new HashMap<>();
+
+        private Builder(SkillDictionary dictionary) {
+            this.dictionary = dictionary;
+        }
+
+        public Builder synonym(String skillName, String canonicalName) {
+            canonicalNames.put(SkillDictionary.normalize(skillName), SkillDictionary.normalize(canonicalName));
+            return this;
+        }
+
+        public Builder alternative(String source, String target, Double similarity, Double transferabilityScore) {
+            int sourceId = dictionary.idOf(source);
+            int targetId = dictionary.idOf(target);
+            float weight = similarity != null ? similarity.floatValue() : 0.5f;
+
+            link(sourceId, targetId, weight);
+            alternatives.computeIfAbsent(sourceId, k -> new ArrayList<>()).add(targetId);
+            transferability.computeIfAbsent(sourceId, k -> new ArrayList<>())
+                .add(transferabilityScore != null ? transferabilityScore.floatValue() : 0.0f);
+            return this;
+        }
+
+        public Builder complement(String source, String target, Double strength) {
+            float weight = (strength != null ? strength.floatValue() : 0.5f) * COMPLEMENT_DISCOUNT;
+            link(dictionary.idOf(source), dictionary.idOf(target), weight);
+            return this;
+        }
+
+        private void link(int a, int b, float weight) {
+            if (a == b) {
+                return;
+            }
+            related.computeIfAbsent(a, k -> new HashMap<>()).merge(b, weight, Math::max);
+            related.computeIfAbsent(b, k -> new HashMap<>()).merge(a, weight, Math::max);
+        }
+
+        public SkillGraphTables build() {
+            int size = dictionary.size();
+
+            int[][] relatedIds = new int[size][];
+            float[][] relatedWeights = new float[size][];
+            related.forEach((id, neighbours) -> {
+                int[] ids = new int[neighbours.size()];
+                float[] weights = new float[neighbours.size()];
+                int i = 0;
+                for (Map.Entry<Integer, Float> entry : neighbours.entrySet()) {
+                    ids[i] = entry.getKey();
+                    weights[i] = entry.getValue();
+                    i++;
+                }
+                relatedIds[id] = ids;
+                relatedWeights[id] = weights;
+            });
+
+            int[][] alternativeIds = new int[size][];
+            float[][] alternativeTransferability = new float[size][];
+            alternatives.forEach((id, targets) -> {
+                List<Float> scores = transferability.get(id);
+                int[] ids = new int[targets.size()];
+                float[] weights = new float[targets.size()];
+                for (int i = 0; i < ids.length; i++) {
+                    ids[i] = targets.get(i);
+                    weights[i] = scores.get(i);
+                }
+                alternativeIds[id] = ids;
+                alternativeTransferability[id] = weights;
+            });
+
+            fill(relatedIds, relatedWeights);
+            fill(alternativeIds, alternativeTransferability);
+
+            return new SkillGraphTables(
+                Collections.unmodifiableMap(new HashMap<>(canonicalNames)),
+                relatedIds, relatedWeights,
+                alternativeIds, alternativeTransferability,
+                Instant.now());
+        }
+
+        private static void fill(int[][] ids, float[][] weights) {
+            for (int i = 0; i < ids.length; i++) {
+                if (ids[i] == null) {
+                    ids[i] = NO_IDS;
+                    weights[i] = NO_WEIGHTS;
+                }
+            }
+        }
+    }
+}
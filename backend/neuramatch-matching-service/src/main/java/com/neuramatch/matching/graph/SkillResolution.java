@@ -0,0 +1,68 @@
+package com.neuramatch.matching.graph;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The skills of one match request resolved against the skill graph: canonical names and
+ * transferable alternatives.
+ *
+ * Resolved once per request, from Neo4j or, if the graph is slow or down, from the
+ * last-known {@link SkillGraphTables}, so scoring each pair is a map lookup and
+ * {@link #isDegraded()} describes this request only.
+ */
+public final class SkillResolution {
+
+    private final Map<String, String> canonicalNames;
+    private final Map<String, List<String>> alternatives;
+    private final boolean degraded;
+
+    /**
+     * @param canonicalNames normalized skill name to canonical name
+     * @param alternatives canonical name to transferable alternatives
+     * @param degraded whether the resolution came from fallback data
+     */
+    public SkillResolution(Map<String, String> canonicalNames,
+                           Map<String, List<String>> alternatives,
+                           boolean degraded) {
+        this.canonicalNames = canonicalNames;
+        this.alternatives = alternatives;
+        this.degraded = degraded;
+    }
+
+    /**
+     * Canonical form of a skill; skills outside the resolved set are only normalized
+     */
+    public String canonicalName(String skillName) {
+        String normalized = SkillDictionary.normalize(skillName);
+        return canonicalNames.getOrDefault(normalized, normalized);
+    }
+
+    /**
+     * Canonical, de-duplicated forms of the given skills, blanks skipped
+     */
+    public Set<String> canonicalNames(Collection<String> skillNames) {
+        Set<String> canonical = new LinkedHashSet<>();
+        for (String skillName : skillNames) {
+            if (skillName != null && !skillName.isBlank()) {
+                canonical.add(canonicalName(skillName));
+            }
+        }
+        return canonical;
+    }
+
+    /**
+     * Transferable alternatives of a canonical skill
+     */
+    public List<String> alternatives(String canonicalName) {
+        return alternatives.getOrDefault(canonicalName, Collections.emptyList());
+    }
+
+    public boolean isDegraded() {
+        return degraded;
+    }
+}
@@ -0,0 +1,53 @@
+package com.neuramatch.matching.graph;
+
+import java.util.Arrays;
+
+/**
+ * Relationship-aware similarity between two skill sets, computed from canonical ids.
+ *
+ * Every skill is matched to its best counterpart in the other set: an exact match
+ * scores 1.0, a related skill scores its edge weight, anything else scores 0.
+ * The result is the average over both sets, so it is symmetric and in [0, 1].
+ * Cost is O((|A| + |B|) * degree * log|set|) instead of a |A| x |B| graph query.
+ */
+public final class SkillSetSimilarity {
+
+    private SkillSetSimilarity() {
+    }
+
+    /**
+     * Score two sorted, de-duplicated id arrays
+     */
+    public static double score(SkillGraphTables tables, int[] skillIds1, int[] skillIds2) {
+        if (skillIds1.length == 0 || skillIds2.length == 0) {
+            return 0.0;
+        }
+
+        double total = 0.0;
+        for (int skillId : skillIds1) {
+            total += bestMatch(tables, skillId, skillIds2);
+        }
+        for (int skillId : skillIds2) {
+            total += bestMatch(tables, skillId, skillIds1);
+        }
+
+        return total / (skillIds1.length + skillIds2.length);
+    }
+
+    private static double bestMatch(SkillGraphTables tables, int skillId, int[] others) {
+        if (Arrays.binarySearch(others, skillId) >= 0) {
+            return 1.0;
+        }
+
+        int[] related = tables.relatedIds(skillId);
+        float[] weights = tables.relatedWeights(skillId);
+
+        double best = 0.0;
+        for (int i = 0; i < related.length; i++) {
+            if (weights[i] > best && Arrays.binarySearch(others, related[i]) >= 0) {
+                best = weights[i];
+            }
+        }
+        return best;
+    }
+}
@@ -0,0 +1,560 @@
+package com.neuramatch.matching.index;
+
+import com.neuramatch.matching.snapshot.SnapshotCodec;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Incrementally maintained inverted index with Okapi BM25 scoring.
+ *
+ * Documents get a dense ordinal; each term keeps a postings list of (ordinal, term
+ * frequency) pairs and each document keeps its own sorted term ids, so a single document
+ * can be scored without walking postings. Removing a document only tombstones its
+ * ordinal and adjusts document frequencies; postings are compacted once too many
+ * tombstones have accumulated.
+ */
+public class Bm25Index {
+
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final int MIN_COMPACT_TOMBSTONES = 1024;
+
+    private final double k1;
+    private final double b;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Terms
+    private final Map<String, Integer> termIds = new HashMap<>();
+    private final List<String> terms = new ArrayList<>();
+    private int[] docFreq = new int[INITIAL_CAPACITY];
+    private int[][] postingOrdinals = new int[INITIAL_CAPACITY][];
+    private int[][] postingFreqs = new int[INITIAL_CAPACITY][];
+    private int[] postingSizes = new int[INITIAL_CAPACITY];
+
+    // Documents by ordinal; a negative length marks a removed document
+    private final Map<Long, Integer> ordinals = new HashMap<>();
+    private long[] docIds = new long[INITIAL_CAPACITY];
+    private int[] docLengths = new int[INITIAL_CAPACITY];
+    private int[][] docTerms = new int[INITIAL_CAPACITY][];
+    private int[][] docFreqs = new int[INITIAL_CAPACITY][];
+    private int ordinalCount;
+    private int tombstones;
+    private long totalLength;
+
+    public Bm25Index(double k1, double b) {
+        if (k1 < 0 || b < 0 || b > 1) {
+            throw new IllegalArgumentException("k1 must be >= 0 and b within [0, 1]");
+        }
+        this.k1 = k1;
+        this.b = b;
+    }
+
+    /**
+     * Index (or re-index) a document's term frequencies
+     */
+    public void put(long docId, Map<String, Integer> termFreqs) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(docId);
+            if (!termFreqs.isEmpty()) {
+                addLocked(docId, termFreqs);
+            }
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove a document
+     */
+    public void remove(long docId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(docId);
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Drop all documents and terms
+     */
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            clearLocked();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Number of indexed documents
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return ordinals.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Whether the document is indexed
+     */
+    public boolean contains(long docId) {
+        lock.readLock().lock();
+        try {
+            return ordinals.containsKey(docId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Ids of the indexed documents
+     */
+    public Set<Long> documentIds() {
+        lock.readLock().lock();
+        try {
+            return new HashSet<>(ordinals.keySet());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Resolve query terms and their IDF against the current corpus statistics.
+     * Terms unknown to the index are dropped.
+     */
+    public Query prepare(Collection<String> queryTerms) {
+        lock.readLock().lock();
+        try {
+            List<Integer> ids = new ArrayList<>();
+            for (String term : new LinkedHashSet<>(queryTerms)) {
+                Integer termId = termIds.get(term);
+                if (termId != null && docFreq[termId] > 0) {
+                    ids.add(termId);
+                }
+            }
+
+            int[] queryTermIds = new int[ids.size()];
+            double[] idf = new double[ids.size()];
+            double maxScore = 0.0;
+            int documents = ordinals.size();
+            for (int i = 0; i < queryTermIds.length; i++) {
+                queryTermIds[i] = ids.get(i);
+                int df = docFreq[queryTermIds[i]];
+                idf[i] = Math.log(1.0 + (documents - df + 0.5) / (df + 0.5));
+                maxScore += idf[i] * (k1 + 1);
+            }
+            return new Query(queryTermIds, idf, maxScore, queryTerms.isEmpty());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Top {@code k} documents for the query, best first
+     */
+    public List<Hit> search(Query query, int k) {
+        if (k <= 0 || query.termIds.length == 0) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            double averageLength = averageLength();
+            double[] accumulator = new double[ordinalCount];
+            int[] touched = new int[ordinalCount];
+            int touchedCount = 0;
+
+            // Term-at-a-time accumulation over the query's postings lists
+            for (int q = 0; q < query.termIds.length; q++) {
+                int termId = query.termIds[q];
+                int[] postings = postingOrdinals[termId];
+                int[] freqs = postingFreqs[termId];
+                for (int p = 0; p < postingSizes[termId]; p++) {
+                    int ordinal = postings[p];
+                    int length = docLengths[ordinal];
+                    if (length < 0) {
+                        continue;
+                    }
+                    if (accumulator[ordinal] == 0.0) {
+                        touched[touchedCount++] = ordinal;
+                    }
+                    accumulator[ordinal] += termScore(query.idf[q], freqs[p], length, averageLength);
+                }
+            }
+
+            return topK(accumulator, touched, touchedCount, k);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * BM25 score of one document for the query, 0 if it is not indexed or shares no terms
+     */
+    public double score(Query query, long docId) {
+        if (query.termIds.length == 0) {
+            return 0.0;
+        }
+
+        lock.readLock().lock();
+        try {
+            Integer ordinal = ordinals.get(docId);
+            if (ordinal == null) {
+                return 0.0;
+            }
+
+            int[] termsOfDoc = docTerms[ordinal];
+            int[] freqsOfDoc = docFreqs[ordinal];
+            int length = docLengths[ordinal];
+            double averageLength = averageLength();
+
+            double score = 0.0;
+            for (int q = 0; q < query.termIds.length; q++) {
+                int index = Arrays.binarySearch(termsOfDoc, query.termIds[q]);
+                if (index >= 0) {
+                    score += termScore(query.idf[q], freqsOfDoc[index], length, averageLength);
+                }
+            }
+            return score;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Serialize the term dictionary and live documents (postings are derived on restore)
+     */
+    public void writeTo(DataOutputStream out) throws IOException {
+        lock.readLock().lock();
+        try {
+            out.writeInt(terms.size());
+            for (String term : terms) {
+                SnapshotCodec.writeString(out, term);
+            }
+
+            out.writeInt(ordinals.size());
+            for (int ordinal = 0; ordinal < ordinalCount; ordinal++) {
+                if (docLengths[ordinal] < 0) {
+                    continue;
+                }
+                out.writeLong(docIds[ordinal]);
+                SnapshotCodec.writeInts(out, docTerms[ordinal]);
+                SnapshotCodec.writeInts(out, docFreqs[ordinal]);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Replace the current state with one written by {@link #writeTo(DataOutputStream)}
+     */
+    public void readFrom(ByteBuffer in) {
+        lock.writeLock().lock();
+        try {
+            clearLocked();
+
+            int termCount = in.getInt();
+            for (int i = 0; i < termCount; i++) {
+                termId(SnapshotCodec.readString(in));
+            }
+
+            int documents = in.getInt();
+            for (int i = 0; i < documents; i++) {
+                long docId = in.getLong();
+                int[] termsOfDoc = SnapshotCodec.readInts(in);
+                int[] freqsOfDoc = SnapshotCodec.readInts(in);
+                addLocked(docId, termsOfDoc, freqsOfDoc);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private double termScore(double idf, int tf, int length, double averageLength) {
+        double norm = k1 * (1 - b + b * length / averageLength);
+        return idf * tf * (k1 + 1) / (tf + norm);
+    }
+
+    private double averageLength() {
+        return ordinals.isEmpty() ? 1.0 : Math.max(1.0, (double) totalLength / ordinals.size());
+    }
+
+    private void addLocked(long docId, Map<String, Integer> termFreqs) {
+        int[] termsOfDoc = new int[termFreqs.size()];
+        int i = 0;
+        for (String term : termFreqs.keySet()) {
+            termsOfDoc[i++] = termId(term);
+        }
+        Arrays.sort(termsOfDoc);
+
+        int[] freqsOfDoc = new int[termsOfDoc.length];
+        for (i = 0; i < termsOfDoc.length; i++) {
+            freqsOfDoc[i] = Math.max(1, termFreqs.get(terms.get(termsOfDoc[i])));
+        }
+        addLocked(docId, termsOfDoc, freqsOfDoc);
+    }
+
+    private void addLocked(long docId, int[] termsOfDoc, int[] freqsOfDoc) {
+        ensureDocCapacity(ordinalCount + 1);
+        int ordinal = ordinalCount++;
+
+        int length = 0;
+        for (int i = 0; i < termsOfDoc.length; i++) {
+            int termId = termsOfDoc[i];
+            appendPosting(termId, ordinal, freqsOfDoc[i]);
+            docFreq[termId]++;
+            length += freqsOfDoc[i];
+        }
+
+        ordinals.put(docId, ordinal);
+        docIds[ordinal] = docId;
+        docLengths[ordinal] = length;
+        docTerms[ordinal] = termsOfDoc;
+        docFreqs[ordinal] = freqsOfDoc;
+        totalLength += length;
+    }
+
+    private void removeLocked(long docId) {
+        Integer ordinal = ordinals.remove(docId);
+        if (ordinal == null) {
+            return;
+        }
+
+        for (int termId : docTerms[ordinal]) {
+            docFreq[termId]--;
+        }
+        totalLength -= docLengths[ordinal];
+        docLengths[ordinal] = -1;
+        tombstones++;
+    }
+
+    /**
+     * Rebuild postings from live documents once tombstones outnumber a quarter of them
+     */
+    private void compactIfNeeded() {
+        if (tombstones < MIN_COMPACT_TOMBSTONES || tombstones * 4 < ordinals.size()) {
+            return;
+        }
+
+        long[] liveIds = new long[ordinals.size()];
+        int[][] liveTerms = new int[liveIds.length][];
+        int[][] liveFreqs = new int[liveIds.length][];
+        int live = 0;
+        for (int ordinal = 0; ordinal < ordinalCount; ordinal++) {
+            if (docLengths[ordinal] >= 0) {
+                liveIds[live] = docIds[ordinal];
+                liveTerms[live] = docTerms[ordinal];
+                liveFreqs[live] = docFreqs[ordinal];
+                live++;
+            }
+        }
+
+        ordinals.clear();
+        Arrays.fill(docFreq, 0);
+        Arrays.fill(postingSizes, 0);
+        Arrays.fill(docTerms, 0, ordinalCount, null);
+        Arrays.fill(docFreqs, 0, ordinalCount, null);
+        ordinalCount = 0;
+        tombstones = 0;
+        totalLength = 0;
+
+        for (int i = 0; i < live; i++) {
+            addLocked(liveIds[i], liveTerms[i], liveFreqs[i]);
+        }
+    }
+
+    private void clearLocked() {
+        termIds.clear();
+        terms.clear();
+        ordinals.clear();
+        Arrays.fill(docFreq, 0);
+        Arrays.fill(postingOrdinals, null);
+        Arrays.fill(postingFreqs, null);
+        Arrays.fill(postingSizes, 0);
+        Arrays.fill(docTerms, null);
+        Arrays.fill(docFreqs, null);
+        ordinalCount = 0;
+        tombstones = 0;
+        totalLength = 0;
+    }
+
+    private int termId(String term) {
+        Integer existing = termIds.get(term);
+        if (existing != null) {
+            return existing;
+        }
+
+        int termId = terms.size();
+        if (termId >= docFreq.length) {
+            int capacity = docFreq.length * 2;
+            docFreq = Arrays.copyOf(docFreq, capacity);
+            postingOrdinals = Arrays.copyOf(postingOrdinals, capacity);
+            postingFreqs = Arrays.copyOf(postingFreqs, capacity);
+            postingSizes = Arrays.copyOf(postingSizes, capacity);
+        }
+        terms.add(term);
+        termIds.put(term, termId);
+        return termId;
+    }
+
+    private void appendPosting(int termId, int ordinal, int tf) {
+        int size = postingSizes[termId];
+        if (postingOrdinals[termId] == null) {
+            postingOrdinals[termId] = new int[4];
+            postingFreqs[termId] = new int[4];
+        } else if (size == postingOrdinals[termId].length) {
+            postingOrdinals[termId] = Arrays.copyOf(postingOrdinals[termId], size * 2);
+            postingFreqs[termId] = Arrays.copyOf(postingFreqs[termId], size * 2);
+        }
+        postingOrdinals[termId][size] = ordinal;
+        postingFreqs[termId][size] = tf;
+        postingSizes[termId] = size + 1;
+    }
+
+    private void ensureDocCapacity(int required) {
+        if (required > docIds.length) {
+            int capacity = Math.max(docIds.length * 2, required);
+            docIds = Arrays.copyOf(docIds, capacity);
+            docLengths = Arrays.copyOf(docLengths, capacity);
+            docTerms = Arrays.copyOf(docTerms, capacity);
+            docFreqs = Arrays.copyOf(docFreqs, capacity);
+        }
+    }
+
+    /**
+     * Best {@code k} touched ordinals via a bounded min-heap; ties favour the older document
+     */
+    private List<Hit> topK(double[] accumulator, int[] touched, int touchedCount, int k) {
+        int keep = Math.min(k, touchedCount);
+        int[] heap = new int[keep];
+        int heapSize = 0;
+
+        for (int i = 0; i < touchedCount; i++) {
+            int ordinal = touched[i];
+            if (heapSize < keep) {
+                heap[heapSize++] = ordinal;
+                siftUp(heap, heapSize - 1, accumulator);
+            } else if (better(ordinal, heap[0], accumulator)) {
+                heap[0] = ordinal;
+                siftDown(heap, heapSize, accumulator);
+            }
+        }
+
+        Hit[] hits = new Hit[heapSize];
+        for (int i = heapSize - 1; i >= 0; i--) {
+            hits[i] = new Hit(docIds[heap[0]], accumulator[heap[0]]);
+            heap[0] = heap[i];
+            siftDown(heap, i, accumulator);
+        }
+        return Arrays.asList(hits);
+    }
+
+    private static boolean better(int a, int b, double[] scores) {
+        return scores[a] > scores[b] || (scores[a] == scores[b] && a < b);
+    }
+
+    private static void siftUp(int[] heap, int index, double[] scores) {
+        int ordinal = heap[index];
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (!better(heap[parent], ordinal, scores)) {
+                break;
+            }
+            heap[index] = heap[parent];
+            index = parent;
+        }
+        heap[index] = ordinal;
+    }
+
+    private static void siftDown(int[] heap, int size, double[] scores) {
+        if (size == 0) {
+            return;
+        }
+        int ordinal = heap[0];
+        int index = 0;
+        while (true) {
+            int child = 2 * index + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && better(heap[child], heap[child + 1], scores)) {
+                child++;
+            }
+            if (!better(ordinal, heap[child], scores)) {
+                break;
+            }
+            heap[index] = heap[child];
+            index = child;
+        }
+        heap[index] = ordinal;
+    }
+
+    /**
+     * Query terms resolved against the index, with their IDF weights
+     */
+    public static final class Query {
+
+        private final int[] termIds;
+        private final double[] idf;
+        private final double maxScore;
+        private final boolean empty;
+
+        private Query(int[] termIds, double[] idf, double maxScore, boolean empty) {
+            this.termIds = termIds;
+            this.idf = idf;
+            this.maxScore = maxScore;
+            this.empty = empty;
+        }
+
+        /**
+         * Upper bound of any document's score (every term with unbounded frequency)
+         */
+        public double maxScore() {
+            return maxScore;
+        }
+
+        /**
+         * Whether the query had no terms at all (as opposed to terms unknown to the index)
+         */
+        public boolean isEmpty() {
+            return empty;
+        }
+
+        /**
+         * Score normalised to 0-1 by {@link #maxScore()}
+         */
+        public double normalize(double score) {
+            return maxScore > 0 ? Math.min(1.0, score / maxScore) : 0.0;
+        }
+    }
+
+    /**
+     * A retrieved document and its BM25 score
+     */
+    @lombok.Value
+    public static class Hit {
+        long docId;
+        double score;
+    }
+}
@@ -0,0 +1,295 @@
+package com.neuramatch.matching.index;
+
+import com.neuramatch.matching.snapshot.SnapshotContributor;
+import com.neuramatch.matching.vector.JobIndexedEvent;
+import com.neuramatch.matching.vector.JobRemovedEvent;
+import com.neuramatch.matching.vector.JobVector;
+import com.neuramatch.matching.vector.JobVectorRepository;
+import com.neuramatch.matching.vector.ResumeIndexedEvent;
+import com.neuramatch.matching.vector.ResumeRemovedEvent;
+import com.neuramatch.matching.vector.ResumeVector;
+import com.neuramatch.matching.vector.ResumeVectorRepository;
+import com.neuramatch.matching.vector.VectorIndexingService;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * BM25 indexes over job postings (title, skills, description) and resumes (skills,
+ * experience, summary), used for lexical recall and lexical scoring.
+ *
+ * Documents are indexed from the full request when they go through the indexing path.
+ * Descriptions and experience text are not stored in Postgres, so they survive restarts
+ * through snapshots; a rebuild from the database only sees titles, skills and locations.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class LexicalIndexService implements SnapshotContributor {
+
+    private static final int TITLE_BOOST = 2;
+    private static final int SKILL_BOOST = 2;
+
+    private final JobVectorRepository jobVectorRepository;
+    private final ResumeVectorRepository resumeVectorRepository;
+
+    @Value("${matching.lexical.enabled:true}")
+    private boolean enabled;
+
+    @Value("${matching.lexical.k1:1.2}")
+    private double k1;
+
+    @Value("${matching.lexical.b:0.75}")
+    private double b;
+
+    private Bm25Index jobIndex;
+    private Bm25Index resumeIndex;
+
+    @PostConstruct
+    void init() {
+        jobIndex = new Bm25Index(k1, b);
+        resumeIndex = new Bm25Index(k1, b);
+    }
+
+    /**
+     * Index text profiles of all active jobs and resumes
+     */
+    @Override
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+
+        try {
+            jobIndex.clear();
+            resumeIndex.clear();
+
+            List<JobVectorRepository.TextProfile> jobs = jobVectorRepository.findActiveTextProfiles();
+            jobs.forEach(job -> jobIndex.put(job.getJobId(), jobTerms(
+                job.getTitle(), job.getCompanyName(), job.getLocation(), job.getRequiredSkills())));
+
+            List<ResumeVectorRepository.TextProfile> resumes = resumeVectorRepository.findActiveTextProfiles();
+            resumes.forEach(resume -> resumeIndex.put(resume.getResumeId(), resumeTerms(
+                resume.getLocation(), resume.getTopSkills())));
+
+            log.info("Built lexical indexes over {} jobs and {} resumes in {} ms",
+                jobs.size(), resumes.size(), System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            log.warn("Failed to build lexical indexes: {}", e.getMessage());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onJobIndexed(JobIndexedEvent event) {
+        JobVector job = event.getJobVector();
+        if (job.getJobId() == null) {
+            return;
+        }
+
+        Map<String, Integer> terms = jobTerms(
+            job.getTitle(), job.getCompanyName(), job.getLocation(), job.getRequiredSkills());
+
+        VectorIndexingService.JobIndexRequest request = event.getRequest();
+        if (request != null) {
+            TextAnalyzer.analyze(request.getDescription(), 1, terms);
+            if (request.getPreferredSkills() != null) {
+                request.getPreferredSkills().forEach(skill -> TextAnalyzer.analyze(skill, 1, terms));
+            }
+        }
+        jobIndex.put(job.getJobId(), terms);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onJobRemoved(JobRemovedEvent event) {
+        jobIndex.remove(event.getJobId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onResumeIndexed(ResumeIndexedEvent event) {
+        ResumeVector resume = event.getResumeVector();
+        if (resume.getResumeId() == null) {
+            return;
+        }
+
+        Map<String, Integer> terms = resumeTerms(resume.getLocation(), resume.getTopSkills());
+
+        VectorIndexingService.ResumeIndexRequest request = event.getRequest();
+        if (request != null) {
+            TextAnalyzer.analyze(request.getSummary(), 1, terms);
+            if (request.getSkills() != null) {
+                request.getSkills().forEach(skill -> TextAnalyzer.analyze(skill.getSkillName(), SKILL_BOOST, terms));
+            }
+            if (request.getExperiences() != null) {
+                request.getExperiences().forEach(experience -> {
+                    TextAnalyzer.analyze(experience.getJobTitle(), TITLE_BOOST, terms);
+                    TextAnalyzer.analyze(experience.getCompanyName(), 1, terms);
+                    TextAnalyzer.analyze(experience.getDescription(), 1, terms);
+                });
+            }
+            if (request.getEducations() != null) {
+                request.getEducations().forEach(education -> {
+                    TextAnalyzer.analyze(education.getDegree(), 1, terms);
+                    TextAnalyzer.analyze(education.getFieldOfStudy(), 1, terms);
+                });
+            }
+        }
+        resumeIndex.put(resume.getResumeId(), terms);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onResumeRemoved(ResumeRemovedEvent event) {
+        resumeIndex.remove(event.getResumeId());
+    }
+
+    /**
+     * Whether lexical recall and scoring should be used
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Query for resumes matching a job's title and required skills
+     */
+    public Bm25Index.Query resumeQuery(JobVector job) {
+        List<String> texts = new ArrayList<>();
+        texts.add(job.getTitle());
+        if (job.getRequiredSkills() != null) {
+            texts.addAll(Arrays.asList(job.getRequiredSkills()));
+        }
+        return resumeIndex.prepare(TextAnalyzer.terms(texts));
+    }
+
+    /**
+     * Query for jobs matching a resume's skills
+     */
+    public Bm25Index.Query jobQuery(ResumeVector resume) {
+        List<String> texts = resume.getTopSkills() != null ? Arrays.asList(resume.getTopSkills()) : List.<String>of();
+        return jobIndex.prepare(TextAnalyzer.terms(texts));
+    }
+
+    /**
+     * Top resumes for a query, best first
+     */
+    public List<Bm25Index.Hit> searchResumes(Bm25Index.Query query, int limit) {
+        return resumeIndex.search(query, limit);
+    }
+
+    /**
+     * Top jobs for a query, best first
+     */
+    public List<Bm25Index.Hit> searchJobs(Bm25Index.Query query, int limit) {
+        return jobIndex.search(query, limit);
+    }
+
+    /**
+     * BM25 score of one resume for a query
+     */
+    public double scoreResume(Bm25Index.Query query, Long resumeId) {
+        return resumeId != null ? resumeIndex.score(query, resumeId) : 0.0;
+    }
+
+    /**
+     * BM25 score of one job for a query
+     */
+    public double scoreJob(Bm25Index.Query query, Long jobId) {
+        return jobId != null ? jobIndex.score(query, jobId) : 0.0;
+    }
+
+    public int jobCount() {
+        return jobIndex.size();
+    }
+
+    public int resumeCount() {
+        return resumeIndex.size();
+    }
+
+    // ========== Snapshot ==========
+
+    @Override
+    public String snapshotSection() {
+        return "lexical-index";
+    }
+
+    @Override
+    public void writeSnapshot(DataOutputStream out) throws IOException {
+        jobIndex.writeTo(out);
+        resumeIndex.writeTo(out);
+    }
+
+    @Override
+    public void restoreSnapshot(ByteBuffer section) {
+        jobIndex.readFrom(section);
+        resumeIndex.readFrom(section);
+    }
+
+    @Override
+    public void replaySince(LocalDateTime watermark) {
+        List<JobVectorRepository.TextProfile> jobs = jobVectorRepository.findTextProfilesUpdatedSince(watermark);
+        for (JobVectorRepository.TextProfile job : jobs) {
+            if (Boolean.TRUE.equals(job.getIsActive())) {
+                jobIndex.put(job.getJobId(), jobTerms(
+                    job.getTitle(), job.getCompanyName(), job.getLocation(), job.getRequiredSkills()));
+            } else {
+                jobIndex.remove(job.getJobId());
+            }
+        }
+        removeMissing(jobIndex, jobVectorRepository.findActiveJobIds());
+
+        List<ResumeVectorRepository.TextProfile> resumes = resumeVectorRepository.findTextProfilesUpdatedSince(watermark);
+        for (ResumeVectorRepository.TextProfile resume : resumes) {
+            if (Boolean.TRUE.equals(resume.getIsActive())) {
+                resumeIndex.put(resume.getResumeId(), resumeTerms(resume.getLocation(), resume.getTopSkills()));
+            } else {
+                resumeIndex.remove(resume.getResumeId());
+            }
+        }
+        removeMissing(resumeIndex, resumeVectorRepository.findActiveResumeIds());
+
+        log.info("Replayed {} changed jobs and {} changed resumes into lexical indexes", jobs.size(), resumes.size());
+    }
+
+    private void removeMissing(Bm25Index index, List<Long> activeIds) {
+        Set<Long> active = new HashSet<>(activeIds);
+        index.documentIds().stream()
+            .filter(id -> !active.contains(id))
+            .forEach(index::remove);
+    }
+
+    private Map<String, Integer> jobTerms(String title, String companyName, String location, String[] requiredSkills) {
+        Map<String, Integer> terms = new HashMap<>();
+        TextAnalyzer.analyze(title, TITLE_BOOST, terms);
+        TextAnalyzer.analyze(companyName, 1, terms);
+        TextAnalyzer.analyze(location, 1, terms);
+        if (requiredSkills != null) {
+            for (String skill : requiredSkills) {
+                TextAnalyzer.analyze(skill, SKILL_BOOST, terms);
+            }
+        }
+        return terms;
+    }
+
+    private Map<String, Integer> resumeTerms(String location, String[] topSkills) {
+        Map<String, Integer> terms = new HashMap<>();
+        TextAnalyzer.analyze(location, 1, terms);
+        if (topSkills != null) {
+            for (String skill : topSkills) {
+                TextAnalyzer.analyze(skill, SKILL_BOOST, terms);
+            }
+        }
+        return terms;
+    }
+}
@@ -0,0 +1,217 @@
+package com.neuramatch.matching.index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * MinHash signatures with banded locality-sensitive hashing over integer sets.
+ *
+ * Each item is summarised by {@code bands * rows} min-hashes. Items that agree on all
+ * rows of at least one band land in the same bucket and become candidates; candidates
+ * are ranked by the fraction of agreeing min-hashes, which estimates Jaccard similarity.
+ * Query cost depends on bucket sizes, not on the number of indexed items.
+ */
+public class MinHashLshIndex {
+
+    private final int bands;
+    private final int rows;
+    private final long[] seeds;
+
+    private final Map<Long, int[]> signatures = new HashMap<>();
+    private final List<Map<Long, Set<Long>>> buckets;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public MinHashLshIndex(int bands, int rows, long seed) {
+        if (bands <= 0 || rows <= 0) {
+            throw new IllegalArgumentException("bands and rows must be positive");
+        }
+
+        this.bands = bands;
+        this.rows = rows;
+        this.seeds = new long[bands * rows];
+
+        SplittableRandom random = new SplittableRandom(seed);
+        for (int i = 0; i < seeds.length; i++) {
+            seeds[i] = random.nextLong();
+        }
+
+        this.buckets = new ArrayList<>(bands);
+        for (int b = 0; b < bands; b++) {
+            buckets.add(new HashMap<>());
+        }
+    }
+
+    /**
+     * Compute the MinHash signature of a set of element ids
+     */
+    public int[] signature(int[] elements) {
+        int[] signature = new int[seeds.length];
+        Arrays.fill(signature, Integer.MAX_VALUE);
+
+        for (int element : elements) {
+            for (int i = 0; i < seeds.length; i++) {
+                int h = (int) (mix(element ^ seeds[i]) >>> 33);
+                if (h < signature[i]) {
+                    signature[i] = h;
+                }
+            }
+        }
+        return signature;
+    }
+
+    /**
+     * Index (or re-index) an item's element set
+     */
+    public void put(long itemId, int[] elements) {
+        if (elements.length == 0) {
+            remove(itemId);
+            return;
+        }
+
+        int[] signature = signature(elements);
+
+        lock.writeLock().lock();
+        try {
+            removeLocked(itemId);
+            signatures.put(itemId, signature);
+            for (int b = 0; b < bands; b++) {
+                buckets.get(b).computeIfAbsent(bandKey(signature, b), k -> new HashSet<>()).add(itemId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove an item from the index
+     */
+    public void remove(long itemId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(itemId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove all items
+     */
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            signatures.clear();
+            buckets.forEach(Map::clear);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Find items whose element sets are likely similar, ordered by estimated Jaccard
+     */
+    public List<Candidate> query(int[] elements, int limit) {
+        if (elements.length == 0 || limit <= 0) {
+            return List.of();
+        }
+
+        int[] signature = signature(elements);
+        List<Candidate> candidates = new ArrayList<>();
+
+        lock.readLock().lock();
+        try {
+            Set<Long> seen = new HashSet<>();
+            for (int b = 0; b < bands; b++) {
+                Set<Long> bucket = buckets.get(b).get(bandKey(signature, b));
+                if (bucket == null) {
+                    continue;
+                }
+                for (Long itemId : bucket) {
+                    if (seen.add(itemId)) {
+                        candidates.add(new Candidate(itemId, estimateJaccard(signature, signatures.get(itemId))));
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        candidates.sort(Comparator.comparingDouble(Candidate::getEstimatedJaccard).reversed());
+        return candidates.size() > limit ? new ArrayList<>(candidates.subList(0, limit)) : candidates;
+    }
+
+    /**
+     * Number of indexed items
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return signatures.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Fraction of agreeing min-hashes (unbiased Jaccard estimate)
+     */
+    public static double estimateJaccard(int[] signature1, int[] signature2) {
+        int agree = 0;
+        for (int i = 0; i < signature1.length; i++) {
+            if (signature1[i] == signature2[i]) {
+                agree++;
+            }
+        }
+        return (double) agree / signature1.length;
+    }
+
+    private void removeLocked(long itemId) {
+        int[] previous = signatures.remove(itemId);
+        if (previous == null) {
+            return;
+        }
+        for (int b = 0; b < bands; b++) {
+            long key = bandKey(previous, b);
+            Set<Long> bucket = buckets.get(b).get(key);
+            if (bucket != null) {
+                bucket.remove(itemId);
+                if (bucket.isEmpty()) {
+                    buckets.get(b).remove(key);
+                }
+            }
+        }
+    }
+
+    private long bandKey(int[] signature, int band) {
+        long key = band;
+        int offset = band * rows;
+        for (int r = 0; r < rows; r++) {
+            key = mix(key * 31 + signature[offset + r]);
+        }
+        return key;
+    }
+
+    /**
+     * SplitMix64 finalizer
+     */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    @lombok.Value
+    public static class Candidate {
+        long itemId;
+        double estimatedJaccard;
+    }
+}
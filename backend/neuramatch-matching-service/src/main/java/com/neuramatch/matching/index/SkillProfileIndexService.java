@@ -0,0 +1,205 @@
+package com.neuramatch.matching.index;
+
+import com.neuramatch.matching.graph.SkillGraphTableService;
+import com.neuramatch.matching.graph.SkillGraphTables;
+import com.neuramatch.matching.graph.SkillSetSimilarity;
+import com.neuramatch.matching.snapshot.SnapshotCodec;
+import com.neuramatch.matching.snapshot.SnapshotContributor;
+import com.neuramatch.matching.vector.ResumeIndexedEvent;
+import com.neuramatch.matching.vector.ResumeRemovedEvent;
+import com.neuramatch.matching.vector.ResumeVectorRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * MinHash/LSH index over resume skill sets for "similar skill profile" search.
+ *
+ * Candidates come from LSH buckets in near-constant time and are re-scored with the
+ * relationship-aware {@link SkillSetSimilarity} before being returned.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SkillProfileIndexService implements SnapshotContributor {
+
+    private static final long HASH_SEED = 0x5EED5C11L;
+
+    private final ResumeVectorRepository resumeVectorRepository;
+    private final SkillGraphTableService skillGraphTableService;
+
+    @Value("${matching.skill-profile.lsh-bands:32}")
+    private int bands;
+
+    @Value("${matching.skill-profile.lsh-rows:2}")
+    private int rows;
+
+    @Value("${matching.skill-profile.candidate-multiplier:4}")
+    private int candidateMultiplier;
+
+    private MinHashLshIndex index;
+    private final Map<Long, int[]> profiles = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void init() {
+        index = new MinHashLshIndex(bands, rows, HASH_SEED);
+    }
+
+    /**
+     * Load skill profiles of all active resumes
+     */
+    @Override
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+
+        try {
+            profiles.clear();
+            index.clear();
+            List<ResumeVectorRepository.SkillProfile> active = resumeVectorRepository.findActiveSkillProfiles();
+            active.forEach(row -> indexProfile(row.getResumeId(), row.getTopSkills()));
+            log.info("Indexed {} resume skill profiles in {} ms", active.size(), System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            log.warn("Failed to build skill profile index: {}", e.getMessage());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onResumeIndexed(ResumeIndexedEvent event) {
+        indexProfile(event.getResumeVector().getResumeId(), event.getResumeVector().getTopSkills());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onResumeRemoved(ResumeRemovedEvent event) {
+        profiles.remove(event.getResumeId());
+        index.remove(event.getResumeId());
+    }
+
+    /**
+     * Find resumes with skill profiles similar to the given skills
+     */
+    public List<SkillProfileMatch> findSimilarProfiles(Collection<String> skills, int limit) {
+        int[] queryIds = skillGraphTableService.resolveIds(skills, false);
+        SkillGraphTables tables = skillGraphTableService.current();
+
+        List<SkillProfileMatch> matches = new ArrayList<>();
+        for (MinHashLshIndex.Candidate candidate : index.query(queryIds, limit * candidateMultiplier)) {
+            int[] profile = profiles.get(candidate.getItemId());
+            if (profile == null) {
+                continue;
+            }
+            matches.add(SkillProfileMatch.builder()
+                .resumeId(candidate.getItemId())
+                .estimatedJaccard(candidate.getEstimatedJaccard())
+                .similarity(SkillSetSimilarity.score(tables, queryIds, profile))
+                .build());
+        }
+
+        matches.sort(Comparator.comparingDouble(SkillProfileMatch::getSimilarity).reversed());
+        return matches.size() > limit ? matches.subList(0, limit) : matches;
+    }
+
+    /**
+     * Number of indexed skill profiles
+     */
+    public int size() {
+        return index.size();
+    }
+
+    // ========== Snapshot ==========
+
+    @Override
+    public String snapshotSection() {
+        return "skill-profiles";
+    }
+
+    @Override
+    public void writeSnapshot(DataOutputStream out) throws IOException {
+        Map<Long, int[]> copy = new HashMap<>(profiles);
+        out.writeInt(copy.size());
+        for (Map.Entry<Long, int[]> entry : copy.entrySet()) {
+            out.writeLong(entry.getKey());
+            SnapshotCodec.writeInts(out, entry.getValue());
+        }
+    }
+
+    @Override
+    public void restoreSnapshot(ByteBuffer section) {
+        profiles.clear();
+        index.clear();
+
+        int count = section.getInt();
+        for (int i = 0; i < count; i++) {
+            long resumeId = section.getLong();
+            int[] ids = SnapshotCodec.readInts(section);
+            profiles.put(resumeId, ids);
+            index.put(resumeId, ids);
+        }
+    }
+
+    @Override
+    public void replaySince(LocalDateTime watermark) {
+        List<ResumeVectorRepository.SkillProfile> changed = resumeVectorRepository.findSkillProfilesUpdatedSince(watermark);
+        for (ResumeVectorRepository.SkillProfile row : changed) {
+            if (Boolean.TRUE.equals(row.getIsActive())) {
+                indexProfile(row.getResumeId(), row.getTopSkills());
+            } else {
+                onResumeRemoved(new ResumeRemovedEvent(row.getResumeId()));
+            }
+        }
+
+        Set<Long> active = new HashSet<>(resumeVectorRepository.findActiveResumeIds());
+        int before = profiles.size();
+        profiles.keySet().stream()
+            .filter(resumeId -> !active.contains(resumeId))
+            .toList()
+            .forEach(resumeId -> onResumeRemoved(new ResumeRemovedEvent(resumeId)));
+
+        log.info("Replayed {} changed resume skill profiles, dropped {} deleted",
+            changed.size(), before - profiles.size());
+    }
+
+    private void indexProfile(Long resumeId, String[] skills) {
+        if (resumeId == null) {
+            return;
+        }
+
+        int[] ids = skills != null
+            ? skillGraphTableService.resolveIds(Arrays.asList(skills), true)
+            : new int[0];
+
+        if (ids.length == 0) {
+            profiles.remove(resumeId);
+        } else {
+            profiles.put(resumeId, ids);
+        }
+        index.put(resumeId, ids);
+    }
+
+    // ========== DTOs ==========
+
+    @lombok.Data
+    @lombok.Builder
+    public static class SkillProfileMatch {
+        private Long resumeId;
+        private double estimatedJaccard; // 0-1, from MinHash signatures
+        private double similarity; // 0-1, relationship-aware
+    }
+}
@@ -0,0 +1,63 @@
+package com.neuramatch.matching.index;
+
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Tokenizer shared by lexical indexing and querying.
+ *
+ * Lower-cases, splits on anything that is not a letter, digit, '+' or '#' (so "C++",
+ * "C#" and "Node.js" survive as "c++", "c#", "node" + "js") and drops English stop words.
+ */
+public final class TextAnalyzer {
+
+    private static final Set<String> STOP_WORDS = Set.of(
+        "a", "an", "and", "are", "as", "at", "be", "by", "for", "from", "has", "have", "in",
+        "is", "it", "its", "of", "on", "or", "our", "that", "the", "this", "to", "we", "will",
+        "with", "you", "your");
+
+    private TextAnalyzer() {
+    }
+
+    /**
+     * Add the tokens of {@code text} to {@code termFreqs}, each counting {@code boost} times
+     */
+    public static void analyze(String text, int boost, Map<String, Integer> termFreqs) {
+        if (text == null || text.isEmpty()) {
+            return;
+        }
+
+        String lower = text.toLowerCase(Locale.ROOT);
+        int start = -1;
+        for (int i = 0; i <= lower.length(); i++) {
+            boolean tokenChar = i < lower.length() && isTokenChar(lower.charAt(i));
+            if (tokenChar && start < 0) {
+                start = i;
+            } else if (!tokenChar && start >= 0) {
+                String token = lower.substring(start, i);
+                if (!STOP_WORDS.contains(token)) {
+                    termFreqs.merge(token, boost, Integer::sum);
+                }
+                start = -1;
+            }
+        }
+    }
+
+    /**
+     * Distinct tokens of the given texts, in first-seen order
+     */
+    public static Set<String> terms(Iterable<String> texts) {
+        Map<String, Integer> termFreqs = new LinkedHashMap<>();
+        for (String text : texts) {
+            analyze(text, 1, termFreqs);
+        }
+        return new LinkedHashSet<>(termFreqs.keySet());
+    }
+
+    private static boolean isTokenChar(char c) {
+        return Character.isLetterOrDigit(c) || c == '+' || c == '#';
+    }
+}
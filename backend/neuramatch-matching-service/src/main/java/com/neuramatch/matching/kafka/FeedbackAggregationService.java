@@ -1,63 +1,188 @@
 package com.neuramatch.matching.kafka;
 
+import com.neuramatch.matching.entity.MatchFeedback;
+import com.neuramatch.matching.repository.MatchFeedbackRepository;
+import com.neuramatch.matching.snapshot.SnapshotContributor;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Per (job, resume) feedback aggregates for analytics.
+ *
+ * State lives in a {@link FeedbackStateStore}: packed long keys, fixed action-count
+ * columns and lock striping, bounded by max-pairs with pairs idle for longer than the
+ * TTL swept out. It is saved with the matching snapshot and rebuilt from the last TTL's
+ * worth of match_feedback when there is none.
+ */
 @Service
-@Slf4j
 @RequiredArgsConstructor
-public class FeedbackAggregationService {
+@Slf4j
+public class FeedbackAggregationService implements SnapshotContributor {
 
-    // In-memory aggregation (would use Redis in production)
-    private final Map<String, FeedbackAggregate> aggregates = new ConcurrentHashMap<>();
+    private final MatchFeedbackRepository feedbackRepository;
+    private final MeterRegistry meterRegistry;
 
-    public void aggregateFeedback(Long jobId, Long resumeId, String action, Double weight) {
-        String key = jobId + ":" + resumeId;
+    @Value("${matching.feedback.aggregates.max-pairs:2000000}")
+    private int maxPairs;
 
-        FeedbackAggregate aggregate = aggregates.computeIfAbsent(key,
-            k -> new FeedbackAggregate());
+    @Value("${matching.feedback.aggregates.ttl-days:30}")
+    private int ttlDays;
 
-        aggregate.addFeedback(action, weight);
+    @Value("${matching.feedback.aggregates.stripes:64}")
+    private int stripes;
 
-        log.debug("Aggregated feedback for {}: {}", key, aggregate);
+    private FeedbackStateStore store;
+
+    @PostConstruct
+    void init() {
+        store = new FeedbackStateStore(stripes, maxPairs);
+        Gauge.builder("feedback.aggregates.pairs", store, FeedbackStateStore::size).register(meterRegistry);
+        Gauge.builder("feedback.aggregates.bytes", store, FeedbackStateStore::memoryBytes).register(meterRegistry);
     }
 
-    public FeedbackAggregate getAggregate(Long jobId, Long resumeId) {
-        String key = jobId + ":" + resumeId;
-        return aggregates.getOrDefault(key, new FeedbackAggregate());
+    public void aggregateFeedback(Long jobId, Long resumeId, String action, Double weight) {
+        long key = FeedbackStateStore.pack(jobId, resumeId);
+        if (key == FeedbackStateStore.EMPTY) {
+            log.debug("Skipping feedback for unpackable pair {}:{}", jobId, resumeId);
+            return;
+        }
+        store.add(key, FeedbackStateStore.actionSlot(action), weight != null ? weight : 0.0, currentMinute());
     }
 
-    public static class FeedbackAggregate {
-        private int totalFeedback = 0;
-        private double totalWeight = 0.0;
-        private Map<String, Integer> actionCounts = new ConcurrentHashMap<>();
+    /**
+     * Aggregate a batch of events, taking each stripe's lock once
+     */
+    public void aggregateAll(List<FeedbackEvent> events) {
+        long[] keys = new long[events.size()];
+        int[] actions = new int[events.size()];
+        double[] weights = new double[events.size()];
+        int count = 0;
+        for (FeedbackEvent event : events) {
+            long key = FeedbackStateStore.pack(event.getJobId(), event.getResumeId());
+            if (key == FeedbackStateStore.EMPTY) {
+                continue;
+            }
+            keys[count] = key;
+            actions[count] = FeedbackStateStore.actionSlot(event.getAction());
+            weights[count] = event.getWeight() != null ? event.getWeight() : 0.0;
+            count++;
+        }
 
-        public void addFeedback(String action, Double weight) {
-            totalFeedback++;
-            totalWeight += weight;
-            actionCounts.merge(action, 1, Integer::sum);
+        store.addAll(keys, actions, weights, count, currentMinute());
+        log.debug("Aggregated {} feedback events", count);
+    }
+
+    public FeedbackAggregate getAggregate(Long jobId, Long resumeId) {
+        long key = FeedbackStateStore.pack(jobId, resumeId);
+        FeedbackStateStore.Entry entry = key != FeedbackStateStore.EMPTY ? store.get(key) : null;
+        if (entry == null) {
+            return new FeedbackAggregate(0, 0.0, Map.of());
         }
 
-        public double getAverageWeight() {
-            return totalFeedback > 0 ? totalWeight / totalFeedback : 0.0;
+        Map<String, Integer> actionCounts = new LinkedHashMap<>();
+        int[] counts = entry.getActionCounts();
+        for (int slot = 0; slot < counts.length; slot++) {
+            if (counts[slot] > 0) {
+                actionCounts.put(FeedbackStateStore.actionName(slot), counts[slot]);
+            }
+        }
+        return new FeedbackAggregate(entry.totalFeedback(), entry.getTotalWeight(), actionCounts);
+    }
+
+    public int size() {
+        return store.size();
+    }
+
+    /**
+     * Drop pairs without feedback for longer than the TTL
+     */
+    @Scheduled(
+        fixedDelayString = "${matching.feedback.aggregates.sweep-interval-ms:600000}",
+        initialDelayString = "${matching.feedback.aggregates.sweep-interval-ms:600000}")
+    public void evictIdle() {
+        int removed = store.evictIdleSince(currentMinute() - (int) Duration.ofDays(ttlDays).toMinutes());
+        if (removed > 0) {
+            log.info("Evicted {} idle feedback aggregates, {} remain", removed, store.size());
         }
+    }
+
+    // ========== Snapshot ==========
+
+    @Override
+    public String snapshotSection() {
+        return "feedback-aggregates";
+    }
+
+    @Override
+    public void writeSnapshot(DataOutputStream out) throws IOException {
+        store.writeTo(out);
+    }
+
+    @Override
+    public void restoreSnapshot(ByteBuffer section) {
+        store.readFrom(section);
+    }
+
+    @Override
+    public void replaySince(LocalDateTime watermark) {
+        List<MatchFeedback> recent = feedbackRepository.findRecentFeedback(watermark);
+        recent.forEach(this::addRow);
+        log.info("Replayed {} feedback rows into aggregates", recent.size());
+    }
 
-        public int getTotalFeedback() {
-            return totalFeedback;
+    @Override
+    public void rebuild() {
+        try {
+            store.clear();
+            List<MatchFeedback> recent = feedbackRepository.findRecentFeedback(LocalDateTime.now().minusDays(ttlDays));
+            recent.forEach(this::addRow);
+            log.info("Built feedback aggregates for {} pairs from {} rows", store.size(), recent.size());
+        } catch (Exception e) {
+            log.warn("Failed to build feedback aggregates: {}", e.getMessage());
         }
+    }
 
-        public Map<String, Integer> getActionCounts() {
-            return actionCounts;
+    private void addRow(MatchFeedback feedback) {
+        long key = FeedbackStateStore.pack(feedback.getJobId(), feedback.getResumeId());
+        if (key == FeedbackStateStore.EMPTY || feedback.getAction() == null) {
+            return;
         }
+        int minute = feedback.getCreatedAt() != null
+            ? (int) (feedback.getCreatedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() / 60_000)
+            : currentMinute();
+        store.add(key, feedback.getAction().ordinal(), feedback.getAction().getWeight(), minute);
+    }
+
+    private static int currentMinute() {
+        return (int) (System.currentTimeMillis() / 60_000);
+    }
+
+    // ========== DTOs ==========
 
-        @Override
-        public String toString() {
-            return String.format("FeedbackAggregate{total=%d, avgWeight=%.2f, actions=%s}",
-                    totalFeedback, getAverageWeight(), actionCounts);
+    @lombok.Value
+    public static class FeedbackAggregate {
+        int totalFeedback;
+        double totalWeight;
+        Map<String, Integer> actionCounts;
+
+        public double getAverageWeight() {
+            return totalFeedback > 0 ? totalWeight / totalFeedback : 0.0;
         }
     }
 }
@@ -0,0 +1,285 @@
+package com.neuramatch.matching.kafka;
+
+import com.neuramatch.matching.entity.MatchFeedback;
+import com.neuramatch.matching.repository.MatchFeedbackRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-process feedback counters for the consumer hot path.
+ *
+ * Keeps a monotonic total and, per action, a sliding window of hourly buckets, so the
+ * retraining threshold and job statistics cost O(1) per event instead of aggregate
+ * scans over match_feedback. The counters are seeded once on first use: the total from
+ * a single row count, the windows from the last Redis checkpoint (or one grouped query
+ * when there is none). They are checkpointed to Redis periodically and on shutdown; the
+ * consumer only folds in records that are past the offsets stored with the rollups, so a
+ * redelivered batch is not counted twice, and a crash loses at most one interval.
+ *
+ * Counts cover the events this consumer processed since seeding; an event whose row was
+ * already counted by the seed query is counted twice, which only shifts the retraining
+ * trigger by a few events.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class FeedbackCounters {
+
+    private static final String CHECKPOINT_KEY = "feedback:counters";
+    private static final String TOTAL_FIELD = "total";
+
+    private final MatchFeedbackRepository feedbackRepository;
+    private final RedisTemplate<String, String> redisTemplate;
+
+    @Value("${matching.feedback.counters.window-hours:720}")
+    private int windowHours;
+
+    private final Map<MatchFeedback.FeedbackAction, HourlyWindow> windows =
+        new EnumMap<>(MatchFeedback.FeedbackAction.class);
+    private final AtomicLong total = new AtomicLong();
+    private volatile boolean seeded;
+
+    // Stored timestamps carry no zone, so hours are taken on the local wall clock as if UTC
+    private Clock clock = Clock.systemDefaultZone();
+
+    /**
+     * Count one feedback event
+     *
+     * @return the total feedback count including this event
+     */
+    public long record(String action) {
+        ensureSeeded();
+        MatchFeedback.FeedbackAction parsed = parseAction(action);
+        if (parsed != null) {
+            windows.get(parsed).add(currentHour(), 1);
+        }
+        return total.incrementAndGet();
+    }
+
+    public long total() {
+        ensureSeeded();
+        return total.get();
+    }
+
+    /**
+     * Events with the given action in the last {@code period}, at hour granularity
+     */
+    public long count(MatchFeedback.FeedbackAction action, Duration period) {
+        ensureSeeded();
+        int hours = (int) Math.min(windowHours, Math.max(1, period.toHours()));
+        return windows.get(action).sum(currentHour(), hours);
+    }
+
+    /**
+     * Count a batch of feedback events. Taken under the same lock as {@link #flush()}, so a
+     * checkpoint never splits a batch.
+     *
+     * @return the total feedback count including the batch
+     */
+    public synchronized long recordAll(List<String> actions) {
+        ensureSeeded();
+        long hour = currentHour();
+        for (String action : actions) {
+            MatchFeedback.FeedbackAction parsed = parseAction(action);
+            if (parsed != null) {
+                windows.get(parsed).add(hour, 1);
+            }
+        }
+        return total.addAndGet(actions.size());
+    }
+
+    /**
+     * Write the counters to Redis, logging failures
+     */
+    @Scheduled(
+        fixedDelayString = "${matching.feedback.counters.checkpoint-interval-ms:30000}",
+        initialDelayString = "${matching.feedback.counters.checkpoint-interval-ms:30000}")
+    @PreDestroy
+    public void checkpoint() {
+        try {
+            flush();
+        } catch (Exception e) {
+            log.warn("Failed to checkpoint feedback counters: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Write the counters to Redis in one hash update
+     *
+     * @throws org.springframework.dao.DataAccessException if Redis rejects the write
+     */
+    public void flush() {
+        if (!seeded) {
+            return;
+        }
+
+        Map<String, String> fields = new HashMap<>();
+        synchronized (this) {
+            fields.put(TOTAL_FIELD, String.valueOf(total.get()));
+            long now = currentHour();
+            windows.forEach((action, window) -> fields.put(action.name(), window.encode(now)));
+        }
+        redisTemplate.opsForHash().putAll(CHECKPOINT_KEY, fields);
+    }
+
+    private void ensureSeeded() {
+        if (seeded) {
+            return;
+        }
+        synchronized (this) {
+            if (seeded) {
+                return;
+            }
+            for (MatchFeedback.FeedbackAction action : MatchFeedback.FeedbackAction.values()) {
+                windows.put(action, new HourlyWindow(windowHours + 1));
+            }
+            Map<Object, Object> checkpoint = readCheckpoint();
+            seedTotal(checkpoint);
+            seedWindows(checkpoint);
+            seeded = true;
+        }
+    }
+
+    private Map<Object, Object> readCheckpoint() {
+        try {
+            Map<Object, Object> entries = redisTemplate.opsForHash().entries(CHECKPOINT_KEY);
+            return entries != null ? entries : Map.of();
+        } catch (Exception e) {
+            log.warn("Failed to read feedback counter checkpoint: {}", e.getMessage());
+            return Map.of();
+        }
+    }
+
+    private void seedTotal(Map<Object, Object> checkpoint) {
+        try {
+            total.set(feedbackRepository.count());
+        } catch (Exception e) {
+            Object saved = checkpoint.get(TOTAL_FIELD);
+            total.set(saved != null ? Long.parseLong(saved.toString()) : 0L);
+            log.warn("Seeded feedback total from checkpoint ({}): {}", total.get(), e.getMessage());
+        }
+    }
+
+    private void seedWindows(Map<Object, Object> checkpoint) {
+        long now = currentHour();
+        boolean restored = false;
+        for (Map.Entry<Object, Object> entry : checkpoint.entrySet()) {
+            String field = entry.getKey().toString();
+            MatchFeedback.FeedbackAction action = parseAction(field);
+            if (action != null) {
+                windows.get(action).decode(entry.getValue().toString(), now, windowHours);
+                restored = true;
+            }
+        }
+        if (restored) {
+            log.info("Restored feedback counters from checkpoint (total {})", total.get());
+            return;
+        }
+
+        LocalDateTime since = LocalDateTime.now(clock).minusHours(windowHours);
+        for (MatchFeedbackRepository.HourlyActionCount row : feedbackRepository.countByActionAndHourSince(since)) {
+            MatchFeedback.FeedbackAction action = parseAction(row.getAction());
+            if (action != null) {
+                windows.get(action).add(row.getHour(), row.getCount());
+            }
+        }
+        log.info("Seeded feedback counters from database (total {})", total.get());
+    }
+
+    private long currentHour() {
+        return LocalDateTime.now(clock).toEpochSecond(ZoneOffset.UTC) / 3600;
+    }
+
+    private static MatchFeedback.FeedbackAction parseAction(String action) {
+        try {
+            return action != null ? MatchFeedback.FeedbackAction.valueOf(action) : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Ring of hourly buckets; a slot is reset when its hour comes around again
+     */
+    static final class HourlyWindow {
+
+        private final long[] hours;
+        private final long[] counts;
+
+        HourlyWindow(int slots) {
+            this.hours = new long[slots];
+            this.counts = new long[slots];
+            Arrays.fill(hours, Long.MIN_VALUE);
+        }
+
+        synchronized void add(long hour, long count) {
+            int slot = (int) Math.floorMod(hour, (long) hours.length);
+            if (hours[slot] != hour) {
+                if (hours[slot] > hour) {
+                    return; // older than the window
+                }
+                hours[slot] = hour;
+                counts[slot] = 0;
+            }
+            counts[slot] += count;
+        }
+
+        /**
+         * Sum of the buckets in (now - span, now]
+         */
+        synchronized long sum(long now, int span) {
+            long sum = 0;
+            for (int i = 0; i < hours.length; i++) {
+                if (hours[i] > now - span && hours[i] <= now) {
+                    sum += counts[i];
+                }
+            }
+            return sum;
+        }
+
+        /**
+         * Live buckets as "hour:count,hour:count"
+         */
+        synchronized String encode(long now) {
+            StringBuilder encoded = new StringBuilder();
+            for (int i = 0; i < hours.length; i++) {
+                if (counts[i] > 0 && hours[i] > now - hours.length) {
+                    if (encoded.length() > 0) {
+                        encoded.append(',');
+                    }
+                    encoded.append(hours[i]).append(':').append(counts[i]);
+                }
+            }
+            return encoded.toString();
+        }
+
+        void decode(String encoded, long now, int span) {
+            if (encoded.isEmpty()) {
+                return;
+            }
+            for (String bucket : encoded.split(",")) {
+                int colon = bucket.indexOf(':');
+                long hour = Long.parseLong(bucket.substring(0, colon));
+                if (hour > now - span && hour <= now) {
+                    add(hour, Long.parseLong(bucket.substring(colon + 1)));
+                }
+            }
+        }
+    }
+}
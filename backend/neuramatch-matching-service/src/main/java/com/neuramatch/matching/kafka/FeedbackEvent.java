@@ -0,0 +1,46 @@
+package com.neuramatch.matching.kafka;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.neuramatch.matching.entity.MatchFeedback;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Typed payload of a feedback-events record, as published by FeedbackService
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class FeedbackEvent {
+
+    private Long feedbackId;
+    private Long jobId;
+    private Long resumeId;
+    private Long recruiterId;
+    private String action;
+    private Double weight;
+    private Double originalScore;
+    private String timestamp;
+
+    /**
+     * Reject events the aggregation can't use
+     *
+     * @throws IllegalArgumentException naming the first problem
+     */
+    public void validate() {
+        if (jobId == null || resumeId == null) {
+            throw new IllegalArgumentException("jobId and resumeId are required");
+        }
+        if (weight == null || weight.isNaN()) {
+            throw new IllegalArgumentException("weight is required");
+        }
+        if (action == null) {
+            throw new IllegalArgumentException("action is required");
+        }
+        MatchFeedback.FeedbackAction.valueOf(action);
+    }
+}
@@ -1,96 +1,151 @@
 package com.neuramatch.matching.kafka;
 
-import com.neuramatch.matching.entity.MatchFeedback;
-import com.neuramatch.matching.repository.MatchFeedbackRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.neuramatch.matching.config.FeedbackKafkaConfig;
+import com.neuramatch.matching.learning.OnlineRankingLearner;
+import com.neuramatch.matching.service.FeedbackRollupService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
 import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
+import org.springframework.kafka.support.Acknowledgment;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
-
+import java.util.OptionalLong;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Consumes feedback-events in batches of up to max-poll-records.
+ *
+ * Each batch is parsed into {@link FeedbackEvent}s and applied durable state first: the
+ * daily rollups in one upsert, in the same transaction as the offset each partition has
+ * been applied up to. Only then are records that can't be parsed sent to
+ * feedback-events.DLT and the batch folded into the counters, the in-memory aggregates
+ * and the {@link OnlineRankingLearner} mini-batch. Records below a partition's applied
+ * offset are skipped before anything else, so a batch redelivered after a failure, a
+ * crash or a rebalance is neither counted nor dead-lettered twice; the in-memory state
+ * may miss a batch that failed after its upsert, but never counts one twice.
+ * The listener starts once the rollup backfill is decided; see {@link FeedbackListenerStarter}.
+ */
 @Service
 @Slf4j
 @RequiredArgsConstructor
 public class FeedbackEventConsumer {
 
-    private final MatchFeedbackRepository feedbackRepository;
+    public static final String LISTENER_ID = "feedback-batch-consumer";
+    public static final String TOPIC = "feedback-events";
+
+    private final FeedbackCounters feedbackCounters;
     private final FeedbackAggregationService aggregationService;
+    private final FeedbackRollupService rollupService;
+    private final OnlineRankingLearner rankingLearner;
+    private final DeadLetterPublishingRecoverer deadLetterRecoverer;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<TopicPartition, AtomicLong> partitionLag = new ConcurrentHashMap<>();
+
+    @KafkaListener(id = LISTENER_ID, topics = TOPIC, groupId = "feedback-processor",
+                   containerFactory = FeedbackKafkaConfig.FEEDBACK_BATCH_FACTORY,
+                   autoStartup = "false") // started by FeedbackListenerStarter
+    public void processFeedbackBatch(List<ConsumerRecord<String, byte[]>> records, Acknowledgment ack,
+                                     Consumer<?, ?> consumer) {
+        long start = System.nanoTime();
+
+        Map<TopicPartition, Long> appliedOffsets = rollupService.appliedOffsets(TOPIC);
+        List<FeedbackEvent> events = new ArrayList<>(records.size());
+        List<DeadLetter> deadLetters = new ArrayList<>();
+        Map<TopicPartition, Long> nextOffsets = new HashMap<>();
+        int duplicates = 0;
+
+        for (ConsumerRecord<String, byte[]> record : records) {
+            TopicPartition partition = new TopicPartition(record.topic(), record.partition());
+            if (record.offset() < appliedOffsets.getOrDefault(partition, -1L)) {
+                duplicates++;
+                continue;
+            }
+            nextOffsets.merge(partition, record.offset() + 1, Math::max);
+
+            try {
+                FeedbackEvent event = objectMapper.readValue(record.value(), FeedbackEvent.class);
+                event.validate();
+                events.add(event);
+            } catch (Exception e) {
+                deadLetters.add(new DeadLetter(record, e));
+            }
+        }
 
-    @KafkaListener(topics = "feedback-events", groupId = "feedback-processor")
-    public void processFeedbackEvent(Map<String, Object> event) {
-        log.info("Processing feedback event: {}", event);
+        // Durable step first; if it throws, nothing below has run and the batch is redelivered
+        rollupService.applyBatch(events, nextOffsets);
 
-        try {
-            Long feedbackId = ((Number) event.get("feedbackId")).longValue();
-            Long jobId = ((Number) event.get("jobId")).longValue();
-            Long resumeId = ((Number) event.get("resumeId")).longValue();
-            String action = (String) event.get("action");
-            Double weight = ((Number) event.get("weight")).doubleValue();
+        // Offsets are stored: a redelivery from here on skips these records
+        deadLetter(deadLetters);
+        long totalFeedback = feedbackCounters.recordAll(events.stream().map(FeedbackEvent::getAction).toList());
+        aggregationService.aggregateAll(events);
+        rankingLearner.learn(events);
+        log.debug("Applied {} feedback events, total feedback count: {}", events.size(), totalFeedback);
 
-            // Aggregate feedback for analytics
-            aggregationService.aggregateFeedback(jobId, resumeId, action, weight);
+        ack.acknowledge();
 
-            // Check if retraining threshold reached
-            long totalFeedback = feedbackRepository.count();
-            log.debug("Total feedback count: {}", totalFeedback);
+        recordMetrics(records, consumer, events.size(), duplicates, deadLetters.size(), System.nanoTime() - start);
+    }
 
-            if (totalFeedback >= 1000 && totalFeedback % 1000 == 0) {
-                log.info("RETRAINING THRESHOLD REACHED: {} samples collected", totalFeedback);
-                triggerModelRetraining();
+    /**
+     * Publish poison records once their offsets are stored. A record that can't be
+     * published is logged rather than failing the batch, which would only skip it.
+     */
+    private void deadLetter(List<DeadLetter> deadLetters) {
+        for (DeadLetter deadLetter : deadLetters) {
+            ConsumerRecord<String, byte[]> record = deadLetter.getRecord();
+            log.warn("Dead-lettering feedback record {}-{}@{}: {}", record.topic(), record.partition(),
+                record.offset(), deadLetter.getCause().getMessage());
+            try {
+                deadLetterRecoverer.accept(record, deadLetter.getCause());
+            } catch (Exception e) {
+                log.error("Failed to dead-letter feedback record {}-{}@{}", record.topic(), record.partition(),
+                    record.offset(), e);
+                meterRegistry.counter("feedback.consumer.dead_letter.failures").increment();
             }
-
-            // Update job-specific statistics
-            updateJobStatistics(jobId);
-
-        } catch (Exception e) {
-            log.error("Error processing feedback event: {}", event, e);
-            // Don't rethrow - we don't want to block Kafka consumer
         }
     }
 
-    private void triggerModelRetraining() {
-        log.info("Triggering model retraining...");
-        // TODO: Integrate with ML pipeline
-        // This would typically:
-        // 1. Export feedback data
-        // 2. Trigger training job (e.g., via REST API to ML service)
-        // 3. Update model weights/embeddings
-        // 4. Deploy new model version
-
-        // For now, just log the event
-        log.info("Model retraining scheduled (placeholder - integrate with ML pipeline)");
-    }
+    private void recordMetrics(List<ConsumerRecord<String, byte[]>> records, Consumer<?, ?> consumer,
+                               int processed, int duplicates, int deadLettered, long elapsedNanos) {
+        meterRegistry.timer("feedback.consumer.batch").record(elapsedNanos, TimeUnit.NANOSECONDS);
+        meterRegistry.summary("feedback.consumer.batch.size").record(records.size());
+        meterRegistry.counter("feedback.consumer.records", "outcome", "processed").increment(processed);
+        meterRegistry.counter("feedback.consumer.records", "outcome", "duplicate").increment(duplicates);
+        meterRegistry.counter("feedback.consumer.records", "outcome", "dead_lettered").increment(deadLettered);
 
-    private void updateJobStatistics(Long jobId) {
-        // Update cached statistics for job
-        Map<String, Object> stats = calculateJobStats(jobId);
-        log.debug("Updated statistics for job {}: {}", jobId, stats);
-        // TODO: Store in Redis cache for fast retrieval
+        if (consumer == null) {
+            return;
+        }
+        records.stream()
+            .map(record -> new TopicPartition(record.topic(), record.partition()))
+            .distinct()
+            .forEach(tp -> {
+                OptionalLong lag = consumer.currentLag(tp);
+                if (lag.isPresent()) {
+                    partitionLag.computeIfAbsent(tp, p -> meterRegistry.gauge("feedback.consumer.lag",
+                        Tags.of("partition", p.toString()), new AtomicLong())).set(lag.getAsLong());
+                }
+            });
     }
 
-    private Map<String, Object> calculateJobStats(Long jobId) {
-        // Calculate various metrics
-        Map<String, Object> stats = new HashMap<>();
-
-        long totalViews = feedbackRepository.countByActionSince(
-                MatchFeedback.FeedbackAction.VIEWED,
-                java.time.LocalDateTime.now().minusDays(30)
-        );
-
-        long totalHired = feedbackRepository.countByActionSince(
-                MatchFeedback.FeedbackAction.HIRED,
-                java.time.LocalDateTime.now().minusDays(30)
-        );
-
-        double conversionRate = totalViews > 0 ?
-            (double) totalHired / totalViews * 100 : 0.0;
-
-        stats.put("totalViews", totalViews);
-        stats.put("totalHired", totalHired);
-        stats.put("conversionRate", conversionRate);
-
-        return stats;
+    @lombok.Value
+    private static class DeadLetter {
+        ConsumerRecord<String, byte[]> record;
+        Exception cause;
     }
 }
@@ -0,0 +1,39 @@
+package com.neuramatch.matching.kafka;
+
+import com.neuramatch.matching.service.FeedbackRollupService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.listener.MessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+/**
+ * Starts the feedback batch listener once the application is ready.
+ *
+ * The listener does not start with the context: whether the daily rollups need a
+ * backfill is decided first, while no batch has been applied, and the backfill itself
+ * runs with the first batch (see {@link FeedbackRollupService#prepareBackfill()}).
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class FeedbackListenerStarter {
+
+    private final FeedbackRollupService rollupService;
+    private final KafkaListenerEndpointRegistry listenerRegistry;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        boolean backfill = rollupService.prepareBackfill();
+
+        MessageListenerContainer container = listenerRegistry.getListenerContainer(FeedbackEventConsumer.LISTENER_ID);
+        if (container == null) {
+            log.warn("Feedback listener {} is not registered", FeedbackEventConsumer.LISTENER_ID);
+            return;
+        }
+        container.start();
+        log.info("Started feedback listener{}", backfill ? ", rollups are backfilled with its first batch" : "");
+    }
+}
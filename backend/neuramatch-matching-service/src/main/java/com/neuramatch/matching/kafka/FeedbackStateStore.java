@@ -0,0 +1,462 @@
+package com.neuramatch.matching.kafka;
+
+import com.neuramatch.matching.entity.MatchFeedback;
+import com.neuramatch.matching.snapshot.SnapshotCodec;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Bounded feedback aggregates per (job, resume) pair, keyed by the packed pair id.
+ *
+ * Each stripe is an open-addressing table with parallel primitive columns: the key, one
+ * saturating 16-bit counter per action (plus one for unknown actions), the weight sum
+ * and the last-update minute. That is 34 bytes per pair, about 55 with the table's load
+ * factor, against several hundred for a string key with a map per pair. Writers lock
+ * only their stripe. When a stripe is full, the least recently updated of a few sampled
+ * pairs is evicted; idle pairs are dropped by {@link #evictIdleSince(int)}.
+ */
+final class FeedbackStateStore {
+
+    static final long EMPTY = -1L;
+    static final int OTHER_ACTION = MatchFeedback.FeedbackAction.values().length;
+    static final int ACTION_SLOTS = OTHER_ACTION + 1;
+
+    private static final float LOAD_FACTOR = 0.6f;
+    private static final int EVICTION_SAMPLES = 8;
+
+    private final Stripe[] stripes;
+    private final int stripeMask;
+    private final int maxPerStripe;
+
+    FeedbackStateStore(int stripeCount, int maxEntries) {
+        int count = Integer.highestOneBit(Math.max(1, stripeCount));
+        this.stripes = new Stripe[count];
+        this.stripeMask = count - 1;
+        this.maxPerStripe = Math.max(1, maxEntries / count);
+        for (int i = 0; i < count; i++) {
+            stripes[i] = new Stripe(Math.min(maxPerStripe, 1024));
+        }
+    }
+
+    /**
+     * Pack a pair into a non-negative key, or {@link #EMPTY} if an id does not fit in 31 bits
+     */
+    static long pack(Long jobId, Long resumeId) {
+        if (jobId == null || resumeId == null || jobId < 0 || resumeId < 0
+                || jobId > Integer.MAX_VALUE || resumeId > Integer.MAX_VALUE) {
+            return EMPTY;
+        }
+        return (jobId << 32) | resumeId;
+    }
+
+    static long jobIdOf(long key) {
+        return key >>> 32;
+    }
+
+    static long resumeIdOf(long key) {
+        return key & 0xFFFFFFFFL;
+    }
+
+    /**
+     * Action slot for a name; unknown names share the last slot
+     */
+    static int actionSlot(String action) {
+        if (action != null) {
+            for (MatchFeedback.FeedbackAction candidate : MatchFeedback.FeedbackAction.values()) {
+                if (candidate.name().equals(action)) {
+                    return candidate.ordinal();
+                }
+            }
+        }
+        return OTHER_ACTION;
+    }
+
+    static String actionName(int slot) {
+        return slot < OTHER_ACTION ? MatchFeedback.FeedbackAction.values()[slot].name() : "OTHER";
+    }
+
+    void add(long key, int action, double weight, int minute) {
+        Stripe stripe = stripeOf(key);
+        synchronized (stripe) {
+            stripe.add(key, action, weight, minute, maxPerStripe);
+        }
+    }
+
+    /**
+     * Apply many updates, taking each stripe's lock once
+     */
+    void addAll(long[] keys, int[] actions, double[] weights, int count, int minute) {
+        int[] order = new int[count];
+        int[] offsets = new int[stripes.length + 1];
+        for (int i = 0; i < count; i++) {
+            offsets[stripeIndex(keys[i]) + 1]++;
+        }
+        for (int s = 0; s < stripes.length; s++) {
+            offsets[s + 1] += offsets[s];
+        }
+        int[] fill = Arrays.copyOf(offsets, stripes.length);
+        for (int i = 0; i < count; i++) {
+            order[fill[stripeIndex(keys[i])]++] = i;
+        }
+
+        for (int s = 0; s < stripes.length; s++) {
+            if (offsets[s] == offsets[s + 1]) {
+                continue;
+            }
+            Stripe stripe = stripes[s];
+            synchronized (stripe) {
+                for (int j = offsets[s]; j < offsets[s + 1]; j++) {
+                    int i = order[j];
+                    stripe.add(keys[i], actions[i], weights[i], minute, maxPerStripe);
+                }
+            }
+        }
+    }
+
+    /**
+     * Copy of a pair's state, or null if absent
+     */
+    Entry get(long key) {
+        Stripe stripe = stripeOf(key);
+        synchronized (stripe) {
+            return stripe.get(key);
+        }
+    }
+
+    /**
+     * Remove pairs last updated before {@code minute}
+     *
+     * @return number of pairs removed
+     */
+    int evictIdleSince(int minute) {
+        int removed = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                removed += stripe.evictIdleSince(minute);
+            }
+        }
+        return removed;
+    }
+
+    int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                size += stripe.size;
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Approximate heap used by the tables
+     */
+    long memoryBytes() {
+        long bytes = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                bytes += (long) stripe.keys.length * (Long.BYTES + ACTION_SLOTS * Character.BYTES + Float.BYTES + Integer.BYTES);
+            }
+        }
+        return bytes;
+    }
+
+    void clear() {
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                stripe.allocate(Math.min(maxPerStripe, 1024));
+            }
+        }
+    }
+
+    /**
+     * Action names, then one record per pair: key, minute, weight sum, action counts
+     */
+    void writeTo(DataOutputStream out) throws IOException {
+        out.writeInt(ACTION_SLOTS);
+        for (int slot = 0; slot < ACTION_SLOTS; slot++) {
+            SnapshotCodec.writeString(out, actionName(slot));
+        }
+        // Pairs may be added while earlier stripes are written, so count what is written
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream records = new DataOutputStream(bytes);
+        int count = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                for (int slot = 0; slot < stripe.keys.length; slot++) {
+                    if (stripe.keys[slot] == EMPTY) {
+                        continue;
+                    }
+                    records.writeLong(stripe.keys[slot]);
+                    records.writeInt(stripe.lastMinute[slot]);
+                    records.writeFloat(stripe.weights[slot]);
+                    for (int a = 0; a < ACTION_SLOTS; a++) {
+                        records.writeChar(stripe.counts[slot * ACTION_SLOTS + a]);
+                    }
+                    count++;
+                }
+            }
+        }
+        records.flush();
+        out.writeInt(count);
+        bytes.writeTo(out);
+    }
+
+    /**
+     * Replace the contents with a section written by {@link #writeTo}; actions are matched
+     * by name so the enum may change between versions
+     */
+    void readFrom(ByteBuffer in) {
+        int savedSlots = in.getInt();
+        int[] slotMap = new int[savedSlots];
+        for (int i = 0; i < savedSlots; i++) {
+            slotMap[i] = actionSlot(SnapshotCodec.readString(in));
+        }
+
+        clear();
+        int count = in.getInt();
+        for (int i = 0; i < count; i++) {
+            long key = in.getLong();
+            int minute = in.getInt();
+            float weight = in.getFloat();
+            int[] actionCounts = new int[ACTION_SLOTS];
+            for (int a = 0; a < savedSlots; a++) {
+                actionCounts[slotMap[a]] += in.getChar();
+            }
+            Stripe stripe = stripeOf(key);
+            synchronized (stripe) {
+                stripe.restore(key, actionCounts, weight, minute, maxPerStripe);
+            }
+        }
+    }
+
+    private Stripe stripeOf(long key) {
+        return stripes[stripeIndex(key)];
+    }
+
+    private int stripeIndex(long key) {
+        long h = key * 0xC2B2AE3D27D4EB4FL;
+        return (int) (h >>> 40) & stripeMask;
+    }
+
+    private static char saturate(int value) {
+        return (char) Math.min(value, Character.MAX_VALUE);
+    }
+
+    /**
+     * Immutable copy of one pair's state
+     */
+    @lombok.Value
+    static class Entry {
+        long key;
+        int[] actionCounts;
+        double totalWeight;
+        int lastMinute;
+
+        int totalFeedback() {
+            int total = 0;
+            for (int count : actionCounts) {
+                total += count;
+            }
+            return total;
+        }
+    }
+
+    /**
+     * One lock's worth of pairs; callers synchronize on the stripe
+     */
+    private static final class Stripe {
+
+        private long[] keys;
+        private char[] counts;
+        private float[] weights;
+        private int[] lastMinute;
+        private int size;
+        private int mask;
+        private int resizeAt;
+
+        private Stripe(int expectedSize) {
+            allocate(expectedSize);
+        }
+
+        void add(long key, int action, double weight, int minute, int maxSize) {
+            int slot = find(key);
+            if (slot < 0) {
+                if (size >= maxSize) {
+                    evictOne();
+                }
+                slot = insert(key);
+            }
+            int cell = slot * ACTION_SLOTS + action;
+            counts[cell] = saturate(counts[cell] + 1);
+            weights[slot] += (float) weight;
+            lastMinute[slot] = Math.max(lastMinute[slot], minute);
+        }
+
+        void restore(long key, int[] actionCounts, float weight, int minute, int maxSize) {
+            int slot = find(key);
+            if (slot < 0) {
+                if (size >= maxSize) {
+                    evictOne();
+                }
+                slot = insert(key);
+            }
+            for (int a = 0; a < ACTION_SLOTS; a++) {
+                int cell = slot * ACTION_SLOTS + a;
+                counts[cell] = saturate(counts[cell] + actionCounts[a]);
+            }
+            weights[slot] += weight;
+            lastMinute[slot] = Math.max(lastMinute[slot], minute);
+        }
+
+        Entry get(long key) {
+            int slot = find(key);
+            if (slot < 0) {
+                return null;
+            }
+            int[] actionCounts = new int[ACTION_SLOTS];
+            for (int a = 0; a < ACTION_SLOTS; a++) {
+                actionCounts[a] = counts[slot * ACTION_SLOTS + a];
+            }
+            return new Entry(key, actionCounts, weights[slot], lastMinute[slot]);
+        }
+
+        int evictIdleSince(int minute) {
+            int removed = 0;
+            int slot = 0;
+            while (slot < keys.length) {
+                // Backward shift may move a later entry into this slot, so re-check it
+                if (keys[slot] != EMPTY && lastMinute[slot] < minute) {
+                    removeAt(slot);
+                    removed++;
+                } else {
+                    slot++;
+                }
+            }
+            return removed;
+        }
+
+        /**
+         * Evict the least recently updated of a few sampled pairs
+         */
+        private void evictOne() {
+            int start = ThreadLocalRandom.current().nextInt(keys.length);
+            int victim = -1;
+            int seen = 0;
+            for (int i = 0; i < keys.length && seen < EVICTION_SAMPLES; i++) {
+                int slot = (start + i) & mask;
+                if (keys[slot] != EMPTY) {
+                    seen++;
+                    if (victim < 0 || lastMinute[slot] < lastMinute[victim]) {
+                        victim = slot;
+                    }
+                }
+            }
+            if (victim >= 0) {
+                removeAt(victim);
+            }
+        }
+
+        private int find(long key) {
+            int slot = slotOf(key);
+            while (keys[slot] != EMPTY) {
+                if (keys[slot] == key) {
+                    return slot;
+                }
+                slot = (slot + 1) & mask;
+            }
+            return -1;
+        }
+
+        private int insert(long key) {
+            if (size + 1 >= resizeAt) {
+                rehash(keys.length << 1);
+            }
+            int slot = slotOf(key);
+            while (keys[slot] != EMPTY) {
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = key;
+            size++;
+            return slot;
+        }
+
+        private void removeAt(int slot) {
+            size--;
+
+            // Backward-shift following entries so probe chains stay unbroken
+            int gap = slot;
+            int next = (gap + 1) & mask;
+            while (keys[next] != EMPTY) {
+                int home = slotOf(keys[next]);
+                if (((next - home) & mask) >= ((next - gap) & mask)) {
+                    move(next, gap);
+                    gap = next;
+                }
+                next = (next + 1) & mask;
+            }
+            clearSlot(gap);
+        }
+
+        private void move(int from, int to) {
+            keys[to] = keys[from];
+            System.arraycopy(counts, from * ACTION_SLOTS, counts, to * ACTION_SLOTS, ACTION_SLOTS);
+            weights[to] = weights[from];
+            lastMinute[to] = lastMinute[from];
+        }
+
+        private void clearSlot(int slot) {
+            keys[slot] = EMPTY;
+            Arrays.fill(counts, slot * ACTION_SLOTS, (slot + 1) * ACTION_SLOTS, (char) 0);
+            weights[slot] = 0f;
+            lastMinute[slot] = 0;
+        }
+
+        private int slotOf(long key) {
+            long h = key * 0x9E3779B97F4A7C15L;
+            return (int) (h ^ (h >>> 32)) & mask;
+        }
+
+        private void rehash(int capacity) {
+            long[] oldKeys = keys;
+            char[] oldCounts = counts;
+            float[] oldWeights = weights;
+            int[] oldMinutes = lastMinute;
+
+            allocateTable(capacity);
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != EMPTY) {
+                    int slot = slotOf(oldKeys[i]);
+                    while (keys[slot] != EMPTY) {
+                        slot = (slot + 1) & mask;
+                    }
+                    keys[slot] = oldKeys[i];
+                    System.arraycopy(oldCounts, i * ACTION_SLOTS, counts, slot * ACTION_SLOTS, ACTION_SLOTS);
+                    weights[slot] = oldWeights[i];
+                    lastMinute[slot] = oldMinutes[i];
+                }
+            }
+        }
+
+        private void allocate(int expectedSize) {
+            int n = (int) Math.ceil(Math.max(expectedSize, 4) / LOAD_FACTOR);
+            allocateTable(Math.min(Integer.highestOneBit(Math.max(n - 1, 1)) << 1, 1 << 30));
+            size = 0;
+        }
+
+        private void allocateTable(int capacity) {
+            keys = new long[capacity];
+            counts = new char[capacity * ACTION_SLOTS];
+            weights = new float[capacity];
+            lastMinute = new int[capacity];
+            Arrays.fill(keys, EMPTY);
+            mask = capacity - 1;
+            resizeAt = (int) (capacity * LOAD_FACTOR);
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.neuramatch.matching.learning;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Weighted logistic regression trained one sample at a time by SGD.
+ *
+ * Weights are pulled back towards a prior by an L2 penalty on their distance from it, so
+ * a trickle of feedback nudges the hand-tuned weights rather than replacing them, and
+ * features that feedback never separates keep their prior weight. Not thread-safe.
+ */
+final class LogisticRegression {
+
+    private final double[] prior;
+    private final double priorBias;
+    private final double learningRate;
+    private final double l2;
+
+    private final double[] weights;
+    private double bias;
+    private long samples;
+
+    LogisticRegression(double[] prior, double priorBias, double learningRate, double l2) {
+        this.prior = prior.clone();
+        this.priorBias = priorBias;
+        this.learningRate = learningRate;
+        this.l2 = l2;
+        this.weights = prior.clone();
+        this.bias = priorBias;
+    }
+
+    /**
+     * One SGD step on the weighted log loss
+     *
+     * @param label 1 for positive feedback, 0 for negative
+     * @param sampleWeight how much this sample counts relative to others
+     */
+    void update(float[] x, int label, double sampleWeight) {
+        double gradient = (probability(x) - label) * sampleWeight;
+        for (int i = 0; i < weights.length; i++) {
+            weights[i] -= learningRate * (gradient * x[i] + l2 * (weights[i] - prior[i]));
+        }
+        bias -= learningRate * gradient;
+        samples++;
+    }
+
+    double probability(float[] x) {
+        double z = bias;
+        for (int i = 0; i < weights.length; i++) {
+            z += weights[i] * x[i];
+        }
+        return 1.0 / (1.0 + Math.exp(-z));
+    }
+
+    int dimension() {
+        return weights.length;
+    }
+
+    double weight(int i) {
+        return weights[i];
+    }
+
+    double bias() {
+        return bias;
+    }
+
+    long samples() {
+        return samples;
+    }
+
+    void reset() {
+        System.arraycopy(prior, 0, weights, 0, prior.length);
+        bias = priorBias;
+        samples = 0;
+    }
+
+    // ========== Serialization ==========
+
+    void writeTo(DataOutputStream out) throws IOException {
+        out.writeInt(weights.length);
+        for (double weight : weights) {
+            out.writeDouble(weight);
+        }
+        out.writeDouble(bias);
+        out.writeLong(samples);
+    }
+
+    /**
+     * @throws IllegalStateException if the section has a different number of features
+     */
+    void readFrom(ByteBuffer in) {
+        int dimension = in.getInt();
+        if (dimension != weights.length) {
+            throw new IllegalStateException(
+                "Snapshot has " + dimension + " features, model has " + weights.length);
+        }
+        for (int i = 0; i < dimension; i++) {
+            weights[i] = in.getDouble();
+        }
+        bias = in.getDouble();
+        samples = in.getLong();
+    }
+}
@@ -0,0 +1,244 @@
+package com.neuramatch.matching.learning;
+
+import com.neuramatch.matching.kafka.FeedbackEvent;
+import com.neuramatch.matching.ranking.FeatureBasedRankingService;
+import com.neuramatch.matching.ranking.RankingModel;
+import com.neuramatch.matching.snapshot.SnapshotContributor;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Learns the candidate feature-stage weights online from recruiter feedback.
+ *
+ * The feature stage records the feature row each returned candidate was ranked with;
+ * lists served without the pipeline record the rows captured when they were ranked.
+ * When feedback on that (job, resume) pair arrives, the row becomes a training sample for
+ * a {@link LogisticRegression}: positive actions are label 1, negative ones label 0, and
+ * the action's weight is the sample weight, so a hire counts ten times a view. After each
+ * feedback batch the weights are normalised to unit L1 norm, which leaves the ranking
+ * unchanged but keeps feature scores on the scale of the hand-tuned ones, and published
+ * as a new {@link RankingModel} that the next ranking request picks up.
+ *
+ * Feedback on pairs this instance has not ranked recently has no recorded features and
+ * is skipped.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OnlineRankingLearner implements SnapshotContributor {
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${matching.learning.enabled:true}")
+    private boolean enabled;
+
+    @Value("${matching.learning.learning-rate:0.05}")
+    private double learningRate;
+
+    @Value("${matching.learning.l2:0.001}")
+    private double l2;
+
+    @Value("${matching.learning.prior-scale:4.0}")
+    private double priorScale;
+
+    @Value("${matching.learning.max-served-pairs:100000}")
+    private int maxServedPairs;
+
+    private LogisticRegression regression;
+    private Map<ServedPair, float[]> servedFeatures;
+    private volatile RankingModel candidateModel = FeatureBasedRankingService.CANDIDATE_PRIOR;
+    private long version;
+
+    @PostConstruct
+    void init() {
+        // Scaling the prior sets how confident the regression starts out: a 0-1 weighted
+        // sum maps to probabilities between sigmoid(-scale / 2) and sigmoid(scale / 2)
+        RankingModel prior = FeatureBasedRankingService.CANDIDATE_PRIOR;
+        double[] weights = new double[prior.featureCount()];
+        for (int i = 0; i < weights.length; i++) {
+            weights[i] = priorScale * prior.weight(i);
+        }
+        regression = new LogisticRegression(weights, -priorScale / 2, learningRate, l2);
+
+        servedFeatures = Collections.synchronizedMap(new LinkedHashMap<>(1024, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<ServedPair, float[]> eldest) {
+                return size() > maxServedPairs;
+            }
+        });
+
+        for (int i = 0; i < prior.featureCount(); i++) {
+            int feature = i;
+            Gauge.builder("matching.learning.weight", this, learner -> learner.candidateModel().weight(feature))
+                .tag("feature", prior.feature(i))
+                .register(meterRegistry);
+        }
+        Gauge.builder("matching.learning.model.version", this, learner -> learner.candidateModel().version())
+            .register(meterRegistry);
+    }
+
+    /**
+     * Current candidate feature-stage model; read once per request
+     */
+    public RankingModel candidateModel() {
+        return candidateModel;
+    }
+
+    /**
+     * Remember the features a candidate was returned with for a job
+     *
+     * @param columns the model's input columns, as resolved by {@link RankingModel#columns}
+     */
+    public void recordServed(Long jobId, Long resumeId, double[][] columns, int row) {
+        if (!enabled || jobId == null || resumeId == null) {
+            return;
+        }
+        float[] features = new float[columns.length];
+        for (int i = 0; i < columns.length; i++) {
+            features[i] = (float) columns[i][row];
+        }
+        servedFeatures.put(new ServedPair(jobId, resumeId), features);
+    }
+
+    /**
+     * Remember a feature row captured when a candidate was ranked outside the pipeline,
+     * in the candidate model's feature order
+     */
+    public void recordServed(Long jobId, Long resumeId, float[] features) {
+        if (!enabled || jobId == null || resumeId == null || features == null) {
+            return;
+        }
+        servedFeatures.put(new ServedPair(jobId, resumeId), features);
+    }
+
+    /**
+     * Train on one batch of feedback and publish the updated model
+     *
+     * @return number of events trained on
+     */
+    public int learn(List<FeedbackEvent> events) {
+        if (!enabled || events.isEmpty()) {
+            return 0;
+        }
+
+        int trained = 0;
+        int unmatched = 0;
+        RankingModel published = null;
+        synchronized (regression) {
+            for (FeedbackEvent event : events) {
+                float[] features = event.getJobId() != null && event.getResumeId() != null
+                    ? servedFeatures.get(new ServedPair(event.getJobId(), event.getResumeId()))
+                    : null;
+                if (features == null) {
+                    unmatched++;
+                    continue;
+                }
+                double weight = event.getWeight();
+                if (weight == 0.0) {
+                    continue;
+                }
+                regression.update(features, weight > 0 ? 1 : 0, Math.abs(weight));
+                trained++;
+            }
+            if (trained > 0) {
+                published = toModel(++version);
+                candidateModel = published;
+            }
+        }
+
+        meterRegistry.counter("matching.learning.samples", "outcome", "trained").increment(trained);
+        meterRegistry.counter("matching.learning.samples", "outcome", "unmatched").increment(unmatched);
+        if (published != null) {
+            log.debug("Published {} after {} feedback samples ({} unmatched)", published, trained, unmatched);
+        }
+        return trained;
+    }
+
+    /**
+     * Regression weights at unit L1 norm; the prior if they have all shrunk to zero
+     */
+    private RankingModel toModel(long modelVersion) {
+        double norm = 0.0;
+        for (int i = 0; i < regression.dimension(); i++) {
+            norm += Math.abs(regression.weight(i));
+        }
+        RankingModel prior = FeatureBasedRankingService.CANDIDATE_PRIOR;
+        if (norm < 1e-9) {
+            return prior;
+        }
+
+        String[] features = new String[prior.featureCount()];
+        double[] weights = new double[prior.featureCount()];
+        for (int i = 0; i < weights.length; i++) {
+            features[i] = prior.feature(i);
+            weights[i] = regression.weight(i) / norm;
+        }
+        return new RankingModel(features, weights, modelVersion, regression.samples());
+    }
+
+    @lombok.Value
+    private static class ServedPair {
+        long jobId;
+        long resumeId;
+    }
+
+    // ========== Snapshot ==========
+
+    @Override
+    public String snapshotSection() {
+        return "ranking-model";
+    }
+
+    @Override
+    public void writeSnapshot(DataOutputStream out) throws IOException {
+        synchronized (regression) {
+            regression.writeTo(out);
+            out.writeLong(version);
+        }
+    }
+
+    @Override
+    public void restoreSnapshot(ByteBuffer section) {
+        synchronized (regression) {
+            regression.readFrom(section);
+            version = section.getLong();
+            candidateModel = regression.samples() > 0 ? toModel(version) : FeatureBasedRankingService.CANDIDATE_PRIOR;
+        }
+        log.info("Restored {}", candidateModel);
+    }
+
+    /**
+     * Nothing to replay: features of pairs ranked before the restart were not kept
+     */
+    @Override
+    public void replaySince(LocalDateTime watermark) {
+        log.debug("Ranking model resumes learning from new feedback after {}", watermark);
+    }
+
+    /**
+     * Start over from the hand-tuned weights
+     */
+    @Override
+    public void rebuild() {
+        synchronized (regression) {
+            regression.reset();
+            version = 0;
+            candidateModel = FeatureBasedRankingService.CANDIDATE_PRIOR;
+        }
+        log.info("Ranking model reset to the hand-tuned weights");
+    }
+}
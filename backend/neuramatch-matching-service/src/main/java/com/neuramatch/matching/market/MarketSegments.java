@@ -0,0 +1,52 @@
+package com.neuramatch.matching.market;
+
+import java.util.Locale;
+
+/**
+ * Coarse location and experience segments that market statistics are sliced by
+ */
+public final class MarketSegments {
+
+    public static final String REMOTE = "remote";
+
+    private MarketSegments() {
+    }
+
+    /**
+     * City part of a location ("San Francisco, CA" -> "san francisco"), "remote" for
+     * remote locations, or null when there is none
+     */
+    public static String locationBucket(String location) {
+        if (location == null || location.isBlank()) {
+            return null;
+        }
+        String city = location.split(",")[0].trim().toLowerCase(Locale.ROOT);
+        if (city.isEmpty()) {
+            return null;
+        }
+        return city.contains(REMOTE) ? REMOTE : city;
+    }
+
+    /**
+     * ENTRY (0-2 years), MID (3-5), SENIOR (6-9) or LEAD (10+); null when unknown
+     */
+    public static String experienceBand(Integer years) {
+        if (years == null || years < 0) {
+            return null;
+        }
+        if (years < 3) {
+            return "ENTRY";
+        }
+        if (years < 6) {
+            return "MID";
+        }
+        return years < 10 ? "SENIOR" : "LEAD";
+    }
+
+    /**
+     * REMOTE, HYBRID or ONSITE, upper-cased; null when unknown
+     */
+    public static String remoteType(String remoteType) {
+        return remoteType == null || remoteType.isBlank() ? null : remoteType.trim().toUpperCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,242 @@
+package com.neuramatch.matching.market;
+
+import com.neuramatch.matching.snapshot.SnapshotCodec;
+import org.roaringbitmap.RoaringBitmap;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Roaring bitmaps of document ids per skill and per facet value (location bucket,
+ * experience band, remote type).
+ *
+ * Counts for a skill within any combination of facet values are intersection
+ * cardinalities, so they are exact and never touch the documents themselves. Each
+ * document's skills and facets are kept alongside so an update or removal can clear
+ * exactly the bits it set. Ids must fit in an int.
+ */
+final class SkillBitmapIndex {
+
+    static final String LOCATION = "location";
+    static final String EXPERIENCE = "experience";
+    static final String REMOTE = "remote";
+
+    private static final String[] FACETS = {LOCATION, EXPERIENCE, REMOTE};
+
+    private final Map<Integer, RoaringBitmap> bySkill = new HashMap<>();
+    private final Map<String, Map<String, RoaringBitmap>> byFacet = new HashMap<>();
+    private final RoaringBitmap all = new RoaringBitmap();
+    private final Map<Integer, Document> documents = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    SkillBitmapIndex() {
+        for (String facet : FACETS) {
+            byFacet.put(facet, new HashMap<>());
+        }
+    }
+
+    /**
+     * Add or replace a document
+     *
+     * @param facetValues values for LOCATION, EXPERIENCE and REMOTE, in that order; null when unknown
+     */
+    void put(int id, int[] skillIds, String... facetValues) {
+        Document document = new Document(skillIds.clone(), Arrays.copyOf(facetValues, FACETS.length));
+        lock.writeLock().lock();
+        try {
+            Document previous = documents.put(id, document);
+            if (previous != null) {
+                unset(id, previous);
+            }
+            all.add(id);
+            for (int skillId : document.getSkillIds()) {
+                bySkill.computeIfAbsent(skillId, s -> new RoaringBitmap()).add(id);
+            }
+            for (int f = 0; f < FACETS.length; f++) {
+                String value = document.getFacetValues()[f];
+                if (value != null) {
+                    byFacet.get(FACETS[f]).computeIfAbsent(value, v -> new RoaringBitmap()).add(id);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(int id) {
+        lock.writeLock().lock();
+        try {
+            Document previous = documents.remove(id);
+            if (previous != null) {
+                unset(id, previous);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Documents with the skill (or any document when {@code skillId} is null) matching
+     * every non-null filter value
+     *
+     * @param filters facet name to required value
+     */
+    long count(Integer skillId, Map<String, String> filters) {
+        lock.readLock().lock();
+        try {
+            List<RoaringBitmap> sets = new ArrayList<>(FACETS.length + 1);
+            sets.add(skillId != null ? bySkill.get(skillId) : all);
+            filters.forEach((facet, value) -> {
+                if (value != null) {
+                    sets.add(byFacet.getOrDefault(facet, Map.of()).get(value));
+                }
+            });
+            if (sets.contains(null)) {
+                return 0;
+            }
+
+            // Smallest first keeps the intermediate intersections small
+            sets.sort((a, b) -> Long.compare(a.getLongCardinality(), b.getLongCardinality()));
+            if (sets.size() == 1) {
+                return sets.get(0).getLongCardinality();
+            }
+            RoaringBitmap acc = sets.get(0);
+            for (int i = 1; i < sets.size() - 1; i++) {
+                acc = RoaringBitmap.and(acc, sets.get(i));
+            }
+            return RoaringBitmap.andCardinality(acc, sets.get(sets.size() - 1));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    Set<Integer> documentIds() {
+        lock.readLock().lock();
+        try {
+            return Set.copyOf(documents.keySet());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    long bitmapBytes() {
+        lock.readLock().lock();
+        try {
+            long bytes = all.getSizeInBytes();
+            for (RoaringBitmap bitmap : bySkill.values()) {
+                bytes += bitmap.getSizeInBytes();
+            }
+            for (Map<String, RoaringBitmap> values : byFacet.values()) {
+                for (RoaringBitmap bitmap : values.values()) {
+                    bytes += bitmap.getSizeInBytes();
+                }
+            }
+            return bytes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    void clear() {
+        lock.writeLock().lock();
+        try {
+            documents.clear();
+            bySkill.clear();
+            byFacet.values().forEach(Map::clear);
+            all.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void unset(int id, Document document) {
+        all.remove(id);
+        for (int skillId : document.getSkillIds()) {
+            removeFrom(bySkill, skillId, id);
+        }
+        for (int f = 0; f < FACETS.length; f++) {
+            if (document.getFacetValues()[f] != null) {
+                removeFrom(byFacet.get(FACETS[f]), document.getFacetValues()[f], id);
+            }
+        }
+    }
+
+    private static <K> void removeFrom(Map<K, RoaringBitmap> bitmaps, K key, int id) {
+        RoaringBitmap bitmap = bitmaps.get(key);
+        if (bitmap != null) {
+            bitmap.remove(id);
+            if (bitmap.isEmpty()) {
+                bitmaps.remove(key);
+            }
+        }
+    }
+
+    // ========== Serialization ==========
+
+    /**
+     * Write the documents; bitmaps are rebuilt from them on restore
+     */
+    void writeTo(DataOutputStream out) throws IOException {
+        lock.readLock().lock();
+        try {
+            out.writeInt(documents.size());
+            for (Map.Entry<Integer, Document> entry : documents.entrySet()) {
+                out.writeInt(entry.getKey());
+                int[] skillIds = entry.getValue().getSkillIds();
+                out.writeInt(skillIds.length);
+                for (int skillId : skillIds) {
+                    out.writeInt(skillId);
+                }
+                for (String value : entry.getValue().getFacetValues()) {
+                    out.writeBoolean(value != null);
+                    if (value != null) {
+                        SnapshotCodec.writeString(out, value);
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    void readFrom(ByteBuffer in) {
+        clear();
+        int count = in.getInt();
+        for (int i = 0; i < count; i++) {
+            int id = in.getInt();
+            int[] skillIds = new int[in.getInt()];
+            for (int s = 0; s < skillIds.length; s++) {
+                skillIds[s] = in.getInt();
+            }
+            String[] facetValues = new String[FACETS.length];
+            for (int f = 0; f < FACETS.length; f++) {
+                facetValues[f] = in.get() != 0 ? SnapshotCodec.readString(in) : null;
+            }
+            put(id, skillIds, facetValues);
+        }
+    }
+
+    @lombok.Value
+    private static class Document {
+        int[] skillIds;
+        String[] facetValues;
+    }
+}
@@ -0,0 +1,223 @@
+package com.neuramatch.matching.market;
+
+import com.neuramatch.matching.graph.SkillGraphTableService;
+import com.neuramatch.matching.snapshot.SnapshotContributor;
+import com.neuramatch.matching.vector.JobIndexedEvent;
+import com.neuramatch.matching.vector.JobRemovedEvent;
+import com.neuramatch.matching.vector.JobVector;
+import com.neuramatch.matching.vector.JobVectorRepository;
+import com.neuramatch.matching.vector.ResumeIndexedEvent;
+import com.neuramatch.matching.vector.ResumeRemovedEvent;
+import com.neuramatch.matching.vector.ResumeVector;
+import com.neuramatch.matching.vector.ResumeVectorRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Exact skill supply (active resumes) and demand (active jobs) counts.
+ *
+ * Both sides are held in a {@link SkillBitmapIndex} kept current by the index events, so
+ * a count for a skill in a location, experience band and remote type is a handful of
+ * bitmap intersections. Jobs are banded by their minimum experience, resumes by their
+ * years of experience.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SkillSupplyDemandService implements SnapshotContributor {
+
+    private final JobVectorRepository jobVectorRepository;
+    private final ResumeVectorRepository resumeVectorRepository;
+    private final SkillGraphTableService skillGraphTableService;
+
+    private final SkillBitmapIndex jobs = new SkillBitmapIndex();
+    private final SkillBitmapIndex resumes = new SkillBitmapIndex();
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onJobIndexed(JobIndexedEvent event) {
+        JobVector job = event.getJobVector();
+        if (Boolean.TRUE.equals(job.getIsActive())) {
+            put(jobs, job.getJobId(), job.getRequiredSkills(), job.getLocation(),
+                jobYears(job.getMinYearsExperience(), job.getMaxYearsExperience()), job.getRemoteType());
+        } else {
+            removeFrom(jobs, job.getJobId());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onJobRemoved(JobRemovedEvent event) {
+        removeFrom(jobs, event.getJobId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onResumeIndexed(ResumeIndexedEvent event) {
+        ResumeVector resume = event.getResumeVector();
+        if (Boolean.TRUE.equals(resume.getIsActive())) {
+            put(resumes, resume.getResumeId(), resume.getTopSkills(), resume.getLocation(),
+                resume.getYearsOfExperience(), resume.getRemotePreference());
+        } else {
+            removeFrom(resumes, resume.getResumeId());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onResumeRemoved(ResumeRemovedEvent event) {
+        removeFrom(resumes, event.getResumeId());
+    }
+
+    /**
+     * Active jobs requiring and active resumes listing the skill, restricted to the
+     * non-null filters
+     */
+    public SupplyDemand count(String skill, String location, Integer experienceYears, String remoteType) {
+        int[] ids = skillGraphTableService.resolveIds(List.of(skill), false);
+        if (ids.length == 0 || ids[0] < 0) {
+            return new SupplyDemand(0, 0);
+        }
+
+        Map<String, String> filters = new HashMap<>();
+        filters.put(SkillBitmapIndex.LOCATION, MarketSegments.locationBucket(location));
+        filters.put(SkillBitmapIndex.EXPERIENCE, MarketSegments.experienceBand(experienceYears));
+        filters.put(SkillBitmapIndex.REMOTE, MarketSegments.remoteType(remoteType));
+        return new SupplyDemand(jobs.count(ids[0], filters), resumes.count(ids[0], filters));
+    }
+
+    public int jobCount() {
+        return jobs.size();
+    }
+
+    public int resumeCount() {
+        return resumes.size();
+    }
+
+    // ========== Snapshot ==========
+
+    @Override
+    public String snapshotSection() {
+        return "skill-bitmaps";
+    }
+
+    @Override
+    public void writeSnapshot(DataOutputStream out) throws IOException {
+        jobs.writeTo(out);
+        resumes.writeTo(out);
+    }
+
+    @Override
+    public void restoreSnapshot(ByteBuffer section) {
+        jobs.readFrom(section);
+        resumes.readFrom(section);
+    }
+
+    @Override
+    public void replaySince(LocalDateTime watermark) {
+        List<JobVectorRepository.SalaryProfile> changedJobs =
+            jobVectorRepository.findSalaryProfilesUpdatedSince(watermark);
+        changedJobs.forEach(this::applyJob);
+        removeMissing(jobs, jobVectorRepository.findActiveJobIds());
+
+        List<ResumeVectorRepository.FacetProfile> changedResumes =
+            resumeVectorRepository.findFacetProfilesUpdatedSince(watermark);
+        changedResumes.forEach(this::applyResume);
+        removeMissing(resumes, resumeVectorRepository.findActiveResumeIds());
+
+        log.info("Replayed {} changed jobs and {} changed resumes into skill bitmaps",
+            changedJobs.size(), changedResumes.size());
+    }
+
+    @Override
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        try {
+            jobs.clear();
+            resumes.clear();
+            jobVectorRepository.findActiveSalaryProfiles().forEach(this::applyJob);
+            resumeVectorRepository.findActiveFacetProfiles().forEach(this::applyResume);
+            log.info("Built skill bitmaps for {} jobs and {} resumes in {} ms ({} bytes)",
+                jobs.size(), resumes.size(), System.currentTimeMillis() - start,
+                jobs.bitmapBytes() + resumes.bitmapBytes());
+        } catch (Exception e) {
+            log.warn("Failed to build skill bitmaps: {}", e.getMessage());
+        }
+    }
+
+    private void applyJob(JobVectorRepository.SalaryProfile job) {
+        if (Boolean.TRUE.equals(job.getIsActive())) {
+            put(jobs, job.getJobId(), job.getRequiredSkills(), job.getLocation(),
+                jobYears(job.getMinYearsExperience(), job.getMaxYearsExperience()), job.getRemoteType());
+        } else {
+            removeFrom(jobs, job.getJobId());
+        }
+    }
+
+    private void applyResume(ResumeVectorRepository.FacetProfile resume) {
+        if (Boolean.TRUE.equals(resume.getIsActive())) {
+            put(resumes, resume.getResumeId(), resume.getTopSkills(), resume.getLocation(),
+                resume.getYearsOfExperience(), resume.getRemotePreference());
+        } else {
+            removeFrom(resumes, resume.getResumeId());
+        }
+    }
+
+    private void put(SkillBitmapIndex index, Long id, String[] skills, String location, Integer years, String remote) {
+        if (!fitsInt(id)) {
+            log.debug("Skipping document {} outside the bitmap id range", id);
+            return;
+        }
+        int[] skillIds = skills != null
+            ? skillGraphTableService.resolveIds(Arrays.asList(skills), true)
+            : new int[0];
+        index.put(id.intValue(), skillIds, MarketSegments.locationBucket(location),
+            MarketSegments.experienceBand(years), MarketSegments.remoteType(remote));
+    }
+
+    private void removeFrom(SkillBitmapIndex index, Long id) {
+        if (fitsInt(id)) {
+            index.remove(id.intValue());
+        }
+    }
+
+    private void removeMissing(SkillBitmapIndex index, List<Long> activeIds) {
+        Set<Integer> active = new HashSet<>();
+        activeIds.stream().filter(SkillSupplyDemandService::fitsInt).forEach(id -> active.add(id.intValue()));
+        index.documentIds().stream()
+            .filter(id -> !active.contains(id))
+            .forEach(index::remove);
+    }
+
+    private static Integer jobYears(Integer minYears, Integer maxYears) {
+        return minYears != null ? minYears : maxYears;
+    }
+
+    private static boolean fitsInt(Long id) {
+        return id != null && id >= 0 && id <= Integer.MAX_VALUE;
+    }
+
+    // ========== DTOs ==========
+
+    @lombok.Value
+    public static class SupplyDemand {
+        long jobPostings;
+        long candidates;
+
+        /**
+         * Candidates per job posting; the candidate count when there are no postings
+         */
+        public double getRatio() {
+            return jobPostings > 0 ? (double) candidates / jobPostings : candidates;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.neuramatch.matching.outbox;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * A Kafka record waiting to be published, written in the same transaction as the state
+ * change it announces. Rows are deleted once the broker has acknowledged them.
+ */
+@Entity
+@Table(name = "outbox_events")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "topic", nullable = false)
+    private String topic;
+
+    @Column(name = "event_key")
+    private String eventKey;
+
+    @Column(name = "payload", columnDefinition = "text", nullable = false)
+    private String payload; // JSON
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+}
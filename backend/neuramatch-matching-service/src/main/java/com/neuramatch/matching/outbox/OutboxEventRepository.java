@@ -0,0 +1,27 @@
+package com.neuramatch.matching.outbox;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Repository for pending outbox records
+ */
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    /**
+     * Oldest pending records, locked for the current transaction. Rows locked by another
+     * relay instance are skipped, so instances drain disjoint batches.
+     */
+    @Query(value = """
+        SELECT * FROM outbox_events
+        ORDER BY id
+        LIMIT :limit
+        FOR UPDATE SKIP LOCKED
+        """, nativeQuery = true)
+    List<OutboxEvent> lockNextBatch(@Param("limit") int limit);
+}
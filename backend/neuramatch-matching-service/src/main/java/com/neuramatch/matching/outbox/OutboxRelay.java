@@ -0,0 +1,159 @@
+package com.neuramatch.matching.outbox;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Drains the outbox to Kafka in batches.
+ *
+ * Each batch is locked with SKIP LOCKED, sent through an idempotent, compressing
+ * producer, and deleted in the same transaction once the broker has acknowledged it.
+ * Records whose send failed stay in the outbox and are retried on the next run, so
+ * delivery is at least once; a relay crash between ack and commit re-sends the batch.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OutboxRelay {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final KafkaProperties kafkaProperties;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${matching.outbox.enabled:true}")
+    private boolean enabled;
+
+    @Value("${matching.outbox.batch-size:500}")
+    private int batchSize;
+
+    @Value("${matching.outbox.max-batches-per-run:20}")
+    private int maxBatchesPerRun;
+
+    @Value("${matching.outbox.send-timeout-ms:10000}")
+    private long sendTimeoutMs;
+
+    @Value("${matching.outbox.compression:lz4}")
+    private String compression;
+
+    @Value("${matching.outbox.linger-ms:20}")
+    private int lingerMs;
+
+    private KafkaTemplate<String, String> kafkaTemplate;
+
+    @PostConstruct
+    void init() {
+        kafkaTemplate = createTemplate();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (kafkaTemplate != null) {
+            kafkaTemplate.destroy();
+        }
+    }
+
+    /**
+     * Publish pending records until the outbox is empty or the per-run cap is reached
+     */
+    @Scheduled(fixedDelayString = "${matching.outbox.poll-interval-ms:200}")
+    public void relay() {
+        if (!enabled) {
+            return;
+        }
+
+        for (int i = 0; i < maxBatchesPerRun; i++) {
+            Integer published;
+            try {
+                published = transactionTemplate.execute(status -> publishBatch());
+            } catch (Exception e) {
+                log.warn("Outbox relay failed: {}", e.getMessage());
+                return;
+            }
+            if (published == null || published < batchSize) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Send one locked batch and delete what the broker acknowledged
+     *
+     * @return records published, or -1 if any send failed
+     */
+    int publishBatch() {
+        List<OutboxEvent> batch = outboxEventRepository.lockNextBatch(batchSize);
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        List<CompletableFuture<SendResult<String, String>>> sends = new ArrayList<>(batch.size());
+        for (OutboxEvent event : batch) {
+            sends.add(kafkaTemplate.send(event.getTopic(), event.getEventKey(), event.getPayload()));
+        }
+        kafkaTemplate.flush();
+
+        List<Long> sent = new ArrayList<>(batch.size());
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(sendTimeoutMs);
+        LocalDateTime now = LocalDateTime.now();
+        int failed = 0;
+        for (int i = 0; i < batch.size(); i++) {
+            OutboxEvent event = batch.get(i);
+            try {
+                sends.get(i).get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                sent.add(event.getId());
+                if (event.getCreatedAt() != null) {
+                    meterRegistry.timer("outbox.relay.delay").record(Duration.between(event.getCreatedAt(), now));
+                }
+            } catch (Exception e) {
+                failed++;
+                log.debug("Outbox record {} to {} not acknowledged: {}", event.getId(), event.getTopic(), e.getMessage());
+            }
+        }
+
+        outboxEventRepository.deleteAllByIdInBatch(sent);
+        meterRegistry.counter("outbox.relay.published").increment(sent.size());
+
+        if (failed > 0) {
+            meterRegistry.counter("outbox.relay.failed").increment(failed);
+            log.warn("Outbox relay published {} of {} records; {} will be retried", sent.size(), batch.size(), failed);
+            return -1;
+        }
+        return sent.size();
+    }
+
+    KafkaTemplate<String, String> createTemplate() {
+        Map<String, Object> props = kafkaProperties.buildProducerProperties(null);
+        props.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        props.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        // Broker-side dedupe of retried sends, so a retry never duplicates or reorders
+        props.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+        props.put(ProducerConfig.ACKS_CONFIG, "all");
+        props.put(ProducerConfig.MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION, 5);
+        props.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, compression);
+        props.put(ProducerConfig.LINGER_MS_CONFIG, lingerMs);
+        props.put(ProducerConfig.BATCH_SIZE_CONFIG, 64 * 1024);
+        return new KafkaTemplate<>(new DefaultKafkaProducerFactory<>(props));
+    }
+}
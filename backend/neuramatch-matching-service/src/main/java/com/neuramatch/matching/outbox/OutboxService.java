@@ -0,0 +1,37 @@
+package com.neuramatch.matching.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Records events for {@link OutboxRelay} to publish after the caller's transaction commits
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OutboxService {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Add an event to the outbox; must run inside the transaction that makes the change
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueue(String topic, String key, Object payload) {
+        try {
+            outboxEventRepository.save(OutboxEvent.builder()
+                .topic(topic)
+                .eventKey(key)
+                .payload(objectMapper.writeValueAsString(payload))
+                .build());
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Outbox payload is not serializable: " + e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.neuramatch.matching.ranking;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Point in time by which a request has to be answered.
+ *
+ * Created once when a request starts and handed to each stage, which checks the remaining
+ * budget and degrades (skips or truncates its work) instead of overrunning it. A
+ * cancellable deadline also expires early when {@link #cancel()} is called, e.g. when the
+ * client has gone away.
+ */
+public final class Deadline {
+
+    private static final Deadline NONE = new Deadline(Long.MAX_VALUE);
+    private static final long FAR_FUTURE_NANOS = TimeUnit.DAYS.toNanos(365);
+
+    private final long deadlineNanos;
+    private volatile boolean cancelled;
+
+    private Deadline(long deadlineNanos) {
+        this.deadlineNanos = deadlineNanos;
+    }
+
+    /**
+     * Deadline {@code budget} from now; null or non-positive means no deadline
+     */
+    public static Deadline in(Duration budget) {
+        if (budget == null || budget.isZero() || budget.isNegative()) {
+            return NONE;
+        }
+        return new Deadline(System.nanoTime() + budget.toNanos());
+    }
+
+    /**
+     * Like {@link #in(Duration)}, but can also be cancelled; without a budget it only
+     * expires on cancel
+     */
+    public static Deadline cancellable(Duration budget) {
+        boolean timed = budget != null && !budget.isZero() && !budget.isNegative();
+        return new Deadline(System.nanoTime() + (timed ? budget.toNanos() : FAR_FUTURE_NANOS));
+    }
+
+    public static Deadline none() {
+        return NONE;
+    }
+
+    /**
+     * Expire now; no effect on {@link #none()}
+     */
+    public void cancel() {
+        if (this != NONE) {
+            cancelled = true;
+        }
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    public boolean isBounded() {
+        return this != NONE;
+    }
+
+    public boolean isExpired() {
+        return cancelled || (isBounded() && System.nanoTime() - deadlineNanos >= 0);
+    }
+
+    /**
+     * Nanoseconds left, never negative; Long.MAX_VALUE when unbounded
+     */
+    public long remainingNanos() {
+        if (!isBounded()) {
+            return Long.MAX_VALUE;
+        }
+        return cancelled ? 0 : Math.max(0, deadlineNanos - System.nanoTime());
+    }
+
+    public long remainingMillis() {
+        return isBounded() ? remainingNanos() / 1_000_000 : Long.MAX_VALUE;
+    }
+
+    @Override
+    public String toString() {
+        return isBounded() ? "Deadline[" + remainingMillis() + " ms left]" : "Deadline[none]";
+    }
+}
@@ -6,17 +6,24 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.function.Function;
 
 /**
  * Diversity re-ranking to ensure diverse candidate/job pools
  * Prevents result sets dominated by similar profiles from same companies/locations
+ *
+ * Company, location and remote attributes are encoded as ints up front and the
+ * selected set is summarised by per-value counts (plus a running experience sum), so
+ * each MMR step re-scores a remaining item in O(1) and only the newly selected item
+ * updates the bookkeeping. Selecting k of n costs O(n*k) instead of O(n*k^2).
  */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class DiversityRankingService {
 
+    private static final int ABSENT = -1;
+
     /**
      * Diversify candidate results using Maximal Marginal Relevance (MMR)
      */
@@ -34,48 +41,7 @@ public class DiversityRankingService {
             candidates.size(), limit, config.getDiversityWeight());
 
         List<MultiStageRankingService.RankedMatch<ResumeJobMatchingService.CandidateMatch>> selected =
-            new ArrayList<>();
-        List<MultiStageRankingService.RankedMatch<ResumeJobMatchingService.CandidateMatch>> remaining =
-            new ArrayList<>(candidates);
-
-        // Select first candidate (highest score)
-        if (!remaining.isEmpty()) {
-            selected.add(remaining.remove(0));
-        }
-
-        // Iteratively select diverse candidates
-        while (selected.size() < limit && !remaining.isEmpty()) {
-            MultiStageRankingService.RankedMatch<ResumeJobMatchingService.CandidateMatch> best = null;
-            double bestScore = Double.NEGATIVE_INFINITY;
-
-            for (MultiStageRankingService.RankedMatch<ResumeJobMatchingService.CandidateMatch> candidate : remaining) {
-                // Calculate MMR score
-                double relevance = candidate.getFinalScore();
-                double diversity = calculateDiversityScore(candidate, selected, config);
-
-                double mmrScore = (1 - config.getDiversityWeight()) * relevance +
-                                 config.getDiversityWeight() * diversity;
-
-                if (mmrScore > bestScore) {
-                    bestScore = mmrScore;
-                    best = candidate;
-                }
-            }
-
-            if (best != null) {
-                best.setDiversityScore(bestScore);
-                best.setFinalScore(bestScore); // Update final score with diversity
-                selected.add(best);
-                remaining.remove(best);
-            } else {
-                break;
-            }
-        }
-
-        // Update ranks
-        for (int i = 0; i < selected.size(); i++) {
-            selected.get(i).setRank(i + 1);
-        }
+            selectByMmr(candidates, config.getDiversityWeight(), limit, new CandidateDiversity(candidates, config));
 
         log.debug("Selected {} diverse candidates", selected.size());
         return selected;
@@ -97,204 +63,243 @@ public class DiversityRankingService {
         log.debug("Diversifying {} jobs to {} with diversity weight {}",
             jobs.size(), limit, config.getDiversityWeight());
 
-        List<MultiStageRankingService.RankedMatch<ResumeJobMatchingService.JobMatch>> selected = new ArrayList<>();
-        List<MultiStageRankingService.RankedMatch<ResumeJobMatchingService.JobMatch>> remaining = new ArrayList<>(jobs);
+        List<MultiStageRankingService.RankedMatch<ResumeJobMatchingService.JobMatch>> selected =
+            selectByMmr(jobs, config.getDiversityWeight(), limit, new JobDiversity(jobs, config));
 
-        if (!remaining.isEmpty()) {
-            selected.add(remaining.remove(0));
+        log.debug("Selected {} diverse jobs", selected.size());
+        return selected;
+    }
+
+    /**
+     * Greedy MMR selection; the first (highest scored) item is always kept
+     */
+    private <T> List<MultiStageRankingService.RankedMatch<T>> selectByMmr(
+            List<MultiStageRankingService.RankedMatch<T>> items,
+            double diversityWeight,
+            int limit,
+            IncrementalDiversity diversity) {
+
+        int n = items.size();
+        double[] relevance = new double[n];
+        for (int i = 0; i < n; i++) {
+            relevance[i] = items.get(i).getFinalScore();
         }
 
-        while (selected.size() < limit && !remaining.isEmpty()) {
-            MultiStageRankingService.RankedMatch<ResumeJobMatchingService.JobMatch> best = null;
-            double bestScore = Double.NEGATIVE_INFINITY;
+        boolean[] taken = new boolean[n];
+        List<MultiStageRankingService.RankedMatch<T>> selected = new ArrayList<>(Math.max(1, Math.min(limit, n)));
 
-            for (MultiStageRankingService.RankedMatch<ResumeJobMatchingService.JobMatch> job : remaining) {
-                double relevance = job.getFinalScore();
-                double diversity = calculateJobDiversityScore(job, selected, config);
+        // Select first candidate (highest score)
+        if (n > 0) {
+            taken[0] = true;
+            diversity.select(0);
+            selected.add(items.get(0));
+        }
 
-                double mmrScore = (1 - config.getDiversityWeight()) * relevance +
-                                 config.getDiversityWeight() * diversity;
+        // Iteratively select diverse candidates; ties go to the earlier (better ranked) item
+        while (selected.size() < limit && selected.size() < n) {
+            int best = -1;
+            double bestScore = Double.NEGATIVE_INFINITY;
 
+            for (int i = 0; i < n; i++) {
+                if (taken[i]) {
+                    continue;
+                }
+                double mmrScore = (1 - diversityWeight) * relevance[i] +
+                                 diversityWeight * diversity.score(i, selected.size());
                 if (mmrScore > bestScore) {
                     bestScore = mmrScore;
-                    best = job;
+                    best = i;
                 }
             }
 
-            if (best != null) {
-                best.setDiversityScore(bestScore);
-                best.setFinalScore(bestScore);
-                selected.add(best);
-                remaining.remove(best);
-            } else {
+            if (best < 0) {
                 break;
             }
+
+            MultiStageRankingService.RankedMatch<T> match = items.get(best);
+            match.setDiversityScore(bestScore);
+            match.setFinalScore(bestScore); // Update final score with diversity
+            taken[best] = true;
+            diversity.select(best);
+            selected.add(match);
         }
 
+        // Update ranks
         for (int i = 0; i < selected.size(); i++) {
             selected.get(i).setRank(i + 1);
         }
 
-        log.debug("Selected {} diverse jobs", selected.size());
         return selected;
     }
 
     /**
-     * Calculate diversity score for a candidate relative to already selected candidates
+     * Diversity of a remaining item against the selected set, maintained incrementally
      */
-    private double calculateDiversityScore(
-            MultiStageRankingService.RankedMatch<ResumeJobMatchingService.CandidateMatch> candidate,
-            List<MultiStageRankingService.RankedMatch<ResumeJobMatchingService.CandidateMatch>> selected,
-            MultiStageRankingService.DiversityConfig config) {
-
-        if (selected.isEmpty()) {
-            return 1.0; // First candidate is maximally diverse
-        }
+    private interface IncrementalDiversity {
 
-        ResumeJobMatchingService.CandidateMatch candidateMatch = candidate.getMatch();
+        /**
+         * Diversity of item {@code i} given {@code selectedCount} (>= 1) selected items
+         */
+        double score(int i, int selectedCount);
 
-        // Calculate diversity on multiple dimensions
-        double locationDiversity = calculateLocationDiversity(candidateMatch, selected);
-        double experienceDiversity = calculateExperienceDiversity(candidateMatch, selected);
-
-        // Weighted combination
-        return (locationDiversity * config.getLocationDiversityWeight()) +
-               (experienceDiversity * (1 - config.getLocationDiversityWeight()));
+        /**
+         * Fold item {@code i} into the selected-set summary
+         */
+        void select(int i);
     }
 
     /**
-     * Calculate diversity score for a job relative to already selected jobs
+     * Location and experience diversity for candidates
      */
-    private double calculateJobDiversityScore(
-            MultiStageRankingService.RankedMatch<ResumeJobMatchingService.JobMatch> job,
-            List<MultiStageRankingService.RankedMatch<ResumeJobMatchingService.JobMatch>> selected,
-            MultiStageRankingService.DiversityConfig config) {
+    private static final class CandidateDiversity implements IncrementalDiversity {
+
+        private final double locationWeight;
+        private final int[] location;
+        private final int[] locationCounts;
+        private final int[] experience;
+        private final boolean[] hasExperience;
+        private long experienceSum;
+        private int experienceCount;
 
-        if (selected.isEmpty()) {
-            return 1.0;
+        private CandidateDiversity(
+                List<MultiStageRankingService.RankedMatch<ResumeJobMatchingService.CandidateMatch>> candidates,
+                MultiStageRankingService.DiversityConfig config) {
+
+            this.locationWeight = config.getLocationDiversityWeight();
+
+            Map<String, Integer> codes = new HashMap<>();
+            int n = candidates.size();
+            location = encode(candidates, r -> r.getMatch().getLocation(), codes);
+            locationCounts = new int[codes.size()];
+            experience = new int[n];
+            hasExperience = new boolean[n];
+            for (int i = 0; i < n; i++) {
+                Integer years = candidates.get(i).getMatch().getYearsOfExperience();
+                if (years != null) {
+                    experience[i] = years;
+                    hasExperience[i] = true;
+                }
+            }
         }
 
-        ResumeJobMatchingService.JobMatch jobMatch = job.getMatch();
+        @Override
+        public double score(int i, int selectedCount) {
+            // Higher diversity if fewer candidates from same location
+            double locationDiversity = location[i] == ABSENT
+                ? 0.5 // Neutral
+                : 1.0 - ((double) locationCounts[location[i]] / selectedCount);
+
+            // Higher diversity if experience is different from the selected average
+            double experienceDiversity;
+            if (!hasExperience[i]) {
+                experienceDiversity = 0.5;
+            } else if (experienceCount == 0) {
+                experienceDiversity = 0.0;
+            } else {
+                double difference = Math.abs(experience[i] - (double) experienceSum / experienceCount);
+                experienceDiversity = Math.min(1.0, difference / 10.0); // Normalize
+            }
 
-        double companyDiversity = calculateCompanyDiversity(jobMatch, selected);
-        double locationDiversity = calculateJobLocationDiversity(jobMatch, selected);
-        double remoteDiversity = calculateRemoteDiversity(jobMatch, selected);
+            return (locationDiversity * locationWeight) +
+                   (experienceDiversity * (1 - locationWeight));
+        }
 
-        return (companyDiversity * config.getCompanyDiversityWeight()) +
-               (locationDiversity * config.getLocationDiversityWeight()) +
-               (remoteDiversity * (1 - config.getCompanyDiversityWeight() - config.getLocationDiversityWeight()));
+        @Override
+        public void select(int i) {
+            if (location[i] != ABSENT) {
+                locationCounts[location[i]]++;
+            }
+            if (hasExperience[i]) {
+                experienceSum += experience[i];
+                experienceCount++;
+            }
+        }
     }
 
     /**
-     * Calculate location diversity for candidates
+     * Company, location and remote-type diversity for jobs
      */
-    private double calculateLocationDiversity(
-            ResumeJobMatchingService.CandidateMatch candidate,
-            List<MultiStageRankingService.RankedMatch<ResumeJobMatchingService.CandidateMatch>> selected) {
+    private static final class JobDiversity implements IncrementalDiversity {
+
+        private final double companyWeight;
+        private final double locationWeight;
+        private final int[] company;
+        private final int[] companyCounts;
+        private final int[] location;
+        private final int[] locationCounts;
+        private final int[] remote;
+        private final int[] remoteCounts;
+
+        private JobDiversity(
+                List<MultiStageRankingService.RankedMatch<ResumeJobMatchingService.JobMatch>> jobs,
+                MultiStageRankingService.DiversityConfig config) {
 
-        String candidateLocation = candidate.getLocation();
-        if (candidateLocation == null) {
-            return 0.5; // Neutral
-        }
+            this.companyWeight = config.getCompanyDiversityWeight();
+            this.locationWeight = config.getLocationDiversityWeight();
 
-        long sameLocationCount = selected.stream()
-            .map(r -> r.getMatch().getLocation())
-            .filter(loc -> candidateLocation.equalsIgnoreCase(loc))
-            .count();
+            Map<String, Integer> companyCodes = new HashMap<>();
+            company = encode(jobs, r -> r.getMatch().getCompanyName(), companyCodes);
+            companyCounts = new int[companyCodes.size()];
 
-        // Higher diversity if fewer candidates from same location
-        return 1.0 - ((double) sameLocationCount / selected.size());
-    }
+            Map<String, Integer> locationCodes = new HashMap<>();
+            location = encode(jobs, r -> r.getMatch().getLocation(), locationCodes);
+            locationCounts = new int[locationCodes.size()];
 
-    /**
-     * Calculate experience diversity for candidates
-     */
-    private double calculateExperienceDiversity(
-            ResumeJobMatchingService.CandidateMatch candidate,
-            List<MultiStageRankingService.RankedMatch<ResumeJobMatchingService.CandidateMatch>> selected) {
-
-        Integer candidateExp = candidate.getYearsOfExperience();
-        if (candidateExp == null) {
-            return 0.5;
+            Map<String, Integer> remoteCodes = new HashMap<>();
+            remote = encode(jobs, r -> r.getMatch().getRemoteType(), remoteCodes);
+            remoteCounts = new int[remoteCodes.size()];
         }
 
-        // Calculate average experience of selected candidates
-        double avgExperience = selected.stream()
-            .map(r -> r.getMatch().getYearsOfExperience())
-            .filter(Objects::nonNull)
-            .mapToInt(Integer::intValue)
-            .average()
-            .orElse(candidateExp);
-
-        // Higher diversity if experience is different from average
-        double difference = Math.abs(candidateExp - avgExperience);
-        return Math.min(1.0, difference / 10.0); // Normalize
-    }
+        @Override
+        public double score(int i, int selectedCount) {
+            double companyDiversity;
+            if (company[i] == ABSENT) {
+                companyDiversity = 0.5;
+            } else if (companyCounts[company[i]] >= 2) {
+                companyDiversity = 0.2; // Low diversity
+            } else if (companyCounts[company[i]] == 1) {
+                companyDiversity = 0.6; // Medium diversity
+            } else {
+                companyDiversity = 1.0; // High diversity (first from this company)
+            }
 
-    /**
-     * Calculate company diversity for jobs
-     */
-    private double calculateCompanyDiversity(
-            ResumeJobMatchingService.JobMatch job,
-            List<MultiStageRankingService.RankedMatch<ResumeJobMatchingService.JobMatch>> selected) {
+            double locationDiversity = share(location[i], locationCounts, selectedCount);
+            double remoteDiversity = share(remote[i], remoteCounts, selectedCount);
 
-        String company = job.getCompanyName();
-        if (company == null) {
-            return 0.5;
+            return (companyDiversity * companyWeight) +
+                   (locationDiversity * locationWeight) +
+                   (remoteDiversity * (1 - companyWeight - locationWeight));
         }
 
-        long sameCompanyCount = selected.stream()
-            .map(r -> r.getMatch().getCompanyName())
-            .filter(c -> company.equalsIgnoreCase(c))
-            .count();
-
-        // Penalize if too many jobs from same company
-        if (sameCompanyCount >= 2) {
-            return 0.2; // Low diversity
-        } else if (sameCompanyCount == 1) {
-            return 0.6; // Medium diversity
-        } else {
-            return 1.0; // High diversity (first from this company)
+        @Override
+        public void select(int i) {
+            if (company[i] != ABSENT) {
+                companyCounts[company[i]]++;
+            }
+            if (location[i] != ABSENT) {
+                locationCounts[location[i]]++;
+            }
+            if (remote[i] != ABSENT) {
+                remoteCounts[remote[i]]++;
+            }
         }
-    }
 
-    /**
-     * Calculate location diversity for jobs
-     */
-    private double calculateJobLocationDiversity(
-            ResumeJobMatchingService.JobMatch job,
-            List<MultiStageRankingService.RankedMatch<ResumeJobMatchingService.JobMatch>> selected) {
-
-        String location = job.getLocation();
-        if (location == null) {
-            return 0.5;
+        private static double share(int code, int[] counts, int selectedCount) {
+            return code == ABSENT ? 0.5 : 1.0 - ((double) counts[code] / selectedCount);
         }
-
-        long sameLocationCount = selected.stream()
-            .map(r -> r.getMatch().getLocation())
-            .filter(loc -> location.equalsIgnoreCase(loc))
-            .count();
-
-        return 1.0 - ((double) sameLocationCount / selected.size());
     }
 
     /**
-     * Calculate remote type diversity for jobs
+     * Case-insensitive dense codes for an attribute; null becomes {@link #ABSENT}
      */
-    private double calculateRemoteDiversity(
-            ResumeJobMatchingService.JobMatch job,
-            List<MultiStageRankingService.RankedMatch<ResumeJobMatchingService.JobMatch>> selected) {
-
-        String remoteType = job.getRemoteType();
-        if (remoteType == null) {
-            return 0.5;
+    private static <T> int[] encode(List<T> items, Function<T, String> attribute, Map<String, Integer> codes) {
+        int[] encoded = new int[items.size()];
+        for (int i = 0; i < encoded.length; i++) {
+            String value = attribute.apply(items.get(i));
+            encoded[i] = value == null
+                ? ABSENT
+                : codes.computeIfAbsent(value.toLowerCase(Locale.ROOT), v -> codes.size());
         }
-
-        long sameRemoteCount = selected.stream()
-            .map(r -> r.getMatch().getRemoteType())
-            .filter(r -> remoteType.equalsIgnoreCase(r))
-            .count();
-
-        return 1.0 - ((double) sameRemoteCount / selected.size());
+        return encoded;
     }
 }
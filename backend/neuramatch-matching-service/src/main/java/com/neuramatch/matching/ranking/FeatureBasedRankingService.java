@@ -1,5 +1,6 @@
 package com.neuramatch.matching.ranking;
 
+import com.neuramatch.matching.learning.OnlineRankingLearner;
 import com.neuramatch.matching.search.ResumeJobMatchingService;
 import com.neuramatch.matching.vector.JobVector;
 import com.neuramatch.matching.vector.ResumeVector;
@@ -9,11 +10,14 @@ import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
-import java.util.*;
-import java.util.stream.Collectors;
+import java.util.List;
 
 /**
- * Feature-based re-ranking using hand-crafted features for fine-grained scoring
+ * Feature-based re-ranking using hand-crafted features for fine-grained scoring.
+ *
+ * Features are combined by a {@link RankingModel}. Candidates are scored with the model
+ * the {@link OnlineRankingLearner} last published, starting from the hand-tuned
+ * {@link #CANDIDATE_PRIOR}; jobs always use {@link #JOB_MODEL}.
  */
 @Service
 @RequiredArgsConstructor
@@ -21,95 +25,143 @@ import java.util.stream.Collectors;
 public class FeatureBasedRankingService {
 
     /**
-     * Re-rank candidates using detailed feature scoring
+     * Hand-tuned candidate weights: hybrid 50%, quality 20%, recency 15%, experience 10%, location 5%
      */
-    public List<MultiStageRankingService.RankedMatch<ResumeJobMatchingService.CandidateMatch>>
-            rerankCandidates(
-                List<MultiStageRankingService.RankedMatch<ResumeJobMatchingService.CandidateMatch>> candidates,
-                JobVector job,
-                int limit) {
+    public static final RankingModel CANDIDATE_PRIOR = new RankingModel(
+        new String[]{"hybrid", "quality", "recency", "experienceBoost", "locationBoost"},
+        new double[]{0.5, 0.2, 0.15, 0.10, 0.05}, 0, 0);
 
-        log.debug("Feature-based re-ranking for {} candidates", candidates.size());
+    /**
+     * Job weights: hybrid 60%, salary 20%, remote 15%, company 5%
+     */
+    public static final RankingModel JOB_MODEL = new RankingModel(
+        new String[]{"hybrid", "salary", "remote", "company"},
+        new double[]{0.6, 0.2, 0.15, 0.05}, 0, 0);
 
-        for (MultiStageRankingService.RankedMatch<ResumeJobMatchingService.CandidateMatch> rankedMatch : candidates) {
-            ResumeJobMatchingService.CandidateMatch candidate = rankedMatch.getMatch();
+    private final RankingExecutor rankingExecutor;
+    private final OnlineRankingLearner rankingLearner;
 
-            // Calculate feature scores
-            double qualityScore = calculateQualityScore(candidate);
-            double recencyScore = calculateRecencyScore(candidate);
-            double experienceBoost = calculateExperienceBoost(candidate, job);
-            double locationBoost = calculateLocationBoost(candidate, job);
-
-            // Previous hybrid score
-            double hybridScore = rankedMatch.getHybridScore();
-
-            // Weighted combination
-            double featureScore = hybridScore * 0.5 +              // Base hybrid score (50%)
-                                 qualityScore * 0.2 +              // Quality (20%)
-                                 recencyScore * 0.15 +             // Recency (15%)
-                                 experienceBoost * 0.10 +          // Experience boost (10%)
-                                 locationBoost * 0.05;             // Location boost (5%)
-
-            // Update scores
-            rankedMatch.setFinalScore(featureScore);
-            rankedMatch.setFeatureScore(featureScore);
-
-            Map<String, Double> breakdown = rankedMatch.getScoreBreakdown();
-            breakdown.put("quality", qualityScore);
-            breakdown.put("recency", recencyScore);
-            breakdown.put("experienceBoost", experienceBoost);
-            breakdown.put("locationBoost", locationBoost);
-            breakdown.put("feature", featureScore);
+    /**
+     * Re-rank candidates using detailed feature scoring and keep the top {@code limit}
+     */
+    public void rerankCandidates(
+            ScoreBuffer<ResumeJobMatchingService.CandidateMatch> buffer,
+            JobVector job,
+            int limit) {
+
+        // One model for the whole request, even if a new one is published meanwhile
+        RankingModel model = rankingLearner.candidateModel();
+        double[][] inputs = rerankCandidates(buffer, job, limit, model);
+
+        // Returned candidates become training samples once feedback on them arrives
+        for (int row : buffer.activeRows()) {
+            rankingLearner.recordServed(job.getJobId(), buffer.item(row).getResumeId(), inputs, row);
         }
-
-        // Sort by feature score
-        return candidates.stream()
-            .sorted(Comparator.comparingDouble((MultiStageRankingService.RankedMatch<?> rm) -> rm.getFinalScore()).reversed())
-            .limit(limit)
-            .collect(Collectors.toList());
     }
 
     /**
-     * Re-rank jobs using detailed feature scoring
+     * Re-rank candidates with the given model instead of the learned one (offline replay)
+     *
+     * @return the model's input columns
      */
-    public List<MultiStageRankingService.RankedMatch<ResumeJobMatchingService.JobMatch>>
-            rerankJobs(
-                List<MultiStageRankingService.RankedMatch<ResumeJobMatchingService.JobMatch>> jobs,
-                ResumeVector resume,
-                int limit) {
+    public double[][] rerankCandidates(
+            ScoreBuffer<ResumeJobMatchingService.CandidateMatch> buffer,
+            JobVector job,
+            int limit,
+            RankingModel model) {
 
-        log.debug("Feature-based re-ranking for {} jobs", jobs.size());
+        log.debug("Feature-based re-ranking for {} candidates", buffer.size());
 
-        for (MultiStageRankingService.RankedMatch<ResumeJobMatchingService.JobMatch> rankedMatch : jobs) {
-            ResumeJobMatchingService.JobMatch job = rankedMatch.getMatch();
+        double[][] inputs = model.columns(buffer);
+        double[] quality = buffer.column("quality");
+        double[] recency = buffer.column("recency");
+        double[] experienceBoost = buffer.column("experienceBoost");
+        double[] locationBoost = buffer.column("locationBoost");
+        double[] feature = buffer.column("feature");
+        double[] scores = buffer.scores();
+
+        rankingExecutor.scoreAndCut("feature", buffer, row -> {
+            ResumeJobMatchingService.CandidateMatch candidate = buffer.item(row);
 
             // Calculate feature scores
-            double salaryScore = calculateSalaryScore(job, resume);
-            double remoteScore = calculateRemoteMatchScore(job, resume);
-            double companyScore = calculateCompanyScore(job);
-
-            double hybridScore = rankedMatch.getHybridScore();
-
-            // Weighted combination
-            double featureScore = hybridScore * 0.6 +          // Base hybrid score (60%)
-                                 salaryScore * 0.2 +           // Salary match (20%)
-                                 remoteScore * 0.15 +          // Remote preference (15%)
-                                 companyScore * 0.05;          // Company reputation (5%)
-
-            rankedMatch.setFinalScore(featureScore);
-            rankedMatch.setFeatureScore(featureScore);
-
-            Map<String, Double> breakdown = rankedMatch.getScoreBreakdown();
-            breakdown.put("salary", salaryScore);
-            breakdown.put("remote", remoteScore);
-            breakdown.put("company", companyScore);
-            breakdown.put("feature", featureScore);
+            quality[row] = calculateQualityScore(candidate);
+            recency[row] = calculateRecencyScore(candidate);
+            experienceBoost[row] = calculateExperienceBoost(candidate, job);
+            locationBoost[row] = calculateLocationBoost(candidate, job);
+
+            feature[row] = model.score(inputs, row);
+            scores[row] = feature[row];
+        }, limit);
+        return inputs;
+    }
+
+    /**
+     * Attach to each candidate the row the learned model scores it on, for lists ranked
+     * outside the pipeline such as materialized top-K lists and result pages. Serving a
+     * candidate then records the row it was ranked with, without re-running any stage.
+     *
+     * @param hybrid each candidate's hybrid score, see {@link HybridScoringService#candidateHybridScores}
+     */
+    public void captureCandidateFeatures(List<ResumeJobMatchingService.CandidateMatch> candidates,
+                                         JobVector job, double[] hybrid) {
+        // The learner publishes models over the prior's features, in the same order
+        RankingModel model = CANDIDATE_PRIOR;
+        for (int i = 0; i < candidates.size(); i++) {
+            ResumeJobMatchingService.CandidateMatch candidate = candidates.get(i);
+            float[] row = new float[model.featureCount()];
+            for (int f = 0; f < row.length; f++) {
+                row[f] = (float) candidateFeature(model.feature(f), candidate, job, hybrid[i]);
+            }
+            candidate.setRankingFeatures(row);
         }
+    }
+
+    /**
+     * Re-rank jobs using detailed feature scoring and keep the top {@code limit}
+     */
+    public void rerankJobs(
+            ScoreBuffer<ResumeJobMatchingService.JobMatch> buffer,
+            ResumeVector resume,
+            int limit) {
+
+        log.debug("Feature-based re-ranking for {} jobs", buffer.size());
+
+        double[][] inputs = JOB_MODEL.columns(buffer);
+        double[] salary = buffer.column("salary");
+        double[] remote = buffer.column("remote");
+        double[] company = buffer.column("company");
+        double[] feature = buffer.column("feature");
+        double[] scores = buffer.scores();
 
-        return jobs.stream()
-            .sorted(Comparator.comparingDouble((MultiStageRankingService.RankedMatch<?> rm) -> rm.getFinalScore()).reversed())
-            .limit(limit)
-            .collect(Collectors.toList());
+        rankingExecutor.scoreAndCut("feature", buffer, row -> {
+            ResumeJobMatchingService.JobMatch job = buffer.item(row);
+
+            // Calculate feature scores
+            salary[row] = calculateSalaryScore(job, resume);
+            remote[row] = calculateRemoteMatchScore(job, resume);
+            company[row] = calculateCompanyScore(job);
+
+            feature[row] = JOB_MODEL.score(inputs, row);
+            scores[row] = feature[row];
+        }, limit);
+    }
+
+    private double candidateFeature(String feature, ResumeJobMatchingService.CandidateMatch candidate,
+                                    JobVector job, double hybrid) {
+        switch (feature) {
+            case "hybrid":
+                return hybrid;
+            case "quality":
+                return calculateQualityScore(candidate);
+            case "recency":
+                return calculateRecencyScore(candidate);
+            case "experienceBoost":
+                return calculateExperienceBoost(candidate, job);
+            case "locationBoost":
+                return calculateLocationBoost(candidate, job);
+            default:
+                throw new IllegalArgumentException("Unknown candidate feature: " + feature);
+        }
     }
 
     /**
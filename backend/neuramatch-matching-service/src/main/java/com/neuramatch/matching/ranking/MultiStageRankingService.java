@@ -1,22 +1,32 @@
 package com.neuramatch.matching.ranking;
 
+import com.neuramatch.matching.learning.OnlineRankingLearner;
+import com.neuramatch.matching.replay.RankingRequestLogger;
 import com.neuramatch.matching.search.ResumeJobMatchingService;
 import com.neuramatch.matching.vector.JobVector;
 import com.neuramatch.matching.vector.ResumeVector;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.util.*;
+import java.util.function.IntToDoubleFunction;
+import java.util.function.ToDoubleFunction;
+import java.util.function.UnaryOperator;
 import java.util.stream.Collectors;
 
 /**
  * Multi-stage ranking pipeline for progressive refinement of search results
  *
- * Stage 1: Vector Search - Fast recall (top 500)
+ * Stage 1: Recall - Vector search fused with BM25 hits via reciprocal rank fusion (top 500)
  * Stage 2: Hybrid Scoring - Combine semantic + lexical (top 100)
  * Stage 3: Feature-based Re-ranking - Detailed scoring (top 20)
  * Stage 4: Diversity Re-ranking - Ensure diverse results (final top N)
+ *
+ * Candidate rankings are sampled to {@link RankingRequestLogger} for offline replay.
  */
 @Service
 @RequiredArgsConstructor
@@ -26,107 +36,278 @@ public class MultiStageRankingService {
     private final HybridScoringService hybridScoringService;
     private final FeatureBasedRankingService featureRankingService;
     private final DiversityRankingService diversityRankingService;
+    private final RankingExecutor rankingExecutor;
+    private final MeterRegistry meterRegistry;
+    private final RankingRequestLogger requestLogger;
+
+    @Value("${matching.ranking.deadline.hybrid-share:0.6}")
+    private double hybridBudgetShare;
+
+    @Value("${matching.ranking.deadline.diversity-reserve-ms:2}")
+    private long diversityReserveMs;
 
     /**
-     * Execute multi-stage ranking pipeline for job matches
+     * Execute multi-stage ranking pipeline for job matches.
+     * The deadline starts now if the config sets a time budget.
      */
     public List<RankedMatch<ResumeJobMatchingService.CandidateMatch>> rankCandidates(
             List<ResumeJobMatchingService.CandidateMatch> candidates,
             JobVector job,
             RankingConfig config) {
+        return rankCandidates(candidates, job, config, deadlineOf(config)).getResults();
+    }
 
-        log.info("Starting multi-stage ranking for {} candidates", candidates.size());
-
-        // Stage 1: Already done - vector search returned top 500
-
-        // Stage 2: Hybrid scoring (semantic + lexical BM25)
-        List<RankedMatch<ResumeJobMatchingService.CandidateMatch>> stage2Results =
-            hybridScoringService.scoreCandidatesWithHybrid(
-                candidates,
-                job,
-                config.getStage2Limit()
-            );
-
-        log.debug("Stage 2 (Hybrid): {} candidates", stage2Results.size());
-
-        // Stage 3: Feature-based re-ranking
-        List<RankedMatch<ResumeJobMatchingService.CandidateMatch>> stage3Results =
-            featureRankingService.rerankCandidates(
-                stage2Results,
-                job,
-                config.getStage3Limit()
-            );
-
-        log.debug("Stage 3 (Feature): {} candidates", stage3Results.size());
-
-        // Stage 4: Diversity re-ranking (optional)
-        List<RankedMatch<ResumeJobMatchingService.CandidateMatch>> finalResults;
-        if (config.isEnableDiversity()) {
-            finalResults = diversityRankingService.diversifyResults(
-                stage3Results,
-                config.getDiversityConfig(),
-                config.getFinalLimit()
-            );
-            log.debug("Stage 4 (Diversity): {} candidates", finalResults.size());
-        } else {
-            finalResults = stage3Results.stream()
-                .limit(config.getFinalLimit())
-                .collect(Collectors.toList());
-        }
+    /**
+     * Execute multi-stage ranking pipeline for job matches within a request deadline,
+     * typically started before retrieval
+     */
+    public RankingResult<ResumeJobMatchingService.CandidateMatch> rankCandidates(
+            List<ResumeJobMatchingService.CandidateMatch> candidates,
+            JobVector job,
+            RankingConfig config,
+            Deadline deadline) {
+        return rankCandidates(candidates, job, config, deadline, null);
+    }
+
+    /**
+     * Like {@link #rankCandidates(List, JobVector, RankingConfig, Deadline)}, reporting the
+     * provisional top {@code finalLimit} to {@code listener} after each scoring stage
+     */
+    public RankingResult<ResumeJobMatchingService.CandidateMatch> rankCandidates(
+            List<ResumeJobMatchingService.CandidateMatch> candidates,
+            JobVector job,
+            RankingConfig config,
+            Deadline deadline,
+            StageListener<ResumeJobMatchingService.CandidateMatch> listener) {
+
+        log.info("Starting multi-stage ranking for {} candidates ({})", candidates.size(), deadline);
+
+        // Stage 1: Already done - fused vector + lexical recall returned top 500
+        ScoreBuffer<ResumeJobMatchingService.CandidateMatch> buffer = new ScoreBuffer<>(candidates);
 
-        log.info("Multi-stage ranking complete: {} final candidates", finalResults.size());
+        RankingResult<ResumeJobMatchingService.CandidateMatch> result = runStages(buffer, config, deadline, listener,
+            ResumeJobMatchingService.CandidateMatch::getSemanticSimilarity,
+            // Stage 2: Hybrid scoring (semantic + lexical BM25)
+            () -> hybridScoringService.scoreCandidatesWithHybrid(buffer, job, config.getStage2Limit()),
+            // Stage 3: Feature-based re-ranking
+            () -> featureRankingService.rerankCandidates(buffer, job, config.getStage3Limit()),
+            // Stage 4: Diversity re-ranking
+            stage3Results -> diversityRankingService.diversifyResults(
+                stage3Results, config.getDiversityConfig(), config.getFinalLimit()));
 
-        return finalResults;
+        requestLogger.log(job, config, candidates, buffer, result.getResults());
+        log.info("Multi-stage ranking complete: {} final candidates", result.getResults().size());
+
+        return result;
     }
 
     /**
-     * Execute multi-stage ranking pipeline for resume matches (jobs for a candidate)
+     * Execute multi-stage ranking pipeline for resume matches (jobs for a candidate).
+     * The deadline starts now if the config sets a time budget.
      */
     public List<RankedMatch<ResumeJobMatchingService.JobMatch>> rankJobs(
             List<ResumeJobMatchingService.JobMatch> jobs,
             ResumeVector resume,
             RankingConfig config) {
+        return rankJobs(jobs, resume, config, deadlineOf(config)).getResults();
+    }
+
+    /**
+     * Execute multi-stage ranking pipeline for resume matches within a request deadline
+     */
+    public RankingResult<ResumeJobMatchingService.JobMatch> rankJobs(
+            List<ResumeJobMatchingService.JobMatch> jobs,
+            ResumeVector resume,
+            RankingConfig config,
+            Deadline deadline) {
+        return rankJobs(jobs, resume, config, deadline, null);
+    }
+
+    /**
+     * Like {@link #rankJobs(List, ResumeVector, RankingConfig, Deadline)}, reporting the
+     * provisional top {@code finalLimit} to {@code listener} after each scoring stage
+     */
+    public RankingResult<ResumeJobMatchingService.JobMatch> rankJobs(
+            List<ResumeJobMatchingService.JobMatch> jobs,
+            ResumeVector resume,
+            RankingConfig config,
+            Deadline deadline,
+            StageListener<ResumeJobMatchingService.JobMatch> listener) {
+
+        log.info("Starting multi-stage ranking for {} jobs ({})", jobs.size(), deadline);
+
+        ScoreBuffer<ResumeJobMatchingService.JobMatch> buffer = new ScoreBuffer<>(jobs);
+
+        RankingResult<ResumeJobMatchingService.JobMatch> result = runStages(buffer, config, deadline, listener,
+            ResumeJobMatchingService.JobMatch::getSemanticSimilarity,
+            () -> hybridScoringService.scoreJobsWithHybrid(buffer, resume, config.getStage2Limit()),
+            () -> featureRankingService.rerankJobs(buffer, resume, config.getStage3Limit()),
+            stage3Results -> diversityRankingService.diversifyJobResults(
+                stage3Results, config.getDiversityConfig(), config.getFinalLimit()));
+
+        log.info("Multi-stage ranking complete: {} final jobs", result.getResults().size());
+
+        return result;
+    }
+
+    /**
+     * Stages 2-4 under a deadline. Before each stage the remaining budget decides whether
+     * it runs: the recall set is truncated to what hybrid scoring can afford, hybrid and
+     * feature scoring fall back to the previous stage's score once the deadline has
+     * passed, and diversity is skipped when less than its reserve is left.
+     */
+    private <T> RankingResult<T> runStages(
+            ScoreBuffer<T> buffer,
+            RankingConfig config,
+            Deadline deadline,
+            StageListener<T> listener,
+            ToDoubleFunction<T> semanticOf,
+            Runnable hybridStage,
+            Runnable featureStage,
+            UnaryOperator<List<RankedMatch<T>>> diversityStage) {
+
+        buffer.setDeadline(deadline);
+        List<String> skipped = new ArrayList<>();
+
+        fitToBudget(buffer, config, deadline);
+
+        if (deadline.isExpired()) {
+            fallback(buffer, "semantic", row -> semanticOf.applyAsDouble(buffer.item(row)), "hybrid", config.getStage2Limit());
+            skipped.add("hybrid");
+        } else {
+            hybridStage.run();
+            notify(listener, "hybrid", buffer, config.getFinalLimit());
+        }
+        log.debug("Stage 2 (Hybrid): {} rows", buffer.size());
+
+        if (deadline.isExpired()) {
+            double[] hybrid = buffer.column("hybrid");
+            fallback(buffer, "hybrid", row -> hybrid[row], "feature", config.getStage3Limit());
+            skipped.add("feature");
+        } else {
+            featureStage.run();
+            notify(listener, "feature", buffer, config.getFinalLimit());
+        }
+        log.debug("Stage 3 (Feature): {} rows", buffer.size());
+
+        List<RankedMatch<T>> stage3Results = materialize(buffer);
 
-        log.info("Starting multi-stage ranking for {} jobs", jobs.size());
-
-        // Stage 2: Hybrid scoring
-        List<RankedMatch<ResumeJobMatchingService.JobMatch>> stage2Results =
-            hybridScoringService.scoreJobsWithHybrid(
-                jobs,
-                resume,
-                config.getStage2Limit()
-            );
-
-        log.debug("Stage 2 (Hybrid): {} jobs", stage2Results.size());
-
-        // Stage 3: Feature-based re-ranking
-        List<RankedMatch<ResumeJobMatchingService.JobMatch>> stage3Results =
-            featureRankingService.rerankJobs(
-                stage2Results,
-                resume,
-                config.getStage3Limit()
-            );
-
-        log.debug("Stage 3 (Feature): {} jobs", stage3Results.size());
-
-        // Stage 4: Diversity re-ranking
-        List<RankedMatch<ResumeJobMatchingService.JobMatch>> finalResults;
-        if (config.isEnableDiversity()) {
-            finalResults = diversityRankingService.diversifyJobResults(
-                stage3Results,
-                config.getDiversityConfig(),
-                config.getFinalLimit()
-            );
-            log.debug("Stage 4 (Diversity): {} jobs", finalResults.size());
+        List<RankedMatch<T>> finalResults;
+        if (config.isEnableDiversity() && deadline.remainingMillis() >= diversityReserveMs) {
+            finalResults = diversityStage.apply(stage3Results);
+            log.debug("Stage 4 (Diversity): {} rows", finalResults.size());
         } else {
+            if (config.isEnableDiversity()) {
+                skipped.add("diversity");
+            }
             finalResults = stage3Results.stream()
                 .limit(config.getFinalLimit())
                 .collect(Collectors.toList());
         }
 
-        log.info("Multi-stage ranking complete: {} final jobs", finalResults.size());
+        attachBreakdowns(finalResults, stage3Results, buffer);
+
+        skipped.forEach(stage -> meterRegistry.counter("matching.ranking.degraded", "stage", stage).increment());
+        if (buffer.isPartial()) {
+            meterRegistry.counter("matching.ranking.degraded", "stage", "truncated").increment();
+        }
+        if (!skipped.isEmpty() || buffer.isPartial()) {
+            log.info("Ranking degraded to meet deadline: skipped {}, partial: {}", skipped, buffer.isPartial());
+        }
+
+        return new RankingResult<>(finalResults, List.copyOf(skipped), buffer.isPartial());
+    }
+
+    /**
+     * Cut the recall set to the rows hybrid scoring can get through in its share of the
+     * remaining budget, judging by its recent cost per row
+     */
+    private <T> void fitToBudget(ScoreBuffer<T> buffer, RankingConfig config, Deadline deadline) {
+        double nanosPerRow = rankingExecutor.nanosPerRow("hybrid");
+        if (!deadline.isBounded() || nanosPerRow <= 0) {
+            return;
+        }
+
+        long affordable = (long) (deadline.remainingNanos() * hybridBudgetShare / nanosPerRow);
+        if (affordable < buffer.size()) {
+            int keep = (int) Math.max(affordable, Math.min(buffer.size(), config.getFinalLimit()));
+            log.debug("Truncating recall set from {} to {} rows to meet deadline", buffer.size(), keep);
+            buffer.truncate(keep);
+        }
+    }
+
+    /**
+     * Stand-in for a skipped stage: carry the previous score forward and cut
+     */
+    private static <T> void fallback(ScoreBuffer<T> buffer, String sourceColumn, IntToDoubleFunction source,
+                                     String targetColumn, int limit) {
+        double[] from = buffer.column(sourceColumn);
+        double[] to = buffer.column(targetColumn);
+        double[] scores = buffer.scores();
+        for (int i = 0; i < buffer.size(); i++) {
+            int row = buffer.row(i);
+            from[row] = source.applyAsDouble(row);
+            to[row] = from[row];
+            scores[row] = to[row];
+        }
+        buffer.cut(limit);
+    }
 
-        return finalResults;
+    private static <T> void notify(StageListener<T> listener, String stage, ScoreBuffer<T> buffer, int limit) {
+        if (listener != null) {
+            listener.onStage(stage, materialize(buffer, limit));
+        }
+    }
+
+    /**
+     * Build result objects for the rows that survived the last cut (without breakdowns)
+     */
+    private static <T> List<RankedMatch<T>> materialize(ScoreBuffer<T> buffer) {
+        return materialize(buffer, buffer.size());
+    }
+
+    /**
+     * Result objects for the best {@code limit} surviving rows
+     */
+    private static <T> List<RankedMatch<T>> materialize(ScoreBuffer<T> buffer, int limit) {
+        int count = Math.max(0, Math.min(limit, buffer.size()));
+        List<RankedMatch<T>> results = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int row = buffer.row(i);
+            results.add(RankedMatch.<T>builder()
+                .match(buffer.item(row))
+                .finalScore(buffer.scores()[row])
+                .rank(i + 1)
+                .vectorScore(buffer.value("semantic", row))
+                .hybridScore(buffer.value("hybrid", row))
+                .featureScore(buffer.value("feature", row))
+                .build());
+        }
+        return results;
+    }
+
+    /**
+     * Score breakdowns are only built for the page actually returned
+     */
+    private static <T> void attachBreakdowns(List<RankedMatch<T>> page, List<RankedMatch<T>> materialized,
+                                             ScoreBuffer<T> buffer) {
+        Map<RankedMatch<T>, Integer> rowOf = new IdentityHashMap<>();
+        for (int i = 0; i < materialized.size(); i++) {
+            rowOf.put(materialized.get(i), buffer.row(i));
+        }
+
+        for (RankedMatch<T> match : page) {
+            Integer row = rowOf.get(match);
+            if (row != null) {
+                match.setScoreBreakdown(buffer.breakdown(row));
+            }
+        }
+    }
+
+    private static Deadline deadlineOf(RankingConfig config) {
+        return config.getTimeBudgetMs() != null
+            ? Deadline.in(Duration.ofMillis(config.getTimeBudgetMs()))
+            : Deadline.none();
     }
 
     /**
@@ -147,6 +328,14 @@ public class MultiStageRankingService {
             .build();
     }
 
+    /**
+     * Receives the provisional top results after each scoring stage that ran
+     */
+    @FunctionalInterface
+    public interface StageListener<T> {
+        void onStage(String stage, List<RankedMatch<T>> provisional);
+    }
+
     // ========== DTOs ==========
 
     @lombok.Data
@@ -159,6 +348,7 @@ public class MultiStageRankingService {
         private int finalLimit;       // Final top N results
         private boolean enableDiversity;
         private DiversityConfig diversityConfig;
+        private Long timeBudgetMs;    // Per-request deadline for the ranking stages (null = none)
     }
 
     @lombok.Data
@@ -172,6 +362,13 @@ public class MultiStageRankingService {
         private double skillDiversityWeight;   // Skill diversity weight
     }
 
+    @lombok.Value
+    public static class RankingResult<T> {
+        List<RankedMatch<T>> results;
+        List<String> skippedStages; // hybrid, feature or diversity
+        boolean partial;            // rows were dropped unscored to meet the deadline
+    }
+
     @lombok.Data
     @lombok.Builder
     public static class RankedMatch<T> {
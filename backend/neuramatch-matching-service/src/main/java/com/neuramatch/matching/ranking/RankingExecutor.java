@@ -0,0 +1,132 @@
+package com.neuramatch.matching.ranking;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs ranking stages over a {@link ScoreBuffer}, in parallel for large recall sets.
+ *
+ * Uses a dedicated, bounded fork/join pool so ranking never competes with the common
+ * pool (parallel streams, CompletableFuture defaults). Below the parallel threshold a
+ * stage runs on the caller thread, where splitting would cost more than it saves.
+ * Per-stage speedup (summed chunk time / wall time) is published as
+ * {@code matching.ranking.parallel.speedup}. A moving average of the cost per row of
+ * each stage is kept so callers can size their work to a deadline.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RankingExecutor {
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${matching.ranking.parallelism:0}")
+    private int parallelism;
+
+    @Value("${matching.ranking.parallel-threshold:2000}")
+    private int parallelThreshold;
+
+    @Value("${matching.ranking.chunk-size:256}")
+    private int chunkSize;
+
+    private static final double COST_SMOOTHING = 0.2;
+
+    private final Map<String, Double> nanosPerRow = new ConcurrentHashMap<>();
+
+    private ForkJoinPool pool;
+
+    /**
+     * An executor configured by hand, for running the stages outside the application
+     * (offline replay, benchmarks); {@link #shutdown()} is up to the caller
+     */
+    public static RankingExecutor standalone(MeterRegistry meterRegistry, int parallelism,
+                                             int parallelThreshold, int chunkSize) {
+        RankingExecutor executor = new RankingExecutor(meterRegistry);
+        executor.parallelism = parallelism;
+        executor.parallelThreshold = parallelThreshold;
+        executor.chunkSize = chunkSize;
+        executor.init();
+        return executor;
+    }
+
+    @PostConstruct
+    void init() {
+        int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        pool = new ForkJoinPool(threads, p -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(p);
+            thread.setName("ranking-" + thread.getPoolIndex());
+            thread.setDaemon(true);
+            return thread;
+        }, null, false);
+        log.info("Ranking pool started with {} threads (parallel above {} candidates)", threads, parallelThreshold);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    /**
+     * Score all active rows of the buffer and keep the top {@code limit}
+     */
+    public <T> void scoreAndCut(String stage, ScoreBuffer<T> buffer, ScoreBuffer.RowScorer scorer, int limit) {
+        long start = System.nanoTime();
+        int rows = buffer.size();
+
+        if (rows < parallelThreshold || pool.getParallelism() < 2) {
+            buffer.scoreAndCut(scorer, limit);
+            long elapsedNanos = System.nanoTime() - start;
+            record(stage, "sequential", elapsedNanos);
+            recordCost(stage, elapsedNanos, rows);
+            return;
+        }
+
+        long busyNanos = buffer.scoreAndCut(scorer, limit, pool, chunkSize);
+        long elapsedNanos = System.nanoTime() - start;
+        record(stage, "parallel", elapsedNanos);
+        recordCost(stage, elapsedNanos, rows);
+
+        if (elapsedNanos > 0) {
+            DistributionSummary.builder("matching.ranking.parallel.speedup")
+                .description("Summed chunk scoring time divided by wall time, per ranking stage call")
+                .tag("stage", stage)
+                .register(meterRegistry)
+                .record((double) busyNanos / elapsedNanos);
+        }
+    }
+
+    /**
+     * Recent wall-clock cost of one row in a stage, or 0 before the stage has run
+     */
+    public double nanosPerRow(String stage) {
+        return nanosPerRow.getOrDefault(stage, 0.0);
+    }
+
+    private void recordCost(String stage, long elapsedNanos, int rows) {
+        if (rows > 0) {
+            double sample = (double) elapsedNanos / rows;
+            nanosPerRow.merge(stage, sample, (old, next) -> old + COST_SMOOTHING * (next - old));
+        }
+    }
+
+    private void record(String stage, String mode, long nanos) {
+        Timer.builder("matching.ranking.stage")
+            .tag("stage", stage)
+            .tag("mode", mode)
+            .register(meterRegistry)
+            .record(nanos, TimeUnit.NANOSECONDS);
+    }
+}
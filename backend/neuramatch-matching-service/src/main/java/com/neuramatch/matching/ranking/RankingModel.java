@@ -0,0 +1,95 @@
+package com.neuramatch.matching.ranking;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Immutable linear scoring model over named {@link ScoreBuffer} columns.
+ *
+ * Models are replaced whole, never mutated, so a ranking stage that reads the current
+ * model once scores every row of the request with the same weights. Resolve the input
+ * columns once per request with {@link #columns(ScoreBuffer)}; {@link #score(double[][], int)}
+ * then allocates nothing per row.
+ */
+public final class RankingModel {
+
+    private final String[] features;
+    private final double[] weights;
+    private final long version;
+    private final long samples;
+
+    /**
+     * @param version increases with every published update; 0 for a hand-tuned model
+     * @param samples feedback samples the weights were learned from
+     */
+    public RankingModel(String[] features, double[] weights, long version, long samples) {
+        if (features.length != weights.length) {
+            throw new IllegalArgumentException(
+                "Expected " + features.length + " weights but got " + weights.length);
+        }
+        this.features = features.clone();
+        this.weights = weights.clone();
+        this.version = version;
+        this.samples = samples;
+    }
+
+    /**
+     * The buffer's input columns, in feature order
+     */
+    public double[][] columns(ScoreBuffer<?> buffer) {
+        double[][] columns = new double[features.length][];
+        for (int i = 0; i < features.length; i++) {
+            columns[i] = buffer.column(features[i]);
+        }
+        return columns;
+    }
+
+    /**
+     * Weighted sum of one row of the columns from {@link #columns(ScoreBuffer)}
+     */
+    public double score(double[][] columns, int row) {
+        double score = 0.0;
+        for (int i = 0; i < weights.length; i++) {
+            score += weights[i] * columns[i][row];
+        }
+        return score;
+    }
+
+    public int featureCount() {
+        return features.length;
+    }
+
+    public String feature(int i) {
+        return features[i];
+    }
+
+    public double weight(int i) {
+        return weights[i];
+    }
+
+    public long version() {
+        return version;
+    }
+
+    public long samples() {
+        return samples;
+    }
+
+    /**
+     * Feature name to weight, in feature order
+     */
+    public Map<String, Double> weights() {
+        Map<String, Double> named = new LinkedHashMap<>();
+        for (int i = 0; i < features.length; i++) {
+            named.put(features[i], weights[i]);
+        }
+        return named;
+    }
+
+    @Override
+    public String toString() {
+        return "RankingModel(v" + version + ", " + samples + " samples, " + Arrays.toString(features)
+            + " = " + Arrays.toString(weights) + ")";
+    }
+}
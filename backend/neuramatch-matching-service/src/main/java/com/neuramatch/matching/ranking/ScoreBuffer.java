@@ -0,0 +1,310 @@
+package com.neuramatch.matching.ranking;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Column-oriented score storage for one ranking request.
+ *
+ * Every stage writes its features into {@code double[]} columns indexed by the
+ * candidate's position in the recall set, so scoring thousands of candidates allocates
+ * a handful of arrays instead of a map and a builder per candidate. {@link #cut(int)}
+ * keeps the best rows with a bounded heap instead of sorting the whole set; later
+ * stages only iterate over the surviving rows. Large sets can be scored in parallel
+ * chunks whose partial top-K lists are merged (see {@link RankingExecutor}).
+ *
+ * The buffer also carries the request {@link Deadline}: scoring stops once it expires
+ * (after at least the rows needed to fill the cut) and unscored rows are dropped, which
+ * marks the result as partial.
+ */
+public final class ScoreBuffer<T> {
+
+    private static final int DEADLINE_CHECK_INTERVAL = 32;
+
+    private final List<T> items;
+    private final Map<String, double[]> columns = new LinkedHashMap<>();
+    private final double[] scores;
+    private int[] rows;
+    private int activeCount;
+    private Deadline deadline = Deadline.none();
+    private volatile boolean partial;
+
+    public ScoreBuffer(List<T> items) {
+        this.items = items;
+        this.scores = new double[items.size()];
+        this.rows = new int[items.size()];
+        for (int i = 0; i < rows.length; i++) {
+            rows[i] = i;
+        }
+        this.activeCount = rows.length;
+    }
+
+    /**
+     * Number of rows still in the running
+     */
+    public int size() {
+        return activeCount;
+    }
+
+    /**
+     * Row index of the i-th active candidate (best first after a cut)
+     */
+    public int row(int i) {
+        return rows[i];
+    }
+
+    public T item(int row) {
+        return items.get(row);
+    }
+
+    /**
+     * Current ranking score per row; stages overwrite it before cutting
+     */
+    public double[] scores() {
+        return scores;
+    }
+
+    /**
+     * Named feature column, created on first use
+     */
+    public double[] column(String name) {
+        return columns.computeIfAbsent(name, n -> new double[items.size()]);
+    }
+
+    /**
+     * Value of a feature column, or 0 if the column was never written
+     */
+    public double value(String name, int row) {
+        double[] column = columns.get(name);
+        return column != null ? column[row] : 0.0;
+    }
+
+    public Deadline deadline() {
+        return deadline;
+    }
+
+    public void setDeadline(Deadline deadline) {
+        this.deadline = deadline != null ? deadline : Deadline.none();
+    }
+
+    /**
+     * Whether rows were dropped unscored because the deadline ran out
+     */
+    public boolean isPartial() {
+        return partial;
+    }
+
+    /**
+     * Drop all but the first {@code n} active rows without scoring them
+     */
+    public void truncate(int n) {
+        if (n < activeCount) {
+            activeCount = Math.max(0, n);
+            partial = true;
+        }
+    }
+
+    /**
+     * Keep the {@code k} active rows with the highest score, ordered best first.
+     * Ties keep recall order.
+     */
+    public void cut(int k) {
+        rows = selectTop(rows, 0, activeCount, k);
+        activeCount = rows.length;
+    }
+
+    /**
+     * Score every active row, then cut to {@code k}.
+     * Rows not reached before the deadline are dropped.
+     */
+    public void scoreAndCut(RowScorer scorer, int k) {
+        int scored = scoreRange(scorer, 0, activeCount, k);
+        rows = selectTop(rows, 0, scored, k);
+        activeCount = rows.length;
+    }
+
+    /**
+     * Like {@link #scoreAndCut(RowScorer, int)}, but scores chunks of the active rows on
+     * {@code pool}. Each chunk keeps its own top-K and partial results are merged on
+     * join. The scorer must only write to the given row.
+     *
+     * @return nanoseconds spent in chunk work, summed over all workers
+     */
+    public long scoreAndCut(RowScorer scorer, int k, ForkJoinPool pool, int chunkSize) {
+        LongAdder busyNanos = new LongAdder();
+        rows = pool.invoke(new ChunkTask(scorer, 0, activeCount, Math.max(0, k), Math.max(1, chunkSize), busyNanos));
+        activeCount = rows.length;
+        return busyNanos.sum();
+    }
+
+    /**
+     * Score breakdown of one row across all columns
+     */
+    public Map<String, Double> breakdown(int row) {
+        Map<String, Double> breakdown = new LinkedHashMap<>();
+        columns.forEach((name, column) -> breakdown.put(name, column[row]));
+        return breakdown;
+    }
+
+    /**
+     * Active rows, best first
+     */
+    public int[] activeRows() {
+        return Arrays.copyOf(rows, activeCount);
+    }
+
+    /**
+     * Score rows[from, to) in order, stopping at the deadline once {@code minRows} are done
+     *
+     * @return end of the scored range
+     */
+    private int scoreRange(RowScorer scorer, int from, int to, int minRows) {
+        boolean bounded = deadline.isBounded();
+        for (int i = from; i < to; i++) {
+            int done = i - from;
+            if (bounded && done >= minRows && (done - minRows) % DEADLINE_CHECK_INTERVAL == 0 && deadline.isExpired()) {
+                partial = true;
+                return i;
+            }
+            scorer.score(rows[i]);
+        }
+        return to;
+    }
+
+    /**
+     * Top {@code k} of {@code source[from, to)} via a bounded min-heap, best first
+     */
+    private int[] selectTop(int[] source, int from, int to, int k) {
+        int keep = Math.max(0, Math.min(k, to - from));
+        int[] heap = new int[keep];
+        int heapSize = 0;
+
+        // Min-heap on score: the root is the worst row kept so far
+        for (int i = from; i < to && keep > 0; i++) {
+            int row = source[i];
+            if (heapSize < keep) {
+                heap[heapSize] = row;
+                siftUp(heap, heapSize++);
+            } else if (better(row, heap[0])) {
+                heap[0] = row;
+                siftDown(heap, heapSize);
+            }
+        }
+
+        // Pop worst-first into the tail so the result is best-first
+        int[] selected = new int[heapSize];
+        for (int i = heapSize - 1; i >= 0; i--) {
+            selected[i] = heap[0];
+            heap[0] = heap[i];
+            siftDown(heap, i);
+        }
+        return selected;
+    }
+
+    /**
+     * Merge two best-first row lists, keeping at most {@code k}
+     */
+    private int[] merge(int[] left, int[] right, int k) {
+        int[] merged = new int[Math.min(k, left.length + right.length)];
+        int l = 0;
+        int r = 0;
+        for (int i = 0; i < merged.length; i++) {
+            if (r >= right.length || (l < left.length && better(left[l], right[r]))) {
+                merged[i] = left[l++];
+            } else {
+                merged[i] = right[r++];
+            }
+        }
+        return merged;
+    }
+
+    private boolean better(int a, int b) {
+        return scores[a] > scores[b] || (scores[a] == scores[b] && a < b);
+    }
+
+    private void siftUp(int[] heap, int index) {
+        int row = heap[index];
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (!better(heap[parent], row)) {
+                break;
+            }
+            heap[index] = heap[parent];
+            index = parent;
+        }
+        heap[index] = row;
+    }
+
+    private void siftDown(int[] heap, int size) {
+        if (size == 0) {
+            return;
+        }
+        int row = heap[0];
+        int index = 0;
+        while (true) {
+            int child = 2 * index + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && better(heap[child], heap[child + 1])) {
+                child++;
+            }
+            if (!better(row, heap[child])) {
+                break;
+            }
+            heap[index] = heap[child];
+            index = child;
+        }
+        heap[index] = row;
+    }
+
+    @FunctionalInterface
+    public interface RowScorer {
+        void score(int row);
+    }
+
+    /**
+     * Scores and selects one slice of the active rows, splitting while workers are idle
+     */
+    private final class ChunkTask extends RecursiveTask<int[]> {
+
+        private final RowScorer scorer;
+        private final int from;
+        private final int to;
+        private final int k;
+        private final int chunkSize;
+        private final LongAdder busyNanos;
+
+        private ChunkTask(RowScorer scorer, int from, int to, int k, int chunkSize, LongAdder busyNanos) {
+            this.scorer = scorer;
+            this.from = from;
+            this.to = to;
+            this.k = k;
+            this.chunkSize = chunkSize;
+            this.busyNanos = busyNanos;
+        }
+
+        @Override
+        protected int[] compute() {
+            // Adaptive split: stop forking once enough work is queued for the idle workers
+            if (to - from > chunkSize && getSurplusQueuedTaskCount() <= 2) {
+                int mid = (from + to) >>> 1;
+                ChunkTask left = new ChunkTask(scorer, from, mid, k, chunkSize, busyNanos);
+                left.fork();
+                int[] right = new ChunkTask(scorer, mid, to, k, chunkSize, busyNanos).compute();
+                return merge(left.join(), right, k);
+            }
+
+            long start = System.nanoTime();
+            int scored = scoreRange(scorer, from, to, k);
+            int[] top = selectTop(rows, from, scored, k);
+            busyNanos.add(System.nanoTime() - start);
+            return top;
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.neuramatch.matching.replay;
+
+import com.neuramatch.matching.learning.OnlineRankingLearner;
+import com.neuramatch.matching.ranking.DiversityRankingService;
+import com.neuramatch.matching.ranking.FeatureBasedRankingService;
+import com.neuramatch.matching.ranking.HybridScoringService;
+import com.neuramatch.matching.ranking.MultiStageRankingService;
+import com.neuramatch.matching.ranking.RankingExecutor;
+import com.neuramatch.matching.ranking.RankingModel;
+import com.neuramatch.matching.ranking.ScoreBuffer;
+import com.neuramatch.matching.search.ResumeJobMatchingService;
+import com.neuramatch.matching.vector.JobVector;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Replays stages 2-4 of {@link MultiStageRankingService} over a logged recall set, with
+ * the production feature and diversity code and a chosen candidate model.
+ *
+ * The only stage input that needs a live service, the BM25 score, is taken from the
+ * log. Stages run to completion; there is no deadline to degrade against.
+ */
+public class PipelineReplayEngine implements ReplayEngine {
+
+    private final RankingExecutor rankingExecutor;
+    private final RankingModel candidateModel;
+    private final FeatureBasedRankingService featureRankingService;
+    private final DiversityRankingService diversityRankingService = new DiversityRankingService();
+
+    public PipelineReplayEngine(RankingExecutor rankingExecutor, RankingModel candidateModel) {
+        this.rankingExecutor = rankingExecutor;
+        this.candidateModel = candidateModel;
+        // The learner is never consulted: the model is passed to every call
+        this.featureRankingService = new FeatureBasedRankingService(
+            rankingExecutor, new OnlineRankingLearner(new SimpleMeterRegistry()));
+    }
+
+    @Override
+    public long[] rank(RankingLogRecord request, MultiStageRankingService.RankingConfig config,
+                       Map<String, Long> stageNanos) {
+        List<RankingLogRecord.Candidate> logged = request.getCandidates();
+        List<ResumeJobMatchingService.CandidateMatch> candidates = request.toCandidates();
+        JobVector job = request.toJob();
+        ScoreBuffer<ResumeJobMatchingService.CandidateMatch> buffer = new ScoreBuffer<>(candidates);
+
+        // Stage 2: hybrid, with the logged lexical scores
+        long start = System.nanoTime();
+        double[] semantic = buffer.column("semantic");
+        double[] lexical = buffer.column("lexical");
+        double[] hybrid = buffer.column("hybrid");
+        double[] scores = buffer.scores();
+        rankingExecutor.scoreAndCut("hybrid", buffer, row -> {
+            semantic[row] = logged.get(row).getSemantic();
+            lexical[row] = logged.get(row).getLexical();
+            hybrid[row] = HybridScoringService.combine(semantic[row], lexical[row]);
+            scores[row] = hybrid[row];
+        }, config.getStage2Limit());
+        stageNanos.merge("hybrid", System.nanoTime() - start, Long::sum);
+
+        // Stage 3: feature re-ranking
+        start = System.nanoTime();
+        featureRankingService.rerankCandidates(buffer, job, config.getStage3Limit(), candidateModel);
+        stageNanos.merge("feature", System.nanoTime() - start, Long::sum);
+
+        List<MultiStageRankingService.RankedMatch<ResumeJobMatchingService.CandidateMatch>> ranked =
+            new ArrayList<>(buffer.size());
+        for (int i = 0; i < buffer.size(); i++) {
+            int row = buffer.row(i);
+            ranked.add(MultiStageRankingService.RankedMatch.<ResumeJobMatchingService.CandidateMatch>builder()
+                .match(buffer.item(row))
+                .finalScore(scores[row])
+                .rank(i + 1)
+                .build());
+        }
+
+        // Stage 4: diversity
+        if (config.isEnableDiversity()) {
+            start = System.nanoTime();
+            ranked = diversityRankingService.diversifyResults(ranked, config.getDiversityConfig(), config.getFinalLimit());
+            stageNanos.merge("diversity", System.nanoTime() - start, Long::sum);
+        }
+
+        int count = Math.min(config.getFinalLimit(), ranked.size());
+        long[] resumeIds = new long[count];
+        for (int i = 0; i < count; i++) {
+            resumeIds[i] = ranked.get(i).getMatch().getResumeId();
+        }
+        return resumeIds;
+    }
+}
@@ -0,0 +1,175 @@
+package com.neuramatch.matching.replay;
+
+import com.neuramatch.matching.snapshot.SnapshotCodec;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Binary ranking log format.
+ *
+ * A file is a magic number and format version followed by length-prefixed records, so a
+ * reader can stop cleanly at a tail cut short by a crash. Floats are 32-bit; null
+ * integers are {@link #NULL_INT} and null strings a false presence flag.
+ */
+@Slf4j
+final class RankingLogCodec {
+
+    static final int MAGIC = 0x4E4D524C; // "NMRL"
+    static final int VERSION = 1;
+    static final String EXTENSION = ".nmrl";
+
+    private static final int NULL_INT = Integer.MIN_VALUE;
+
+    private RankingLogCodec() {
+    }
+
+    static void writeHeader(DataOutputStream out) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+    }
+
+    static byte[] encode(RankingLogRecord record) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256 + record.getCandidates().size() * 48);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeLong(record.getTimestamp());
+            writeLong(out, record.getJobId());
+            SnapshotCodec.writeFloats(out, record.getQueryVector());
+            writeInt(out, record.getMinYearsExperience());
+            writeInt(out, record.getMaxYearsExperience());
+            writeString(out, record.getLocation());
+            writeString(out, record.getRemoteType());
+            out.writeInt(record.getStage2Limit());
+            out.writeInt(record.getStage3Limit());
+            out.writeInt(record.getFinalLimit());
+            out.writeBoolean(record.isDiversity());
+
+            out.writeInt(record.getCandidates().size());
+            for (RankingLogRecord.Candidate candidate : record.getCandidates()) {
+                out.writeLong(candidate.getResumeId());
+                out.writeFloat(candidate.getSemantic());
+                out.writeFloat(candidate.getLexical());
+                out.writeFloat(candidate.getHybrid());
+                out.writeFloat(candidate.getFeature());
+                writeInt(out, candidate.getQualityScore());
+                writeInt(out, candidate.getYearsOfExperience());
+                writeString(out, candidate.getLocation());
+                writeString(out, candidate.getRemotePreference());
+                out.writeInt(candidate.getLiveRank());
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    static RankingLogRecord decode(ByteBuffer in) {
+        RankingLogRecord.RankingLogRecordBuilder record = RankingLogRecord.builder()
+            .timestamp(in.getLong())
+            .jobId(readLong(in))
+            .queryVector(SnapshotCodec.readFloats(in))
+            .minYearsExperience(readInt(in))
+            .maxYearsExperience(readInt(in))
+            .location(readString(in))
+            .remoteType(readString(in))
+            .stage2Limit(in.getInt())
+            .stage3Limit(in.getInt())
+            .finalLimit(in.getInt())
+            .diversity(in.get() != 0);
+
+        int count = in.getInt();
+        List<RankingLogRecord.Candidate> candidates = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            candidates.add(new RankingLogRecord.Candidate(
+                in.getLong(), in.getFloat(), in.getFloat(), in.getFloat(), in.getFloat(),
+                readInt(in), readInt(in), readString(in), readString(in), in.getInt()));
+        }
+        return record.candidates(candidates).build();
+    }
+
+    /**
+     * Every record in the given files, and in the log files of the given directories
+     */
+    static List<RankingLogRecord> readAll(List<Path> paths) throws IOException {
+        List<RankingLogRecord> records = new ArrayList<>();
+        for (Path path : paths) {
+            if (Files.isDirectory(path)) {
+                try (Stream<Path> files = Files.list(path)) {
+                    for (Path file : files.filter(f -> f.toString().endsWith(EXTENSION)).sorted().toList()) {
+                        read(file, records);
+                    }
+                }
+            } else {
+                read(path, records);
+            }
+        }
+        return records;
+    }
+
+    private static void read(Path file, List<RankingLogRecord> records) throws IOException {
+        try (InputStream stream = Files.newInputStream(file);
+             DataInputStream in = new DataInputStream(new BufferedInputStream(stream))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Not a ranking log: " + file);
+            }
+            int version = in.readInt();
+            if (version != VERSION) {
+                throw new IOException("Unsupported ranking log version " + version + ": " + file);
+            }
+
+            while (true) {
+                byte[] body;
+                try {
+                    body = new byte[in.readInt()];
+                    in.readFully(body);
+                } catch (EOFException e) {
+                    break;
+                }
+                records.add(decode(ByteBuffer.wrap(body)));
+            }
+        } catch (EOFException e) {
+            log.warn("Ranking log {} has no complete header", file);
+        }
+    }
+
+    private static void writeInt(DataOutputStream out, Integer value) throws IOException {
+        out.writeInt(value != null ? value : NULL_INT);
+    }
+
+    private static Integer readInt(ByteBuffer in) {
+        int value = in.getInt();
+        return value != NULL_INT ? value : null;
+    }
+
+    private static void writeLong(DataOutputStream out, Long value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeLong(value);
+        }
+    }
+
+    private static Long readLong(ByteBuffer in) {
+        return in.get() != 0 ? in.getLong() : null;
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            SnapshotCodec.writeString(out, value);
+        }
+    }
+
+    private static String readString(ByteBuffer in) {
+        return in.get() != 0 ? SnapshotCodec.readString(in) : null;
+    }
+}
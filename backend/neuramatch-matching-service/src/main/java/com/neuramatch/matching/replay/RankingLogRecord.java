@@ -0,0 +1,91 @@
+package com.neuramatch.matching.replay;
+
+import com.neuramatch.matching.ranking.MultiStageRankingService;
+import com.neuramatch.matching.search.ResumeJobMatchingService;
+import com.neuramatch.matching.vector.JobVector;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One logged candidate ranking request: the job, the config it was ranked with and the
+ * recall set with every stage input and score, enough to re-run the stages offline.
+ */
+@lombok.Value
+@lombok.Builder
+public class RankingLogRecord {
+
+    long timestamp;         // epoch millis
+    Long jobId;
+    float[] queryVector;    // job embedding; empty when it wasn't loaded
+    Integer minYearsExperience;
+    Integer maxYearsExperience;
+    String location;
+    String remoteType;
+
+    int stage2Limit;
+    int stage3Limit;
+    int finalLimit;
+    boolean diversity;
+
+    List<Candidate> candidates; // recall order
+
+    /**
+     * The job fields the ranking stages read
+     */
+    public JobVector toJob() {
+        JobVector job = new JobVector();
+        job.setJobId(jobId);
+        job.setMinYearsExperience(minYearsExperience);
+        job.setMaxYearsExperience(maxYearsExperience);
+        job.setLocation(location);
+        job.setRemoteType(remoteType);
+        return job;
+    }
+
+    /**
+     * Fresh recall set in the logged order
+     */
+    public List<ResumeJobMatchingService.CandidateMatch> toCandidates() {
+        List<ResumeJobMatchingService.CandidateMatch> matches = new ArrayList<>(candidates.size());
+        for (Candidate candidate : candidates) {
+            matches.add(ResumeJobMatchingService.CandidateMatch.builder()
+                .resumeId(candidate.getResumeId())
+                .semanticSimilarity(candidate.getSemantic())
+                .qualityScore(candidate.getQualityScore())
+                .yearsOfExperience(candidate.getYearsOfExperience())
+                .location(candidate.getLocation())
+                .remotePreference(candidate.getRemotePreference())
+                .build());
+        }
+        return matches;
+    }
+
+    /**
+     * The logged stage limits, with diversity weights from the default config
+     */
+    public MultiStageRankingService.RankingConfig toConfig() {
+        MultiStageRankingService.RankingConfig config = MultiStageRankingService.getDefaultConfig();
+        config.setStage2Limit(stage2Limit);
+        config.setStage3Limit(stage3Limit);
+        config.setFinalLimit(finalLimit);
+        config.setEnableDiversity(diversity);
+        return config;
+    }
+
+    // ========== DTOs ==========
+
+    @lombok.Value
+    public static class Candidate {
+        long resumeId;
+        float semantic;
+        float lexical;          // normalised BM25; 0 when hybrid scoring didn't reach the row
+        float hybrid;           // 0 when not reached
+        float feature;          // 0 when cut before the feature stage
+        Integer qualityScore;
+        Integer yearsOfExperience;
+        String location;
+        String remotePreference;
+        int liveRank;           // 1-based rank returned live; 0 when not returned
+    }
+}
@@ -0,0 +1,335 @@
+package com.neuramatch.matching.replay;
+
+import com.neuramatch.matching.entity.MatchFeedback;
+import com.neuramatch.matching.ranking.FeatureBasedRankingService;
+import com.neuramatch.matching.ranking.MultiStageRankingService;
+import com.neuramatch.matching.ranking.RankingExecutor;
+import com.neuramatch.matching.ranking.RankingModel;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Replays logged ranking requests offline against alternative stage limits and candidate
+ * models, reporting per-stage latency percentiles and NDCG against feedback outcomes.
+ *
+ * Needs only the files written by {@link RankingRequestLogger} and a CSV export of
+ * match_feedback, e.g.
+ * <pre>
+ *   psql -c "\copy (SELECT job_id, resume_id, action FROM match_feedback) TO 'outcomes.csv' CSV HEADER"
+ * </pre>
+ * Relevance of a (job, resume) pair is the largest {@link MatchFeedback.FeedbackAction}
+ * weight recorded for it, floored at 0; NDCG@finalLimit is computed over the judged
+ * candidates in each logged recall set, and requests without a positive judgment are left
+ * out of the mean. Run with:
+ * <pre>
+ *   mvn -pl neuramatch-matching-service compile dependency:build-classpath -Dmdep.outputFile=cp.txt
+ *   java -cp target/classes:$(cat cp.txt) com.neuramatch.matching.replay.RankingReplayHarness \
+ *     --outcomes outcomes.csv [--stage2 100,200] [--stage3 20,50] [--final 10] [--diversity true] \
+ *     [--weights hybrid=0.6,quality=0.2,recency=0.1,experienceBoost=0.05,locationBoost=0.05] \
+ *     [--parallel-threshold 2000] [--warmup-passes 1] data/ranking-logs
+ * </pre>
+ * Without stage flags each request is replayed with the limits it was logged with.
+ */
+public class RankingReplayHarness {
+
+    private static final String[] STAGES = {"hybrid", "feature", "diversity", "total"};
+
+    private final Map<Long, Map<Long, Double>> relevance;
+
+    /**
+     * @param relevance job id to resume id to graded relevance
+     */
+    public RankingReplayHarness(Map<Long, Map<Long, Double>> relevance) {
+        this.relevance = relevance;
+    }
+
+    /**
+     * Graded relevance per (job, resume) from a job_id,resume_id,action CSV
+     */
+    public static Map<Long, Map<Long, Double>> loadOutcomes(Path csv) throws IOException {
+        Map<Long, Map<Long, Double>> relevance = new HashMap<>();
+        try (BufferedReader reader = Files.newBufferedReader(csv)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] fields = line.split(",");
+                if (fields.length < 3) {
+                    continue;
+                }
+                try {
+                    long jobId = Long.parseLong(fields[0].trim());
+                    long resumeId = Long.parseLong(fields[1].trim());
+                    double weight = MatchFeedback.FeedbackAction.valueOf(fields[2].trim()).getWeight();
+                    relevance.computeIfAbsent(jobId, id -> new HashMap<>())
+                        .merge(resumeId, Math.max(0.0, weight), Math::max);
+                } catch (IllegalArgumentException e) {
+                    // Header or an action this build doesn't know
+                }
+            }
+        }
+        return relevance;
+    }
+
+    /**
+     * Replay every request through the engine
+     *
+     * @param config stage limits to use, or null for each request's logged limits
+     */
+    public Report replay(String variant, List<RankingLogRecord> requests, ReplayEngine engine,
+                         MultiStageRankingService.RankingConfig config) {
+        Map<String, long[]> nanos = new LinkedHashMap<>();
+        for (String stage : STAGES) {
+            nanos.put(stage, new long[requests.size()]);
+        }
+        NdcgSum ndcg = new NdcgSum();
+
+        for (int i = 0; i < requests.size(); i++) {
+            RankingLogRecord request = requests.get(i);
+            MultiStageRankingService.RankingConfig effective = config != null ? config : request.toConfig();
+
+            Map<String, Long> stageNanos = new HashMap<>();
+            long[] ranked = engine.rank(request, effective, stageNanos);
+
+            long total = 0;
+            for (Map.Entry<String, Long> stage : stageNanos.entrySet()) {
+                nanos.get(stage.getKey())[i] = stage.getValue();
+                total += stage.getValue();
+            }
+            nanos.get("total")[i] = total;
+            ndcg.add(ndcg(request, ranked, effective.getFinalLimit()));
+        }
+
+        Map<String, StageLatency> latency = new LinkedHashMap<>();
+        nanos.forEach((stage, values) -> latency.put(stage, StageLatency.of(values)));
+        return new Report(variant, requests.size(), ndcg.judged, ndcg.mean(), latency);
+    }
+
+    /**
+     * NDCG of the rankings that were returned live
+     */
+    public Report live(List<RankingLogRecord> requests) {
+        NdcgSum ndcg = new NdcgSum();
+        for (RankingLogRecord request : requests) {
+            long[] ranked = request.getCandidates().stream()
+                .filter(candidate -> candidate.getLiveRank() > 0)
+                .sorted((a, b) -> Integer.compare(a.getLiveRank(), b.getLiveRank()))
+                .mapToLong(RankingLogRecord.Candidate::getResumeId)
+                .toArray();
+            ndcg.add(ndcg(request, ranked, request.getFinalLimit()));
+        }
+        return new Report("live", requests.size(), ndcg.judged, ndcg.mean(), Map.of());
+    }
+
+    /**
+     * NDCG@k of a ranking against the judged candidates of the request's recall set,
+     * or NaN when none of them was judged relevant
+     */
+    double ndcg(RankingLogRecord request, long[] ranked, int k) {
+        Map<Long, Double> judged = request.getJobId() != null
+            ? relevance.getOrDefault(request.getJobId(), Map.of())
+            : Map.of();
+
+        double[] ideal = request.getCandidates().stream()
+            .mapToDouble(candidate -> judged.getOrDefault(candidate.getResumeId(), 0.0))
+            .filter(gain -> gain > 0)
+            .map(gain -> -gain)
+            .sorted()
+            .map(gain -> -gain)
+            .toArray();
+        if (ideal.length == 0) {
+            return Double.NaN;
+        }
+
+        double dcg = 0.0;
+        for (int i = 0; i < Math.min(k, ranked.length); i++) {
+            dcg += judged.getOrDefault(ranked[i], 0.0) / log2(i + 2);
+        }
+        double idcg = 0.0;
+        for (int i = 0; i < Math.min(k, ideal.length); i++) {
+            idcg += ideal[i] / log2(i + 2);
+        }
+        return dcg / idcg;
+    }
+
+    private static double log2(int x) {
+        return Math.log(x) / Math.log(2);
+    }
+
+    // ========== Command line ==========
+
+    public static void main(String[] args) throws IOException {
+        Map<String, String> options = new HashMap<>();
+        List<Path> logs = new ArrayList<>();
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].startsWith("--") && i + 1 < args.length) {
+                options.put(args[i].substring(2), args[++i]);
+            } else {
+                logs.add(Paths.get(args[i]));
+            }
+        }
+        if (!options.containsKey("outcomes") || logs.isEmpty()) {
+            System.err.println("Usage: RankingReplayHarness --outcomes <csv> [--stage2 n,..] [--stage3 n,..] "
+                + "[--final n,..] [--diversity true|false] [--weights feature=w,..] "
+                + "[--parallel-threshold n] [--warmup-passes n] <log file or directory>...");
+            System.exit(2);
+        }
+
+        List<RankingLogRecord> requests = RankingLogCodec.readAll(logs);
+        RankingReplayHarness harness = new RankingReplayHarness(loadOutcomes(Paths.get(options.get("outcomes"))));
+        RankingExecutor executor = RankingExecutor.standalone(new SimpleMeterRegistry(), 0,
+            Integer.parseInt(options.getOrDefault("parallel-threshold", "2000")), 256);
+        int warmupPasses = Integer.parseInt(options.getOrDefault("warmup-passes", "1"));
+
+        Map<String, ReplayEngine> engines = new LinkedHashMap<>();
+        engines.put("prior", new PipelineReplayEngine(executor, FeatureBasedRankingService.CANDIDATE_PRIOR));
+        if (options.containsKey("weights")) {
+            engines.put("weights", new PipelineReplayEngine(executor, parseModel(options.get("weights"))));
+        }
+
+        List<Report> reports = new ArrayList<>();
+        reports.add(harness.live(requests));
+        for (MultiStageRankingService.RankingConfig config : configs(options)) {
+            for (Map.Entry<String, ReplayEngine> engine : engines.entrySet()) {
+                String variant = describe(config) + " " + engine.getKey();
+                for (int pass = 0; pass < warmupPasses; pass++) {
+                    harness.replay(variant, requests, engine.getValue(), config);
+                }
+                reports.add(harness.replay(variant, requests, engine.getValue(), config));
+            }
+        }
+        executor.shutdown();
+
+        System.out.printf("%d requests from %s%n%n", requests.size(), logs);
+        System.out.printf("%-36s %8s %8s %7s", "variant", "requests", "judged", "NDCG");
+        for (String stage : STAGES) {
+            System.out.printf("  %-26s", stage + " p50/p95/p99 us");
+        }
+        System.out.println();
+        reports.forEach(report -> System.out.println(report.format()));
+    }
+
+    private static List<MultiStageRankingService.RankingConfig> configs(Map<String, String> options) {
+        List<MultiStageRankingService.RankingConfig> configs = new ArrayList<>();
+        if (!options.containsKey("stage2") && !options.containsKey("stage3") && !options.containsKey("final")) {
+            configs.add(null);
+            return configs;
+        }
+
+        MultiStageRankingService.RankingConfig defaults = MultiStageRankingService.getDefaultConfig();
+        boolean diversity = Boolean.parseBoolean(options.getOrDefault("diversity", "true"));
+        for (int stage2 : ints(options.get("stage2"), defaults.getStage2Limit())) {
+            for (int stage3 : ints(options.get("stage3"), defaults.getStage3Limit())) {
+                for (int finalLimit : ints(options.get("final"), defaults.getFinalLimit())) {
+                    MultiStageRankingService.RankingConfig config = MultiStageRankingService.getDefaultConfig();
+                    config.setStage2Limit(stage2);
+                    config.setStage3Limit(stage3);
+                    config.setFinalLimit(finalLimit);
+                    config.setEnableDiversity(diversity);
+                    configs.add(config);
+                }
+            }
+        }
+        return configs;
+    }
+
+    private static int[] ints(String csv, int fallback) {
+        return csv != null
+            ? Arrays.stream(csv.split(",")).mapToInt(value -> Integer.parseInt(value.trim())).toArray()
+            : new int[]{fallback};
+    }
+
+    /**
+     * Candidate model from feature=weight pairs; unlisted features get weight 0
+     */
+    private static RankingModel parseModel(String spec) {
+        RankingModel prior = FeatureBasedRankingService.CANDIDATE_PRIOR;
+        Map<String, Double> given = new HashMap<>();
+        for (String pair : spec.split(",")) {
+            String[] parts = pair.split("=");
+            given.put(parts[0].trim(), Double.parseDouble(parts[1].trim()));
+        }
+
+        String[] features = new String[prior.featureCount()];
+        double[] weights = new double[prior.featureCount()];
+        for (int i = 0; i < features.length; i++) {
+            features[i] = prior.feature(i);
+            weights[i] = given.getOrDefault(features[i], 0.0);
+        }
+        return new RankingModel(features, weights, 0, 0);
+    }
+
+    private static String describe(MultiStageRankingService.RankingConfig config) {
+        return config == null ? "logged limits" : String.format("s2=%d s3=%d final=%d%s",
+            config.getStage2Limit(), config.getStage3Limit(), config.getFinalLimit(),
+            config.isEnableDiversity() ? "" : " no-div");
+    }
+
+    private static final class NdcgSum {
+        private double sum;
+        private int judged;
+
+        void add(double ndcg) {
+            if (!Double.isNaN(ndcg)) {
+                sum += ndcg;
+                judged++;
+            }
+        }
+
+        double mean() {
+            return judged > 0 ? sum / judged : Double.NaN;
+        }
+    }
+
+    // ========== DTOs ==========
+
+    @lombok.Value
+    public static class Report {
+        String variant;
+        int requests;
+        int judged;                         // requests with at least one relevant candidate
+        double ndcg;                        // mean NDCG@finalLimit over the judged requests
+        Map<String, StageLatency> latency;  // by stage, plus "total"; empty for the live rankings
+
+        String format() {
+            StringBuilder line = new StringBuilder(String.format("%-36s %8d %8d %7.4f", variant, requests, judged, ndcg));
+            for (String stage : STAGES) {
+                StageLatency stageLatency = latency.get(stage);
+                line.append(stageLatency == null ? String.format("  %-26s", "-")
+                    : String.format("  %8.1f/%8.1f/%8.1f", stageLatency.getP50Micros(),
+                        stageLatency.getP95Micros(), stageLatency.getP99Micros()));
+            }
+            return line.toString();
+        }
+    }
+
+    @lombok.Value
+    public static class StageLatency {
+        double p50Micros;
+        double p95Micros;
+        double p99Micros;
+
+        static StageLatency of(long[] nanos) {
+            long[] sorted = nanos.clone();
+            Arrays.sort(sorted);
+            return new StageLatency(percentile(sorted, 0.50), percentile(sorted, 0.95), percentile(sorted, 0.99));
+        }
+
+        private static double percentile(long[] sorted, double p) {
+            if (sorted.length == 0) {
+                return 0.0;
+            }
+            int index = (int) Math.ceil(p * sorted.length) - 1;
+            return sorted[Math.max(0, index)] / 1000.0;
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package com.neuramatch.matching.replay;
+
+import com.neuramatch.matching.ranking.MultiStageRankingService;
+import com.neuramatch.matching.ranking.ScoreBuffer;
+import com.neuramatch.matching.search.ResumeJobMatchingService;
+import com.neuramatch.matching.vector.JobVector;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Logs a sample of candidate ranking requests to binary files for offline replay with
+ * {@link RankingReplayHarness}.
+ *
+ * A request is encoded on the ranking thread and queued; a scheduled flush appends the
+ * queue to the current log file, rolling to a new file past the size cap. When the queue
+ * is full the request is dropped rather than slowing ranking down. Logging never fails
+ * the request.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RankingRequestLogger {
+
+    private static final DateTimeFormatter FILE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${matching.replay.log.enabled:false}")
+    private boolean enabled;
+
+    @Value("${matching.replay.log.directory:./data/ranking-logs}")
+    private String directory;
+
+    @Value("${matching.replay.log.sample-rate:1.0}")
+    private double sampleRate;
+
+    @Value("${matching.replay.log.queue-capacity:1000}")
+    private int queueCapacity;
+
+    @Value("${matching.replay.log.max-file-bytes:268435456}")
+    private long maxFileBytes;
+
+    private BlockingQueue<byte[]> pending;
+    private DataOutputStream out;
+    private long fileBytes;
+
+    @PostConstruct
+    void init() {
+        pending = new ArrayBlockingQueue<>(Math.max(1, queueCapacity));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        flush();
+        closeFile();
+    }
+
+    /**
+     * Queue a ranked request (sampled)
+     *
+     * @param candidates the recall set in the order the buffer was built from
+     * @param results the live final results
+     */
+    public void log(JobVector job, MultiStageRankingService.RankingConfig config,
+                    List<ResumeJobMatchingService.CandidateMatch> candidates,
+                    ScoreBuffer<ResumeJobMatchingService.CandidateMatch> buffer,
+                    List<MultiStageRankingService.RankedMatch<ResumeJobMatchingService.CandidateMatch>> results) {
+        if (!enabled || ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            return;
+        }
+
+        try {
+            byte[] record = RankingLogCodec.encode(toRecord(job, config, candidates, buffer, results));
+            boolean queued = pending.offer(record);
+            meterRegistry.counter("matching.replay.log.requests", "outcome", queued ? "queued" : "dropped").increment();
+        } catch (Exception e) {
+            log.debug("Failed to log ranking request for job {}: {}", job.getJobId(), e.getMessage());
+        }
+    }
+
+    /**
+     * Append queued requests to the current log file
+     */
+    @Scheduled(fixedDelayString = "${matching.replay.log.flush-interval-ms:1000}")
+    public synchronized void flush() {
+        if (!enabled || pending == null || pending.isEmpty()) {
+            return;
+        }
+
+        List<byte[]> records = new ArrayList<>(pending.size());
+        pending.drainTo(records);
+        try {
+            for (byte[] record : records) {
+                if (out == null || fileBytes >= maxFileBytes) {
+                    rollFile();
+                }
+                out.writeInt(record.length);
+                out.write(record);
+                fileBytes += Integer.BYTES + record.length;
+            }
+            out.flush();
+        } catch (IOException e) {
+            log.warn("Failed to write {} ranking log records: {}", records.size(), e.getMessage());
+            closeFile();
+        }
+    }
+
+    private void rollFile() throws IOException {
+        closeFile();
+        Path dir = Paths.get(directory);
+        Files.createDirectories(dir);
+        Path file = dir.resolve("rankings-" + LocalDateTime.now().format(FILE_TIME) + "-"
+            + System.nanoTime() % 1_000_000 + RankingLogCodec.EXTENSION);
+        out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file), 1 << 16));
+        RankingLogCodec.writeHeader(out);
+        fileBytes = 2 * Integer.BYTES;
+        log.info("Logging ranking requests to {}", file);
+    }
+
+    private void closeFile() {
+        if (out == null) {
+            return;
+        }
+        try {
+            out.close();
+        } catch (IOException e) {
+            log.debug("Failed to close ranking log: {}", e.getMessage());
+        }
+        out = null;
+    }
+
+    private static RankingLogRecord toRecord(JobVector job, MultiStageRankingService.RankingConfig config,
+                                             List<ResumeJobMatchingService.CandidateMatch> candidates,
+                                             ScoreBuffer<ResumeJobMatchingService.CandidateMatch> buffer,
+                                             List<MultiStageRankingService.RankedMatch<ResumeJobMatchingService.CandidateMatch>> results) {
+        Map<ResumeJobMatchingService.CandidateMatch, Integer> liveRank = new IdentityHashMap<>();
+        for (MultiStageRankingService.RankedMatch<ResumeJobMatchingService.CandidateMatch> result : results) {
+            liveRank.put(result.getMatch(), result.getRank());
+        }
+
+        List<RankingLogRecord.Candidate> logged = new ArrayList<>(candidates.size());
+        for (int row = 0; row < candidates.size(); row++) {
+            ResumeJobMatchingService.CandidateMatch candidate = candidates.get(row);
+            logged.add(new RankingLogRecord.Candidate(
+                candidate.getResumeId() != null ? candidate.getResumeId() : -1,
+                (float) candidate.getSemanticSimilarity(),
+                (float) buffer.value("lexical", row),
+                (float) buffer.value("hybrid", row),
+                (float) buffer.value("feature", row),
+                candidate.getQualityScore(),
+                candidate.getYearsOfExperience(),
+                candidate.getLocation(),
+                candidate.getRemotePreference(),
+                liveRank.getOrDefault(candidate, 0)));
+        }
+
+        return RankingLogRecord.builder()
+            .timestamp(System.currentTimeMillis())
+            .jobId(job.getJobId())
+            .queryVector(job.getEmbedding() != null ? job.getEmbedding().toArray() : new float[0])
+            .minYearsExperience(job.getMinYearsExperience())
+            .maxYearsExperience(job.getMaxYearsExperience())
+            .location(job.getLocation())
+            .remoteType(job.getRemoteType())
+            .stage2Limit(config.getStage2Limit())
+            .stage3Limit(config.getStage3Limit())
+            .finalLimit(config.getFinalLimit())
+            .diversity(config.isEnableDiversity())
+            .candidates(logged)
+            .build();
+    }
+}
@@ -0,0 +1,20 @@
+package com.neuramatch.matching.replay;
+
+import com.neuramatch.matching.ranking.MultiStageRankingService;
+
+import java.util.Map;
+
+/**
+ * Something that can re-rank a logged request offline
+ */
+@FunctionalInterface
+public interface ReplayEngine {
+
+    /**
+     * Rank the logged recall set, adding each stage's elapsed nanos to {@code stageNanos}
+     *
+     * @return resume ids, best first
+     */
+    long[] rank(RankingLogRecord request, MultiStageRankingService.RankingConfig config,
+                Map<String, Long> stageNanos);
+}
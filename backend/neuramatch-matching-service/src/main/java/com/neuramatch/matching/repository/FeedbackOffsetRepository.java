@@ -0,0 +1,32 @@
+package com.neuramatch.matching.repository;
+
+import com.neuramatch.matching.entity.FeedbackAppliedOffset;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface FeedbackOffsetRepository extends JpaRepository<FeedbackAppliedOffset, Long> {
+
+    List<FeedbackAppliedOffset> findByTopic(String topic);
+
+    /**
+     * Move many partitions' applied offsets forward in one statement; an offset never moves
+     * back. Arguments are parallel Postgres array literals, e.g. '{feedback-events}', '{0}', '{42}'.
+     */
+    @Modifying
+    @Query(value = """
+        INSERT INTO feedback_applied_offsets (topic, partition_id, next_offset)
+        SELECT * FROM unnest(CAST(:topics AS text[]), CAST(:partitions AS integer[]),
+                             CAST(:offsets AS bigint[]))
+        ON CONFLICT (topic, partition_id)
+        DO UPDATE SET next_offset = GREATEST(feedback_applied_offsets.next_offset, EXCLUDED.next_offset)
+        """, nativeQuery = true)
+    int advanceAll(@Param("topics") String topics,
+                   @Param("partitions") String partitions,
+                   @Param("offsets") String offsets);
+}
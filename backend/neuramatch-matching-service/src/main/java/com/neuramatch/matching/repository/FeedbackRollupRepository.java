@@ -0,0 +1,106 @@
+package com.neuramatch.matching.repository;
+
+import com.neuramatch.matching.entity.FeedbackDailyRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface FeedbackRollupRepository extends JpaRepository<FeedbackDailyRollup, Long> {
+
+    /**
+     * Add counts to many (job, action, day) cells, and to their (job, action) totals, in
+     * one statement. Arguments are parallel Postgres array literals, e.g. '{1,2}',
+     * '{VIEWED,HIRED}', '{2026-03-01,2026-03-01}'.
+     */
+    @Modifying
+    @Query(value = """
+        WITH batch AS (
+            SELECT * FROM unnest(CAST(:jobIds AS bigint[]), CAST(:actions AS text[]),
+                                 CAST(:days AS date[]), CAST(:counts AS bigint[]))
+                AS b(job_id, action, day, count)
+        ), daily AS (
+            INSERT INTO feedback_daily_rollups (job_id, action, day, count)
+            SELECT job_id, action, day, count FROM batch
+            ON CONFLICT (job_id, action, day)
+            DO UPDATE SET count = feedback_daily_rollups.count + EXCLUDED.count
+        )
+        INSERT INTO feedback_action_totals (job_id, action, count)
+        SELECT job_id, action, SUM(count) FROM batch GROUP BY job_id, action
+        ON CONFLICT (job_id, action)
+        DO UPDATE SET count = feedback_action_totals.count + EXCLUDED.count
+        """, nativeQuery = true)
+    int incrementAll(@Param("jobIds") String jobIds,
+                     @Param("actions") String actions,
+                     @Param("days") String days,
+                     @Param("counts") String counts);
+
+    @Query(value = """
+        SELECT action AS action, count AS count
+        FROM feedback_action_totals
+        WHERE job_id = :jobId
+        """, nativeQuery = true)
+    List<ActionCount> totalsByAction(@Param("jobId") Long jobId);
+
+    @Query(value = "SELECT COUNT(*) FROM feedback_action_totals", nativeQuery = true)
+    long countTotals();
+
+    @Query(value = """
+        SELECT action AS action, SUM(count) AS count
+        FROM feedback_daily_rollups
+        WHERE job_id = :jobId AND day >= :fromDay AND day < :toDay
+        GROUP BY action
+        """, nativeQuery = true)
+    List<ActionCount> sumByActionBetween(@Param("jobId") Long jobId,
+                                         @Param("fromDay") LocalDate fromDay,
+                                         @Param("toDay") LocalDate toDay);
+
+    /**
+     * Seed the rollups and totals from match_feedback rows created before {@code before}
+     *
+     * @return number of (job, action) totals touched
+     */
+    @Modifying
+    @Query(value = """
+        WITH cells AS (
+            SELECT job_id, action, CAST(created_at AS date) AS day, COUNT(*) AS count
+            FROM match_feedback
+            WHERE created_at < :before
+            GROUP BY job_id, action, CAST(created_at AS date)
+        ), daily AS (
+            INSERT INTO feedback_daily_rollups (job_id, action, day, count)
+            SELECT job_id, action, day, count FROM cells
+            ON CONFLICT (job_id, action, day)
+            DO UPDATE SET count = feedback_daily_rollups.count + EXCLUDED.count
+        )
+        INSERT INTO feedback_action_totals (job_id, action, count)
+        SELECT job_id, action, SUM(count) FROM cells GROUP BY job_id, action
+        ON CONFLICT (job_id, action)
+        DO UPDATE SET count = feedback_action_totals.count + EXCLUDED.count
+        """, nativeQuery = true)
+    int backfillBefore(@Param("before") LocalDateTime before);
+
+    /**
+     * Seed empty totals from rollups written before the totals existed
+     */
+    @Modifying
+    @Transactional
+    @Query(value = """
+        INSERT INTO feedback_action_totals (job_id, action, count)
+        SELECT job_id, action, SUM(count) FROM feedback_daily_rollups GROUP BY job_id, action
+        ON CONFLICT (job_id, action) DO NOTHING
+        """, nativeQuery = true)
+    int seedTotalsFromRollups();
+
+    interface ActionCount {
+        String getAction();
+        Long getCount();
+    }
+}
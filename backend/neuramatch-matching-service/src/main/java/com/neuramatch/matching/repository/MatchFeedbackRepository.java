@@ -35,4 +35,38 @@ public interface MatchFeedbackRepository extends JpaRepository<MatchFeedback, Lo
     long countByActionSince(
             @Param("action") MatchFeedback.FeedbackAction action,
             @Param("since") LocalDateTime since);
+
+    /**
+     * Feedback counts per action for a job over an arbitrary time range; served by the
+     * (job_id, action, created_at) index. Whole-day ranges should use the rollups instead.
+     */
+    @Query("SELECT f.action AS action, COUNT(f) AS count FROM MatchFeedback f " +
+           "WHERE f.jobId = :jobId AND f.createdAt >= :from AND f.createdAt < :to GROUP BY f.action")
+    List<ActionCount> countByActionForJobBetween(
+            @Param("jobId") Long jobId,
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to);
+
+    /**
+     * Feedback counts per action and hour since a point in time; hours are epoch hours of
+     * the stored (zone-less) timestamp. Used once to seed the in-process counters.
+     */
+    @Query(value = "SELECT action AS action, " +
+                   "CAST(FLOOR(EXTRACT(EPOCH FROM created_at) / 3600) AS bigint) AS hour, " +
+                   "COUNT(*) AS count " +
+                   "FROM match_feedback WHERE created_at >= :since " +
+                   "GROUP BY 1, 2",
+           nativeQuery = true)
+    List<HourlyActionCount> countByActionAndHourSince(@Param("since") LocalDateTime since);
+
+    interface ActionCount {
+        MatchFeedback.FeedbackAction getAction();
+        Long getCount();
+    }
+
+    interface HourlyActionCount {
+        String getAction();
+        Long getHour();
+        Long getCount();
+    }
 }
@@ -6,7 +6,9 @@ import org.springframework.data.neo4j.repository.query.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 
@@ -102,6 +104,30 @@ public interface SkillGraphRepository extends Neo4jRepository<SkillNode, String>
            "RETURN canonical")
     Optional<SkillNode> findCanonicalSkill(@Param("skillName") String skillName);
 
+    /**
+     * Resolve many skill names to canonical names in one round trip.
+     * Unknown names map to themselves.
+     */
+    @Query("UNWIND $names AS name " +
+           "OPTIONAL MATCH (s:Skill {name: name}) " +
+           "OPTIONAL MATCH (s)-[:SYNONYM_OF*]->(canonical:Skill) " +
+           "WHERE NOT (canonical)-[:SYNONYM_OF]->() " +
+           "RETURN name AS name, coalesce(canonical.name, s.name, name) AS canonical")
+    List<SynonymMapping> findCanonicalNames(@Param("names") Collection<String> names);
+
+    /**
+     * Transferable ALTERNATIVE_TO edges out of many skills in one round trip
+     */
+    @Query("MATCH (s:Skill)-[a:ALTERNATIVE_TO]->(alt:Skill) " +
+           "WHERE s.name IN $names AND a.transferability >= $minTransferability " +
+           "RETURN s.name AS source, alt.name AS target, " +
+           "       a.similarity AS weight, a.transferability AS transferability " +
+           "ORDER BY a.transferability DESC, a.similarity DESC")
+    List<SkillEdge> findTransferableAlternativeEdges(
+        @Param("names") Collection<String> names,
+        @Param("minTransferability") Double minTransferability
+    );
+
     /**
      * Find all synonyms for a skill
      */
@@ -156,19 +182,40 @@ public interface SkillGraphRepository extends Neo4jRepository<SkillNode, String>
     );
 
     /**
-     * Calculate skill similarity score between two skillsets
+     * Map every synonym to its canonical skill (bulk load for in-memory tables)
      */
-    @Query("MATCH (s1:Skill) WHERE s1.name IN $skillSet1 " +
-           "MATCH (s2:Skill) WHERE s2.name IN $skillSet2 " +
-           "WITH s1, s2 " +
-           "OPTIONAL MATCH (s1)-[r:COMPLEMENTS|ALTERNATIVE_TO]-(s2) " +
-           "RETURN COUNT(DISTINCT r) as relationshipCount, " +
-           "       COUNT(DISTINCT s1) as set1Size, " +
-           "       COUNT(DISTINCT s2) as set2Size")
-    SkillSimilarityScore calculateSkillSetSimilarity(
-        @Param("skillSet1") Set<String> skillSet1,
-        @Param("skillSet2") Set<String> skillSet2
-    );
+    @Query("MATCH (s:Skill)-[:SYNONYM_OF*]->(canonical:Skill) " +
+           "WHERE NOT (canonical)-[:SYNONYM_OF]->() " +
+           "RETURN s.name AS name, canonical.name AS canonical")
+    List<SynonymMapping> findAllSynonymMappings();
+
+    /**
+     * All ALTERNATIVE_TO edges (bulk load for in-memory tables)
+     */
+    @Query("MATCH (s:Skill)-[a:ALTERNATIVE_TO]->(alt:Skill) " +
+           "RETURN s.name AS source, alt.name AS target, " +
+           "       a.similarity AS weight, a.transferability AS transferability")
+    List<SkillEdge> findAllAlternativeEdges();
+
+    /**
+     * All COMPLEMENTS edges (bulk load for in-memory tables)
+     */
+    @Query("MATCH (s:Skill)-[c:COMPLEMENTS]->(comp:Skill) " +
+           "RETURN s.name AS source, comp.name AS target, " +
+           "       c.strength AS weight, null AS transferability")
+    List<SkillEdge> findAllComplementEdges();
+
+    /**
+     * Upsert COMPLEMENTS weights learned from co-occurrence statistics.
+     * Rows are maps with source, target, strength and commonality; unknown skills are skipped.
+     */
+    @Query("UNWIND $rows AS row " +
+           "MATCH (s:Skill {name: row.source}), (t:Skill {name: row.target}) " +
+           "MERGE (s)-[c:COMPLEMENTS]->(t) " +
+           "SET c.strength = row.strength, c.commonality = row.commonality, " +
+           "    c.learned = true, c.updatedAt = datetime() " +
+           "RETURN count(c)")
+    Long mergeComplementWeights(@Param("rows") List<Map<String, Object>> rows);
 
     /**
      * Find skills by text search (name or description)
@@ -181,11 +228,20 @@ public interface SkillGraphRepository extends Neo4jRepository<SkillNode, String>
     List<SkillNode> searchSkills(@Param("searchTerm") String searchTerm);
 
     /**
-     * Projection interface for skill similarity calculation
+     * Projection for synonym to canonical name mappings
+     */
+    interface SynonymMapping {
+        String getName();
+        String getCanonical();
+    }
+
+    /**
+     * Projection for a weighted skill relationship
      */
-    interface SkillSimilarityScore {
-        Integer getRelationshipCount();
-        Integer getSet1Size();
-        Integer getSet2Size();
+    interface SkillEdge {
+        String getSource();
+        String getTarget();
+        Double getWeight();
+        Double getTransferability();
     }
 }
@@ -0,0 +1,243 @@
+package com.neuramatch.matching.salary;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Mergeable KLL quantile sketch over float values.
+ *
+ * Values enter level 0; when the sketch holds more than its capacity the lowest full
+ * level is sorted and every other value (starting at a random offset) is promoted to the
+ * next level with twice the weight. Level capacities shrink geometrically towards level
+ * 0, so the sketch retains O(k) values however many it has seen and rank error stays
+ * around 1.7 / k. Two sketches merge by concatenating levels and compacting again.
+ *
+ * Exact count, sum, min and max are kept alongside. Not thread-safe on its own; callers
+ * synchronize on the sketch.
+ */
+final class QuantileSketch {
+
+    private static final double CAPACITY_DECAY = 2.0 / 3.0;
+    private static final int MIN_CAPACITY = 2;
+
+    private final int k;
+
+    private float[][] levels = new float[1][8];
+    private int[] sizes = new int[1];
+    private int retained;
+    private int maxRetained;
+
+    private long count;
+    private double sum;
+    private float min = Float.POSITIVE_INFINITY;
+    private float max = Float.NEGATIVE_INFINITY;
+
+    QuantileSketch(int k) {
+        this.k = Math.max(k, 8);
+        maxRetained = capacity(0);
+    }
+
+    void add(float value) {
+        append(0, value);
+        count++;
+        sum += value;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+        if (retained >= maxRetained) {
+            compress();
+        }
+    }
+
+    /**
+     * Fold another sketch into this one; {@code other} is left unchanged
+     */
+    void merge(QuantileSketch other) {
+        if (other.count == 0) {
+            return;
+        }
+        while (levels.length < other.levels.length) {
+            grow();
+        }
+        for (int level = 0; level < other.levels.length; level++) {
+            for (int i = 0; i < other.sizes[level]; i++) {
+                append(level, other.levels[level][i]);
+            }
+        }
+        count += other.count;
+        sum += other.sum;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+        while (retained >= maxRetained) {
+            compress();
+        }
+    }
+
+    /**
+     * Approximate values at the given ranks (0..1), in the order requested; NaN when empty
+     */
+    double[] quantiles(double... ranks) {
+        double[] result = new double[ranks.length];
+        if (count == 0) {
+            Arrays.fill(result, Double.NaN);
+            return result;
+        }
+
+        // Weighted values in ascending order
+        float[] values = new float[retained];
+        long[] weights = new long[retained];
+        int n = 0;
+        for (int level = 0; level < levels.length; level++) {
+            for (int i = 0; i < sizes[level]; i++) {
+                values[n] = levels[level][i];
+                weights[n++] = 1L << level;
+            }
+        }
+        Integer[] order = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Float.compare(values[a], values[b]));
+        long totalWeight = 0;
+        for (int i = 0; i < n; i++) {
+            totalWeight += weights[i];
+        }
+
+        for (int r = 0; r < ranks.length; r++) {
+            if (ranks[r] <= 0) {
+                result[r] = min;
+                continue;
+            }
+            if (ranks[r] >= 1) {
+                result[r] = max;
+                continue;
+            }
+            double target = ranks[r] * totalWeight;
+            long cumulative = 0;
+            result[r] = max;
+            for (int i = 0; i < n; i++) {
+                cumulative += weights[order[i]];
+                if (cumulative >= target) {
+                    result[r] = values[order[i]];
+                    break;
+                }
+            }
+        }
+        return result;
+    }
+
+    long count() {
+        return count;
+    }
+
+    double mean() {
+        return count > 0 ? sum / count : Double.NaN;
+    }
+
+    float min() {
+        return min;
+    }
+
+    float max() {
+        return max;
+    }
+
+    int retained() {
+        return retained;
+    }
+
+    // ========== Compaction ==========
+
+    private int capacity(int level) {
+        int depth = levels.length - level - 1;
+        return Math.max(MIN_CAPACITY, (int) Math.ceil(k * Math.pow(CAPACITY_DECAY, depth)));
+    }
+
+    private void grow() {
+        levels = Arrays.copyOf(levels, levels.length + 1);
+        levels[levels.length - 1] = new float[8];
+        sizes = Arrays.copyOf(sizes, sizes.length + 1);
+        maxRetained = 0;
+        for (int level = 0; level < levels.length; level++) {
+            maxRetained += capacity(level);
+        }
+    }
+
+    /**
+     * Compact the lowest level that is at capacity
+     */
+    private void compress() {
+        for (int level = 0; level < levels.length; level++) {
+            if (sizes[level] >= capacity(level)) {
+                if (level + 1 == levels.length) {
+                    grow();
+                }
+                compact(level);
+                return;
+            }
+        }
+    }
+
+    private void compact(int level) {
+        float[] values = levels[level];
+        int size = sizes[level];
+        Arrays.sort(values, 0, size);
+
+        // With an odd count the smallest value stays behind at this level
+        int start = size & 1;
+        int offset = ThreadLocalRandom.current().nextBoolean() ? 1 : 0;
+        for (int i = start + offset; i < size; i += 2) {
+            append(level + 1, values[i]);
+        }
+        retained -= size - start;
+        sizes[level] = start;
+    }
+
+    private void append(int level, float value) {
+        if (sizes[level] == levels[level].length) {
+            levels[level] = Arrays.copyOf(levels[level], levels[level].length * 2);
+        }
+        levels[level][sizes[level]++] = value;
+        retained++;
+    }
+
+    // ========== Serialization ==========
+
+    void writeTo(DataOutputStream out) throws IOException {
+        out.writeLong(count);
+        out.writeDouble(sum);
+        out.writeFloat(min);
+        out.writeFloat(max);
+        out.writeInt(levels.length);
+        for (int level = 0; level < levels.length; level++) {
+            out.writeInt(sizes[level]);
+            for (int i = 0; i < sizes[level]; i++) {
+                out.writeFloat(levels[level][i]);
+            }
+        }
+    }
+
+    static QuantileSketch readFrom(ByteBuffer in, int k) {
+        QuantileSketch sketch = new QuantileSketch(k);
+        sketch.count = in.getLong();
+        sketch.sum = in.getDouble();
+        sketch.min = in.getFloat();
+        sketch.max = in.getFloat();
+        int levelCount = in.getInt();
+        while (sketch.levels.length < levelCount) {
+            sketch.grow();
+        }
+        for (int level = 0; level < levelCount; level++) {
+            int size = in.getInt();
+            for (int i = 0; i < size; i++) {
+                sketch.append(level, in.getFloat());
+            }
+        }
+        while (sketch.retained >= sketch.maxRetained) {
+            sketch.compress();
+        }
+        return sketch;
+    }
+}
@@ -0,0 +1,307 @@
+package com.neuramatch.matching.salary;
+
+import com.neuramatch.matching.dto.SalaryBenchmarkDTO;
+import com.neuramatch.matching.graph.SkillGraphTableService;
+import com.neuramatch.matching.market.MarketSegments;
+import com.neuramatch.matching.snapshot.SnapshotCodec;
+import com.neuramatch.matching.snapshot.SnapshotContributor;
+import com.neuramatch.matching.vector.JobIndexedEvent;
+import com.neuramatch.matching.vector.JobRemovedEvent;
+import com.neuramatch.matching.vector.JobVector;
+import com.neuramatch.matching.vector.JobVectorRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Salary benchmarks over indexed job postings.
+ *
+ * Each posting's salary midpoint is added to a {@link QuantileSketch} per required skill,
+ * location bucket and experience band, plus the "any location" / "any band" / "any
+ * skill" rollups of those, so every query reads a fixed number of sketches. Multi-skill
+ * queries merge the per-skill sketches; a posting requiring several of the skills
+ * contributes once per skill.
+ *
+ * Sketches are insert-only: a posting whose salary fields change is added again and a
+ * removed one stays counted until the next scheduled rebuild from job_vectors.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SalaryBenchmarkService implements SnapshotContributor {
+
+    static final String ANY = "*";
+
+    private final JobVectorRepository jobVectorRepository;
+    private final SkillGraphTableService skillGraphTableService;
+
+    @Value("${matching.salary.sketch-k:200}")
+    private int sketchK;
+
+    @Value("${matching.salary.high-confidence-samples:50}")
+    private int highConfidenceSamples;
+
+    @Value("${matching.salary.medium-confidence-samples:20}")
+    private int mediumConfidenceSamples;
+
+    private volatile State state = new State();
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onJobIndexed(JobIndexedEvent event) {
+        add(state, Posting.of(event.getJobVector()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onJobRemoved(JobRemovedEvent event) {
+        // Its salary stays in the sketches until the next rebuild; forget it so a re-post counts
+        state.fingerprints.remove(event.getJobId());
+    }
+
+    /**
+     * Salary distribution for postings requiring any of the skills, in the location
+     * bucket and experience band; null or empty criteria match everything
+     */
+    public SalaryBenchmarkDTO getBenchmark(List<String> skills, Integer experience, String location, String industry) {
+        String locationBucket = Objects.requireNonNullElse(locationBucket(location, null), ANY);
+        String band = Objects.requireNonNullElse(MarketSegments.experienceBand(experience), ANY);
+        State current = state;
+
+        QuantileSketch merged = new QuantileSketch(sketchK);
+        if (skills == null || skills.isEmpty()) {
+            mergeInto(merged, current.sketches.get(key(ANY, locationBucket, band)));
+        } else {
+            for (int skillId : skillGraphTableService.resolveIds(skills, false)) {
+                mergeInto(merged, current.sketches.get(key(String.valueOf(skillId), locationBucket, band)));
+            }
+        }
+
+        SalaryBenchmarkDTO.SalaryBenchmarkDTOBuilder benchmark = SalaryBenchmarkDTO.builder()
+                .skills(skills)
+                .experienceYears(experience)
+                .location(location)
+                .industry(industry)
+                .sampleSize((int) merged.count())
+                .confidence(merged.count() >= highConfidenceSamples ? "HIGH" :
+                            merged.count() >= mediumConfidenceSamples ? "MEDIUM" : "LOW")
+                .currency("USD")
+                .period("YEARLY")
+                .generatedAt(LocalDateTime.now());
+
+        if (merged.count() > 0) {
+            double[] quantiles = merged.quantiles(0.25, 0.5, 0.75);
+            benchmark.min(Math.round(merged.min()))
+                    .max(Math.round(merged.max()))
+                    .average((int) Math.round(merged.mean()))
+                    .percentile25((int) Math.round(quantiles[0]))
+                    .median((int) Math.round(quantiles[1]))
+                    .percentile75((int) Math.round(quantiles[2]));
+        }
+        return benchmark.build();
+    }
+
+    public int sketchCount() {
+        return state.sketches.size();
+    }
+
+    /**
+     * Rebuild from job_vectors so changed and removed postings drop out
+     */
+    @Scheduled(
+        fixedDelayString = "${matching.salary.rebuild-interval-ms:86400000}",
+        initialDelayString = "${matching.salary.rebuild-interval-ms:86400000}")
+    public void scheduledRebuild() {
+        rebuild();
+    }
+
+    // ========== Snapshot ==========
+
+    @Override
+    public String snapshotSection() {
+        return "salary-sketches";
+    }
+
+    @Override
+    public void writeSnapshot(DataOutputStream out) throws IOException {
+        State current = state;
+        Map<String, QuantileSketch> sketches = Map.copyOf(current.sketches);
+        out.writeInt(sketches.size());
+        for (Map.Entry<String, QuantileSketch> entry : sketches.entrySet()) {
+            SnapshotCodec.writeString(out, entry.getKey());
+            synchronized (entry.getValue()) {
+                entry.getValue().writeTo(out);
+            }
+        }
+
+        Map<Long, Integer> fingerprints = Map.copyOf(current.fingerprints);
+        out.writeInt(fingerprints.size());
+        for (Map.Entry<Long, Integer> entry : fingerprints.entrySet()) {
+            out.writeLong(entry.getKey());
+            out.writeInt(entry.getValue());
+        }
+    }
+
+    @Override
+    public void restoreSnapshot(ByteBuffer section) {
+        State restored = new State();
+        int sketches = section.getInt();
+        for (int i = 0; i < sketches; i++) {
+            String key = SnapshotCodec.readString(section);
+            restored.sketches.put(key, QuantileSketch.readFrom(section, sketchK));
+        }
+        int fingerprints = section.getInt();
+        for (int i = 0; i < fingerprints; i++) {
+            restored.fingerprints.put(section.getLong(), section.getInt());
+        }
+        state = restored;
+    }
+
+    @Override
+    public void replaySince(LocalDateTime watermark) {
+        List<JobVectorRepository.SalaryProfile> jobs = jobVectorRepository.findSalaryProfilesUpdatedSince(watermark);
+        State current = state;
+        for (JobVectorRepository.SalaryProfile job : jobs) {
+            if (Boolean.TRUE.equals(job.getIsActive())) {
+                add(current, Posting.of(job));
+            } else {
+                current.fingerprints.remove(job.getJobId());
+            }
+        }
+        log.info("Replayed {} changed jobs into salary sketches", jobs.size());
+    }
+
+    @Override
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        try {
+            State rebuilt = new State();
+            List<JobVectorRepository.SalaryProfile> jobs = jobVectorRepository.findActiveSalaryProfiles();
+            jobs.forEach(job -> add(rebuilt, Posting.of(job)));
+            state = rebuilt;
+            log.info("Built {} salary sketches from {} jobs in {} ms",
+                rebuilt.sketches.size(), jobs.size(), System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            log.warn("Failed to build salary sketches: {}", e.getMessage());
+        }
+    }
+
+    // ========== Keys ==========
+
+    private void add(State target, Posting posting) {
+        Float salary = posting.salary();
+        if (posting.getJobId() == null || salary == null || salary <= 0) {
+            return;
+        }
+        Integer previous = target.fingerprints.put(posting.getJobId(), posting.fingerprint());
+        if (previous != null && previous == posting.fingerprint()) {
+            return;
+        }
+
+        String locationBucket = locationBucket(posting.getLocation(), posting.getRemoteType());
+        String band = MarketSegments.experienceBand(
+            posting.getMinYears() != null ? posting.getMinYears() : posting.getMaxYears());
+        int[] skillIds = posting.getSkills() != null
+            ? skillGraphTableService.resolveIds(Arrays.asList(posting.getSkills()), true)
+            : new int[0];
+
+        addToCells(target, ANY, locationBucket, band, salary);
+        for (int skillId : skillIds) {
+            addToCells(target, String.valueOf(skillId), locationBucket, band, salary);
+        }
+    }
+
+    private void addToCells(State target, String skill, String locationBucket, String band, float salary) {
+        addTo(target, key(skill, ANY, ANY), salary);
+        if (locationBucket != null) {
+            addTo(target, key(skill, locationBucket, ANY), salary);
+        }
+        if (band != null) {
+            addTo(target, key(skill, ANY, band), salary);
+        }
+        if (locationBucket != null && band != null) {
+            addTo(target, key(skill, locationBucket, band), salary);
+        }
+    }
+
+    private void addTo(State target, String key, float salary) {
+        QuantileSketch sketch = target.sketches.computeIfAbsent(key, k -> new QuantileSketch(sketchK));
+        synchronized (sketch) {
+            sketch.add(salary);
+        }
+    }
+
+    private static void mergeInto(QuantileSketch merged, QuantileSketch sketch) {
+        if (sketch != null) {
+            synchronized (sketch) {
+                merged.merge(sketch);
+            }
+        }
+    }
+
+    static String key(String skill, String locationBucket, String band) {
+        return skill + "|" + locationBucket + "|" + band;
+    }
+
+    /**
+     * Location bucket, with remote postings in "remote" whatever location they list
+     */
+    static String locationBucket(String location, String remoteType) {
+        return "REMOTE".equalsIgnoreCase(remoteType) ? MarketSegments.REMOTE : MarketSegments.locationBucket(location);
+    }
+
+    private static class State {
+        final Map<String, QuantileSketch> sketches = new ConcurrentHashMap<>();
+        final Map<Long, Integer> fingerprints = new ConcurrentHashMap<>();
+    }
+
+    @lombok.Value
+    private static class Posting {
+        Long jobId;
+        String[] skills;
+        String location;
+        String remoteType;
+        Integer minYears;
+        Integer maxYears;
+        Integer minSalary;
+        Integer maxSalary;
+
+        static Posting of(JobVector job) {
+            return new Posting(job.getJobId(), job.getRequiredSkills(), job.getLocation(), job.getRemoteType(),
+                job.getMinYearsExperience(), job.getMaxYearsExperience(), job.getMinSalary(), job.getMaxSalary());
+        }
+
+        static Posting of(JobVectorRepository.SalaryProfile job) {
+            return new Posting(job.getJobId(), job.getRequiredSkills(), job.getLocation(), job.getRemoteType(),
+                job.getMinYearsExperience(), job.getMaxYearsExperience(), job.getMinSalary(), job.getMaxSalary());
+        }
+
+        /**
+         * Midpoint of the advertised range, or whichever end is given
+         */
+        Float salary() {
+            if (minSalary != null && maxSalary != null) {
+                return (minSalary + maxSalary) / 2.0f;
+            }
+            if (minSalary != null || maxSalary != null) {
+                return (float) (minSalary != null ? minSalary : maxSalary);
+            }
+            return null;
+        }
+
+        int fingerprint() {
+            return Objects.hash(Arrays.hashCode(skills), location, remoteType, minYears, maxYears, minSalary, maxSalary);
+        }
+    }
+}
@@ -0,0 +1,218 @@
+package com.neuramatch.matching.search;
+
+import com.neuramatch.matching.ranking.Deadline;
+import com.neuramatch.matching.ranking.MultiStageRankingService;
+import com.neuramatch.matching.vector.JobVector;
+import com.neuramatch.matching.vector.JobVectorRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Streams progressive candidate rankings for a job as Server-Sent Events.
+ *
+ * The first event is the recall set's top N, sent as soon as retrieval returns; each
+ * ranking stage that finishes (hybrid, feature) pushes a refined top N, and a final event
+ * carries the diversified result and the stages that were skipped.
+ *
+ * Streams run on a small bounded pool: when it and its queue are full new streams are
+ * rejected rather than piling up. Events are written synchronously, so a slow client
+ * holds back its own stream only. When the client disconnects or the stream times out,
+ * the stream's deadline is cancelled, so the remaining stages fall back to their cheap
+ * path and nothing more is sent.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CandidateStreamService {
+
+    private final ResumeJobMatchingService matchingService;
+    private final JobVectorRepository jobVectorRepository;
+    private final MultiStageRankingService rankingService;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${matching.stream.max-concurrent:8}")
+    private int maxConcurrent;
+
+    @Value("${matching.stream.queue-capacity:16}")
+    private int queueCapacity;
+
+    @Value("${matching.stream.timeout-ms:30000}")
+    private long timeoutMs;
+
+    @Value("${matching.stream.recall-limit:500}")
+    private int recallLimit;
+
+    private ThreadPoolExecutor streamPool;
+
+    @PostConstruct
+    void init() {
+        AtomicInteger threadCount = new AtomicInteger();
+        streamPool = new ThreadPoolExecutor(maxConcurrent, maxConcurrent, 60, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(queueCapacity), r -> {
+                Thread thread = new Thread(r, "candidate-stream-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        streamPool.shutdownNow();
+    }
+
+    /**
+     * Start streaming ranked candidates for a job
+     *
+     * @throws RejectedExecutionException when too many streams are already running
+     */
+    public SseEmitter streamCandidates(Long jobId, ResumeJobMatchingService.MatchingCriteria criteria,
+                                       MultiStageRankingService.RankingConfig config) {
+        SseEmitter emitter = createEmitter(timeoutMs);
+        Deadline deadline = Deadline.cancellable(
+            config.getTimeBudgetMs() != null ? Duration.ofMillis(config.getTimeBudgetMs()) : null);
+
+        Future<?> task = streamPool.submit(() -> run(jobId, criteria, config, deadline, emitter));
+
+        Runnable cancel = () -> {
+            if (!task.isDone()) {
+                deadline.cancel();
+                meterRegistry.counter("matching.stream.cancelled").increment();
+            }
+        };
+        emitter.onCompletion(cancel);
+        emitter.onTimeout(cancel);
+        emitter.onError(error -> cancel.run());
+        return emitter;
+    }
+
+    SseEmitter createEmitter(long timeoutMs) {
+        return new SseEmitter(timeoutMs);
+    }
+
+    private void run(Long jobId, ResumeJobMatchingService.MatchingCriteria criteria,
+                     MultiStageRankingService.RankingConfig config, Deadline deadline, SseEmitter emitter) {
+        long start = System.currentTimeMillis();
+        StreamWriter writer = new StreamWriter(emitter, deadline, start);
+
+        try {
+            JobVector job = jobVectorRepository.findByJobId(jobId)
+                .orElseThrow(() -> new IllegalArgumentException("Job not found: " + jobId));
+
+            // Stage 1: recall, ranked by the match score computed during retrieval
+            List<ResumeJobMatchingService.CandidateMatch> candidates = matchingService.findMatchingCandidatesForJob(
+                jobId, withLimit(criteria, recallLimit));
+            if (!writer.send("recall", provisional(candidates, config.getFinalLimit()), List.of(), false)) {
+                return;
+            }
+
+            // Stages 2-4, pushing each refinement as it lands
+            MultiStageRankingService.RankingResult<ResumeJobMatchingService.CandidateMatch> result =
+                rankingService.rankCandidates(candidates, job, config, deadline,
+                    (stage, top) -> writer.send(stage, top, List.of(), false));
+
+            if (writer.send("final", result.getResults(), result.getSkippedStages(), true)) {
+                emitter.complete();
+                meterRegistry.timer("matching.stream.duration").record(Duration.ofMillis(System.currentTimeMillis() - start));
+            }
+        } catch (Exception e) {
+            log.warn("Candidate stream for job {} failed: {}", jobId, e.getMessage());
+            emitter.completeWithError(e);
+        }
+    }
+
+    /**
+     * Recall results in the shape of ranked matches, best first
+     */
+    private static List<MultiStageRankingService.RankedMatch<ResumeJobMatchingService.CandidateMatch>> provisional(
+            List<ResumeJobMatchingService.CandidateMatch> candidates, int limit) {
+        List<MultiStageRankingService.RankedMatch<ResumeJobMatchingService.CandidateMatch>> top = new ArrayList<>();
+        for (int i = 0; i < Math.min(limit, candidates.size()); i++) {
+            ResumeJobMatchingService.CandidateMatch candidate = candidates.get(i);
+            top.add(MultiStageRankingService.RankedMatch.<ResumeJobMatchingService.CandidateMatch>builder()
+                .match(candidate)
+                .finalScore(candidate.getOverallScore() / 100.0)
+                .vectorScore(candidate.getSemanticSimilarity())
+                .rank(i + 1)
+                .build());
+        }
+        return top;
+    }
+
+    private static ResumeJobMatchingService.MatchingCriteria withLimit(
+            ResumeJobMatchingService.MatchingCriteria criteria, int limit) {
+        return ResumeJobMatchingService.MatchingCriteria.builder()
+            .limit(limit)
+            .location(criteria != null ? criteria.getLocation() : null)
+            .remoteType(criteria != null ? criteria.getRemoteType() : null)
+            .employmentType(criteria != null ? criteria.getEmploymentType() : null)
+            .minQualityScore(criteria != null ? criteria.getMinQualityScore() : null)
+            .build();
+    }
+
+    /**
+     * Sends stage events until the client is gone
+     */
+    private static final class StreamWriter {
+
+        private final SseEmitter emitter;
+        private final Deadline deadline;
+        private final long start;
+        private int sequence;
+
+        private StreamWriter(SseEmitter emitter, Deadline deadline, long start) {
+            this.emitter = emitter;
+            this.deadline = deadline;
+            this.start = start;
+        }
+
+        /**
+         * @return false once the stream has been cancelled and the caller should stop
+         */
+        boolean send(String stage,
+                     List<MultiStageRankingService.RankedMatch<ResumeJobMatchingService.CandidateMatch>> results,
+                     List<String> skippedStages, boolean last) {
+            if (deadline.isCancelled()) {
+                return false;
+            }
+            StageEvent event = new StageEvent(++sequence, stage, last, skippedStages,
+                System.currentTimeMillis() - start, results);
+            try {
+                emitter.send(SseEmitter.event().id(String.valueOf(sequence)).name(stage).data(event));
+                return true;
+            } catch (IOException | IllegalStateException e) {
+                // Client went away: stop the remaining stages
+                deadline.cancel();
+                return false;
+            }
+        }
+    }
+
+    // ========== DTOs ==========
+
+    @lombok.Value
+    public static class StageEvent {
+        int sequence;
+        String stage; // recall, hybrid, feature or final
+        boolean last;
+        List<String> skippedStages;
+        long elapsedMs;
+        List<MultiStageRankingService.RankedMatch<ResumeJobMatchingService.CandidateMatch>> results;
+    }
+}
@@ -0,0 +1,356 @@
+package com.neuramatch.matching.search;
+
+import com.neuramatch.matching.learning.OnlineRankingLearner;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Cursor pagination over ranked match results.
+ *
+ * The first page ranks a few pages' worth of matches once and keeps them as a short-lived
+ * server-side snapshot; cursors are opaque references into it, so deeper pages are
+ * slices rather than recomputations. Past the end of the snapshot, pages continue with a
+ * keyset scan of the ANN index in (distance, id) order that skips everything the snapshot
+ * already served, down to the deepest neighbour the HNSW index returns (ef_search 1000).
+ * Snapshots expire after a TTL and are evicted oldest-first beyond a count and total-size
+ * cap; an expired cursor has to restart from the first page.
+ *
+ * Candidate lists carry the ranking features captured when they were ranked; every page
+ * served records them, so recruiter feedback on it trains the learned ranking model.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class MatchPaginationService {
+
+    private static final double KEYSET_START = -1.0; // below any cosine distance
+
+    private final ResumeJobMatchingService matchingService;
+    private final TopCandidatesService topCandidatesService;
+    private final OnlineRankingLearner rankingLearner;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${matching.pagination.snapshot-ttl-ms:600000}")
+    private long snapshotTtlMs;
+
+    @Value("${matching.pagination.prefetch-pages:5}")
+    private int prefetchPages;
+
+    @Value("${matching.pagination.max-snapshot-size:1000}")
+    private int maxSnapshotSize;
+
+    @Value("${matching.pagination.max-snapshots:2000}")
+    private int maxSnapshots;
+
+    @Value("${matching.pagination.max-total-results:200000}")
+    private long maxTotalResults;
+
+    // Access-ordered so iteration starts at the least recently used snapshot; guarded by itself
+    private final Map<String, Snapshot<?>> snapshots = new LinkedHashMap<>(64, 0.75f, true);
+    private long totalResults;
+
+    /**
+     * One page of candidates for a job. Unfiltered first pages come from the materialized
+     * top-K list when it is deep enough.
+     */
+    public Page<ResumeJobMatchingService.CandidateMatch> candidatesPage(
+            Long jobId, ResumeJobMatchingService.MatchingCriteria criteria, int pageSize, boolean refresh, String cursor) {
+        Page<ResumeJobMatchingService.CandidateMatch> page = rankedCandidatesPage(jobId, criteria, pageSize, refresh, cursor);
+        recordServed(jobId, page.getItems());
+        return page;
+    }
+
+    private Page<ResumeJobMatchingService.CandidateMatch> rankedCandidatesPage(
+            Long jobId, ResumeJobMatchingService.MatchingCriteria criteria, int pageSize, boolean refresh, String cursor) {
+        String key = "job:" + jobId + ":" + criteriaKey(criteria);
+
+        if (cursor != null) {
+            return nextPage(key, cursor, pageSize, (snapshot, position) -> matchingService.continueCandidatesForJob(
+                jobId, criteria, snapshot.getIds(), position.afterDistance, position.afterId, pageSize),
+                ResumeJobMatchingService.CandidateMatch::getResumeId);
+        }
+
+        int depth = snapshotDepth(pageSize);
+        boolean filtered = criteria != null && criteria.hasFilters();
+        if (!filtered && pageSize <= topCandidatesService.capacity()) {
+            TopCandidatesService.TopCandidates top =
+                topCandidatesService.getTopCandidates(jobId, topCandidatesService.capacity(), refresh);
+            Snapshot<ResumeJobMatchingService.CandidateMatch> snapshot = new Snapshot<>(key, top.getCandidates(),
+                ResumeJobMatchingService.CandidateMatch::getResumeId,
+                top.getCandidates().size() < topCandidatesService.capacity(), top.getComputedAt(), top.getUpdatedAt());
+            return firstPage(snapshot, pageSize, top.isMaterialized() ? "materialized" : "live");
+        }
+
+        List<ResumeJobMatchingService.CandidateMatch> ranked = matchingService.findCandidatesToServe(
+            jobId, withLimit(criteria, depth));
+        Instant now = Instant.now();
+        return firstPage(new Snapshot<>(key, ranked, ResumeJobMatchingService.CandidateMatch::getResumeId,
+            ranked.size() < depth, now, now), pageSize, "live");
+    }
+
+    /**
+     * One page of matching jobs for a resume
+     */
+    public Page<ResumeJobMatchingService.JobMatch> jobsPage(
+            Long resumeId, ResumeJobMatchingService.MatchingCriteria criteria, int pageSize, String cursor) {
+        String key = "resume:" + resumeId + ":" + criteriaKey(criteria);
+
+        if (cursor != null) {
+            return nextPage(key, cursor, pageSize, (snapshot, position) -> matchingService.continueJobsForResume(
+                resumeId, criteria, snapshot.getIds(), position.afterDistance, position.afterId, pageSize),
+                ResumeJobMatchingService.JobMatch::getJobId);
+        }
+
+        int depth = snapshotDepth(pageSize);
+        List<ResumeJobMatchingService.JobMatch> ranked = matchingService.findMatchingJobsForResume(
+            resumeId, withLimit(criteria, depth));
+        Instant now = Instant.now();
+        return firstPage(new Snapshot<>(key, ranked, ResumeJobMatchingService.JobMatch::getJobId,
+            ranked.size() < depth, now, now), pageSize, "live");
+    }
+
+    /**
+     * Number of live snapshots
+     */
+    public int snapshotCount() {
+        synchronized (snapshots) {
+            return snapshots.size();
+        }
+    }
+
+    private void recordServed(Long jobId, List<ResumeJobMatchingService.CandidateMatch> served) {
+        for (ResumeJobMatchingService.CandidateMatch candidate : served) {
+            rankingLearner.recordServed(jobId, candidate.getResumeId(), candidate.getRankingFeatures());
+        }
+    }
+
+    private <T> Page<T> firstPage(Snapshot<T> snapshot, int pageSize, String source) {
+        List<T> items = snapshot.getItems();
+        int end = Math.min(pageSize, items.size());
+
+        String nextCursor = null;
+        if (end < items.size() || !snapshot.isExhausted()) {
+            store(snapshot);
+            nextCursor = end < items.size()
+                ? Cursor.offset(snapshot.getId(), end).encode()
+                : Cursor.keyset(snapshot.getId(), KEYSET_START, Long.MIN_VALUE).encode();
+        }
+
+        count(source);
+        return new Page<>(items.subList(0, end), nextCursor, source, snapshot.getComputedAt(), snapshot.getUpdatedAt());
+    }
+
+    private <T> Page<T> nextPage(String key, String encodedCursor, int pageSize,
+                                 ContinuationSource<T> continuation, Function<T, Long> idOf) {
+        Cursor cursor = Cursor.decode(encodedCursor);
+        Snapshot<T> snapshot = lookup(cursor.snapshotId, key);
+
+        if (!cursor.isKeyset()) {
+            List<T> items = snapshot.getItems();
+            int start = Math.min(cursor.offset, items.size());
+            int end = Math.min(start + pageSize, items.size());
+            String nextCursor = end < items.size() ? Cursor.offset(snapshot.getId(), end).encode()
+                : snapshot.isExhausted() ? null : Cursor.keyset(snapshot.getId(), KEYSET_START, Long.MIN_VALUE).encode();
+
+            count("snapshot");
+            return new Page<>(items.subList(start, end), nextCursor, "snapshot",
+                snapshot.getComputedAt(), snapshot.getUpdatedAt());
+        }
+
+        ResumeJobMatchingService.Continuation<T> page = continuation.next(snapshot, cursor);
+        String nextCursor = page.isExhausted() ? null
+            : Cursor.keyset(snapshot.getId(), page.getLastDistance(), page.getLastId()).encode();
+
+        count("keyset");
+        log.debug("Keyset page after ({}, {}) for {}: {} matches", cursor.afterDistance, cursor.afterId, key,
+            page.getMatches().size());
+        return new Page<>(page.getMatches(), nextCursor, "keyset", snapshot.getComputedAt(), Instant.now());
+    }
+
+    private void store(Snapshot<?> snapshot) {
+        synchronized (snapshots) {
+            snapshots.put(snapshot.getId(), snapshot);
+            totalResults += snapshot.getItems().size();
+
+            long now = System.currentTimeMillis();
+            Iterator<Snapshot<?>> it = snapshots.values().iterator();
+            while (it.hasNext()) {
+                Snapshot<?> oldest = it.next();
+                boolean expired = now - oldest.lastAccessedAt > snapshotTtlMs;
+                boolean overCap = snapshots.size() > maxSnapshots || totalResults > maxTotalResults;
+                if (oldest == snapshot || !(expired || overCap)) {
+                    break;
+                }
+                it.remove();
+                totalResults -= oldest.getItems().size();
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> Snapshot<T> lookup(String snapshotId, String key) {
+        synchronized (snapshots) {
+            Snapshot<?> snapshot = snapshots.get(snapshotId);
+            if (snapshot == null || System.currentTimeMillis() - snapshot.lastAccessedAt > snapshotTtlMs) {
+                if (snapshot != null) {
+                    snapshots.remove(snapshotId);
+                    totalResults -= snapshot.getItems().size();
+                }
+                count("expired");
+                throw new CursorExpiredException("Cursor expired, restart from the first page");
+            }
+            if (!snapshot.getKey().equals(key)) {
+                throw new IllegalArgumentException("Cursor belongs to a different search");
+            }
+            snapshot.lastAccessedAt = System.currentTimeMillis();
+            return (Snapshot<T>) snapshot;
+        }
+    }
+
+    private int snapshotDepth(int pageSize) {
+        return Math.max(pageSize, Math.min(pageSize * prefetchPages, maxSnapshotSize));
+    }
+
+    private static ResumeJobMatchingService.MatchingCriteria withLimit(
+            ResumeJobMatchingService.MatchingCriteria criteria, int limit) {
+        return ResumeJobMatchingService.MatchingCriteria.builder()
+            .limit(limit)
+            .location(criteria != null ? criteria.getLocation() : null)
+            .remoteType(criteria != null ? criteria.getRemoteType() : null)
+            .employmentType(criteria != null ? criteria.getEmploymentType() : null)
+            .minQualityScore(criteria != null ? criteria.getMinQualityScore() : null)
+            .build();
+    }
+
+    private static String criteriaKey(ResumeJobMatchingService.MatchingCriteria criteria) {
+        if (criteria == null) {
+            return "";
+        }
+        return criteria.getLocation() + "|" + criteria.getRemoteType() + "|" +
+               criteria.getEmploymentType() + "|" + criteria.getMinQualityScore();
+    }
+
+    private void count(String source) {
+        meterRegistry.counter("matching.pagination.pages", "source", source).increment();
+    }
+
+    @FunctionalInterface
+    private interface ContinuationSource<T> {
+        ResumeJobMatchingService.Continuation<T> next(Snapshot<T> snapshot, Cursor position);
+    }
+
+    /**
+     * Ranked results of one search, kept for paging
+     */
+    @lombok.Getter
+    private static final class Snapshot<T> {
+        private final String id = UUID.randomUUID().toString();
+        private final String key;
+        private final List<T> items;
+        private final List<Long> ids;
+        private final boolean exhausted; // nothing exists beyond the items
+        private final Instant computedAt;
+        private final Instant updatedAt;
+        private volatile long lastAccessedAt = System.currentTimeMillis();
+
+        private Snapshot(String key, List<T> items, Function<T, Long> idOf, boolean exhausted,
+                         Instant computedAt, Instant updatedAt) {
+            this.key = key;
+            this.items = List.copyOf(items);
+            this.ids = new ArrayList<>(items.size());
+            items.forEach(item -> ids.add(idOf.apply(item)));
+            this.exhausted = exhausted;
+            this.computedAt = computedAt;
+            this.updatedAt = updatedAt;
+        }
+    }
+
+    /**
+     * Position in a snapshot (offset) or past it (keyset), encoded as an opaque string
+     */
+    private static final class Cursor {
+        private final String snapshotId;
+        private final int offset;
+        private final double afterDistance;
+        private final long afterId;
+        private final boolean keyset;
+
+        private Cursor(String snapshotId, int offset, double afterDistance, long afterId, boolean keyset) {
+            this.snapshotId = snapshotId;
+            this.offset = offset;
+            this.afterDistance = afterDistance;
+            this.afterId = afterId;
+            this.keyset = keyset;
+        }
+
+        static Cursor offset(String snapshotId, int offset) {
+            return new Cursor(snapshotId, offset, 0, 0, false);
+        }
+
+        static Cursor keyset(String snapshotId, double afterDistance, long afterId) {
+            return new Cursor(snapshotId, 0, afterDistance, afterId, true);
+        }
+
+        boolean isKeyset() {
+            return keyset;
+        }
+
+        String encode() {
+            String raw = keyset
+                ? "k:" + snapshotId + ":" + afterDistance + ":" + afterId
+                : "s:" + snapshotId + ":" + offset;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static Cursor decode(String encoded) {
+            try {
+                String[] parts = new String(Base64.getUrlDecoder().decode(encoded), StandardCharsets.UTF_8).split(":");
+                if (parts.length == 3 && parts[0].equals("s")) {
+                    return offset(parts[1], Integer.parseInt(parts[2]));
+                }
+                if (parts.length == 4 && parts[0].equals("k")) {
+                    return keyset(parts[1], Double.parseDouble(parts[2]), Long.parseLong(parts[3]));
+                }
+            } catch (IllegalArgumentException e) {
+                // Fall through: malformed base64 or numbers
+            }
+            throw new IllegalArgumentException("Malformed cursor");
+        }
+    }
+
+    public static class CursorExpiredException extends RuntimeException {
+        public CursorExpiredException(String message) {
+            super(message);
+        }
+    }
+
+    // ========== DTOs ==========
+
+    @lombok.Value
+    public static class Page<T> {
+        List<T> items;
+        String nextCursor; // null on the last page
+        String source; // materialized, live, snapshot or keyset
+        Instant computedAt; // when the underlying ranking was computed
+        Instant updatedAt;
+
+        public Duration getAge() {
+            return computedAt != null ? Duration.between(computedAt, Instant.now()) : Duration.ZERO;
+        }
+    }
+}
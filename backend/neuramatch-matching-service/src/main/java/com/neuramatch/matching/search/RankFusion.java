@@ -0,0 +1,40 @@
+package com.neuramatch.matching.search;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reciprocal rank fusion (RRF) of independently ranked id lists.
+ *
+ * Each list contributes {@code 1 / (k + rank)} per id, so ids ranked well by several
+ * retrievers rise to the top without having to calibrate their raw scores against
+ * each other.
+ */
+public final class RankFusion {
+
+    private RankFusion() {
+    }
+
+    /**
+     * Fuse rankings (each best first) and keep the best {@code limit} ids.
+     * Ties keep the order in which ids were first seen.
+     */
+    public static List<Long> reciprocalRank(List<List<Long>> rankings, int k, int limit) {
+        Map<Long, Double> fused = new LinkedHashMap<>();
+        for (List<Long> ranking : rankings) {
+            for (int rank = 0; rank < ranking.size(); rank++) {
+                fused.merge(ranking.get(rank), 1.0 / (k + rank + 1), Double::sum);
+            }
+        }
+
+        List<Map.Entry<Long, Double>> entries = new ArrayList<>(fused.entrySet());
+        entries.sort(Map.Entry.<Long, Double>comparingByValue(Comparator.reverseOrder()));
+        return entries.stream()
+            .limit(Math.max(0, limit))
+            .map(Map.Entry::getKey)
+            .toList();
+    }
+}
@@ -1,23 +1,44 @@
 package com.neuramatch.matching.search;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.neuramatch.matching.embedding.GeminiEmbeddingService;
+import com.neuramatch.matching.graph.SkillResolution;
+import com.neuramatch.matching.index.Bm25Index;
+import com.neuramatch.matching.index.LexicalIndexService;
+import com.neuramatch.matching.ranking.FeatureBasedRankingService;
+import com.neuramatch.matching.ranking.HybridScoringService;
 import com.neuramatch.matching.service.SkillEnrichmentService;
 import com.neuramatch.matching.vector.JobVector;
 import com.neuramatch.matching.vector.JobVectorRepository;
 import com.neuramatch.matching.vector.ResumeVector;
 import com.neuramatch.matching.vector.ResumeVectorRepository;
+import com.pgvector.PGvector;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 /**
  * Service for matching resumes to jobs and vice versa
+ *
+ * Recall fuses the pgvector nearest neighbours with BM25 hits from the lexical index
+ * (reciprocal rank fusion), so exact keyword matches outside the ANN top-K still make it
+ * into the candidate set.
  */
 @Service
 @RequiredArgsConstructor
@@ -28,6 +49,12 @@ public class ResumeJobMatchingService {
     private final JobVectorRepository jobVectorRepository;
     private final GeminiEmbeddingService geminiEmbeddingService;
     private final SkillEnrichmentService skillEnrichmentService;
+    private final LexicalIndexService lexicalIndexService;
+    private final HybridScoringService hybridScoringService;
+    private final FeatureBasedRankingService featureRankingService;
+
+    @Value("${matching.lexical.rrf-k:60}")
+    private int rrfK;
 
     /**
      * Find best matching jobs for a resume
@@ -63,9 +90,27 @@ public class ResumeJobMatchingService {
             );
         }
 
+        // Fuse with lexical recall
+        Integer years = resume.getYearsOfExperience();
+        Predicate<JobVector> filter = criteria != null && criteria.hasFilters()
+            ? job -> isOpen(job) && experienceFits(years, job) &&
+                     matches(criteria.getLocation(), job.getLocation()) &&
+                     matches(criteria.getRemoteType(), job.getRemoteType()) &&
+                     matches(criteria.getEmploymentType(), job.getEmploymentType())
+            : job -> isOpen(job) && experienceFits(years != null ? years : 0, job);
+        jobs = fuseWithLexicalRecall(
+            jobs,
+            () -> lexicalIndexService.searchJobs(lexicalIndexService.jobQuery(resume), limit),
+            JobVector::getJobId,
+            jobVectorRepository::findByJobIdIn,
+            filter,
+            limit);
+
         // Calculate match scores
+        float[] resumeVector = vectorOf(resume.getEmbedding());
+        SkillResolution skills = resolveSkills(List.of(resume), jobs);
         return jobs.stream()
-            .map(job -> calculateJobMatch(resume, job))
+            .map(job -> calculateJobMatch(resume, resumeVector, job, vectorOf(job.getEmbedding()), skills))
             .sorted((a, b) -> Double.compare(b.getOverallScore(), a.getOverallScore()))
             .collect(Collectors.toList());
     }
@@ -74,6 +119,18 @@ public class ResumeJobMatchingService {
      * Find best matching candidates for a job
      */
     public List<CandidateMatch> findMatchingCandidatesForJob(Long jobId, MatchingCriteria criteria) {
+        return findCandidates(jobId, criteria, false);
+    }
+
+    /**
+     * Like {@link #findMatchingCandidatesForJob}, for lists served in this order: each
+     * candidate carries the ranking features it was scored with, for the learner
+     */
+    public List<CandidateMatch> findCandidatesToServe(Long jobId, MatchingCriteria criteria) {
+        return findCandidates(jobId, criteria, true);
+    }
+
+    private List<CandidateMatch> findCandidates(Long jobId, MatchingCriteria criteria, boolean captureFeatures) {
         log.info("Finding matching candidates for job ID: {}", jobId);
 
         JobVector job = jobVectorRepository.findByJobId(jobId)
@@ -104,49 +161,337 @@ public class ResumeJobMatchingService {
             );
         }
 
+        // Fuse with lexical recall
+        Predicate<ResumeVector> filter = criteria != null && criteria.hasFilters()
+            ? resume -> Boolean.TRUE.equals(resume.getIsActive()) &&
+                        atLeast(resume.getYearsOfExperience(), job.getMinYearsExperience()) &&
+                        atMost(resume.getYearsOfExperience(), job.getMaxYearsExperience()) &&
+                        matches(criteria.getLocation(), resume.getLocation()) &&
+                        matches(criteria.getRemoteType(), resume.getRemotePreference()) &&
+                        atLeast(resume.getQualityScore(), criteria.getMinQualityScore())
+            : resume -> isDefaultCandidate(resume, job);
+        resumes = fuseWithLexicalRecall(
+            resumes,
+            () -> lexicalIndexService.searchResumes(lexicalIndexService.resumeQuery(job), limit),
+            ResumeVector::getResumeId,
+            resumeVectorRepository::findByResumeIdIn,
+            filter,
+            limit);
+
         // Calculate match scores
-        return resumes.stream()
-            .map(resume -> calculateCandidateMatch(resume, job))
+        float[] jobVector = vectorOf(job.getEmbedding());
+        SkillResolution skills = resolveSkills(resumes, List.of(job));
+        List<CandidateMatch> matches = resumes.stream()
+            .map(resume -> calculateCandidateMatch(resume, vectorOf(resume.getEmbedding()), job, jobVector, skills))
             .sorted((a, b) -> Double.compare(b.getOverallScore(), a.getOverallScore()))
             .collect(Collectors.toList());
+        if (captureFeatures) {
+            captureRankingFeatures(matches, job);
+        }
+        return matches;
     }
 
     /**
-     * Calculate job match score for a resume
+     * Active jobs nearest to a resume's embedding (reverse ANN from the candidate side)
      */
-    private JobMatch calculateJobMatch(ResumeVector resume, JobVector job) {
-        // 1. Semantic similarity (40%)
-        double semanticScore = geminiEmbeddingService.cosineSimilarity(
-            resume.getEmbeddingAsList(),
-            job.getEmbeddingAsList()
-        );
+    public List<JobVector> findNearestJobs(ResumeVector resume, int limit) {
+        return jobVectorRepository.findMatchingJobs(vectorToString(resume.getEmbeddingAsList()), limit);
+    }
 
-        // 2. Skills match (30%)
-        double skillScore = calculateSkillMatch(
-            resume.getTopSkills() != null ? Arrays.asList(resume.getTopSkills()) : List.of(),
-            job.getRequiredSkills() != null ? Arrays.asList(job.getRequiredSkills()) : List.of()
-        );
+    /**
+     * Score a resume as a candidate for each of the given jobs, keyed by job id, with
+     * its ranking features captured as in {@link #findCandidatesToServe}.
+     * Jobs whose unfiltered candidate search would not return this resume are left out.
+     */
+    public Map<Long, CandidateMatch> scoreCandidateForJobs(ResumeVector resume, Collection<JobVector> jobs) {
+        float[] resumeVector = vectorOf(resume.getEmbedding());
+        SkillResolution skills = resolveSkills(List.of(resume), jobs);
+        Map<Long, CandidateMatch> matches = new HashMap<>();
+        for (JobVector job : jobs) {
+            if (isDefaultCandidate(resume, job)) {
+                CandidateMatch match = calculateCandidateMatch(resume, resumeVector, job, vectorOf(job.getEmbedding()), skills);
+                captureRankingFeatures(List.of(match), job);
+                matches.put(job.getJobId(), match);
+            }
+        }
+        return matches;
+    }
 
-        // 3. Experience match (20%)
-        double experienceScore = calculateExperienceMatch(
-            resume.getYearsOfExperience(),
-            job.getMinYearsExperience(),
-            job.getMaxYearsExperience()
+    /**
+     * Candidates for a job continuing a nearest-neighbour scan after a keyset position
+     * (distance, resume id), skipping ids already served. Same filters as
+     * {@link #findMatchingCandidatesForJob}; the page is ranked by score, the keyset
+     * follows distance order. Ranking features are captured as in {@link #findCandidatesToServe}.
+     */
+    public Continuation<CandidateMatch> continueCandidatesForJob(Long jobId, MatchingCriteria criteria,
+            Collection<Long> excludeIds, double afterDistance, long afterId, int limit) {
+        JobVector job = jobVectorRepository.findByJobId(jobId)
+            .orElseThrow(() -> new RuntimeException("Job not found: " + jobId));
+
+        boolean filtered = criteria != null && criteria.hasFilters();
+        List<ResumeVectorRepository.Neighbor> neighbors = resumeVectorRepository.findNeighborsAfter(
+            vectorToString(job.getEmbeddingAsList()),
+            filtered || job.getMinYearsExperience() != null ? job.getMinYearsExperience() : Integer.valueOf(0),
+            filtered ? job.getMaxYearsExperience() : null,
+            filtered ? criteria.getLocation() : null,
+            filtered ? criteria.getRemoteType() : null,
+            filtered ? criteria.getMinQualityScore() : null,
+            toArrayLiteral(excludeIds),
+            afterDistance,
+            afterId,
+            excludeIds.size() + limit,
+            limit
         );
 
-        // 4. Location/Remote match (10%)
-        double locationScore = calculateLocationMatch(
-            resume.getLocation(),
-            resume.getRemotePreference(),
-            job.getLocation(),
-            job.getRemoteType()
+        Map<Long, ResumeVector> resumes = new HashMap<>();
+        resumeVectorRepository.findByResumeIdIn(neighbors.stream().map(ResumeVectorRepository.Neighbor::getId).toList())
+            .forEach(resume -> resumes.put(resume.getResumeId(), resume));
+
+        float[] jobVector = vectorOf(job.getEmbedding());
+        SkillResolution skills = resolveSkills(resumes.values(), List.of(job));
+        List<CandidateMatch> matches = neighbors.stream()
+            .map(neighbor -> resumes.get(neighbor.getId()))
+            .filter(Objects::nonNull)
+            .map(resume -> calculateCandidateMatch(resume, vectorOf(resume.getEmbedding()), job, jobVector, skills))
+            .sorted((a, b) -> Double.compare(b.getOverallScore(), a.getOverallScore()))
+            .toList();
+        captureRankingFeatures(matches, job);
+
+        ResumeVectorRepository.Neighbor last = neighbors.isEmpty() ? null : neighbors.get(neighbors.size() - 1);
+        return new Continuation<>(matches,
+            last != null ? last.getDistance() : afterDistance,
+            last != null ? last.getId() : afterId,
+            neighbors.size() < limit);
+    }
+
+    /**
+     * Jobs for a resume continuing a nearest-neighbour scan after a keyset position
+     * (distance, job id), skipping ids already served. Same filters as
+     * {@link #findMatchingJobsForResume}.
+     */
+    public Continuation<JobMatch> continueJobsForResume(Long resumeId, MatchingCriteria criteria,
+            Collection<Long> excludeIds, double afterDistance, long afterId, int limit) {
+        ResumeVector resume = resumeVectorRepository.findByResumeId(resumeId)
+            .orElseThrow(() -> new RuntimeException("Resume not found: " + resumeId));
+
+        boolean filtered = criteria != null && criteria.hasFilters();
+        Integer years = resume.getYearsOfExperience();
+        List<JobVectorRepository.Neighbor> neighbors = jobVectorRepository.findNeighborsAfter(
+            vectorToString(resume.getEmbeddingAsList()),
+            filtered || years != null ? years : Integer.valueOf(0),
+            filtered ? criteria.getLocation() : null,
+            filtered ? criteria.getRemoteType() : null,
+            filtered ? criteria.getEmploymentType() : null,
+            toArrayLiteral(excludeIds),
+            afterDistance,
+            afterId,
+            excludeIds.size() + limit,
+            limit
         );
 
-        // Weighted overall score
-        double overallScore = (semanticScore * 0.4) +
-                             (skillScore * 0.3) +
-                             (experienceScore * 0.2) +
-                             (locationScore * 0.1);
+        Map<Long, JobVector> jobs = new HashMap<>();
+        jobVectorRepository.findByJobIdIn(neighbors.stream().map(JobVectorRepository.Neighbor::getId).toList())
+            .forEach(job -> jobs.put(job.getJobId(), job));
+
+        float[] resumeVector = vectorOf(resume.getEmbedding());
+        SkillResolution skills = resolveSkills(List.of(resume), jobs.values());
+        List<JobMatch> matches = neighbors.stream()
+            .map(neighbor -> jobs.get(neighbor.getId()))
+            .filter(Objects::nonNull)
+            .map(job -> calculateJobMatch(resume, resumeVector, job, vectorOf(job.getEmbedding()), skills))
+            .sorted((a, b) -> Double.compare(b.getOverallScore(), a.getOverallScore()))
+            .toList();
+
+        JobVectorRepository.Neighbor last = neighbors.isEmpty() ? null : neighbors.get(neighbors.size() - 1);
+        return new Continuation<>(matches,
+            last != null ? last.getDistance() : afterDistance,
+            last != null ? last.getId() : afterId,
+            neighbors.size() < limit);
+    }
+
+    /**
+     * Score one job/resume pair directly, without running a search.
+     * Empty when the job or the resume is not indexed.
+     */
+    public Optional<JobMatch> scorePair(Long jobId, Long resumeId) {
+        Optional<JobVector> job = jobVectorRepository.findByJobId(jobId);
+        Optional<ResumeVector> resume = resumeVectorRepository.findByResumeId(resumeId);
+        if (job.isEmpty() || resume.isEmpty()) {
+            log.debug("Cannot score pair job={}, resume={}: not indexed", jobId, resumeId);
+            return Optional.empty();
+        }
+
+        return Optional.of(calculateJobMatch(
+            resume.get(), vectorOf(resume.get().getEmbedding()), job.get(), vectorOf(job.get().getEmbedding()),
+            resolveSkills(List.of(resume.get()), List.of(job.get()))));
+    }
+
+    /**
+     * Score many job/resume pairs with one lookup per side.
+     * Results follow the input order; pairs whose job or resume is not indexed are skipped.
+     */
+    public List<JobMatch> scorePairs(List<PairRef> pairs) {
+        if (pairs == null || pairs.isEmpty()) {
+            return List.of();
+        }
+
+        Set<Long> jobIds = pairs.stream().map(PairRef::getJobId).collect(Collectors.toSet());
+        Set<Long> resumeIds = pairs.stream().map(PairRef::getResumeId).collect(Collectors.toSet());
+
+        Map<Long, JobVector> jobs = new HashMap<>();
+        Map<Long, float[]> jobVectors = new HashMap<>();
+        for (JobVector job : jobVectorRepository.findByJobIdIn(jobIds)) {
+            jobs.put(job.getJobId(), job);
+            jobVectors.put(job.getJobId(), vectorOf(job.getEmbedding()));
+        }
+
+        Map<Long, ResumeVector> resumes = new HashMap<>();
+        Map<Long, float[]> resumeVectors = new HashMap<>();
+        for (ResumeVector resume : resumeVectorRepository.findByResumeIdIn(resumeIds)) {
+            resumes.put(resume.getResumeId(), resume);
+            resumeVectors.put(resume.getResumeId(), vectorOf(resume.getEmbedding()));
+        }
+
+        SkillResolution skills = resolveSkills(resumes.values(), jobs.values());
+        List<JobMatch> matches = new ArrayList<>(pairs.size());
+        for (PairRef pair : pairs) {
+            JobVector job = jobs.get(pair.getJobId());
+            ResumeVector resume = resumes.get(pair.getResumeId());
+            if (job == null || resume == null) {
+                log.debug("Skipping pair job={}, resume={}: not indexed", pair.getJobId(), pair.getResumeId());
+                continue;
+            }
+            matches.add(calculateJobMatch(
+                resume, resumeVectors.get(pair.getResumeId()), job, jobVectors.get(pair.getJobId()), skills));
+        }
+
+        log.debug("Scored {} of {} pairs ({} jobs, {} resumes loaded)",
+            matches.size(), pairs.size(), jobs.size(), resumes.size());
+        return matches;
+    }
+
+    /**
+     * Merge vector hits with BM25 hits via reciprocal rank fusion.
+     * Lexical-only hits are loaded in one query and must pass the same filters as the vector search.
+     */
+    private <T> List<T> fuseWithLexicalRecall(
+            List<T> vectorHits,
+            Supplier<List<Bm25Index.Hit>> lexicalSearch,
+            Function<T, Long> idOf,
+            Function<Collection<Long>, List<T>> loader,
+            Predicate<T> filter,
+            int limit) {
+
+        if (!lexicalIndexService.isEnabled()) {
+            return vectorHits;
+        }
+
+        List<Bm25Index.Hit> lexicalHits = lexicalSearch.get();
+        if (lexicalHits.isEmpty()) {
+            return vectorHits;
+        }
+
+        Map<Long, T> byId = new HashMap<>();
+        vectorHits.forEach(hit -> byId.put(idOf.apply(hit), hit));
+
+        List<Long> missing = lexicalHits.stream()
+            .map(Bm25Index.Hit::getDocId)
+            .filter(id -> !byId.containsKey(id))
+            .toList();
+        if (!missing.isEmpty()) {
+            loader.apply(missing).stream()
+                .filter(filter)
+                .forEach(item -> byId.put(idOf.apply(item), item));
+        }
+
+        List<Long> vectorRanking = vectorHits.stream().map(idOf).toList();
+        List<Long> lexicalRanking = lexicalHits.stream()
+            .map(Bm25Index.Hit::getDocId)
+            .filter(byId::containsKey)
+            .toList();
+
+        List<T> fused = RankFusion.reciprocalRank(List.of(vectorRanking, lexicalRanking), rrfK, limit).stream()
+            .map(byId::get)
+            .filter(Objects::nonNull)
+            .toList();
+
+        log.debug("Fused {} vector and {} lexical hits into {} candidates",
+            vectorRanking.size(), lexicalRanking.size(), fused.size());
+        return fused;
+    }
+
+    /**
+     * PostgreSQL bigint array literal, e.g. '{1,2,3}'
+     */
+    private static String toArrayLiteral(Collection<Long> ids) {
+        return ids.stream().map(String::valueOf).collect(Collectors.joining(",", "{", "}"));
+    }
+
+    private void captureRankingFeatures(List<CandidateMatch> matches, JobVector job) {
+        if (!matches.isEmpty()) {
+            featureRankingService.captureCandidateFeatures(matches, job,
+                hybridScoringService.candidateHybridScores(matches, job));
+        }
+    }
+
+    /**
+     * Filter applied by {@link #findMatchingCandidatesForJob} when no criteria are given
+     */
+    private static boolean isDefaultCandidate(ResumeVector resume, JobVector job) {
+        return Boolean.TRUE.equals(resume.getIsActive()) &&
+               resume.getYearsOfExperience() != null &&
+               resume.getYearsOfExperience() >= (job.getMinYearsExperience() != null ? job.getMinYearsExperience() : 0);
+    }
+
+    private static boolean isOpen(JobVector job) {
+        return Boolean.TRUE.equals(job.getIsActive()) &&
+               (job.getExpiresAt() == null || job.getExpiresAt().isAfter(LocalDateTime.now()));
+    }
+
+    private static boolean experienceFits(Integer years, JobVector job) {
+        return years == null ||
+               (atLeast(years, job.getMinYearsExperience()) && atMost(years, job.getMaxYearsExperience()));
+    }
+
+    /**
+     * SQL-style bound check: a null bound passes, a null value fails a non-null bound
+     */
+    private static boolean atLeast(Integer value, Integer min) {
+        return min == null || (value != null && value >= min);
+    }
+
+    private static boolean atMost(Integer value, Integer max) {
+        return max == null || (value != null && value <= max);
+    }
+
+    private static boolean matches(String required, String actual) {
+        return required == null || required.equals(actual);
+    }
+
+    /**
+     * Resolve the skills of every resume and job in a request with one skill graph call
+     */
+    private SkillResolution resolveSkills(Collection<ResumeVector> resumes, Collection<JobVector> jobs) {
+        List<String> skillNames = new ArrayList<>();
+        for (ResumeVector resume : resumes) {
+            if (resume.getTopSkills() != null) {
+                skillNames.addAll(Arrays.asList(resume.getTopSkills()));
+            }
+        }
+        for (JobVector job : jobs) {
+            if (job.getRequiredSkills() != null) {
+                skillNames.addAll(Arrays.asList(job.getRequiredSkills()));
+            }
+        }
+        return skillEnrichmentService.resolveSkills(skillNames);
+    }
+
+    /**
+     * Calculate job match score for a resume
+     */
+    private JobMatch calculateJobMatch(ResumeVector resume, float[] resumeVector, JobVector job, float[] jobVector,
+                                      SkillResolution skills) {
+        PairScores scores = calculatePairScores(resume, resumeVector, job, jobVector, skills);
 
         return JobMatch.builder()
             // Job information
@@ -163,35 +508,61 @@ public class ResumeJobMatchingService {
             .yearsOfExperience(resume.getYearsOfExperience())
             .minYearsRequired(job.getMinYearsExperience())
             // Match scores
-            .overallScore(overallScore * 100) // Convert to 0-100
-            .semanticSimilarity(semanticScore)
-            .skillMatchScore(skillScore)
-            .experienceMatchScore(experienceScore)
-            .locationMatchScore(locationScore)
+            .overallScore(scores.getOverall() * 100) // Convert to 0-100
+            .semanticSimilarity(scores.getSemantic())
+            .skillMatchScore(scores.getSkill())
+            .experienceMatchScore(scores.getExperience())
+            .locationMatchScore(scores.getLocation())
+            .degraded(skills.isDegraded())
             .build();
     }
 
     /**
      * Calculate candidate match score for a job
      */
-    private CandidateMatch calculateCandidateMatch(ResumeVector resume, JobVector job) {
-        // Same scoring logic as job match
-        double semanticScore = geminiEmbeddingService.cosineSimilarity(
-            resume.getEmbeddingAsList(),
-            job.getEmbeddingAsList()
-        );
+    private CandidateMatch calculateCandidateMatch(ResumeVector resume, float[] resumeVector,
+                                                   JobVector job, float[] jobVector, SkillResolution skills) {
+        PairScores scores = calculatePairScores(resume, resumeVector, job, jobVector, skills);
+
+        return CandidateMatch.builder()
+            .resumeId(resume.getResumeId())
+            .fullName(resume.getFullName())
+            .yearsOfExperience(resume.getYearsOfExperience())
+            .location(resume.getLocation())
+            .remotePreference(resume.getRemotePreference())
+            .overallScore(scores.getOverall() * 100)
+            .semanticSimilarity(scores.getSemantic())
+            .skillMatchScore(scores.getSkill())
+            .experienceMatchScore(scores.getExperience())
+            .locationMatchScore(scores.getLocation())
+            .qualityScore(resume.getQualityScore())
+            .degraded(skills.isDegraded())
+            .build();
+    }
 
+    /**
+     * Sub-scores shared by both match directions
+     */
+    private PairScores calculatePairScores(ResumeVector resume, float[] resumeVector, JobVector job, float[] jobVector,
+                                           SkillResolution skills) {
+        // 1. Semantic similarity (40%)
+        double semanticScore = geminiEmbeddingService.cosineSimilarity(resumeVector, jobVector);
+
+        // 2. Skills match (30%)
         double skillScore = calculateSkillMatch(
             resume.getTopSkills() != null ? Arrays.asList(resume.getTopSkills()) : List.of(),
-            job.getRequiredSkills() != null ? Arrays.asList(job.getRequiredSkills()) : List.of()
+            job.getRequiredSkills() != null ? Arrays.asList(job.getRequiredSkills()) : List.of(),
+            skills
         );
 
+        // 3. Experience match (20%)
         double experienceScore = calculateExperienceMatch(
             resume.getYearsOfExperience(),
             job.getMinYearsExperience(),
             job.getMaxYearsExperience()
         );
 
+        // 4. Location/Remote match (10%)
         double locationScore = calculateLocationMatch(
             resume.getLocation(),
             resume.getRemotePreference(),
@@ -199,30 +570,19 @@ public class ResumeJobMatchingService {
             job.getRemoteType()
         );
 
+        // Weighted overall score
         double overallScore = (semanticScore * 0.4) +
                              (skillScore * 0.3) +
                              (experienceScore * 0.2) +
                              (locationScore * 0.1);
 
-        return CandidateMatch.builder()
-            .resumeId(resume.getResumeId())
-            .fullName(resume.getFullName())
-            .yearsOfExperience(resume.getYearsOfExperience())
-            .location(resume.getLocation())
-            .remotePreference(resume.getRemotePreference())
-            .overallScore(overallScore * 100)
-            .semanticSimilarity(semanticScore)
-            .skillMatchScore(skillScore)
-            .experienceMatchScore(experienceScore)
-            .locationMatchScore(locationScore)
-            .qualityScore(resume.getQualityScore())
-            .build();
+        return new PairScores(overallScore, semanticScore, skillScore, experienceScore, locationScore);
     }
 
     /**
      * Calculate skill match score with alternative skills considered
      */
-    private double calculateSkillMatch(List<String> resumeSkills, List<String> jobSkills) {
+    private double calculateSkillMatch(List<String> resumeSkills, List<String> jobSkills, SkillResolution skills) {
         if (jobSkills.isEmpty()) {
             return 1.0; // No skills required
         }
@@ -235,7 +595,8 @@ public class ResumeJobMatchingService {
         double coverage = skillEnrichmentService.calculateSkillCoverage(
             resumeSkills,
             jobSkills,
-            true // Use alternatives
+            true, // Use alternatives
+            skills
         );
 
         return coverage;
@@ -301,6 +662,10 @@ public class ResumeJobMatchingService {
         return 0.5;
     }
 
+    private static float[] vectorOf(PGvector embedding) {
+        return embedding != null ? embedding.toArray() : new float[0];
+    }
+
     /**
      * Convert vector to PostgreSQL format
      */
@@ -310,8 +675,36 @@ public class ResumeJobMatchingService {
             .collect(Collectors.joining(",")) + "]";
     }
 
+    @lombok.Value
+    private static class PairScores {
+        double overall;
+        double semantic;
+        double skill;
+        double experience;
+        double location;
+    }
+
     // ========== DTOs ==========
 
+    @lombok.Data
+    @lombok.NoArgsConstructor
+    @lombok.AllArgsConstructor
+    public static class PairRef {
+        private Long jobId;
+        private Long resumeId;
+    }
+
+    /**
+     * One keyset page of matches plus the position to continue from
+     */
+    @lombok.Value
+    public static class Continuation<T> {
+        List<T> matches; // best score first
+        double lastDistance;
+        long lastId;
+        boolean exhausted; // the scan returned fewer rows than asked for
+    }
+
     @lombok.Data
     @lombok.Builder
     @lombok.NoArgsConstructor
@@ -354,6 +747,9 @@ public class ResumeJobMatchingService {
         private double skillMatchScore; // 0-1
         private double experienceMatchScore; // 0-1
         private double locationMatchScore; // 0-1
+
+        // True when skill matching used last-known graph tables instead of Neo4j
+        private boolean degraded;
     }
 
     @lombok.Data
@@ -371,5 +767,14 @@ public class ResumeJobMatchingService {
         private double skillMatchScore; // 0-1
         private double experienceMatchScore; // 0-1
         private double locationMatchScore; // 0-1
+
+        // True when skill matching used last-known graph tables instead of Neo4j
+        private boolean degraded;
+
+        // Learned-model inputs captured when the candidate was ranked for a served list
+        @JsonIgnore
+        @lombok.EqualsAndHashCode.Exclude
+        @lombok.ToString.Exclude
+        private float[] rankingFeatures;
     }
 }
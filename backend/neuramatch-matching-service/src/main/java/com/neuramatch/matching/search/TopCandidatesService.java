@@ -0,0 +1,393 @@
+package com.neuramatch.matching.search;
+
+import com.neuramatch.matching.vector.JobIndexedEvent;
+import com.neuramatch.matching.vector.JobRemovedEvent;
+import com.neuramatch.matching.vector.JobVector;
+import com.neuramatch.matching.vector.JobVectorRepository;
+import com.neuramatch.matching.vector.ResumeIndexedEvent;
+import com.neuramatch.matching.vector.ResumeRemovedEvent;
+import com.neuramatch.matching.vector.ResumeVector;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Materialized top-K candidate lists for jobs recruiters are actively looking at.
+ *
+ * The first read of a job runs the full candidate search and keeps the best K. After
+ * that, each indexed resume is matched against its nearest jobs (reverse ANN) and only
+ * lists whose K-th score it beats are touched. Removed resumes and updated jobs mark a
+ * list dirty; dirty, expired and idle lists are refreshed or evicted in the background.
+ * Only the unfiltered list is materialized; filtered searches always run live. Listed
+ * candidates keep the ranking features they were scored with, so serving them records
+ * those features for the ranking learner without scoring them again.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TopCandidatesService {
+
+    private static final Comparator<ResumeJobMatchingService.CandidateMatch> BY_SCORE =
+        Comparator.comparingDouble(ResumeJobMatchingService.CandidateMatch::getOverallScore).reversed();
+
+    private final ResumeJobMatchingService matchingService;
+    private final JobVectorRepository jobVectorRepository;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${matching.top-candidates.enabled:true}")
+    private boolean enabled;
+
+    @Value("${matching.top-candidates.k:100}")
+    private int k;
+
+    @Value("${matching.top-candidates.max-jobs:5000}")
+    private int maxJobs;
+
+    @Value("${matching.top-candidates.max-age-ms:21600000}")
+    private long maxAgeMs;
+
+    @Value("${matching.top-candidates.idle-evict-ms:86400000}")
+    private long idleEvictMs;
+
+    @Value("${matching.top-candidates.reverse-ann-limit:200}")
+    private int reverseAnnLimit;
+
+    private final Map<Long, Entry> lists = new ConcurrentHashMap<>();
+    private ExecutorService updater;
+
+    @PostConstruct
+    void init() {
+        updater = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "top-candidates");
+            thread.setDaemon(true);
+            return thread;
+        });
+        meterRegistry.gaugeMapSize("matching.top-candidates.jobs", List.of(), lists);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        updater.shutdownNow();
+    }
+
+    /**
+     * Ranked candidates for a job, served from the materialized list when possible
+     *
+     * @param refresh recompute the list before serving it
+     */
+    public TopCandidates getTopCandidates(Long jobId, int limit, boolean refresh) {
+        if (!enabled || limit > k) {
+            count("reads", "result", "bypass");
+            return live(jobId, limit);
+        }
+
+        Entry entry = lists.get(jobId);
+        String result = "hit";
+        if (entry == null || refresh) {
+            entry = materialize(jobId);
+            result = refresh ? "refresh" : "miss";
+        }
+        entry.lastReadAt.set(System.currentTimeMillis());
+        count("reads", "result", result);
+
+        TopList list = entry.list;
+        return TopCandidates.builder()
+            .jobId(jobId)
+            .candidates(list.getCandidates().subList(0, Math.min(limit, list.getCandidates().size())))
+            .materialized(true)
+            .computedAt(list.getComputedAt())
+            .updatedAt(list.getUpdatedAt())
+            .incrementalUpdates(list.getIncrementalUpdates())
+            .dirty(entry.dirty)
+            .build();
+    }
+
+    /**
+     * Largest limit served from a materialized list (K)
+     */
+    public int capacity() {
+        return enabled ? k : 0;
+    }
+
+    /**
+     * Number of jobs with a materialized list
+     */
+    public int size() {
+        return lists.size();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onResumeIndexed(ResumeIndexedEvent event) {
+        if (enabled && !lists.isEmpty()) {
+            ResumeVector resume = event.getResumeVector();
+            updater.execute(() -> applyResume(resume));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onResumeRemoved(ResumeRemovedEvent event) {
+        if (enabled && !lists.isEmpty()) {
+            updater.execute(() -> removeResume(event.getResumeId()));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onJobIndexed(JobIndexedEvent event) {
+        Entry entry = lists.get(event.getJobVector().getJobId());
+        if (entry != null) {
+            entry.dirty = true; // Requirements may have changed; rescore everything
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onJobRemoved(JobRemovedEvent event) {
+        lists.remove(event.getJobId());
+    }
+
+    /**
+     * Evict idle lists and recompute dirty or expired ones in the background
+     */
+    @Scheduled(
+        fixedDelayString = "${matching.top-candidates.sweep-interval-ms:60000}",
+        initialDelayString = "${matching.top-candidates.sweep-interval-ms:60000}")
+    public void sweep() {
+        if (!enabled || lists.isEmpty()) {
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        List<Long> stale = new ArrayList<>();
+        lists.forEach((jobId, entry) -> {
+            if (now - entry.lastReadAt.get() > idleEvictMs) {
+                lists.remove(jobId);
+            } else if (entry.dirty || now - entry.list.getComputedAt().toEpochMilli() > maxAgeMs) {
+                stale.add(jobId);
+            }
+        });
+
+        if (!stale.isEmpty()) {
+            log.debug("Refreshing {} stale top-candidate lists", stale.size());
+            updater.execute(() -> stale.forEach(jobId -> {
+                try {
+                    if (lists.containsKey(jobId)) {
+                        materialize(jobId);
+                    }
+                } catch (Exception e) {
+                    log.warn("Failed to refresh top candidates for job {}: {}", jobId, e.getMessage());
+                }
+            }));
+        }
+    }
+
+    /**
+     * Merge one new or updated resume into the lists it can affect
+     */
+    void applyResume(ResumeVector resume) {
+        Long resumeId = resume.getResumeId();
+        if (resumeId == null || resume.getEmbedding() == null) {
+            return;
+        }
+
+        try {
+            // Jobs near the resume, plus jobs that already list it (its score may have dropped)
+            List<JobVector> affected = new ArrayList<>();
+            Set<Long> seen = new HashSet<>();
+            for (JobVector job : matchingService.findNearestJobs(resume, reverseAnnLimit)) {
+                if (lists.containsKey(job.getJobId()) && seen.add(job.getJobId())) {
+                    affected.add(job);
+                }
+            }
+            List<Long> listing = lists.entrySet().stream()
+                .filter(e -> !seen.contains(e.getKey()) && e.getValue().list.contains(resumeId))
+                .map(Map.Entry::getKey)
+                .toList();
+            if (!listing.isEmpty()) {
+                affected.addAll(jobVectorRepository.findByJobIdIn(listing));
+            }
+            if (affected.isEmpty()) {
+                return;
+            }
+
+            Map<Long, ResumeJobMatchingService.CandidateMatch> matches =
+                matchingService.scoreCandidateForJobs(resume, affected);
+
+            int updated = 0;
+            for (JobVector job : affected) {
+                Entry entry = lists.get(job.getJobId());
+                if (entry != null && entry.merge(resumeId, matches.get(job.getJobId()), k)) {
+                    updated++;
+                }
+            }
+            count("updates", "type", "resume-indexed", updated);
+            log.debug("Resume {} touched {} of {} candidate top-K lists", resumeId, updated, affected.size());
+        } catch (Exception e) {
+            log.warn("Failed to apply resume {} to top-candidate lists: {}", resumeId, e.getMessage());
+        }
+    }
+
+    void removeResume(Long resumeId) {
+        int updated = 0;
+        for (Entry entry : lists.values()) {
+            if (entry.merge(resumeId, null, k)) {
+                // The list is now one short; a background refresh backfills it
+                entry.dirty = true;
+                updated++;
+            }
+        }
+        count("updates", "type", "resume-removed", updated);
+    }
+
+    private Entry materialize(Long jobId) {
+        TopCandidates computed = live(jobId, k);
+        Instant now = Instant.now();
+        TopList list = new TopList(List.copyOf(computed.getCandidates()), now, now, 0);
+
+        // Evict outside computeIfAbsent: removing from the map inside its mapping function is not allowed
+        if (!lists.containsKey(jobId)) {
+            evictIfFull();
+        }
+        Entry entry = lists.computeIfAbsent(jobId, id -> new Entry(list));
+        synchronized (entry) {
+            entry.list = list;
+            entry.dirty = false;
+        }
+        return entry;
+    }
+
+    private TopCandidates live(Long jobId, int limit) {
+        List<ResumeJobMatchingService.CandidateMatch> candidates = matchingService.findCandidatesToServe(
+            jobId, ResumeJobMatchingService.MatchingCriteria.builder().limit(limit).build());
+        Instant now = Instant.now();
+        return TopCandidates.builder()
+            .jobId(jobId)
+            .candidates(candidates)
+            .materialized(false)
+            .computedAt(now)
+            .updatedAt(now)
+            .build();
+    }
+
+    /**
+     * Drop the least recently read list when at capacity
+     */
+    private void evictIfFull() {
+        if (lists.size() < maxJobs) {
+            return;
+        }
+        lists.entrySet().stream()
+            .min(Comparator.comparingLong(e -> e.getValue().lastReadAt.get()))
+            .ifPresent(oldest -> lists.remove(oldest.getKey()));
+    }
+
+    private void count(String name, String tag, String value) {
+        count(name, tag, value, 1);
+    }
+
+    private void count(String name, String tag, String value, int amount) {
+        if (amount > 0) {
+            meterRegistry.counter("matching.top-candidates." + name, tag, value).increment(amount);
+        }
+    }
+
+    /**
+     * Mutable holder of one job's list; the list itself is replaced, never modified
+     */
+    private static final class Entry {
+
+        private final AtomicLong lastReadAt = new AtomicLong(System.currentTimeMillis());
+        private volatile TopList list;
+        private volatile boolean dirty;
+
+        private Entry(TopList list) {
+            this.list = list;
+        }
+
+        /**
+         * Insert, move or drop one candidate; {@code match == null} drops it.
+         *
+         * @return whether the list changed
+         */
+        synchronized boolean merge(Long resumeId, ResumeJobMatchingService.CandidateMatch match, int k) {
+            List<ResumeJobMatchingService.CandidateMatch> current = list.getCandidates();
+            boolean listed = list.contains(resumeId);
+
+            if (match == null && !listed) {
+                return false;
+            }
+            if (match != null && !listed && current.size() >= k &&
+                    match.getOverallScore() <= current.get(current.size() - 1).getOverallScore()) {
+                return false; // Does not beat the K-th score
+            }
+
+            List<ResumeJobMatchingService.CandidateMatch> next = new ArrayList<>(current.size() + 1);
+            for (ResumeJobMatchingService.CandidateMatch candidate : current) {
+                if (!Objects.equals(candidate.getResumeId(), resumeId)) {
+                    next.add(candidate);
+                }
+            }
+            if (match != null) {
+                next.add(match);
+                next.sort(BY_SCORE);
+                if (next.size() > k) {
+                    next = next.subList(0, k);
+                }
+            }
+
+            list = new TopList(List.copyOf(next), list.getComputedAt(), Instant.now(), list.getIncrementalUpdates() + 1);
+            return true;
+        }
+    }
+
+    /**
+     * Immutable ranked list plus its freshness
+     */
+    @lombok.Value
+    private static class TopList {
+        List<ResumeJobMatchingService.CandidateMatch> candidates;
+        Instant computedAt;
+        Instant updatedAt;
+        int incrementalUpdates;
+
+        boolean contains(Long resumeId) {
+            return candidates.stream().anyMatch(c -> Objects.equals(c.getResumeId(), resumeId));
+        }
+    }
+
+    // ========== DTOs ==========
+
+    @lombok.Data
+    @lombok.Builder
+    public static class TopCandidates {
+        private Long jobId;
+        private List<ResumeJobMatchingService.CandidateMatch> candidates;
+        private boolean materialized; // false when computed live for this request
+        private Instant computedAt; // last full computation
+        private Instant updatedAt; // last incremental change
+        private int incrementalUpdates; // changes applied since computedAt
+        private boolean dirty; // a refresh is pending
+
+        public Duration getAge() {
+            return computedAt != null ? Duration.between(computedAt, Instant.now()) : Duration.ZERO;
+        }
+    }
+}
@@ -2,6 +2,9 @@ package com.neuramatch.matching.service;
 
 import com.neuramatch.matching.dto.SalaryBenchmarkDTO;
 import com.neuramatch.matching.dto.SkillTrendDTO;
+import com.neuramatch.matching.market.SkillSupplyDemandService;
+import com.neuramatch.matching.salary.SalaryBenchmarkService;
+import com.neuramatch.matching.trending.SkillTrendService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -15,20 +18,27 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class AnalyticsService {
 
+    private final SkillSupplyDemandService skillSupplyDemandService;
+    private final FeedbackRollupService feedbackRollupService;
+    private final SalaryBenchmarkService salaryBenchmarkService;
+    private final SkillTrendService skillTrendService;
+
     /**
      * Get trending skills analysis
      */
     public Map<String, Object> getTrendingSkills(int months) {
         log.info("Analyzing trending skills for last {} months", months);
 
-        // Mock data - would query from actual database
-        List<SkillTrendDTO> trends = generateMockTrends();
+        // Decayed posting rates per skill; salary from the benchmark sketches
+        List<SkillTrendDTO> trends = skillTrendService.getTrends(months);
 
         // Sort by growth rate
         List<SkillTrendDTO> topTrending = trends.stream()
                 .sorted(Comparator.comparing(SkillTrendDTO::getGrowthRate).reversed())
                 .limit(20)
                 .collect(Collectors.toList());
+        topTrending.forEach(trend -> trend.setAverageSalary(
+                salaryBenchmarkService.getBenchmark(List.of(trend.getSkillName()), null, null, null).getAverage()));
 
         Map<String, Object> result = new HashMap<>();
         result.put("period", months + " months");
@@ -51,52 +61,27 @@ public class AnalyticsService {
             String industry) {
 
         log.info("Calculating salary benchmark: skills={}, experience={}, location={}, industry={}",
-                skills.size(), experience, location, industry);
-
-        // Mock calculation - would query actual job database
-        List<Integer> salaries = generateMockSalaries(skills, experience);
-
-        // Calculate statistics
-        Collections.sort(salaries);
-        int min = salaries.get(0);
-        int max = salaries.get(salaries.size() - 1);
-        int median = salaries.get(salaries.size() / 2);
-        double average = salaries.stream().mapToInt(Integer::intValue).average().orElse(0.0);
-        int percentile25 = salaries.get(salaries.size() / 4);
-        int percentile75 = salaries.get(3 * salaries.size() / 4);
-
-        String confidence = salaries.size() >= 50 ? "HIGH" :
-                           salaries.size() >= 20 ? "MEDIUM" : "LOW";
-
-        return SalaryBenchmarkDTO.builder()
-                .skills(skills)
-                .experienceYears(experience)
-                .location(location)
-                .industry(industry)
-                .min(min)
-                .max(max)
-                .median(median)
-                .average((int) average)
-                .percentile25(percentile25)
-                .percentile75(percentile75)
-                .sampleSize(salaries.size())
-                .confidence(confidence)
-                .currency("USD")
-                .period("YEARLY")
-                .generatedAt(LocalDateTime.now())
-                .build();
+                skills != null ? skills.size() : 0, experience, location, industry);
+
+        // Quantile sketches over indexed job postings; industry is not recorded on postings
+        return salaryBenchmarkService.getBenchmark(skills, experience, location, industry);
     }
 
     /**
-     * Get supply/demand ratio for skills
+     * Get supply/demand ratio for skills, optionally within a location, experience band
+     * and remote type
      */
-    public Map<String, Object> getSupplyDemandAnalysis(String skill) {
-        log.info("Analyzing supply/demand for skill: {}", skill);
-
-        // Mock data - would query actual database
-        int jobPostings = 150;  // Jobs requiring this skill
-        int candidates = 1200;  // Candidates with this skill
-        double ratio = (double) candidates / jobPostings;
+    public Map<String, Object> getSupplyDemandAnalysis(String skill, String location, Integer experience,
+                                                       String remoteType) {
+        log.info("Analyzing supply/demand for skill: {} (location={}, experience={}, remoteType={})",
+                skill, location, experience, remoteType);
+
+        // Exact counts of active jobs requiring and resumes listing the skill
+        SkillSupplyDemandService.SupplyDemand counts =
+                skillSupplyDemandService.count(skill, location, experience, remoteType);
+        long jobPostings = counts.getJobPostings();
+        long candidates = counts.getCandidates();
+        double ratio = counts.getRatio();
 
         String marketStatus;
         if (ratio > 5) {
@@ -113,9 +98,9 @@ public class AnalyticsService {
         analysis.put("candidates", candidates);
         analysis.put("supplyDemandRatio", ratio);
         analysis.put("marketStatus", marketStatus);
-        analysis.put("averageSalary", 115000);
-        analysis.put("salaryTrend", "+5.2%");
-        analysis.put("topHiringCompanies", Arrays.asList("Google", "Amazon", "Microsoft"));
+        analysis.put("averageSalary",
+                salaryBenchmarkService.getBenchmark(List.of(skill), experience, location, null).getAverage());
+        analysis.put("filters", filters(location, experience, remoteType));
 
         return analysis;
     }
@@ -126,76 +111,57 @@ public class AnalyticsService {
     public Map<String, Object> getHiringFunnelAnalytics(Long jobId) {
         log.info("Analyzing hiring funnel for job: {}", jobId);
 
-        // Mock data - would query from feedback and match tables
+        // Stages in order; each later stage implies the earlier ones were passed
+        Map<String, Long> counts = feedbackRollupService.countsByAction(jobId);
+        String[][] stages = {
+                {"viewed", "VIEWED"},
+                {"shortlisted", "SHORTLISTED"},
+                {"interviewed", "INTERVIEWED"},
+                {"offered", "OFFERED"},
+                {"hired", "HIRED"}
+        };
+
         Map<String, Object> funnel = new LinkedHashMap<>();
-        funnel.put("viewed", 250);
-        funnel.put("shortlisted", 45);
-        funnel.put("interviewed", 12);
-        funnel.put("offered", 3);
-        funnel.put("hired", 1);
+        for (String[] stage : stages) {
+            funnel.put(stage[0], counts.getOrDefault(stage[1], 0L));
+        }
 
         // Calculate conversion rates
-        Map<String, Double> conversionRates = new HashMap<>();
-        conversionRates.put("view_to_shortlist", 18.0);
-        conversionRates.put("shortlist_to_interview", 26.7);
-        conversionRates.put("interview_to_offer", 25.0);
-        conversionRates.put("offer_to_hire", 33.3);
-        conversionRates.put("overall", 0.4);
+        String[] rateNames = {"view_to_shortlist", "shortlist_to_interview", "interview_to_offer", "offer_to_hire"};
+        Map<String, Double> conversionRates = new LinkedHashMap<>();
+        String dropOffStage = null;
+        double lowestRate = Double.MAX_VALUE;
+        for (int i = 0; i < rateNames.length; i++) {
+            long from = counts.getOrDefault(stages[i][1], 0L);
+            long to = counts.getOrDefault(stages[i + 1][1], 0L);
+            double rate = percentage(to, from);
+            conversionRates.put(rateNames[i], rate);
+            if (from > 0 && rate < lowestRate) {
+                lowestRate = rate;
+                dropOffStage = rateNames[i];
+            }
+        }
+        conversionRates.put("overall", percentage(counts.getOrDefault("HIRED", 0L), counts.getOrDefault("VIEWED", 0L)));
 
         Map<String, Object> result = new HashMap<>();
         result.put("jobId", jobId);
         result.put("funnel", funnel);
         result.put("conversionRates", conversionRates);
-        result.put("averageTimeToHire", "42 days");
-        result.put("dropOffStage", "shortlist_to_interview");
+        result.put("dropOffStage", dropOffStage);
 
         return result;
     }
 
-    // Helper methods for mock data
-    private List<SkillTrendDTO> generateMockTrends() {
-        return Arrays.asList(
-                SkillTrendDTO.builder()
-                        .skillName("Rust")
-                        .currentDemand(450)
-                        .previousDemand(300)
-                        .growthRate(50.0)
-                        .averageSalary(135000)
-                        .category("PROGRAMMING_LANGUAGE")
-                        .build(),
-                SkillTrendDTO.builder()
-                        .skillName("Kubernetes")
-                        .currentDemand(2100)
-                        .previousDemand(1500)
-                        .growthRate(40.0)
-                        .averageSalary(125000)
-                        .category("DEVOPS_TOOL")
-                        .build(),
-                SkillTrendDTO.builder()
-                        .skillName("TypeScript")
-                        .currentDemand(1800)
-                        .previousDemand(1400)
-                        .growthRate(28.6)
-                        .averageSalary(115000)
-                        .category("PROGRAMMING_LANGUAGE")
-                        .build(),
-                SkillTrendDTO.builder()
-                        .skillName("React")
-                        .currentDemand(3200)
-                        .previousDemand(2800)
-                        .growthRate(14.3)
-                        .averageSalary(110000)
-                        .category("FRAMEWORK")
-                        .build(),
-                SkillTrendDTO.builder()
-                        .skillName("Python")
-                        .currentDemand(4500)
-                        .previousDemand(4200)
-                        .growthRate(7.1)
-                        .averageSalary(120000)
-                        .category("PROGRAMMING_LANGUAGE")
-                        .build()
-        );
+    private Map<String, Object> filters(String location, Integer experience, String remoteType) {
+        Map<String, Object> filters = new LinkedHashMap<>();
+        filters.put("location", location);
+        filters.put("experience", experience);
+        filters.put("remoteType", remoteType);
+        return filters;
+    }
+
+    private double percentage(long part, long whole) {
+        return whole > 0 ? Math.round((double) part / whole * 1000) / 10.0 : 0.0;
     }
 
     private List<SkillTrendDTO> getEmergingSkills(List<SkillTrendDTO> trends) {
@@ -209,20 +175,4 @@ public class AnalyticsService {
                 .filter(t -> t.getGrowthRate() < 0)
                 .collect(Collectors.toList());
     }
-
-    private List<Integer> generateMockSalaries(List<String> skills, Integer experience) {
-        // Base salary calculation based on experience
-        int baseSalary = 50000 + (experience * 10000);
-
-        // Generate sample salaries with variation
-        List<Integer> salaries = new ArrayList<>();
-        Random random = new Random(42);
-
-        for (int i = 0; i < 30; i++) {
-            int variation = random.nextInt(20000) - 10000;
-            salaries.add(baseSalary + variation);
-        }
-
-        return salaries;
-    }
 }
@@ -65,21 +65,10 @@ public class BidirectionalMatchingService {
      * Traditional direction: Job requirements → Candidate qualifications
      */
     private double calculateJobToResumeScore(Long jobId, Long resumeId) {
-        // Use existing matching service
-        ResumeJobMatchingService.MatchingCriteria criteria =
-            ResumeJobMatchingService.MatchingCriteria.builder()
-                .limit(1)
-                .build();
-
-        List<ResumeJobMatchingService.JobMatch> matches =
-            matchingService.findMatchingJobsForResume(resumeId, criteria);
-
-        if (matches.isEmpty()) {
-            return 0.0;
-        }
-
-        // Get overall score (already considers skills, experience, etc.)
-        return matches.get(0).getOverallScore() / 100.0; // Normalize to 0-1
+        // Overall score already considers skills, experience, etc.
+        return matchingService.scorePair(jobId, resumeId)
+            .map(match -> match.getOverallScore() / 100.0) // Normalize to 0-1
+            .orElse(0.0);
     }
 
     /**
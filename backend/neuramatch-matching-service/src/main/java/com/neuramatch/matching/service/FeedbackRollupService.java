@@ -0,0 +1,237 @@
+package com.neuramatch.matching.service;
+
+import com.neuramatch.matching.kafka.FeedbackEvent;
+import com.neuramatch.matching.entity.FeedbackAppliedOffset;
+import com.neuramatch.matching.repository.FeedbackOffsetRepository;
+import com.neuramatch.matching.repository.FeedbackRollupRepository;
+import com.neuramatch.matching.repository.MatchFeedbackRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.StringJoiner;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Per (job, action, day) feedback counts.
+ *
+ * The feedback consumer folds each batch into feedback_daily_rollups with a single
+ * upsert, so job statistics read a handful of rows instead of every feedback entity.
+ * The same statement adds the batch to feedback_action_totals, so all-time statistics
+ * read one row per action however old the job is.
+ * Ranges that don't fall on day boundaries are counted from match_feedback through the
+ * (job_id, action, created_at) index. Each batch's upsert also moves the partitions'
+ * offsets in feedback_applied_offsets forward in the same transaction, and the consumer
+ * skips records below them, so a redelivered batch is never counted twice.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class FeedbackRollupService {
+
+    private final FeedbackRollupRepository rollupRepository;
+    private final MatchFeedbackRepository feedbackRepository;
+    private final FeedbackOffsetRepository offsetRepository;
+
+    @Value("${matching.feedback.rollups.backfill-on-startup:true}")
+    private boolean backfillOnStartup;
+
+    private final AtomicBoolean backfillPending = new AtomicBoolean();
+
+    /**
+     * Add a batch of feedback events to the rollups in one statement and record, in the
+     * same transaction, how far each partition has been applied. Offsets advance even when
+     * the batch has no events, so records that were dead-lettered are not consumed again.
+     *
+     * @param nextOffsets per partition, the offset after the batch's last record
+     * @return number of (job, action, day) cells touched
+     */
+    @Transactional
+    public int applyBatch(List<FeedbackEvent> events, Map<TopicPartition, Long> nextOffsets) {
+        int cells = incrementCells(events);
+        advanceOffsets(nextOffsets);
+        return cells;
+    }
+
+    /**
+     * Offsets up to which the topic's partitions are already in the rollups
+     */
+    @Transactional(readOnly = true)
+    public Map<TopicPartition, Long> appliedOffsets(String topic) {
+        Map<TopicPartition, Long> offsets = new HashMap<>();
+        for (FeedbackAppliedOffset row : offsetRepository.findByTopic(topic)) {
+            offsets.put(new TopicPartition(row.getTopic(), row.getPartitionId()), row.getNextOffset());
+        }
+        return offsets;
+    }
+
+    private int incrementCells(List<FeedbackEvent> events) {
+        Map<Cell, Long> cells = new LinkedHashMap<>();
+        LocalDate today = LocalDate.now();
+        for (FeedbackEvent event : events) {
+            cells.merge(new Cell(event.getJobId(), event.getAction(), dayOf(event, today)), 1L, Long::sum);
+        }
+        if (cells.isEmpty()) {
+            return 0;
+        }
+        backfillBeforeFirstBatch(events);
+
+        StringJoiner jobIds = new StringJoiner(",", "{", "}");
+        StringJoiner actions = new StringJoiner(",", "{", "}");
+        StringJoiner days = new StringJoiner(",", "{", "}");
+        StringJoiner counts = new StringJoiner(",", "{", "}");
+        cells.forEach((cell, count) -> {
+            jobIds.add(String.valueOf(cell.getJobId()));
+            actions.add(cell.getAction());
+            days.add(cell.getDay().toString());
+            counts.add(String.valueOf(count));
+        });
+
+        rollupRepository.incrementAll(jobIds.toString(), actions.toString(), days.toString(), counts.toString());
+        log.debug("Rolled up {} feedback events into {} cells", events.size(), cells.size());
+        return cells.size();
+    }
+
+    private void advanceOffsets(Map<TopicPartition, Long> nextOffsets) {
+        if (nextOffsets.isEmpty()) {
+            return;
+        }
+        StringJoiner topics = new StringJoiner(",", "{", "}");
+        StringJoiner partitions = new StringJoiner(",", "{", "}");
+        StringJoiner offsets = new StringJoiner(",", "{", "}");
+        nextOffsets.forEach((partition, offset) -> {
+            topics.add(partition.topic());
+            partitions.add(String.valueOf(partition.partition()));
+            offsets.add(String.valueOf(offset));
+        });
+        offsetRepository.advanceAll(topics.toString(), partitions.toString(), offsets.toString());
+    }
+
+    /**
+     * All-time feedback counts per action for a job
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Long> countsByAction(Long jobId) {
+        return toMap(rollupRepository.totalsByAction(jobId));
+    }
+
+    /**
+     * Feedback counts per action for a job in [from, to). Served from the rollups when
+     * both ends fall on midnight, otherwise counted from match_feedback.
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Long> countsByAction(Long jobId, LocalDateTime from, LocalDateTime to) {
+        if (isDayAligned(from) && isDayAligned(to)) {
+            return toMap(rollupRepository.sumByActionBetween(jobId, from.toLocalDate(), to.toLocalDate()));
+        }
+
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (MatchFeedbackRepository.ActionCount row : feedbackRepository.countByActionForJobBetween(jobId, from, to)) {
+            counts.put(row.getAction().name(), row.getCount());
+        }
+        return counts;
+    }
+
+    /**
+     * Decide whether the rollups need seeding from match_feedback. Called before the
+     * feedback listener starts, so no consumed batch has touched the tables yet; totals
+     * missing next to existing rollups are seeded from the rollups right away.
+     *
+     * @return true when the first applied batch will run the backfill
+     */
+    public boolean prepareBackfill() {
+        if (!backfillOnStartup) {
+            return false;
+        }
+        try {
+            backfillPending.set(rollupRepository.count() == 0);
+            if (!backfillPending.get() && rollupRepository.countTotals() == 0) {
+                int totals = rollupRepository.seedTotalsFromRollups();
+                log.info("Seeded {} feedback totals from the daily rollups", totals);
+            }
+        } catch (Exception e) {
+            log.warn("Failed to check feedback rollups, skipping the backfill: {}", e.getMessage());
+        }
+        return backfillPending.get();
+    }
+
+    /**
+     * Seed the empty rollups in the first batch's transaction, from feedback created before
+     * the batch's earliest event: older rows come from the backfill, the batch and
+     * everything after it from the consumer, so no row is counted twice. With several
+     * consumer threads, a row whose event is still unconsumed on another partition may be.
+     */
+    private void backfillBeforeFirstBatch(List<FeedbackEvent> events) {
+        if (!backfillPending.compareAndSet(true, false)) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        backfillPending.set(true); // the redelivered batch retries it
+                    }
+                }
+            });
+        }
+
+        LocalDateTime before = events.stream()
+            .map(FeedbackRollupService::createdAt)
+            .filter(Objects::nonNull)
+            .min(LocalDateTime::compareTo)
+            .orElseGet(LocalDateTime::now);
+        int totals = rollupRepository.backfillBefore(before);
+        log.info("Backfilled feedback rollups for {} (job, action) totals from match_feedback created before {}",
+            totals, before);
+    }
+
+    static boolean isDayAligned(LocalDateTime time) {
+        return time.toLocalTime().equals(LocalTime.MIDNIGHT);
+    }
+
+    private static LocalDate dayOf(FeedbackEvent event, LocalDate fallback) {
+        LocalDateTime createdAt = createdAt(event);
+        return createdAt != null ? createdAt.toLocalDate() : fallback;
+    }
+
+    private static LocalDateTime createdAt(FeedbackEvent event) {
+        if (event.getTimestamp() == null) {
+            return null;
+        }
+        try {
+            return LocalDateTime.parse(event.getTimestamp());
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    private static Map<String, Long> toMap(List<FeedbackRollupRepository.ActionCount> rows) {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (FeedbackRollupRepository.ActionCount row : rows) {
+            counts.put(row.getAction(), row.getCount());
+        }
+        return counts;
+    }
+
+    @lombok.Value
+    private static class Cell {
+        Long jobId;
+        String action;
+        LocalDate day;
+    }
+}
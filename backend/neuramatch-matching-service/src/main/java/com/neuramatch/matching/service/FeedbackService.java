@@ -3,10 +3,10 @@ package com.neuramatch.matching.service;
 import com.neuramatch.matching.dto.FeedbackDTO;
 import com.neuramatch.matching.dto.FeedbackRequest;
 import com.neuramatch.matching.entity.MatchFeedback;
+import com.neuramatch.matching.outbox.OutboxService;
 import com.neuramatch.matching.repository.MatchFeedbackRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -22,7 +22,8 @@ import java.util.stream.Collectors;
 public class FeedbackService {
 
     private final MatchFeedbackRepository feedbackRepository;
-    private final KafkaTemplate<String, Map<String, Object>> kafkaTemplate;
+    private final OutboxService outboxService;
+    private final FeedbackRollupService rollupService;
 
     @Transactional
     public FeedbackDTO recordFeedback(FeedbackRequest request) {
@@ -41,7 +42,7 @@ public class FeedbackService {
 
         feedback = feedbackRepository.save(feedback);
 
-        // Publish to Kafka for processing
+        // Published to Kafka by the outbox relay once this transaction commits
         publishFeedbackEvent(feedback);
 
         return convertToDTO(feedback);
@@ -61,16 +62,18 @@ public class FeedbackService {
                 .collect(Collectors.toList());
     }
 
-    @Transactional(readOnly = true)
     public Map<String, Object> getFeedbackStatistics(Long jobId) {
-        List<MatchFeedback> feedbacks = feedbackRepository.findByJobId(jobId);
+        return buildStatistics(rollupService.countsByAction(jobId));
+    }
 
-        Map<String, Long> actionCounts = feedbacks.stream()
-                .collect(Collectors.groupingBy(
-                        f -> f.getAction().name(),
-                        Collectors.counting()
-                ));
+    /**
+     * Statistics for feedback created in [from, to)
+     */
+    public Map<String, Object> getFeedbackStatistics(Long jobId, LocalDateTime from, LocalDateTime to) {
+        return buildStatistics(rollupService.countsByAction(jobId, from, to));
+    }
 
+    private Map<String, Object> buildStatistics(Map<String, Long> actionCounts) {
         long totalViews = actionCounts.getOrDefault("VIEWED", 0L);
         long shortlisted = actionCounts.getOrDefault("SHORTLISTED", 0L);
         long interviewed = actionCounts.getOrDefault("INTERVIEWED", 0L);
@@ -81,7 +84,7 @@ public class FeedbackService {
                 (double) hired / totalViews * 100 : 0.0;
 
         Map<String, Object> stats = new HashMap<>();
-        stats.put("totalFeedback", feedbacks.size());
+        stats.put("totalFeedback", actionCounts.values().stream().mapToLong(Long::longValue).sum());
         stats.put("actionCounts", actionCounts);
         stats.put("totalViews", totalViews);
         stats.put("shortlisted", shortlisted);
@@ -104,8 +107,8 @@ public class FeedbackService {
         event.put("originalScore", feedback.getOriginalScore());
         event.put("timestamp", feedback.getCreatedAt().toString());
 
-        kafkaTemplate.send("feedback-events", event);
-        log.debug("Published feedback event to Kafka: {}", event);
+        outboxService.enqueue("feedback-events", String.valueOf(feedback.getJobId()), event);
+        log.debug("Queued feedback event: {}", event);
     }
 
     private FeedbackDTO convertToDTO(MatchFeedback feedback) {
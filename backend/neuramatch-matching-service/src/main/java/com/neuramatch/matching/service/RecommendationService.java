@@ -1,5 +1,6 @@
 package com.neuramatch.matching.service;
 
+import com.neuramatch.matching.cooccurrence.SkillCooccurrenceService;
 import com.neuramatch.matching.dto.JobRecommendationDTO;
 import com.neuramatch.matching.dto.SkillRecommendationDTO;
 import lombok.RequiredArgsConstructor;
@@ -15,6 +16,7 @@ import java.util.stream.Collectors;
 public class RecommendationService {
 
     private final SkillGraphService skillGraphService;
+    private final SkillCooccurrenceService skillCooccurrenceService;
 
     /**
      * Get personalized job recommendations for a candidate
@@ -191,6 +193,22 @@ public class RecommendationService {
     }
 
     private List<SkillRecommendationDTO> getComplementarySkills(List<String> currentSkills) {
+        List<SkillCooccurrenceService.ComplementScore> learned =
+                skillCooccurrenceService.findComplements(currentSkills, 3);
+        if (!learned.isEmpty()) {
+            return learned.stream()
+                    .map(complement -> SkillRecommendationDTO.builder()
+                            .skillName(complement.getSkillName())
+                            .reason("COMPLEMENTARY")
+                            .description(String.format("Required together with %s in %.0f recent job postings",
+                                    String.join(", ", complement.getBecauseOf()), complement.getSupport()))
+                            .demandTrend(complement.getLift() >= 2.0 ? "VERY_HIGH" : "HIGH")
+                            .priority((int) Math.round(70 + 25 * (1 - Math.exp(-complement.getScore()))))
+                            .relatedSkills(complement.getBecauseOf())
+                            .build())
+                    .collect(Collectors.toList());
+        }
+
         return Arrays.asList(
                 SkillRecommendationDTO.builder()
                         .skillName("Docker")
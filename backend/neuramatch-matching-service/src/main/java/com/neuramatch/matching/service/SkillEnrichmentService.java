@@ -1,6 +1,7 @@
 package com.neuramatch.matching.service;
 
 import com.neuramatch.matching.dto.SkillEnrichmentDTO;
+import com.neuramatch.matching.graph.SkillResolution;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -16,6 +17,11 @@ import java.util.stream.Collectors;
 @Slf4j
 public class SkillEnrichmentService {
 
+    /**
+     * Minimum transferability for an alternative skill to count towards coverage
+     */
+    private static final double ALTERNATIVE_TRANSFERABILITY = 0.75;
+
     private final SkillGraphService skillGraphService;
 
     /**
@@ -145,6 +151,14 @@ public class SkillEnrichmentService {
         return normalizedSkills.containsAll(normalizedPrereqs);
     }
 
+    /**
+     * Resolve the skills of one match request for {@link #calculateSkillCoverage(
+     * Collection, Collection, boolean, SkillResolution)}
+     */
+    public SkillResolution resolveSkills(Collection<String> skillNames) {
+        return skillGraphService.resolveSkills(skillNames, ALTERNATIVE_TRANSFERABILITY);
+    }
+
     /**
      * Calculate skill coverage percentage for job requirements
      */
@@ -157,8 +171,25 @@ public class SkillEnrichmentService {
             return 1.0;
         }
 
-        Set<String> normalizedCandidate = normalizeSkills(candidateSkills);
-        Set<String> normalizedRequired = normalizeSkills(requiredSkills);
+        List<String> skillNames = new ArrayList<>(candidateSkills);
+        skillNames.addAll(requiredSkills);
+        return calculateSkillCoverage(candidateSkills, requiredSkills, useAlternatives, resolveSkills(skillNames));
+    }
+
+    /**
+     * Calculate skill coverage against skills already resolved for the request
+     */
+    public double calculateSkillCoverage(
+            Collection<String> candidateSkills,
+            Collection<String> requiredSkills,
+            boolean useAlternatives,
+            SkillResolution skills) {
+
+        Set<String> normalizedRequired = skills.canonicalNames(requiredSkills);
+        if (normalizedRequired.isEmpty()) {
+            return 1.0;
+        }
+        Set<String> normalizedCandidate = skills.canonicalNames(candidateSkills);
 
         int matchCount = 0;
 
@@ -167,8 +198,7 @@ public class SkillEnrichmentService {
                 matchCount++;
             } else if (useAlternatives) {
                 // Check if candidate has an alternative skill
-                List<String> alternatives = skillGraphService.findAlternatives(required, 0.75);
-                boolean hasAlternative = alternatives.stream()
+                boolean hasAlternative = skills.alternatives(required).stream()
                     .anyMatch(normalizedCandidate::contains);
 
                 if (hasAlternative) {
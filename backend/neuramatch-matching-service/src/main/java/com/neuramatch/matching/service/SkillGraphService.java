@@ -1,8 +1,15 @@
 package com.neuramatch.matching.service;
 
+import com.neuramatch.matching.cooccurrence.SkillCooccurrenceService;
 import com.neuramatch.matching.dto.SkillEnrichmentDTO;
 import com.neuramatch.matching.dto.SkillRecommendationDTO;
 import com.neuramatch.matching.entity.*;
+import com.neuramatch.matching.graph.SkillDictionary;
+import com.neuramatch.matching.graph.SkillGraphGuard;
+import com.neuramatch.matching.graph.SkillGraphTableService;
+import com.neuramatch.matching.graph.SkillGraphTables;
+import com.neuramatch.matching.graph.SkillResolution;
+import com.neuramatch.matching.graph.SkillSetSimilarity;
 import com.neuramatch.matching.repository.SkillGraphRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -22,6 +29,9 @@ import java.util.stream.Collectors;
 public class SkillGraphService {
 
     private final SkillGraphRepository skillGraphRepository;
+    private final SkillGraphTableService skillGraphTableService;
+    private final SkillGraphGuard skillGraphGuard;
+    private final SkillCooccurrenceService skillCooccurrenceService;
 
     /**
      * Enrich a skill with graph data
@@ -63,6 +73,12 @@ public class SkillGraphService {
      * Resolve skill name to canonical form (handles synonyms)
      */
     public String resolveSkillSynonym(String skillName) {
+        return skillGraphGuard.call("resolveSkillSynonym",
+            () -> resolveSkillSynonymFromGraph(skillName),
+            () -> skillGraphTableService.current().canonicalName(skillName));
+    }
+
+    private String resolveSkillSynonymFromGraph(String skillName) {
         Optional<SkillNode> canonical = skillGraphRepository.findCanonicalSkill(skillName.toLowerCase());
 
         if (canonical.isPresent()) {
@@ -81,6 +97,62 @@ public class SkillGraphService {
         return skillName.toLowerCase();
     }
 
+    /**
+     * Resolve all skills of a match request at once: canonical names plus alternatives
+     * at or above {@code minTransferability}.
+     *
+     * This is a single guarded graph call with two batched queries, so a request waits
+     * on the graph for at most one timeout. If the call fails as a whole the request is
+     * answered from the last-known tables and the resolution is flagged degraded.
+     */
+    public SkillResolution resolveSkills(Collection<String> skillNames, double minTransferability) {
+        Set<String> names = new LinkedHashSet<>();
+        for (String skillName : skillNames) {
+            if (skillName != null && !skillName.isBlank()) {
+                names.add(SkillDictionary.normalize(skillName));
+            }
+        }
+        if (names.isEmpty()) {
+            return new SkillResolution(Map.of(), Map.of(), false);
+        }
+
+        return skillGraphGuard.call("resolveSkills",
+            () -> resolveSkillsFromGraph(names, minTransferability),
+            () -> resolveSkillsFromTables(names, minTransferability));
+    }
+
+    private SkillResolution resolveSkillsFromGraph(Set<String> names, double minTransferability) {
+        Map<String, String> canonicalNames = new HashMap<>();
+        for (SkillGraphRepository.SynonymMapping mapping : skillGraphRepository.findCanonicalNames(names)) {
+            canonicalNames.put(mapping.getName(), SkillDictionary.normalize(mapping.getCanonical()));
+        }
+
+        Map<String, List<String>> alternatives = new HashMap<>();
+        Set<String> canonical = new HashSet<>(canonicalNames.values());
+        for (SkillGraphRepository.SkillEdge edge :
+                skillGraphRepository.findTransferableAlternativeEdges(canonical, minTransferability)) {
+            alternatives.computeIfAbsent(SkillDictionary.normalize(edge.getSource()), k -> new ArrayList<>())
+                .add(SkillDictionary.normalize(edge.getTarget()));
+        }
+
+        return new SkillResolution(canonicalNames, alternatives, false);
+    }
+
+    private SkillResolution resolveSkillsFromTables(Set<String> names, double minTransferability) {
+        SkillGraphTables tables = skillGraphTableService.current();
+
+        Map<String, String> canonicalNames = new HashMap<>();
+        Map<String, List<String>> alternatives = new HashMap<>();
+        for (String name : names) {
+            String canonical = tables.canonicalName(name);
+            canonicalNames.put(name, canonical);
+            alternatives.computeIfAbsent(canonical,
+                skill -> skillGraphTableService.alternativeNames(skill, minTransferability));
+        }
+
+        return new SkillResolution(canonicalNames, alternatives, true);
+    }
+
     /**
      * Get skill recommendations based on existing skills
      */
@@ -94,13 +166,19 @@ public class SkillGraphService {
 
         List<SkillRecommendationDTO> recommendations = new ArrayList<>();
 
-        // 1. Find complementary skills (skill gaps)
-        List<SkillNode> complementary = skillGraphRepository.findSkillGaps(resolvedSkills, limit);
-        recommendations.addAll(convertToRecommendations(
-            complementary,
-            SkillRecommendationDTO.RecommendationType.COMPLEMENTARY,
-            "Works well with your existing skills"
-        ));
+        // 1. Find complementary skills: learned from job postings, else static graph edges
+        List<SkillCooccurrenceService.ComplementScore> learned =
+            skillCooccurrenceService.findComplements(resolvedSkills, limit);
+        if (!learned.isEmpty()) {
+            learned.forEach(complement -> recommendations.add(convertToRecommendation(complement)));
+        } else {
+            List<SkillNode> complementary = skillGraphRepository.findSkillGaps(resolvedSkills, limit);
+            recommendations.addAll(convertToRecommendations(
+                complementary,
+                SkillRecommendationDTO.RecommendationType.COMPLEMENTARY,
+                "Works well with your existing skills"
+            ));
+        }
 
         // 2. Find trending skills not in skillset
         List<SkillNode> trending = skillGraphRepository.findTrendingSkills(0.85);
@@ -161,41 +239,29 @@ public class SkillGraphService {
     public List<String> findAlternatives(String skillName, double minTransferability) {
         String resolved = resolveSkillSynonym(skillName);
 
-        return skillGraphRepository.findEasilyTransferableAlternatives(resolved, minTransferability)
-            .stream()
-            .map(SkillNode::getName)
-            .collect(Collectors.toList());
+        return skillGraphGuard.call("findAlternatives",
+            () -> skillGraphRepository.findEasilyTransferableAlternatives(resolved, minTransferability)
+                .stream()
+                .map(SkillNode::getName)
+                .collect(Collectors.toList()),
+            () -> skillGraphTableService.alternativeNames(resolved, minTransferability));
     }
 
     /**
-     * Calculate similarity between two skillsets
+     * Calculate similarity between two skillsets.
+     *
+     * Uses the in-memory graph tables instead of a per-request Cypher cross-product;
+     * synonyms are resolved and related skills earn partial credit.
      */
     public double calculateSkillSetSimilarity(Set<String> skillSet1, Set<String> skillSet2) {
         if (skillSet1.isEmpty() || skillSet2.isEmpty()) {
             return 0.0;
         }
 
-        // Resolve synonyms
-        Set<String> resolved1 = skillSet1.stream().map(this::resolveSkillSynonym).collect(Collectors.toSet());
-        Set<String> resolved2 = skillSet2.stream().map(this::resolveSkillSynonym).collect(Collectors.toSet());
-
-        // Exact matches
-        Set<String> intersection = new HashSet<>(resolved1);
-        intersection.retainAll(resolved2);
-        double exactMatchScore = (double) intersection.size() / Math.max(resolved1.size(), resolved2.size());
-
-        // Relationship-based similarity
-        SkillGraphRepository.SkillSimilarityScore score =
-            skillGraphRepository.calculateSkillSetSimilarity(resolved1, resolved2);
+        int[] ids1 = skillGraphTableService.resolveIds(skillSet1, false);
+        int[] ids2 = skillGraphTableService.resolveIds(skillSet2, false);
 
-        double relationshipScore = 0.0;
-        if (score != null && score.getRelationshipCount() > 0) {
-            int totalPossible = score.getSet1Size() * score.getSet2Size();
-            relationshipScore = (double) score.getRelationshipCount() / totalPossible;
-        }
-
-        // Weighted combination: 70% exact matches, 30% relationships
-        return (exactMatchScore * 0.7) + (relationshipScore * 0.3);
+        return SkillSetSimilarity.score(skillGraphTableService.current(), ids1, ids2);
     }
 
     /**
@@ -246,6 +312,21 @@ public class SkillGraphService {
             .collect(Collectors.toList());
     }
 
+    private SkillRecommendationDTO convertToRecommendation(SkillCooccurrenceService.ComplementScore complement) {
+        // Summed NPMI is unbounded above; squash into the COMPLEMENTARY score band
+        double score = 0.60 + 0.35 * (1 - Math.exp(-complement.getScore()));
+
+        return SkillRecommendationDTO.builder()
+            .skillName(complement.getSkillName())
+            .displayName(complement.getSkillName())
+            .recommendationType(SkillRecommendationDTO.RecommendationType.COMPLEMENTARY)
+            .recommendationScore(score)
+            .reason(String.format("Often required together with %s (%.1fx lift)",
+                String.join(", ", complement.getBecauseOf()), complement.getLift()))
+            .relatedSkills(complement.getBecauseOf())
+            .build();
+    }
+
     private SkillRecommendationDTO convertToRecommendation(
             SkillNode skill,
             SkillRecommendationDTO.RecommendationType type,
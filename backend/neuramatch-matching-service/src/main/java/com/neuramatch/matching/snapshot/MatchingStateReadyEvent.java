@@ -0,0 +1,11 @@
+package com.neuramatch.matching.snapshot;
+
+import lombok.Value;
+
+/**
+ * Published once the in-memory matching state has been restored or rebuilt at startup
+ */
+@Value
+public class MatchingStateReadyEvent {
+    SnapshotService.BootstrapResult bootstrap;
+}
@@ -0,0 +1,40 @@
+package com.neuramatch.matching.snapshot;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+
+/**
+ * An in-memory structure that can be saved to and restored from a snapshot section.
+ *
+ * Contributors are restored in {@link org.springframework.core.annotation.Order} order,
+ * so structures that others depend on (such as the skill dictionary) must come first.
+ */
+public interface SnapshotContributor {
+
+    /**
+     * Unique section name in the snapshot file
+     */
+    String snapshotSection();
+
+    /**
+     * Serialize the current state
+     */
+    void writeSnapshot(DataOutputStream out) throws IOException;
+
+    /**
+     * Replace the current state with a previously written section
+     */
+    void restoreSnapshot(ByteBuffer section);
+
+    /**
+     * Apply changes made to the source of truth after {@code watermark}
+     */
+    void replaySince(LocalDateTime watermark);
+
+    /**
+     * Rebuild the state from the source of truth
+     */
+    void rebuild();
+}
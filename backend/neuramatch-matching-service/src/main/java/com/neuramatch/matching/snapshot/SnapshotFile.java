@@ -0,0 +1,166 @@
+package com.neuramatch.matching.snapshot;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.CRC32;
+
+/**
+ * Versioned snapshot file made of named, checksummed sections.
+ *
+ * Layout (big-endian):
+ * <pre>
+ *   int    magic ("NMSN")
+ *   int    format version
+ *   long   watermark (epoch millis; changes after this must be replayed)
+ *   long   created at (epoch millis)
+ *   int    section count
+ *   per section: int name length, name (UTF-8), long offset, long length, long crc32
+ *   section payloads
+ * </pre>
+ * Files are opened with a read-only memory mapping, so sections are decoded straight
+ * from the page cache without copying the file onto the heap first.
+ */
+public final class SnapshotFile {
+
+    public static final int MAGIC = 0x4E4D534E;
+    public static final int FORMAT_VERSION = 1;
+
+    private final Path path;
+    private final long watermarkMillis;
+    private final long createdAtMillis;
+    private final MappedByteBuffer buffer;
+    private final Map<String, long[]> sections;
+
+    private SnapshotFile(Path path, long watermarkMillis, long createdAtMillis,
+                         MappedByteBuffer buffer, Map<String, long[]> sections) {
+        this.path = path;
+        this.watermarkMillis = watermarkMillis;
+        this.createdAtMillis = createdAtMillis;
+        this.buffer = buffer;
+        this.sections = sections;
+    }
+
+    /**
+     * Map a snapshot file and read its section table
+     */
+    public static SnapshotFile open(Path path) throws IOException {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+
+        if (buffer.remaining() < 28 || buffer.getInt() != MAGIC) {
+            throw new IOException("Not a snapshot file: " + path);
+        }
+        int version = buffer.getInt();
+        if (version != FORMAT_VERSION) {
+            throw new IOException("Unsupported snapshot version " + version + " in " + path);
+        }
+
+        long watermark = buffer.getLong();
+        long createdAt = buffer.getLong();
+        int count = buffer.getInt();
+
+        Map<String, long[]> sections = new LinkedHashMap<>();
+        for (int i = 0; i < count; i++) {
+            String name = SnapshotCodec.readString(buffer);
+            sections.put(name, new long[]{buffer.getLong(), buffer.getLong(), buffer.getLong()});
+        }
+
+        return new SnapshotFile(path, watermark, createdAt, buffer, Collections.unmodifiableMap(sections));
+    }
+
+    /**
+     * Write a snapshot atomically (temp file + rename)
+     */
+    public static void write(Path path, long watermarkMillis, long createdAtMillis,
+                             Map<String, byte[]> payloads) throws IOException {
+        byte[][] names = new byte[payloads.size()][];
+        int headerSize = 4 + 4 + 8 + 8 + 4;
+        int i = 0;
+        for (String name : payloads.keySet()) {
+            names[i] = name.getBytes(StandardCharsets.UTF_8);
+            headerSize += 4 + names[i].length + 8 + 8 + 8;
+            i++;
+        }
+
+        ByteBuffer header = ByteBuffer.allocate(headerSize);
+        header.putInt(MAGIC).putInt(FORMAT_VERSION).putLong(watermarkMillis).putLong(createdAtMillis);
+        header.putInt(payloads.size());
+
+        long offset = headerSize;
+        i = 0;
+        for (byte[] payload : payloads.values()) {
+            CRC32 crc = new CRC32();
+            crc.update(payload);
+            header.putInt(names[i].length).put(names[i]);
+            header.putLong(offset).putLong(payload.length).putLong(crc.getValue());
+            offset += payload.length;
+            i++;
+        }
+        header.flip();
+
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            while (header.hasRemaining()) {
+                channel.write(header);
+            }
+            for (byte[] payload : payloads.values()) {
+                ByteBuffer data = ByteBuffer.wrap(payload);
+                while (data.hasRemaining()) {
+                    channel.write(data);
+                }
+            }
+            channel.force(true);
+        }
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * A section's payload as a read-only view, or null if absent.
+     *
+     * @throws IOException if the payload does not match its checksum
+     */
+    public ByteBuffer section(String name) throws IOException {
+        long[] entry = sections.get(name);
+        if (entry == null) {
+            return null;
+        }
+
+        ByteBuffer slice = buffer.slice((int) entry[0], (int) entry[1]);
+        CRC32 crc = new CRC32();
+        crc.update(slice.duplicate());
+        if (crc.getValue() != entry[2]) {
+            throw new IOException("Checksum mismatch in section '" + name + "' of " + path);
+        }
+        return slice;
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    public long getWatermarkMillis() {
+        return watermarkMillis;
+    }
+
+    public long getCreatedAtMillis() {
+        return createdAtMillis;
+    }
+
+    public Set<String> sectionNames() {
+        return sections.keySet();
+    }
+}
@@ -0,0 +1,220 @@
+package com.neuramatch.matching.snapshot;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Boots the in-memory matching structures from the latest snapshot and writes new ones.
+ *
+ * On startup the newest readable snapshot is mapped, every contributor restores its
+ * section and replays changes since the snapshot watermark. If there is no usable
+ * snapshot (or a section is missing or corrupt) the affected contributors are rebuilt
+ * from Postgres/Neo4j instead.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SnapshotService {
+
+    private static final String FILE_PREFIX = "matching-";
+    private static final String FILE_SUFFIX = ".snap";
+
+    private final List<SnapshotContributor> contributors;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${matching.snapshot.enabled:true}")
+    private boolean enabled;
+
+    @Value("${matching.snapshot.directory:./data/snapshots}")
+    private String directory;
+
+    @Value("${matching.snapshot.retain:3}")
+    private int retain;
+
+    @Value("${matching.snapshot.clock-skew-ms:60000}")
+    private long clockSkewMs;
+
+    private volatile BootstrapResult lastBootstrap;
+
+    /**
+     * Restore from the latest snapshot, or rebuild everything from the source of truth
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void bootstrap() {
+        long start = System.currentTimeMillis();
+
+        Optional<SnapshotFile> snapshot = enabled ? openLatest() : Optional.empty();
+        boolean useSnapshot = snapshot.isPresent();
+        int restored = 0;
+
+        for (SnapshotContributor contributor : contributors) {
+            if (useSnapshot && restore(snapshot.get(), contributor)) {
+                restored++;
+            } else {
+                // Later sections may reference ids from this one, so stop trusting the snapshot
+                useSnapshot = false;
+                contributor.rebuild();
+            }
+        }
+
+        BootstrapResult result = BootstrapResult.builder()
+            .snapshot(snapshot.map(s -> s.getPath().getFileName().toString()).orElse(null))
+            .watermark(snapshot.map(s -> Instant.ofEpochMilli(s.getWatermarkMillis())).orElse(null))
+            .restoredSections(restored)
+            .rebuiltSections(contributors.size() - restored)
+            .durationMs(System.currentTimeMillis() - start)
+            .build();
+        lastBootstrap = result;
+
+        log.info("Matching state bootstrapped in {} ms: {} sections restored from {}, {} rebuilt",
+            result.getDurationMs(), restored, result.getSnapshot(), result.getRebuiltSections());
+
+        if (enabled && restored < contributors.size()) {
+            writeSnapshot();
+        }
+
+        eventPublisher.publishEvent(new MatchingStateReadyEvent(result));
+    }
+
+    /**
+     * Write a new snapshot of all contributors
+     */
+    @Scheduled(
+        fixedDelayString = "${matching.snapshot.interval-ms:900000}",
+        initialDelayString = "${matching.snapshot.interval-ms:900000}")
+    public void writeSnapshot() {
+        if (!enabled) {
+            return;
+        }
+
+        long start = System.currentTimeMillis();
+        // Anything committed after this point may be missing from the snapshot
+        long watermark = start - clockSkewMs;
+
+        try {
+            Map<String, byte[]> payloads = new LinkedHashMap<>();
+            for (SnapshotContributor contributor : contributors) {
+                ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+                try (DataOutputStream out = new DataOutputStream(bytes)) {
+                    contributor.writeSnapshot(out);
+                }
+                payloads.put(contributor.snapshotSection(), bytes.toByteArray());
+            }
+
+            Path dir = Paths.get(directory);
+            Files.createDirectories(dir);
+            Path file = dir.resolve(FILE_PREFIX + start + FILE_SUFFIX);
+            SnapshotFile.write(file, watermark, start, payloads);
+
+            long size = payloads.values().stream().mapToLong(p -> p.length).sum();
+            log.info("Wrote snapshot {} ({} sections, {} bytes) in {} ms",
+                file.getFileName(), payloads.size(), size, System.currentTimeMillis() - start);
+
+            pruneOldSnapshots(dir);
+        } catch (Exception e) {
+            log.warn("Failed to write snapshot: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Outcome of the last startup
+     */
+    public BootstrapResult getLastBootstrap() {
+        return lastBootstrap;
+    }
+
+    private boolean restore(SnapshotFile snapshot, SnapshotContributor contributor) {
+        String section = contributor.snapshotSection();
+        long start = System.currentTimeMillis();
+
+        try {
+            ByteBuffer payload = snapshot.section(section);
+            if (payload == null) {
+                log.info("Snapshot {} has no section '{}'", snapshot.getPath().getFileName(), section);
+                return false;
+            }
+
+            contributor.restoreSnapshot(payload);
+            contributor.replaySince(LocalDateTime.ofInstant(
+                Instant.ofEpochMilli(snapshot.getWatermarkMillis()), ZoneId.systemDefault()));
+
+            log.debug("Restored section '{}' in {} ms", section, System.currentTimeMillis() - start);
+            return true;
+        } catch (Exception e) {
+            log.warn("Failed to restore section '{}' from {}: {}", section, snapshot.getPath().getFileName(), e.getMessage());
+            return false;
+        }
+    }
+
+    private Optional<SnapshotFile> openLatest() {
+        for (Path path : listSnapshots(Paths.get(directory))) {
+            try {
+                return Optional.of(SnapshotFile.open(path));
+            } catch (IOException e) {
+                log.warn("Skipping unreadable snapshot {}: {}", path.getFileName(), e.getMessage());
+            }
+        }
+        return Optional.empty();
+    }
+
+    private void pruneOldSnapshots(Path dir) throws IOException {
+        List<Path> snapshots = listSnapshots(dir);
+        for (Path old : snapshots.subList(Math.min(retain, snapshots.size()), snapshots.size())) {
+            Files.deleteIfExists(old);
+        }
+    }
+
+    /**
+     * Snapshot files, newest first
+     */
+    private List<Path> listSnapshots(Path dir) {
+        if (!Files.isDirectory(dir)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(dir)) {
+            return files
+                .filter(p -> p.getFileName().toString().startsWith(FILE_PREFIX))
+                .filter(p -> p.getFileName().toString().endsWith(FILE_SUFFIX))
+                .sorted(Comparator.comparing((Path p) -> p.getFileName().toString()).reversed())
+                .toList();
+        } catch (IOException e) {
+            log.warn("Failed to list snapshots in {}: {}", dir, e.getMessage());
+            return List.of();
+        }
+    }
+
+    // ========== DTOs ==========
+
+    @lombok.Data
+    @lombok.Builder
+    public static class BootstrapResult {
+        private String snapshot;
+        private Instant watermark;
+        private int restoredSections;
+        private int rebuiltSections;
+        private long durationMs;
+    }
+}
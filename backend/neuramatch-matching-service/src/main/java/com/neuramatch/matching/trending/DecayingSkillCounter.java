@@ -0,0 +1,222 @@
+package com.neuramatch.matching.trending;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Exponentially decayed per-skill counts at several half-lives, in fixed memory.
+ *
+ * Counts live in one count-min sketch per half-life (depth x width cells, shared hash
+ * positions). Decay uses a landmark: an item seen at time t adds e^(lambda (t - L)), and
+ * reads scale back by e^(-lambda (now - L)), so nothing is touched when time passes; the
+ * landmark moves forward before the weights overflow.
+ *
+ * A heavy-hitters set keeps the top-K skills by the shortest half-life so callers can
+ * enumerate trending skills without a vocabulary-sized map. Not thread-safe on its own.
+ */
+final class DecayingSkillCounter {
+
+    private static final double MS_PER_DAY = 86_400_000.0;
+    private static final double MAX_EXPONENT = 200;
+
+    private final double[] halfLifeDays;
+    private final double[] lambdas; // per millisecond
+    private final int depth;
+    private final int width;
+    private final long[] seeds;
+    private final int topK;
+
+    private double[][] tables;
+    private long landmark;
+
+    // Top-K by scaled short half-life estimate; scaled values compare across keys at any time
+    private final Map<Integer, Double> heavyHitters = new HashMap<>();
+    private int minKey = -1;
+    private double minValue;
+
+    DecayingSkillCounter(double[] halfLifeDays, int depth, int width, int topK, long now) {
+        this.halfLifeDays = halfLifeDays.clone();
+        Arrays.sort(this.halfLifeDays);
+        this.lambdas = new double[this.halfLifeDays.length];
+        for (int h = 0; h < lambdas.length; h++) {
+            lambdas[h] = Math.log(2) / (this.halfLifeDays[h] * MS_PER_DAY);
+        }
+        this.depth = depth;
+        this.width = Integer.highestOneBit(Math.max(width, 16));
+        this.topK = topK;
+
+        SplittableRandom random = new SplittableRandom(0x5EED);
+        this.seeds = new long[depth];
+        for (int row = 0; row < depth; row++) {
+            seeds[row] = random.nextLong() | 1;
+        }
+        clear(now);
+    }
+
+    void clear(long now) {
+        tables = new double[halfLifeDays.length][depth * width];
+        landmark = now;
+        heavyHitters.clear();
+        minKey = -1;
+    }
+
+    void add(int key, long timestamp) {
+        if (lambdas[0] * (timestamp - landmark) > MAX_EXPONENT) {
+            moveLandmark(timestamp);
+        }
+
+        for (int h = 0; h < tables.length; h++) {
+            double weight = Math.exp(lambdas[h] * (timestamp - landmark));
+            double[] table = tables[h];
+            for (int row = 0; row < depth; row++) {
+                table[row * width + index(row, key)] += weight;
+            }
+        }
+        offerHeavyHitter(key, scaledEstimate(0, key));
+    }
+
+    /**
+     * Decayed count of the key at the given half-life, as of {@code now}
+     */
+    double estimate(int halfLife, int key, long now) {
+        return scaledEstimate(halfLife, key) * Math.exp(-lambdas[halfLife] * (now - landmark));
+    }
+
+    /**
+     * Decayed count converted to a steady-state arrival rate per day
+     */
+    double ratePerDay(int halfLife, int key, long now) {
+        return estimate(halfLife, key, now) * Math.log(2) / halfLifeDays[halfLife];
+    }
+
+    int[] heavyHitters() {
+        return heavyHitters.keySet().stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    double halfLifeDays(int halfLife) {
+        return halfLifeDays[halfLife];
+    }
+
+    int halfLifeCount() {
+        return halfLifeDays.length;
+    }
+
+    long memoryBytes() {
+        return (long) tables.length * depth * width * Double.BYTES;
+    }
+
+    private double scaledEstimate(int halfLife, int key) {
+        double[] table = tables[halfLife];
+        double min = Double.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            min = Math.min(min, table[row * width + index(row, key)]);
+        }
+        return min;
+    }
+
+    private void offerHeavyHitter(int key, double value) {
+        if (heavyHitters.containsKey(key) || heavyHitters.size() < topK) {
+            heavyHitters.put(key, value);
+            if (key == minKey) {
+                minKey = -1;
+            } else if (minKey >= 0 && value < minValue) {
+                minKey = key;
+                minValue = value;
+            }
+            return;
+        }
+
+        if (minKey < 0) {
+            findMin();
+        }
+        if (value > minValue) {
+            heavyHitters.remove(minKey);
+            heavyHitters.put(key, value);
+            minKey = -1;
+        }
+    }
+
+    private void findMin() {
+        minValue = Double.MAX_VALUE;
+        for (Map.Entry<Integer, Double> entry : heavyHitters.entrySet()) {
+            if (entry.getValue() < minValue) {
+                minValue = entry.getValue();
+                minKey = entry.getKey();
+            }
+        }
+    }
+
+    private void moveLandmark(long to) {
+        for (int h = 0; h < tables.length; h++) {
+            double factor = Math.exp(-lambdas[h] * (to - landmark));
+            double[] table = tables[h];
+            for (int i = 0; i < table.length; i++) {
+                table[i] *= factor;
+            }
+        }
+        double factor = Math.exp(-lambdas[0] * (to - landmark));
+        heavyHitters.replaceAll((key, value) -> value * factor);
+        minKey = -1;
+        landmark = to;
+    }
+
+    private int index(int row, int key) {
+        long h = (key + 1L) * seeds[row];
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        return (int) (h & (width - 1));
+    }
+
+    // ========== Serialization ==========
+
+    void writeTo(DataOutputStream out) throws IOException {
+        out.writeInt(tables.length);
+        out.writeInt(depth);
+        out.writeInt(width);
+        out.writeLong(landmark);
+        for (double[] table : tables) {
+            for (double cell : table) {
+                out.writeDouble(cell);
+            }
+        }
+        out.writeInt(heavyHitters.size());
+        for (Map.Entry<Integer, Double> entry : heavyHitters.entrySet()) {
+            out.writeInt(entry.getKey());
+            out.writeDouble(entry.getValue());
+        }
+    }
+
+    /**
+     * Restore a section written with the same half-lives and dimensions
+     *
+     * @throws IllegalStateException if the configuration has changed since
+     */
+    void readFrom(ByteBuffer in) {
+        int halfLives = in.getInt();
+        int savedDepth = in.getInt();
+        int savedWidth = in.getInt();
+        if (halfLives != tables.length || savedDepth != depth || savedWidth != width) {
+            throw new IllegalStateException("Trending counter dimensions changed from "
+                + halfLives + "x" + savedDepth + "x" + savedWidth);
+        }
+
+        landmark = in.getLong();
+        for (double[] table : tables) {
+            for (int i = 0; i < table.length; i++) {
+                table[i] = in.getDouble();
+            }
+        }
+        heavyHitters.clear();
+        int hitters = in.getInt();
+        for (int i = 0; i < hitters; i++) {
+            heavyHitters.put(in.getInt(), in.getDouble());
+        }
+        minKey = -1;
+    }
+}
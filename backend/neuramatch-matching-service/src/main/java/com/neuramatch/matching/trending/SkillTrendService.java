@@ -0,0 +1,189 @@
+package com.neuramatch.matching.trending;
+
+import com.neuramatch.matching.dto.SkillTrendDTO;
+import com.neuramatch.matching.graph.SkillDictionary;
+import com.neuramatch.matching.graph.SkillGraphTableService;
+import com.neuramatch.matching.snapshot.SnapshotContributor;
+import com.neuramatch.matching.vector.JobIndexedEvent;
+import com.neuramatch.matching.vector.JobVectorRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Trending skills over the job posting stream.
+ *
+ * Every new posting bumps its required skills in a {@link DecayingSkillCounter} at several
+ * half-lives. The shortest half-life gives the current posting rate, a longer one chosen
+ * by the requested window gives the baseline, and growth is the ratio of the two. Memory
+ * is fixed by the sketch dimensions and top-K, however many distinct skills appear.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SkillTrendService implements SnapshotContributor {
+
+    private static final double DAYS_PER_MONTH = 30.0;
+
+    private final JobVectorRepository jobVectorRepository;
+    private final SkillGraphTableService skillGraphTableService;
+    private final SkillDictionary skillDictionary;
+
+    @Value("${matching.trending.half-life-days:7,30,90,365}")
+    private double[] halfLifeDays;
+
+    @Value("${matching.trending.sketch-depth:4}")
+    private int sketchDepth;
+
+    @Value("${matching.trending.sketch-width:4096}")
+    private int sketchWidth;
+
+    @Value("${matching.trending.top-k:256}")
+    private int topK;
+
+    @Value("${matching.trending.min-monthly-postings:3}")
+    private double minMonthlyPostings;
+
+    @Value("${matching.trending.stable-band-percent:10}")
+    private double stableBandPercent;
+
+    private DecayingSkillCounter counter;
+
+    @PostConstruct
+    void init() {
+        counter = new DecayingSkillCounter(halfLifeDays, sketchDepth, sketchWidth, topK, System.currentTimeMillis());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onJobIndexed(JobIndexedEvent event) {
+        // Re-indexing an existing posting is not a new posting
+        if (event.isCreated()) {
+            addPosting(event.getJobVector().getRequiredSkills(), event.getJobVector().getCreatedAt());
+        }
+    }
+
+    /**
+     * Heavy-hitter skills with their current and baseline monthly posting rates.
+     *
+     * The baseline half-life is the shortest one covering at least half the window, so a
+     * 6-month window compares the last week's rate with a ~3-month average.
+     */
+    public List<SkillTrendDTO> getTrends(int months) {
+        long now = System.currentTimeMillis();
+        List<SkillTrendDTO> trends = new ArrayList<>();
+
+        synchronized (counter) {
+            int baseline = baselineHalfLife(months);
+            for (int skillId : counter.heavyHitters()) {
+                double current = counter.ratePerDay(0, skillId, now) * DAYS_PER_MONTH;
+                double previous = counter.ratePerDay(baseline, skillId, now) * DAYS_PER_MONTH;
+                if (Math.max(current, previous) < minMonthlyPostings) {
+                    continue;
+                }
+
+                double growthRate = previous > 0 ? (current / previous - 1) * 100 : 100.0;
+                growthRate = Math.round(growthRate * 10) / 10.0;
+                trends.add(SkillTrendDTO.builder()
+                    .skillName(skillDictionary.nameOf(skillId))
+                    .currentDemand((int) Math.round(current))
+                    .previousDemand((int) Math.round(previous))
+                    .growthRate(growthRate)
+                    .trendDirection(growthRate > stableBandPercent ? "UP"
+                        : growthRate < -stableBandPercent ? "DOWN" : "STABLE")
+                    .build());
+            }
+        }
+        return trends;
+    }
+
+    int baselineHalfLife(int months) {
+        double target = Math.max(months, 1) * DAYS_PER_MONTH / 2;
+        for (int h = 1; h < counter.halfLifeCount(); h++) {
+            if (counter.halfLifeDays(h) >= target) {
+                return h;
+            }
+        }
+        return counter.halfLifeCount() - 1;
+    }
+
+    private void addPosting(String[] skills, LocalDateTime postedAt) {
+        if (skills == null || skills.length == 0) {
+            return;
+        }
+        int[] ids = skillGraphTableService.resolveIds(Arrays.asList(skills), true);
+        long timestamp = postedAt != null
+            ? postedAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()
+            : System.currentTimeMillis();
+
+        synchronized (counter) {
+            for (int id : ids) {
+                counter.add(id, timestamp);
+            }
+        }
+    }
+
+    // ========== Snapshot ==========
+
+    @Override
+    public String snapshotSection() {
+        return "skill-trending";
+    }
+
+    @Override
+    public void writeSnapshot(DataOutputStream out) throws IOException {
+        synchronized (counter) {
+            counter.writeTo(out);
+        }
+    }
+
+    @Override
+    public void restoreSnapshot(ByteBuffer section) {
+        synchronized (counter) {
+            counter.readFrom(section);
+        }
+    }
+
+    @Override
+    public void replaySince(LocalDateTime watermark) {
+        int added = 0;
+        for (JobVectorRepository.SkillProfile job : jobVectorRepository.findSkillProfilesUpdatedSince(watermark)) {
+            if (job.getCreatedAt() != null && job.getCreatedAt().isAfter(watermark)) {
+                addPosting(job.getRequiredSkills(), job.getCreatedAt());
+                added++;
+            }
+        }
+        log.info("Replayed {} new postings into trending counters", added);
+    }
+
+    /**
+     * Rebuild from the active postings; postings that have since been removed are lost,
+     * so older baselines start out lower than they were
+     */
+    @Override
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        try {
+            List<JobVectorRepository.SkillProfile> jobs = jobVectorRepository.findActiveSkillProfiles();
+            synchronized (counter) {
+                counter.clear(start);
+            }
+            jobs.forEach(job -> addPosting(job.getRequiredSkills(), job.getCreatedAt()));
+            log.info("Built trending counters from {} postings in {} ms ({} bytes)",
+                jobs.size(), System.currentTimeMillis() - start, counter.memoryBytes());
+        } catch (Exception e) {
+            log.warn("Failed to build trending counters: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.neuramatch.matching.vector;
+
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+/**
+ * Per-query HNSW tuning for repositories with vector indexes.
+ *
+ * An HNSW scan returns at most {@code hnsw.ef_search} rows (default 40), so a query that
+ * asks for more neighbors than that silently gets fewer. The setting is applied with
+ * {@code set_config(..., true)}, which lasts until the end of the current transaction;
+ * callers run it and the vector query in one transaction.
+ */
+public interface HnswSearchTuning {
+
+    /** pgvector's default and upper bound for hnsw.ef_search */
+    int DEFAULT_EF_SEARCH = 40;
+    int MAX_EF_SEARCH = 1000;
+
+    @Query(value = "SELECT set_config('hnsw.ef_search', CAST(:efSearch AS text), true)", nativeQuery = true)
+    String setLocalEfSearch(@Param("efSearch") int efSearch);
+
+    /**
+     * Candidate list size needed to return {@code limit} neighbors from the index
+     */
+    static int efSearchFor(int limit) {
+        return Math.min(MAX_EF_SEARCH, Math.max(DEFAULT_EF_SEARCH, limit));
+    }
+}
@@ -0,0 +1,17 @@
+package com.neuramatch.matching.vector;
+
+import lombok.Value;
+
+/**
+ * Published after a job vector has been written to the index.
+ *
+ * {@code request} carries the full posting used for the embedding; it is null when the
+ * event is replayed from the database. {@code created} is false when an existing posting
+ * was re-indexed.
+ */
+@Value
+public class JobIndexedEvent {
+    JobVector jobVector;
+    VectorIndexingService.JobIndexRequest request;
+    boolean created;
+}
@@ -0,0 +1,11 @@
+package com.neuramatch.matching.vector;
+
+import lombok.Value;
+
+/**
+ * Published after a job has been deleted from or deactivated in the index
+ */
+@Value
+public class JobRemovedEvent {
+    Long jobId;
+}
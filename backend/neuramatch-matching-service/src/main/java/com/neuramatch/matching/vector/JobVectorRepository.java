@@ -4,8 +4,10 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -13,13 +15,18 @@ import java.util.Optional;
  * Repository for vector similarity search on jobs
  */
 @Repository
-public interface JobVectorRepository extends JpaRepository<JobVector, Long> {
+public interface JobVectorRepository extends JpaRepository<JobVector, Long>, HnswSearchTuning {
 
     /**
      * Find job vector by job ID
      */
     Optional<JobVector> findByJobId(Long jobId);
 
+    /**
+     * Find by a batch of job IDs
+     */
+    List<JobVector> findByJobIdIn(Collection<Long> jobIds);
+
     /**
      * Find similar jobs using cosine distance
      */
@@ -185,8 +192,186 @@ public interface JobVectorRepository extends JpaRepository<JobVector, Long> {
         """)
     List<JobVector> findExpiredJobs(@Param("now") LocalDateTime now);
 
+    /**
+     * Job ids and required skills of all active jobs (without embeddings)
+     */
+    @Query("SELECT jv.jobId AS jobId, jv.requiredSkills AS requiredSkills, jv.isActive AS isActive, " +
+           "jv.createdAt AS createdAt, jv.updatedAt AS updatedAt FROM JobVector jv WHERE jv.isActive = true")
+    List<SkillProfile> findActiveSkillProfiles();
+
+    /**
+     * Skill profiles changed after the given time, including deactivated ones
+     */
+    @Query("SELECT jv.jobId AS jobId, jv.requiredSkills AS requiredSkills, jv.isActive AS isActive, " +
+           "jv.createdAt AS createdAt, jv.updatedAt AS updatedAt FROM JobVector jv WHERE jv.updatedAt > :since")
+    List<SkillProfile> findSkillProfilesUpdatedSince(@Param("since") LocalDateTime since);
+
+    /**
+     * Salary, experience and location fields of all active jobs (without embeddings)
+     */
+    @Query("SELECT jv.jobId AS jobId, jv.requiredSkills AS requiredSkills, jv.location AS location, " +
+           "jv.remoteType AS remoteType, jv.minYearsExperience AS minYearsExperience, " +
+           "jv.maxYearsExperience AS maxYearsExperience, jv.minSalary AS minSalary, jv.maxSalary AS maxSalary, " +
+           "jv.isActive AS isActive, jv.updatedAt AS updatedAt FROM JobVector jv WHERE jv.isActive = true")
+    List<SalaryProfile> findActiveSalaryProfiles();
+
+    /**
+     * Salary profiles changed after the given time, including deactivated ones
+     */
+    @Query("SELECT jv.jobId AS jobId, jv.requiredSkills AS requiredSkills, jv.location AS location, " +
+           "jv.remoteType AS remoteType, jv.minYearsExperience AS minYearsExperience, " +
+           "jv.maxYearsExperience AS maxYearsExperience, jv.minSalary AS minSalary, jv.maxSalary AS maxSalary, " +
+           "jv.isActive AS isActive, jv.updatedAt AS updatedAt FROM JobVector jv WHERE jv.updatedAt > :since")
+    List<SalaryProfile> findSalaryProfilesUpdatedSince(@Param("since") LocalDateTime since);
+
+    /**
+     * Searchable text fields of all active jobs (without embeddings)
+     */
+    @Query("SELECT jv.jobId AS jobId, jv.title AS title, jv.companyName AS companyName, jv.location AS location, " +
+           "jv.requiredSkills AS requiredSkills, jv.isActive AS isActive, jv.updatedAt AS updatedAt " +
+           "FROM JobVector jv WHERE jv.isActive = true")
+    List<TextProfile> findActiveTextProfiles();
+
+    /**
+     * Text profiles changed after the given time, including deactivated ones
+     */
+    @Query("SELECT jv.jobId AS jobId, jv.title AS title, jv.companyName AS companyName, jv.location AS location, " +
+           "jv.requiredSkills AS requiredSkills, jv.isActive AS isActive, jv.updatedAt AS updatedAt " +
+           "FROM JobVector jv WHERE jv.updatedAt > :since")
+    List<TextProfile> findTextProfilesUpdatedSince(@Param("since") LocalDateTime since);
+
+    /**
+     * Ids of all active jobs (detects hard deletes missed by a snapshot)
+     */
+    @Query("SELECT jv.jobId FROM JobVector jv WHERE jv.isActive = true")
+    List<Long> findActiveJobIds();
+
+    /**
+     * Most recently updated active jobs, i.e. the ones recruiters are most likely to hit
+     */
+    @Query(value = """
+        SELECT job_id
+        FROM job_vectors
+        WHERE is_active = true
+        AND (expires_at IS NULL OR expires_at > CURRENT_TIMESTAMP)
+        ORDER BY updated_at DESC
+        LIMIT :limit
+        """, nativeQuery = true)
+    List<Long> findRecentlyUpdatedActiveJobIds(@Param("limit") int limit);
+
+    /**
+     * Keyset continuation of a filtered nearest-neighbour scan: the next open jobs after
+     * (afterDistance, afterId) in (distance, job_id) order, skipping excluded ids.
+     * {@code exclude} is a PostgreSQL array literal such as '{1,2,3}'.
+     *
+     * The index is read {@code scanDepth} neighbours deep, and deeper while the page is not
+     * full, up to {@link HnswSearchTuning#MAX_EF_SEARCH}; the scan ends there.
+     */
+    @Transactional(readOnly = true)
+    default List<Neighbor> findNeighborsAfter(String embedding, Integer yearsExp, String location,
+                                              String remoteType, String employmentType, String exclude,
+                                              double afterDistance, long afterId, int scanDepth, int limit) {
+        for (int scan = HnswSearchTuning.efSearchFor(scanDepth); ; scan = Math.min(MAX_EF_SEARCH, scan * 2)) {
+            setLocalEfSearch(scan);
+            List<Neighbor> page = scanNeighborsAfter(embedding, yearsExp, location, remoteType, employmentType,
+                exclude, afterDistance, afterId, scan, limit);
+            if (page.size() >= limit || scan >= MAX_EF_SEARCH) {
+                return page;
+            }
+        }
+    }
+
+    /**
+     * The inner query is a plain index-ordered scan of the {@code scan} nearest jobs; the
+     * filters, exclusions and keyset position apply to those, since any of them inside
+     * the scan would stop HNSW from serving the ORDER BY.
+     */
+    @Query(value = """
+        SELECT n.id, n.distance
+        FROM (
+            SELECT jv.job_id AS id,
+                   (jv.embedding <=> CAST(:embedding AS vector)) AS distance,
+                   jv.is_active, jv.expires_at, jv.min_years_experience, jv.max_years_experience,
+                   jv.location, jv.remote_type, jv.employment_type
+            FROM job_vectors jv
+            ORDER BY jv.embedding <=> CAST(:embedding AS vector)
+            LIMIT :scan
+        ) n
+        WHERE n.is_active = true
+        AND (n.expires_at IS NULL OR n.expires_at > CURRENT_TIMESTAMP)
+        AND (:yearsExp IS NULL OR :yearsExp >= n.min_years_experience OR n.min_years_experience IS NULL)
+        AND (:yearsExp IS NULL OR :yearsExp <= n.max_years_experience OR n.max_years_experience IS NULL)
+        AND (:location IS NULL OR n.location = :location)
+        AND (:remoteType IS NULL OR n.remote_type = :remoteType)
+        AND (:employmentType IS NULL OR n.employment_type = :employmentType)
+        AND NOT (n.id = ANY(CAST(:exclude AS bigint[])))
+        AND (n.distance > :afterDistance OR (n.distance = :afterDistance AND n.id > :afterId))
+        ORDER BY n.distance, n.id
+        LIMIT :limit
+        """, nativeQuery = true)
+    List<Neighbor> scanNeighborsAfter(
+        @Param("embedding") String embedding,
+        @Param("yearsExp") Integer yearsExp,
+        @Param("location") String location,
+        @Param("remoteType") String remoteType,
+        @Param("employmentType") String employmentType,
+        @Param("exclude") String exclude,
+        @Param("afterDistance") double afterDistance,
+        @Param("afterId") long afterId,
+        @Param("scan") int scan,
+        @Param("limit") int limit
+    );
+
     /**
      * Delete by job ID
      */
     void deleteByJobId(Long jobId);
+
+    /**
+     * Projection of a job's required skills
+     */
+    interface SkillProfile {
+        Long getJobId();
+        String[] getRequiredSkills();
+        Boolean getIsActive();
+        LocalDateTime getCreatedAt();
+        LocalDateTime getUpdatedAt();
+    }
+
+    /**
+     * Projection of the fields salary benchmarks and market statistics are keyed on
+     */
+    interface SalaryProfile {
+        Long getJobId();
+        String[] getRequiredSkills();
+        String getLocation();
+        String getRemoteType();
+        Integer getMinYearsExperience();
+        Integer getMaxYearsExperience();
+        Integer getMinSalary();
+        Integer getMaxSalary();
+        Boolean getIsActive();
+        LocalDateTime getUpdatedAt();
+    }
+
+    /**
+     * Projection of a job's searchable text fields
+     */
+    interface TextProfile {
+        Long getJobId();
+        String getTitle();
+        String getCompanyName();
+        String getLocation();
+        String[] getRequiredSkills();
+        Boolean getIsActive();
+        LocalDateTime getUpdatedAt();
+    }
+
+    /**
+     * A job id with its cosine distance to the query vector
+     */
+    interface Neighbor {
+        Long getId();
+        Double getDistance();
+    }
 }
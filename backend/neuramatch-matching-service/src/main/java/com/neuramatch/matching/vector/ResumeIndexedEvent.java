@@ -0,0 +1,15 @@
+package com.neuramatch.matching.vector;
+
+import lombok.Value;
+
+/**
+ * Published after a resume vector has been written to the index.
+ *
+ * {@code request} carries the full text used for the embedding; it is null when the
+ * event is replayed from the database.
+ */
+@Value
+public class ResumeIndexedEvent {
+    ResumeVector resumeVector;
+    VectorIndexingService.ResumeIndexRequest request;
+}
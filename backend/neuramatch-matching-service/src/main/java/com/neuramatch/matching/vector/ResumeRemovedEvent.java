@@ -0,0 +1,11 @@
+package com.neuramatch.matching.vector;
+
+import lombok.Value;
+
+/**
+ * Published after a resume has been deleted from or deactivated in the index
+ */
+@Value
+public class ResumeRemovedEvent {
+    Long resumeId;
+}
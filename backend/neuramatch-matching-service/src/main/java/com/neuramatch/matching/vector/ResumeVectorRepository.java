@@ -4,7 +4,10 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -12,13 +15,18 @@ import java.util.Optional;
  * Repository for vector similarity search on resumes
  */
 @Repository
-public interface ResumeVectorRepository extends JpaRepository<ResumeVector, Long> {
+public interface ResumeVectorRepository extends JpaRepository<ResumeVector, Long>, HnswSearchTuning {
 
     /**
      * Find resume vector by resume ID
      */
     Optional<ResumeVector> findByResumeId(Long resumeId);
 
+    /**
+     * Find by a batch of resume IDs
+     */
+    List<ResumeVector> findByResumeIdIn(Collection<Long> resumeIds);
+
     /**
      * Find similar resumes using cosine distance
      * Lower distance = more similar (0 = identical, 2 = opposite)
@@ -166,8 +174,163 @@ public interface ResumeVectorRepository extends JpaRepository<ResumeVector, Long
      */
     List<ResumeVector> findByIsActiveTrue();
 
+    /**
+     * Resume ids and skills of all active resumes (without embeddings)
+     */
+    @Query("SELECT rv.resumeId AS resumeId, rv.topSkills AS topSkills, rv.isActive AS isActive, " +
+           "rv.updatedAt AS updatedAt FROM ResumeVector rv WHERE rv.isActive = true")
+    List<SkillProfile> findActiveSkillProfiles();
+
+    /**
+     * Skill profiles changed after the given time, including deactivated ones
+     */
+    @Query("SELECT rv.resumeId AS resumeId, rv.topSkills AS topSkills, rv.isActive AS isActive, " +
+           "rv.updatedAt AS updatedAt FROM ResumeVector rv WHERE rv.updatedAt > :since")
+    List<SkillProfile> findSkillProfilesUpdatedSince(@Param("since") LocalDateTime since);
+
+    /**
+     * Searchable text fields of all active resumes (without embeddings)
+     */
+    @Query("SELECT rv.resumeId AS resumeId, rv.location AS location, rv.topSkills AS topSkills, " +
+           "rv.isActive AS isActive, rv.updatedAt AS updatedAt FROM ResumeVector rv WHERE rv.isActive = true")
+    List<TextProfile> findActiveTextProfiles();
+
+    /**
+     * Text profiles changed after the given time, including deactivated ones
+     */
+    @Query("SELECT rv.resumeId AS resumeId, rv.location AS location, rv.topSkills AS topSkills, " +
+           "rv.isActive AS isActive, rv.updatedAt AS updatedAt FROM ResumeVector rv WHERE rv.updatedAt > :since")
+    List<TextProfile> findTextProfilesUpdatedSince(@Param("since") LocalDateTime since);
+
+    /**
+     * Facet fields of all active resumes (without embeddings)
+     */
+    @Query("SELECT rv.resumeId AS resumeId, rv.topSkills AS topSkills, rv.location AS location, " +
+           "rv.remotePreference AS remotePreference, rv.yearsOfExperience AS yearsOfExperience, " +
+           "rv.isActive AS isActive, rv.updatedAt AS updatedAt FROM ResumeVector rv WHERE rv.isActive = true")
+    List<FacetProfile> findActiveFacetProfiles();
+
+    /**
+     * Facet profiles changed after the given time, including deactivated ones
+     */
+    @Query("SELECT rv.resumeId AS resumeId, rv.topSkills AS topSkills, rv.location AS location, " +
+           "rv.remotePreference AS remotePreference, rv.yearsOfExperience AS yearsOfExperience, " +
+           "rv.isActive AS isActive, rv.updatedAt AS updatedAt FROM ResumeVector rv WHERE rv.updatedAt > :since")
+    List<FacetProfile> findFacetProfilesUpdatedSince(@Param("since") LocalDateTime since);
+
+    /**
+     * Ids of all active resumes (detects hard deletes missed by a snapshot)
+     */
+    @Query("SELECT rv.resumeId FROM ResumeVector rv WHERE rv.isActive = true")
+    List<Long> findActiveResumeIds();
+
+    /**
+     * Keyset continuation of a filtered nearest-neighbour scan: the next resumes after
+     * (afterDistance, afterId) in (distance, resume_id) order, skipping excluded ids.
+     * {@code exclude} is a PostgreSQL array literal such as '{1,2,3}'.
+     *
+     * The index is read {@code scanDepth} neighbours deep, and deeper while the page is not
+     * full, up to {@link HnswSearchTuning#MAX_EF_SEARCH}; the scan ends there.
+     */
+    @Transactional(readOnly = true)
+    default List<Neighbor> findNeighborsAfter(String embedding, Integer minYears, Integer maxYears,
+                                              String location, String remoteType, Integer minQuality,
+                                              String exclude, double afterDistance, long afterId,
+                                              int scanDepth, int limit) {
+        for (int scan = HnswSearchTuning.efSearchFor(scanDepth); ; scan = Math.min(MAX_EF_SEARCH, scan * 2)) {
+            setLocalEfSearch(scan);
+            List<Neighbor> page = scanNeighborsAfter(embedding, minYears, maxYears, location, remoteType,
+                minQuality, exclude, afterDistance, afterId, scan, limit);
+            if (page.size() >= limit || scan >= MAX_EF_SEARCH) {
+                return page;
+            }
+        }
+    }
+
+    /**
+     * The inner query is a plain index-ordered scan of the {@code scan} nearest resumes; the
+     * filters, exclusions and keyset position apply to those, since any of them inside
+     * the scan would stop HNSW from serving the ORDER BY.
+     */
+    @Query(value = """
+        SELECT n.id, n.distance
+        FROM (
+            SELECT rv.resume_id AS id,
+                   (rv.embedding <=> CAST(:embedding AS vector)) AS distance,
+                   rv.is_active, rv.years_of_experience, rv.location, rv.remote_preference, rv.quality_score
+            FROM resume_vectors rv
+            ORDER BY rv.embedding <=> CAST(:embedding AS vector)
+            LIMIT :scan
+        ) n
+        WHERE n.is_active = true
+        AND (:minYears IS NULL OR n.years_of_experience >= :minYears)
+        AND (:maxYears IS NULL OR n.years_of_experience <= :maxYears)
+        AND (:location IS NULL OR n.location = :location)
+        AND (:remoteType IS NULL OR n.remote_preference = :remoteType)
+        AND (:minQuality IS NULL OR n.quality_score >= :minQuality)
+        AND NOT (n.id = ANY(CAST(:exclude AS bigint[])))
+        AND (n.distance > :afterDistance OR (n.distance = :afterDistance AND n.id > :afterId))
+        ORDER BY n.distance, n.id
+        LIMIT :limit
+        """, nativeQuery = true)
+    List<Neighbor> scanNeighborsAfter(
+        @Param("embedding") String embedding,
+        @Param("minYears") Integer minYears,
+        @Param("maxYears") Integer maxYears,
+        @Param("location") String location,
+        @Param("remoteType") String remoteType,
+        @Param("minQuality") Integer minQuality,
+        @Param("exclude") String exclude,
+        @Param("afterDistance") double afterDistance,
+        @Param("afterId") long afterId,
+        @Param("scan") int scan,
+        @Param("limit") int limit
+    );
+
     /**
      * Delete by resume ID
      */
     void deleteByResumeId(Long resumeId);
+
+    /**
+     * Projection of a resume's skill profile
+     */
+    interface SkillProfile {
+        Long getResumeId();
+        String[] getTopSkills();
+        Boolean getIsActive();
+        LocalDateTime getUpdatedAt();
+    }
+
+    /**
+     * Projection of the fields market statistics are sliced by
+     */
+    interface FacetProfile {
+        Long getResumeId();
+        String[] getTopSkills();
+        String getLocation();
+        String getRemotePreference();
+        Integer getYearsOfExperience();
+        Boolean getIsActive();
+        LocalDateTime getUpdatedAt();
+    }
+
+    /**
+     * Projection of a resume's searchable text fields
+     */
+    interface TextProfile {
+        Long getResumeId();
+        String getLocation();
+        String[] getTopSkills();
+        Boolean getIsActive();
+        LocalDateTime getUpdatedAt();
+    }
+
+    /**
+     * A resume id with its cosine distance to the query vector
+     */
+    interface Neighbor {
+        Long getId();
+        Double getDistance();
+    }
 }
@@ -4,6 +4,7 @@ import com.neuramatch.matching.embedding.JobEmbeddingService;
 import com.neuramatch.matching.embedding.ResumeEmbeddingService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -23,6 +24,7 @@ public class VectorIndexingService {
     private final JobVectorRepository jobVectorRepository;
     private final ResumeEmbeddingService resumeEmbeddingService;
     private final JobEmbeddingService jobEmbeddingService;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Index a resume into vector database
@@ -72,6 +74,8 @@ public class VectorIndexingService {
         resumeVector = resumeVectorRepository.save(resumeVector);
         log.info("Successfully indexed resume ID: {} with vector ID: {}", request.getResumeId(), resumeVector.getId());
 
+        eventPublisher.publishEvent(new ResumeIndexedEvent(resumeVector, request));
+
         return resumeVector;
     }
 
@@ -135,6 +139,8 @@ public class VectorIndexingService {
         jobVector = jobVectorRepository.save(jobVector);
         log.info("Successfully indexed job ID: {} with vector ID: {}", request.getJobId(), jobVector.getId());
 
+        eventPublisher.publishEvent(new JobIndexedEvent(jobVector, request, existing.isEmpty()));
+
         return jobVector;
     }
 
@@ -169,6 +175,7 @@ public class VectorIndexingService {
     public void deleteResumeIndex(Long resumeId) {
         log.info("Deleting resume vector for ID: {}", resumeId);
         resumeVectorRepository.deleteByResumeId(resumeId);
+        eventPublisher.publishEvent(new ResumeRemovedEvent(resumeId));
     }
 
     /**
@@ -178,6 +185,7 @@ public class VectorIndexingService {
     public void deleteJobIndex(Long jobId) {
         log.info("Deleting job vector for ID: {}", jobId);
         jobVectorRepository.deleteByJobId(jobId);
+        eventPublisher.publishEvent(new JobRemovedEvent(jobId));
     }
 
     /**
@@ -189,6 +197,7 @@ public class VectorIndexingService {
             rv.setIsActive(false);
             resumeVectorRepository.save(rv);
             log.info("Deactivated resume vector for ID: {}", resumeId);
+            eventPublisher.publishEvent(new ResumeRemovedEvent(resumeId));
         });
     }
 
@@ -201,6 +210,7 @@ public class VectorIndexingService {
             jv.setIsActive(false);
             jobVectorRepository.save(jv);
             log.info("Deactivated job vector for ID: {}", jobId);
+            eventPublisher.publishEvent(new JobRemovedEvent(jobId));
         });
     }
 
@@ -212,6 +222,7 @@ public class VectorIndexingService {
         List<JobVector> expiredJobs = jobVectorRepository.findExpiredJobs(LocalDateTime.now());
         expiredJobs.forEach(job -> job.setIsActive(false));
         jobVectorRepository.saveAll(expiredJobs);
+        expiredJobs.forEach(job -> eventPublisher.publishEvent(new JobRemovedEvent(job.getJobId())));
 
         log.info("Deactivated {} expired jobs", expiredJobs.size());
         return expiredJobs.size();
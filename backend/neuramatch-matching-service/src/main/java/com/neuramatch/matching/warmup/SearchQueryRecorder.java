@@ -0,0 +1,115 @@
+package com.neuramatch.matching.warmup;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.neuramatch.matching.search.SemanticSearchService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Keeps a sample of recent search requests in Redis so a fresh instance can replay them
+ * during warm-up. Shared by all instances, so a new pod sees what the others served.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SearchQueryRecorder {
+
+    private static final String RECENT_KEY = "search:recent";
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Value("${matching.warmup.record-sample-rate:0.05}")
+    private double sampleRate;
+
+    @Value("${matching.warmup.recorded-max:500}")
+    private int recordedMax;
+
+    /**
+     * Record a search request (sampled; never fails the request)
+     */
+    public void record(String type, String query, SemanticSearchService.SearchFilters filters, int limit) {
+        if (query == null || query.isBlank() || ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            return;
+        }
+
+        RecordedSearch search = RecordedSearch.builder()
+            .type(type)
+            .query(query)
+            .limit(limit)
+            .build();
+        if (filters != null) {
+            search.setMinYearsExperience(filters.getMinYearsExperience());
+            search.setMaxYearsExperience(filters.getMaxYearsExperience());
+            search.setLocation(filters.getLocation());
+            search.setRemoteType(filters.getRemoteType());
+            search.setEmploymentType(filters.getEmploymentType());
+            search.setMinQualityScore(filters.getMinQualityScore());
+        }
+
+        try {
+            redisTemplate.opsForList().leftPush(RECENT_KEY, objectMapper.writeValueAsString(search));
+            redisTemplate.opsForList().trim(RECENT_KEY, 0, recordedMax - 1);
+        } catch (Exception e) {
+            log.debug("Failed to record search request: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Most recent recorded searches, newest first
+     */
+    public List<RecordedSearch> recent(int limit) {
+        List<RecordedSearch> searches = new ArrayList<>();
+
+        List<String> rows = redisTemplate.opsForList().range(RECENT_KEY, 0, limit - 1);
+        if (rows == null) {
+            return searches;
+        }
+
+        for (String row : rows) {
+            try {
+                searches.add(objectMapper.readValue(row, RecordedSearch.class));
+            } catch (JsonProcessingException e) {
+                log.debug("Skipping unreadable recorded search: {}", e.getMessage());
+            }
+        }
+        return searches;
+    }
+
+    // ========== DTOs ==========
+
+    @lombok.Data
+    @lombok.Builder
+    @lombok.NoArgsConstructor
+    @lombok.AllArgsConstructor
+    public static class RecordedSearch {
+        private String type; // resumes | jobs
+        private String query;
+        private int limit;
+        private Integer minYearsExperience;
+        private Integer maxYearsExperience;
+        private String location;
+        private String remoteType;
+        private String employmentType;
+        private Integer minQualityScore;
+
+        public SemanticSearchService.SearchFilters toFilters() {
+            return SemanticSearchService.SearchFilters.builder()
+                .minYearsExperience(minYearsExperience)
+                .maxYearsExperience(maxYearsExperience)
+                .location(location)
+                .remoteType(remoteType)
+                .employmentType(employmentType)
+                .minQualityScore(minQualityScore)
+                .build();
+        }
+    }
+}
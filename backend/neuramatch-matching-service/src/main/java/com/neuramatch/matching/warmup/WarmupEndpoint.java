@@ -0,0 +1,22 @@
+package com.neuramatch.matching.warmup;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * Actuator endpoint exposing warm-up progress ({@code /actuator/warmup})
+ */
+@Component
+@Endpoint(id = "warmup")
+@RequiredArgsConstructor
+public class WarmupEndpoint {
+
+    private final WarmupService warmupService;
+
+    @ReadOperation
+    public WarmupService.WarmupStatus status() {
+        return warmupService.getStatus();
+    }
+}
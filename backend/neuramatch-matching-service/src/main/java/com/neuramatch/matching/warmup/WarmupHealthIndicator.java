@@ -0,0 +1,26 @@
+package com.neuramatch.matching.warmup;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps the readiness group out of service until warm-up has finished
+ */
+@Component
+@RequiredArgsConstructor
+public class WarmupHealthIndicator implements HealthIndicator {
+
+    private final WarmupService warmupService;
+
+    @Override
+    public Health health() {
+        WarmupService.WarmupStatus status = warmupService.getStatus();
+        Health.Builder builder = warmupService.isReady() ? Health.up() : Health.outOfService();
+        return builder
+            .withDetail("state", status.getState())
+            .withDetail("steps", status.getSteps().size())
+            .build();
+    }
+}
@@ -0,0 +1,240 @@
+package com.neuramatch.matching.warmup;
+
+import com.neuramatch.matching.embedding.GeminiEmbeddingService;
+import com.neuramatch.matching.entity.SkillNode;
+import com.neuramatch.matching.repository.SkillGraphRepository;
+import com.neuramatch.matching.search.SemanticSearchService;
+import com.neuramatch.matching.snapshot.MatchingStateReadyEvent;
+import com.neuramatch.matching.vector.JobVectorRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.LongPredicate;
+
+/**
+ * Warms caches and hot code paths before the instance reports ready.
+ *
+ * Runs once the matching state has been bootstrapped: touches the most popular skills
+ * in Neo4j, the most recently updated jobs in pgvector, pulls recently searched query
+ * embeddings from Redis into the local cache and replays recorded searches to get the
+ * request path compiled. Everything shares one time budget; readiness is reported by
+ * {@link WarmupHealthIndicator} whether or not the budget ran out.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class WarmupService {
+
+    private final SkillGraphRepository skillGraphRepository;
+    private final JobVectorRepository jobVectorRepository;
+    private final SemanticSearchService searchService;
+    private final GeminiEmbeddingService geminiEmbeddingService;
+    private final SearchQueryRecorder searchQueryRecorder;
+
+    @Value("${matching.warmup.enabled:true}")
+    private boolean enabled;
+
+    @Value("${matching.warmup.time-budget-ms:60000}")
+    private long timeBudgetMs;
+
+    @Value("${matching.warmup.hot-skills:100}")
+    private int hotSkills;
+
+    @Value("${matching.warmup.min-skill-popularity:0.5}")
+    private double minSkillPopularity;
+
+    @Value("${matching.warmup.hot-jobs:100}")
+    private int hotJobs;
+
+    @Value("${matching.warmup.replay-queries:200}")
+    private int replayQueries;
+
+    @Value("${matching.warmup.replay-max-requests:1000}")
+    private int replayMaxRequests;
+
+    private volatile WarmupState state = WarmupState.PENDING;
+    private volatile Instant startedAt;
+    private volatile Instant completedAt;
+    private final List<WarmupStep> steps = new CopyOnWriteArrayList<>();
+
+    @EventListener
+    public void onMatchingStateReady(MatchingStateReadyEvent event) {
+        if (!enabled) {
+            state = WarmupState.SKIPPED;
+            return;
+        }
+
+        Thread worker = new Thread(this::warmUp, "matching-warmup");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    /**
+     * Run all warm-up steps within the time budget
+     */
+    void warmUp() {
+        state = WarmupState.RUNNING;
+        startedAt = Instant.now();
+        steps.clear();
+
+        long deadline = System.currentTimeMillis() + timeBudgetMs;
+        LongPredicate withinBudget = now -> now < deadline;
+
+        runStep("skill-graph", withinBudget, this::warmSkillGraph);
+        runStep("job-vectors", withinBudget, this::warmJobVectors);
+
+        List<SearchQueryRecorder.RecordedSearch> recorded = loadRecordedSearches();
+        List<SearchQueryRecorder.RecordedSearch> cached = new ArrayList<>();
+        runStep("query-embeddings", withinBudget, budget -> warmQueryEmbeddings(recorded, cached, budget));
+        runStep("search-replay", withinBudget, budget -> replaySearches(cached, budget));
+
+        completedAt = Instant.now();
+        state = WarmupState.COMPLETED;
+        log.info("Warm-up finished in {} ms: {}", completedAt.toEpochMilli() - startedAt.toEpochMilli(), steps);
+    }
+
+    public WarmupStatus getStatus() {
+        return WarmupStatus.builder()
+            .state(state)
+            .startedAt(startedAt)
+            .completedAt(completedAt)
+            .timeBudgetMs(timeBudgetMs)
+            .steps(List.copyOf(steps))
+            .build();
+    }
+
+    /**
+     * Whether the instance may take traffic
+     */
+    public boolean isReady() {
+        return state == WarmupState.COMPLETED || state == WarmupState.SKIPPED;
+    }
+
+    private int warmSkillGraph(LongPredicate withinBudget) {
+        List<SkillNode> popular = skillGraphRepository.findPopularSkills(minSkillPopularity);
+
+        int warmed = 0;
+        for (SkillNode skill : popular.subList(0, Math.min(hotSkills, popular.size()))) {
+            if (!withinBudget.test(System.currentTimeMillis())) {
+                break;
+            }
+            skillGraphRepository.findComplementarySkills(skill.getName(), 10);
+            skillGraphRepository.findAlternativeSkills(skill.getName());
+            skillGraphRepository.findDirectPrerequisites(skill.getName());
+            warmed++;
+        }
+        return warmed;
+    }
+
+    private int warmJobVectors(LongPredicate withinBudget) {
+        int warmed = 0;
+        for (Long jobId : jobVectorRepository.findRecentlyUpdatedActiveJobIds(hotJobs)) {
+            if (!withinBudget.test(System.currentTimeMillis())) {
+                break;
+            }
+            searchService.findSimilarJobs(jobId, 10);
+            warmed++;
+        }
+        return warmed;
+    }
+
+    private int warmQueryEmbeddings(List<SearchQueryRecorder.RecordedSearch> recorded,
+                                    List<SearchQueryRecorder.RecordedSearch> cached,
+                                    LongPredicate withinBudget) {
+        for (SearchQueryRecorder.RecordedSearch search : recorded) {
+            if (!withinBudget.test(System.currentTimeMillis())) {
+                break;
+            }
+            // Only replay queries that cost nothing to embed
+            if (geminiEmbeddingService.isCached(search.getQuery())) {
+                cached.add(search);
+            }
+        }
+        return cached.size();
+    }
+
+    private int replaySearches(List<SearchQueryRecorder.RecordedSearch> searches, LongPredicate withinBudget) {
+        if (searches.isEmpty()) {
+            return 0;
+        }
+
+        int replayed = 0;
+        while (replayed < replayMaxRequests && withinBudget.test(System.currentTimeMillis())) {
+            SearchQueryRecorder.RecordedSearch search = searches.get(replayed % searches.size());
+            if ("jobs".equals(search.getType())) {
+                searchService.searchJobs(search.getQuery(), search.toFilters(), search.getLimit());
+            } else {
+                searchService.searchResumes(search.getQuery(), search.toFilters(), search.getLimit());
+            }
+            replayed++;
+        }
+        return replayed;
+    }
+
+    private List<SearchQueryRecorder.RecordedSearch> loadRecordedSearches() {
+        try {
+            return searchQueryRecorder.recent(replayQueries);
+        } catch (Exception e) {
+            log.warn("Failed to load recorded searches: {}", e.getMessage());
+            return List.of();
+        }
+    }
+
+    private void runStep(String name, LongPredicate withinBudget, WarmupTask task) {
+        long start = System.currentTimeMillis();
+        WarmupStep step = WarmupStep.builder().name(name).build();
+
+        if (!withinBudget.test(start)) {
+            step.setStatus("skipped");
+            steps.add(step);
+            return;
+        }
+
+        try {
+            step.setItems(task.run(withinBudget));
+            step.setStatus(withinBudget.test(System.currentTimeMillis()) ? "done" : "budget-exhausted");
+        } catch (Exception e) {
+            log.warn("Warm-up step '{}' failed: {}", name, e.getMessage());
+            step.setStatus("failed");
+        }
+        step.setDurationMs(System.currentTimeMillis() - start);
+        steps.add(step);
+    }
+
+    @FunctionalInterface
+    private interface WarmupTask {
+        int run(LongPredicate withinBudget);
+    }
+
+    // ========== DTOs ==========
+
+    public enum WarmupState {
+        PENDING, RUNNING, COMPLETED, SKIPPED
+    }
+
+    @lombok.Data
+    @lombok.Builder
+    public static class WarmupStatus {
+        private WarmupState state;
+        private Instant startedAt;
+        private Instant completedAt;
+        private long timeBudgetMs;
+        private List<WarmupStep> steps;
+    }
+
+    @lombok.Data
+    @lombok.Builder
+    public static class WarmupStep {
+        private String name;
+        private String status; // done | budget-exhausted | skipped | failed
+        private int items;
+        private long durationMs;
+    }
+}
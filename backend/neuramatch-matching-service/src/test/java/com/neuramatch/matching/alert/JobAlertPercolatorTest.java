@@ -0,0 +1,127 @@
+package com.neuramatch.matching.alert;
+
+import com.neuramatch.matching.embedding.GeminiEmbeddingService;
+import com.neuramatch.matching.vector.JobIndexedEvent;
+import com.neuramatch.matching.vector.JobVector;
+import com.pgvector.PGvector;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for JobAlertPercolator
+ */
+@ExtendWith(MockitoExtension.class)
+class JobAlertPercolatorTest {
+
+    @Mock
+    private SavedSearchRepository savedSearchRepository;
+
+    @Mock
+    private GeminiEmbeddingService geminiEmbeddingService;
+
+    @Mock
+    private KafkaTemplate<String, Map<String, Object>> kafkaTemplate;
+
+    @Mock
+    private RedisTemplate<String, String> redisTemplate;
+
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    private JobAlertPercolator percolator;
+
+    @BeforeEach
+    void setUp() {
+        percolator = new JobAlertPercolator(savedSearchRepository, geminiEmbeddingService,
+            kafkaTemplate, redisTemplate, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(percolator, "enabled", true);
+        ReflectionTestUtils.setField(percolator, "topic", "job-alert-events");
+        ReflectionTestUtils.setField(percolator, "maxMatchesPerJob", 100);
+        ReflectionTestUtils.setField(percolator, "dedupeTtlHours", 24L);
+    }
+
+    @Test
+    void onJobIndexed_ShouldPublishOneAlertPerMatchingSearchInSinglePass() {
+        // Given
+        JobVector job = job(7L, true);
+        when(savedSearchRepository.percolate(eq(job.getEmbedding().toString()), eq("Berlin"), eq("HYBRID"),
+                eq("FULL_TIME"), eq(90000), eq(3), eq(100)))
+            .thenReturn(List.of(search(1L, 100L), search(2L, 200L)));
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.setIfAbsent(anyString(), anyString(), any())).thenReturn(true);
+        when(geminiEmbeddingService.cosineSimilarity(any(float[].class), any(float[].class))).thenReturn(0.9);
+
+        // When
+        percolator.onJobIndexed(new JobIndexedEvent(job, null, true));
+
+        // Then
+        verify(savedSearchRepository, times(1)).percolate(any(), any(), any(), any(), any(), any(), anyInt());
+        verify(kafkaTemplate).send(eq("job-alert-events"), eq("100"),
+            argThat(event -> event.get("jobId").equals(7L) && event.get("savedSearchId").equals(1L)));
+        verify(kafkaTemplate).send(eq("job-alert-events"), eq("200"), any());
+    }
+
+    @Test
+    void percolate_WhenAlreadyAlerted_ShouldNotPublishAgain() {
+        // Given
+        JobVector job = job(7L, true);
+        when(savedSearchRepository.percolate(any(), any(), any(), any(), any(), any(), anyInt()))
+            .thenReturn(List.of(search(1L, 100L)));
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.setIfAbsent(eq("alert:sent:1:7"), anyString(), any())).thenReturn(false);
+
+        // When
+        int published = percolator.percolate(job);
+
+        // Then
+        assertThat(published).isZero();
+        verifyNoInteractions(kafkaTemplate);
+    }
+
+    @Test
+    void onJobIndexed_WithInactiveJob_ShouldSkip() {
+        percolator.onJobIndexed(new JobIndexedEvent(job(7L, false), null, true));
+
+        verifyNoInteractions(savedSearchRepository, kafkaTemplate);
+    }
+
+    private JobVector job(Long jobId, boolean active) {
+        return JobVector.builder()
+            .jobId(jobId)
+            .embedding(new PGvector(new float[] {0.6f, 0.8f}))
+            .title("Backend Engineer")
+            .location("Berlin")
+            .remoteType("HYBRID")
+            .employmentType("FULL_TIME")
+            .maxSalary(90000)
+            .minYearsExperience(3)
+            .isActive(active)
+            .build();
+    }
+
+    private SavedSearch search(Long id, Long resumeId) {
+        return SavedSearch.builder()
+            .id(id)
+            .resumeId(resumeId)
+            .source(SavedSearch.Source.PROFILE)
+            .embedding(new PGvector(new float[] {0.8f, 0.6f}))
+            .minSimilarity(0.75)
+            .isActive(true)
+            .build();
+    }
+}
@@ -0,0 +1,67 @@
+package com.neuramatch.matching.cooccurrence;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for LongDoubleHashMap
+ */
+class LongDoubleHashMapTest {
+
+    @Test
+    void addTo_ShouldAccumulateValues() {
+        LongDoubleHashMap map = new LongDoubleHashMap(4);
+
+        map.addTo(7L, 1.5);
+        map.addTo(7L, 2.0);
+
+        assertThat(map.get(7L)).isEqualTo(3.5);
+        assertThat(map.get(8L)).isEqualTo(0.0);
+        assertThat(map.size()).isEqualTo(1);
+    }
+
+    @Test
+    void operations_ShouldMatchHashMapUnderRandomWorkload() {
+        LongDoubleHashMap map = new LongDoubleHashMap(4);
+        Map<Long, Double> expected = new HashMap<>();
+        Random random = new Random(17);
+
+        for (int i = 0; i < 50_000; i++) {
+            long key = random.nextInt(2_000);
+            if (random.nextInt(4) == 0) {
+                assertThat(map.remove(key)).isEqualTo(expected.getOrDefault(key, 0.0));
+                expected.remove(key);
+            } else {
+                map.addTo(key, 1.0);
+                expected.merge(key, 1.0, Double::sum);
+            }
+        }
+
+        assertThat(map.size()).isEqualTo(expected.size());
+        expected.forEach((key, value) -> assertThat(map.get(key)).isEqualTo(value));
+    }
+
+    @Test
+    void scaleAll_ShouldMultiplyEveryValue() {
+        LongDoubleHashMap map = new LongDoubleHashMap();
+        map.put(1L, 2.0);
+        map.put(2L, 4.0);
+
+        map.scaleAll(0.5);
+
+        assertThat(map.get(1L)).isEqualTo(1.0);
+        assertThat(map.get(2L)).isEqualTo(2.0);
+    }
+
+    @Test
+    void addTo_WithNegativeKey_ShouldThrow() {
+        LongDoubleHashMap map = new LongDoubleHashMap();
+
+        assertThatThrownBy(() -> map.addTo(-5L, 1.0)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,115 @@
+package com.neuramatch.matching.cooccurrence;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for SkillCooccurrenceMatrix
+ */
+class SkillCooccurrenceMatrixTest {
+
+    private static final long DAY = 24L * 60 * 60 * 1000;
+    private static final long NOW = 1_700_000_000_000L;
+
+    private static final int JAVA = 0;
+    private static final int SPRING = 1;
+    private static final int PYTHON = 2;
+    private static final int DJANGO = 3;
+
+    private SkillCooccurrenceMatrix matrix;
+
+    @BeforeEach
+    void setUp() {
+        matrix = new SkillCooccurrenceMatrix(30, NOW);
+    }
+
+    @Test
+    void cooccurring_ShouldScoreFrequentPairsAboveIndependence() {
+        // Given: java+spring always together, python+django always together
+        for (long doc = 0; doc < 10; doc++) {
+            matrix.add(doc, doc % 2 == 0 ? new int[]{JAVA, SPRING} : new int[]{PYTHON, DJANGO}, NOW);
+        }
+        matrix.add(100L, new int[]{JAVA, PYTHON}, NOW);
+
+        // When
+        List<SkillCooccurrenceMatrix.PairScore> scores = matrix.cooccurring(JAVA, 1, NOW);
+
+        // Then
+        SkillCooccurrenceMatrix.PairScore spring = scores.stream()
+            .filter(s -> s.getOtherSkillId() == SPRING).findFirst().orElseThrow();
+        SkillCooccurrenceMatrix.PairScore python = scores.stream()
+            .filter(s -> s.getOtherSkillId() == PYTHON).findFirst().orElseThrow();
+
+        assertThat(spring.getLift()).isGreaterThan(1.0);
+        assertThat(spring.getNpmi()).isGreaterThan(python.getNpmi());
+        assertThat(spring.getConfidence()).isCloseTo(5.0 / 6.0, within(1e-9));
+    }
+
+    @Test
+    void counts_ShouldDecayWithHalfLife() {
+        matrix.add(1L, new int[]{JAVA, SPRING}, NOW);
+
+        assertThat(matrix.skillCount(JAVA, NOW)).isCloseTo(1.0, within(1e-9));
+        assertThat(matrix.skillCount(JAVA, NOW + 30 * DAY)).isCloseTo(0.5, within(1e-9));
+        assertThat(matrix.pairCount(SPRING, JAVA, NOW + 60 * DAY)).isCloseTo(0.25, within(1e-9));
+    }
+
+    @Test
+    void add_AfterLongTime_ShouldRescaleWithoutChangingCounts() {
+        matrix.add(1L, new int[]{JAVA, SPRING}, NOW);
+        long later = NOW + 3_000 * DAY; // forces a rescale
+
+        matrix.add(2L, new int[]{JAVA}, later);
+
+        assertThat(matrix.skillCount(JAVA, later)).isCloseTo(1.0 + Math.pow(0.5, 100), within(1e-9));
+        assertThat(matrix.totalDocuments(later)).isCloseTo(1.0, within(1e-9));
+    }
+
+    @Test
+    void remove_ShouldSubtractDocumentContribution() {
+        matrix.add(1L, new int[]{JAVA, SPRING}, NOW);
+        matrix.add(2L, new int[]{JAVA, SPRING}, NOW);
+
+        matrix.remove(1L);
+        matrix.remove(2L);
+
+        assertThat(matrix.skillCount(JAVA, NOW)).isZero();
+        assertThat(matrix.pairCount(JAVA, SPRING, NOW)).isZero();
+        assertThat(matrix.cooccurring(JAVA, 0, NOW)).isEmpty();
+    }
+
+    @Test
+    void add_WithSameDocument_ShouldReplacePreviousSkills() {
+        matrix.add(1L, new int[]{JAVA, SPRING}, NOW);
+        matrix.add(1L, new int[]{PYTHON, DJANGO}, NOW);
+
+        assertThat(matrix.documentCount()).isEqualTo(1);
+        assertThat(matrix.skillCount(JAVA, NOW)).isZero();
+        assertThat(matrix.pairCount(PYTHON, DJANGO, NOW)).isCloseTo(1.0, within(1e-9));
+    }
+
+    @Test
+    void readFrom_ShouldRestoreCountsWrittenByWriteTo() throws Exception {
+        // Given
+        matrix.add(1L, new int[]{JAVA, SPRING}, NOW - 10 * DAY);
+        matrix.add(2L, new int[]{JAVA, SPRING, PYTHON}, NOW);
+        java.io.ByteArrayOutputStream bytes = new java.io.ByteArrayOutputStream();
+        matrix.writeTo(new java.io.DataOutputStream(bytes));
+
+        // When
+        SkillCooccurrenceMatrix restored = new SkillCooccurrenceMatrix(30, NOW + DAY);
+        restored.readFrom(java.nio.ByteBuffer.wrap(bytes.toByteArray()));
+
+        // Then
+        assertThat(restored.documentIds()).containsExactlyInAnyOrder(1L, 2L);
+        assertThat(restored.pairCount(JAVA, SPRING, NOW)).isCloseTo(matrix.pairCount(JAVA, SPRING, NOW), within(1e-9));
+        assertThat(restored.skillCount(PYTHON, NOW)).isCloseTo(matrix.skillCount(PYTHON, NOW), within(1e-9));
+
+        restored.remove(2L);
+        assertThat(restored.pairCount(JAVA, PYTHON, NOW)).isZero();
+    }
+}
@@ -0,0 +1,105 @@
+package com.neuramatch.matching.graph;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.timelimiter.TimeLimiter;
+import io.github.resilience4j.timelimiter.TimeLimiterConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for SkillGraphGuard
+ */
+class SkillGraphGuardTest {
+
+    private SkillGraphGuard guard;
+
+    @BeforeEach
+    void setUp() {
+        CircuitBreaker circuitBreaker = CircuitBreaker.of("test", CircuitBreakerConfig.custom()
+            .slidingWindowSize(4)
+            .minimumNumberOfCalls(4)
+            .failureRateThreshold(50)
+            .waitDurationInOpenState(Duration.ofMinutes(1))
+            .build());
+        TimeLimiter timeLimiter = TimeLimiter.of(TimeLimiterConfig.custom()
+            .timeoutDuration(Duration.ofMillis(50))
+            .build());
+        Bulkhead bulkhead = Bulkhead.of("test", BulkheadConfig.custom()
+            .maxConcurrentCalls(4)
+            .maxWaitDuration(Duration.ZERO)
+            .build());
+
+        guard = new SkillGraphGuard(circuitBreaker, timeLimiter, bulkhead);
+    }
+
+    @AfterEach
+    void tearDown() {
+        guard.shutdown();
+    }
+
+    @Test
+    void call_WhenGraphHealthy_ShouldReturnGraphResult() {
+        String result = guard.call("test", () -> "graph", () -> "fallback");
+
+        assertThat(result).isEqualTo("graph");
+        assertThat(guard.isOpen()).isFalse();
+    }
+
+    @Test
+    void call_WhenGraphFails_ShouldReturnFallback() {
+        String result = guard.call("test", () -> {
+            throw new IllegalStateException("neo4j down");
+        }, () -> "fallback");
+
+        assertThat(result).isEqualTo("fallback");
+    }
+
+    @Test
+    void call_WhenGraphSlow_ShouldTimeOutToFallback() {
+        long start = System.nanoTime();
+
+        String result = guard.call("test", () -> {
+            sleep(2_000);
+            return "graph";
+        }, () -> "fallback");
+
+        assertThat(result).isEqualTo("fallback");
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofMillis(1_000));
+    }
+
+    @Test
+    void call_WhenCircuitOpen_ShouldSkipGraph() {
+        for (int i = 0; i < 4; i++) {
+            guard.call("test", () -> {
+                throw new IllegalStateException("neo4j down");
+            }, () -> "fallback");
+        }
+        assertThat(guard.isOpen()).isTrue();
+
+        AtomicInteger graphCalls = new AtomicInteger();
+        String result = guard.call("test", () -> {
+            graphCalls.incrementAndGet();
+            return "graph";
+        }, () -> "fallback");
+
+        assertThat(result).isEqualTo("fallback");
+        assertThat(graphCalls).hasValue(0);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.neuramatch.matching.graph;
+
+import com.neuramatch.matching.repository.SkillGraphRepository;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for SkillGraphTableService
+ */
+class SkillGraphTableServiceTest {
+
+    @Test
+    void replaySince_ShouldServeSnapshotTablesWhileTheGraphReloadsInTheBackground() throws Exception {
+        // Given: a snapshot with one synonym, and a graph that is slow to answer
+        SkillDictionary dictionary = new SkillDictionary();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            SkillGraphTables.builder(dictionary).synonym("postgres", "postgresql").build().writeTo(out);
+        }
+
+        CountDownLatch graphReleased = new CountDownLatch(1);
+        SkillGraphRepository repository = mock(SkillGraphRepository.class);
+        SkillGraphRepository.SynonymMapping k8s = mock(SkillGraphRepository.SynonymMapping.class);
+        when(k8s.getName()).thenReturn("k8s");
+        when(k8s.getCanonical()).thenReturn("kubernetes");
+        when(repository.findAllSynonymMappings()).thenAnswer(invocation -> {
+            graphReleased.await(5, TimeUnit.SECONDS);
+            return List.of(k8s);
+        });
+
+        SkillGraphTableService service = new SkillGraphTableService(repository, dictionary);
+        service.restoreSnapshot(ByteBuffer.wrap(bytes.toByteArray()));
+
+        // When
+        long start = System.nanoTime();
+        service.replaySince(LocalDateTime.now());
+
+        // Then: startup is not held up and the snapshot tables are served meanwhile
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(1));
+        assertThat(service.current().canonicalName("postgres")).isEqualTo("postgresql");
+
+        graphReleased.countDown();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!"kubernetes".equals(service.current().canonicalName("k8s")) && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(service.current().canonicalName("k8s")).isEqualTo("kubernetes");
+    }
+}
@@ -0,0 +1,69 @@
+package com.neuramatch.matching.graph;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for SkillSetSimilarity
+ */
+class SkillSetSimilarityTest {
+
+    private SkillDictionary dictionary;
+    private SkillGraphTables tables;
+
+    @BeforeEach
+    void setUp() {
+        dictionary = new SkillDictionary();
+        tables = SkillGraphTables.builder(dictionary)
+            .synonym("postgres", "postgresql")
+            .alternative("postgresql", "mysql", 0.8, 0.9)
+            .complement("java", "spring boot", 0.9)
+            .build();
+    }
+
+    @Test
+    void score_WithIdenticalSets_ShouldReturnOne() {
+        int[] ids = ids("java", "postgresql");
+
+        assertThat(SkillSetSimilarity.score(tables, ids, ids)).isEqualTo(1.0);
+    }
+
+    @Test
+    void score_WithAlternativeSkill_ShouldGivePartialCredit() {
+        double similarity = SkillSetSimilarity.score(tables, ids("java", "postgresql"), ids("java", "mysql"));
+
+        // java: 1.0 on both sides, postgresql <-> mysql: 0.8 on both sides
+        assertThat(similarity).isCloseTo(0.9, within(1e-6));
+    }
+
+    @Test
+    void score_ShouldDiscountComplements() {
+        double similarity = SkillSetSimilarity.score(tables, ids("java"), ids("spring boot"));
+
+        assertThat(similarity).isCloseTo(0.9 * SkillGraphTables.COMPLEMENT_DISCOUNT, within(1e-6));
+    }
+
+    @Test
+    void score_ShouldBeSymmetric() {
+        int[] a = ids("java", "postgresql", "docker");
+        int[] b = ids("mysql", "spring boot");
+
+        assertThat(SkillSetSimilarity.score(tables, a, b)).isEqualTo(SkillSetSimilarity.score(tables, b, a));
+    }
+
+    @Test
+    void canonicalName_ShouldResolveSynonyms() {
+        assertThat(tables.canonicalName(" Postgres ")).isEqualTo("postgresql");
+    }
+
+    private int[] ids(String... skills) {
+        return java.util.Arrays.stream(skills)
+            .map(tables::canonicalName)
+            .mapToInt(dictionary::idOf)
+            .sorted()
+            .distinct()
+            .toArray();
+    }
+}
@@ -0,0 +1,150 @@
+package com.neuramatch.matching.index;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for Bm25Index
+ */
+class Bm25IndexTest {
+
+    private Bm25Index index;
+
+    @BeforeEach
+    void setUp() {
+        index = new Bm25Index(1.2, 0.75);
+    }
+
+    @Test
+    void search_ShouldRankRareTermMatchesFirst() {
+        // Given: "kafka" is rare, "java" is everywhere
+        index.put(1L, terms("Java Spring developer"));
+        index.put(2L, terms("Java Kafka engineer"));
+        index.put(3L, terms("Java backend"));
+        index.put(4L, terms("Python data"));
+
+        // When
+        List<Bm25Index.Hit> hits = index.search(index.prepare(Set.of("java", "kafka")), 10);
+
+        // Then
+        assertThat(hits).extracting(Bm25Index.Hit::getDocId).containsExactly(2L, 3L, 1L);
+        assertThat(hits.get(0).getScore()).isGreaterThan(hits.get(1).getScore());
+    }
+
+    @Test
+    void search_ShouldPreferShorterDocumentsForSameTermFrequency() {
+        // Given
+        index.put(1L, terms("kafka streaming platform operations monitoring tooling"));
+        index.put(2L, terms("kafka"));
+
+        // When
+        List<Bm25Index.Hit> hits = index.search(index.prepare(Set.of("kafka")), 10);
+
+        // Then
+        assertThat(hits).extracting(Bm25Index.Hit::getDocId).containsExactly(2L, 1L);
+    }
+
+    @Test
+    void score_ShouldMatchSearchScore() {
+        // Given
+        index.put(1L, terms("Senior Java Engineer Java Spring"));
+        index.put(2L, terms("Spring Kafka"));
+        Bm25Index.Query query = index.prepare(Set.of("java", "spring"));
+
+        // When
+        List<Bm25Index.Hit> hits = index.search(query, 10);
+
+        // Then
+        assertThat(index.score(query, 1L)).isCloseTo(hits.get(0).getScore(), within(1e-12));
+        assertThat(index.score(query, 99L)).isZero();
+        assertThat(query.normalize(hits.get(0).getScore())).isBetween(0.0, 1.0);
+    }
+
+    @Test
+    void put_ShouldReplaceAndRemoveShouldDropDocument() {
+        // Given
+        index.put(1L, terms("Java"));
+        index.put(1L, terms("Rust"));
+        index.put(2L, terms("Go"));
+
+        // When
+        index.remove(2L);
+
+        // Then
+        assertThat(index.size()).isEqualTo(1);
+        assertThat(index.search(index.prepare(Set.of("java")), 10)).isEmpty();
+        assertThat(index.search(index.prepare(Set.of("rust")), 10))
+            .extracting(Bm25Index.Hit::getDocId).containsExactly(1L);
+        assertThat(index.search(index.prepare(Set.of("go")), 10)).isEmpty();
+    }
+
+    @Test
+    void remove_ManyDocuments_ShouldCompactWithoutChangingResults() {
+        // Given
+        for (long id = 0; id < 5000; id++) {
+            index.put(id, terms(id % 2 == 0 ? "java spring" : "java kafka"));
+        }
+        for (long id = 0; id < 4000; id++) {
+            index.remove(id);
+        }
+
+        // When
+        List<Bm25Index.Hit> hits = index.search(index.prepare(Set.of("kafka")), 1000);
+
+        // Then
+        assertThat(index.size()).isEqualTo(1000);
+        assertThat(hits).hasSize(500);
+        assertThat(hits).allSatisfy(hit -> assertThat(hit.getDocId()).isGreaterThanOrEqualTo(4000L));
+    }
+
+    @Test
+    void readFrom_ShouldRestoreWrittenIndex() throws Exception {
+        // Given
+        index.put(1L, terms("Java Spring"));
+        index.put(2L, terms("Kafka Java"));
+        index.put(3L, terms("Python"));
+        index.remove(3L);
+        Bm25Index.Query query = index.prepare(Set.of("java", "kafka"));
+        List<Bm25Index.Hit> expected = index.search(query, 10);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            index.writeTo(out);
+        }
+
+        // When
+        Bm25Index restored = new Bm25Index(1.2, 0.75);
+        restored.readFrom(ByteBuffer.wrap(bytes.toByteArray()));
+
+        // Then
+        assertThat(restored.size()).isEqualTo(2);
+        assertThat(restored.search(restored.prepare(Set.of("java", "kafka")), 10)).isEqualTo(expected);
+    }
+
+    @Test
+    void analyze_ShouldKeepLanguageNamesAndDropStopWords() {
+        Map<String, Integer> terms = new HashMap<>();
+
+        TextAnalyzer.analyze("C++ and C# with Node.js, Java and Java", 1, terms);
+
+        assertThat(terms).containsEntry("c++", 1).containsEntry("c#", 1)
+            .containsEntry("node", 1).containsEntry("js", 1).containsEntry("java", 2)
+            .doesNotContainKeys("and", "with");
+    }
+
+    private Map<String, Integer> terms(String text) {
+        Map<String, Integer> terms = new HashMap<>();
+        TextAnalyzer.analyze(text, 1, terms);
+        return terms;
+    }
+}
@@ -0,0 +1,86 @@
+package com.neuramatch.matching.index;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for MinHashLshIndex
+ */
+class MinHashLshIndexTest {
+
+    private MinHashLshIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new MinHashLshIndex(32, 2, 42L);
+    }
+
+    @Test
+    void query_WithIdenticalSet_ShouldReturnItemWithFullEstimate() {
+        // Given
+        index.put(1L, new int[]{1, 2, 3, 4, 5});
+
+        // When
+        List<MinHashLshIndex.Candidate> candidates = index.query(new int[]{1, 2, 3, 4, 5}, 10);
+
+        // Then
+        assertThat(candidates).hasSize(1);
+        assertThat(candidates.get(0).getItemId()).isEqualTo(1L);
+        assertThat(candidates.get(0).getEstimatedJaccard()).isEqualTo(1.0);
+    }
+
+    @Test
+    void query_ShouldRankMoreSimilarSetsFirst() {
+        // Given
+        index.put(1L, new int[]{1, 2, 3, 4, 5, 6, 7, 8, 9, 10});
+        index.put(2L, new int[]{1, 2, 3, 4, 5, 6, 7, 8, 20, 21});
+        index.put(3L, new int[]{1, 2, 3, 4, 30, 31, 32, 33, 34, 35});
+
+        // When
+        List<MinHashLshIndex.Candidate> candidates = index.query(new int[]{1, 2, 3, 4, 5, 6, 7, 8, 9, 10}, 10);
+
+        // Then
+        assertThat(candidates).extracting(MinHashLshIndex.Candidate::getItemId).startsWith(1L, 2L);
+    }
+
+    @Test
+    void query_WithDisjointSet_ShouldReturnNoCandidates() {
+        // Given
+        index.put(1L, new int[]{1, 2, 3, 4, 5});
+
+        // When
+        List<MinHashLshIndex.Candidate> candidates = index.query(new int[]{100, 101, 102, 103, 104}, 10);
+
+        // Then
+        assertThat(candidates).isEmpty();
+    }
+
+    @Test
+    void put_WithUpdatedSet_ShouldReplacePreviousBuckets() {
+        // Given
+        index.put(1L, new int[]{1, 2, 3});
+        index.put(1L, new int[]{7, 8, 9});
+
+        // When / Then
+        assertThat(index.size()).isEqualTo(1);
+        assertThat(index.query(new int[]{1, 2, 3}, 10)).isEmpty();
+        assertThat(index.query(new int[]{7, 8, 9}, 10)).hasSize(1);
+    }
+
+    @Test
+    void remove_ShouldDropItem() {
+        // Given
+        index.put(1L, new int[]{1, 2, 3});
+
+        // When
+        index.remove(1L);
+
+        // Then
+        assertThat(index.size()).isZero();
+        assertThat(index.query(new int[]{1, 2, 3}, 10)).isEmpty();
+    }
+}
@@ -0,0 +1,132 @@
+package com.neuramatch.matching.kafka;
+
+import com.neuramatch.matching.entity.MatchFeedback;
+import com.neuramatch.matching.repository.MatchFeedbackRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for FeedbackCounters
+ */
+@ExtendWith(MockitoExtension.class)
+class FeedbackCountersTest {
+
+    private static final Instant NOW = Instant.parse("2026-03-01T12:30:00Z");
+
+    @Mock
+    private MatchFeedbackRepository feedbackRepository;
+
+    @Mock
+    private RedisTemplate<String, String> redisTemplate;
+
+    @Mock
+    private HashOperations<String, Object, Object> hashOperations;
+
+    private FeedbackCounters counters;
+
+    @BeforeEach
+    void setUp() {
+        counters = counters(NOW);
+        when(redisTemplate.<Object, Object>opsForHash()).thenReturn(hashOperations);
+    }
+
+    @Test
+    void record_ShouldSeedTotalOnceAndCountInProcess() {
+        // Given: no checkpoint, 998 rows, 5 views in the current hour
+        when(hashOperations.entries("feedback:counters")).thenReturn(Map.of());
+        when(feedbackRepository.count()).thenReturn(998L);
+        when(feedbackRepository.countByActionAndHourSince(any()))
+            .thenReturn(List.of(row("VIEWED", hour(NOW), 5)));
+
+        // When
+        long first = counters.record("VIEWED");
+        long second = counters.record("HIRED");
+
+        // Then
+        assertThat(first).isEqualTo(999L);
+        assertThat(second).isEqualTo(1000L);
+        assertThat(counters.count(MatchFeedback.FeedbackAction.VIEWED, Duration.ofDays(30))).isEqualTo(6L);
+        assertThat(counters.count(MatchFeedback.FeedbackAction.HIRED, Duration.ofDays(30))).isEqualTo(1L);
+        verify(feedbackRepository, times(1)).count();
+        verify(feedbackRepository, times(1)).countByActionAndHourSince(any());
+    }
+
+    @Test
+    void count_ShouldDropBucketsOlderThanThePeriod() {
+        // Given: views 2 hours ago and 40 days ago (the latter outside the window)
+        when(hashOperations.entries("feedback:counters")).thenReturn(Map.of());
+        when(feedbackRepository.count()).thenReturn(0L);
+        when(feedbackRepository.countByActionAndHourSince(any())).thenReturn(List.of(
+            row("VIEWED", hour(NOW) - 2, 3),
+            row("VIEWED", hour(NOW) - 40 * 24, 7)));
+
+        // Then
+        assertThat(counters.count(MatchFeedback.FeedbackAction.VIEWED, Duration.ofDays(30))).isEqualTo(3L);
+        assertThat(counters.count(MatchFeedback.FeedbackAction.VIEWED, Duration.ofHours(1))).isZero();
+    }
+
+    @Test
+    void checkpoint_ShouldRestoreWindowsWithoutQueryingTheTable() {
+        // Given: counters written by a previous instance
+        when(hashOperations.entries("feedback:counters")).thenReturn(Map.of());
+        when(feedbackRepository.count()).thenReturn(10L);
+        when(feedbackRepository.countByActionAndHourSince(any())).thenReturn(List.of());
+        counters.record("VIEWED");
+        counters.record("VIEWED");
+        counters.record("SAVED");
+        counters.checkpoint();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Map<String, String>> saved = ArgumentCaptor.forClass(Map.class);
+        verify(hashOperations).putAll(eq("feedback:counters"), saved.capture());
+        assertThat(saved.getValue()).containsEntry("total", "13");
+
+        // When: a new instance an hour later restores from the checkpoint
+        FeedbackCounters restored = counters(NOW.plus(Duration.ofHours(1)));
+        when(hashOperations.entries("feedback:counters")).thenReturn(new HashMap<>(saved.getValue()));
+        clearInvocations(feedbackRepository);
+
+        // Then
+        assertThat(restored.count(MatchFeedback.FeedbackAction.VIEWED, Duration.ofDays(1))).isEqualTo(2L);
+        assertThat(restored.count(MatchFeedback.FeedbackAction.SAVED, Duration.ofDays(1))).isEqualTo(1L);
+        verify(feedbackRepository, never()).countByActionAndHourSince(any());
+    }
+
+    private FeedbackCounters counters(Instant now) {
+        FeedbackCounters counters = new FeedbackCounters(feedbackRepository, redisTemplate);
+        ReflectionTestUtils.setField(counters, "windowHours", 720);
+        ReflectionTestUtils.setField(counters, "clock", Clock.fixed(now, ZoneOffset.UTC));
+        return counters;
+    }
+
+    private long hour(Instant instant) {
+        return instant.getEpochSecond() / 3600;
+    }
+
+    private MatchFeedbackRepository.HourlyActionCount row(String action, long hour, long count) {
+        return new MatchFeedbackRepository.HourlyActionCount() {
+            public String getAction() { return action; }
+            public Long getHour() { return hour; }
+            public Long getCount() { return count; }
+        };
+    }
+}
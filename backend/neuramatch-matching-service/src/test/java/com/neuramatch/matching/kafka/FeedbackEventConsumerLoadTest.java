@@ -0,0 +1,186 @@
+package com.neuramatch.matching.kafka;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.neuramatch.matching.config.FeedbackKafkaConfig;
+import com.neuramatch.matching.entity.MatchFeedback;
+import com.neuramatch.matching.repository.MatchFeedbackRepository;
+import com.neuramatch.matching.learning.OnlineRankingLearner;
+import com.neuramatch.matching.service.FeedbackRollupService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.clients.producer.KafkaProducer;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.kafka.listener.BatchAcknowledgingConsumerAwareMessageListener;
+import org.springframework.kafka.listener.ConcurrentMessageListenerContainer;
+import org.springframework.kafka.test.EmbeddedKafkaKraftBroker;
+import org.springframework.kafka.test.utils.KafkaTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Load test for FeedbackEventConsumer against an embedded Kafka broker: pushes a burst of
+ * feedback events with some poison records through the batch container and checks that
+ * every event is counted once, poison goes to the DLT and all offsets are committed.
+ */
+class FeedbackEventConsumerLoadTest {
+
+    private static final String TOPIC = "feedback-events";
+    private static final String DLT = TOPIC + ".DLT";
+    private static final int PARTITIONS = 3;
+    private static final int EVENTS = 20_000;
+    private static final int POISON = 10;
+
+    private static EmbeddedKafkaKraftBroker broker;
+
+    @BeforeAll
+    static void startBroker() {
+        broker = new EmbeddedKafkaKraftBroker(1, PARTITIONS, TOPIC, DLT);
+        broker.afterPropertiesSet();
+    }
+
+    @AfterAll
+    static void stopBroker() {
+        broker.destroy();
+    }
+
+    @Test
+    void batchConsumer_ShouldCountEveryEventOnceAndCommitAllOffsets() throws Exception {
+        // Given
+        KafkaProperties kafkaProperties = new KafkaProperties();
+        kafkaProperties.setBootstrapServers(List.of(broker.getBrokersAsString()));
+        kafkaProperties.getConsumer().setAutoOffsetReset("earliest");
+
+        FeedbackKafkaConfig config = new FeedbackKafkaConfig();
+        ReflectionTestUtils.setField(config, "maxPollRecords", 500);
+        ReflectionTestUtils.setField(config, "concurrency", PARTITIONS);
+        ReflectionTestUtils.setField(config, "retryIntervalMs", 100L);
+
+        FeedbackCounters counters = new FeedbackCounters(mock(MatchFeedbackRepository.class), redis());
+        ReflectionTestUtils.setField(counters, "windowHours", 720);
+        FeedbackAggregationService aggregationService =
+            new FeedbackAggregationService(mock(MatchFeedbackRepository.class), new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(aggregationService, "maxPairs", 100_000);
+        ReflectionTestUtils.setField(aggregationService, "stripes", 16);
+        aggregationService.init();
+        FeedbackEventConsumer feedbackConsumer = new FeedbackEventConsumer(counters, aggregationService,
+            mock(FeedbackRollupService.class), mock(OnlineRankingLearner.class),
+            config.feedbackDeadLetterRecoverer(kafkaProperties), new ObjectMapper(), new SimpleMeterRegistry());
+
+        ConcurrentMessageListenerContainer<String, byte[]> container =
+            config.feedbackBatchListenerFactory(kafkaProperties).createContainer(TOPIC);
+        container.getContainerProperties().setGroupId("feedback-processor");
+        container.getContainerProperties().setMessageListener(
+            (BatchAcknowledgingConsumerAwareMessageListener<String, byte[]>) feedbackConsumer::processFeedbackBatch);
+
+        produce();
+
+        // When
+        long start = System.nanoTime();
+        container.start();
+        try {
+            awaitTrue(() -> counters.total() >= EVENTS, Duration.ofSeconds(60));
+            double seconds = (System.nanoTime() - start) / 1e9;
+            System.out.printf("Consumed %d feedback events in %.2f s (%.0f events/s)%n",
+                EVENTS, seconds, EVENTS / seconds);
+
+            // Then
+            assertThat(counters.total()).isEqualTo(EVENTS);
+            assertThat(counters.count(MatchFeedback.FeedbackAction.VIEWED, Duration.ofDays(1))).isEqualTo(EVENTS / 2);
+            assertThat(aggregationService.getAggregate(1L, 1L).getTotalFeedback()).isEqualTo(EVENTS / 100);
+            awaitTrue(() -> committedOffsets() == EVENTS + POISON, Duration.ofSeconds(30));
+            assertThat(deadLetters()).isEqualTo(POISON);
+        } finally {
+            container.stop();
+        }
+    }
+
+    private void produce() {
+        Map<String, Object> props = KafkaTestUtils.producerProps(broker);
+        props.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        props.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class);
+        props.put(ProducerConfig.LINGER_MS_CONFIG, 5);
+
+        try (KafkaProducer<String, byte[]> producer = new KafkaProducer<>(props)) {
+            for (int i = 0; i < EVENTS; i++) {
+                String action = i % 2 == 0 ? "VIEWED" : "SHORTLISTED";
+                String event = "{\"feedbackId\":" + i + ",\"jobId\":" + (i % 100) + ",\"resumeId\":" + (i % 100)
+                    + ",\"action\":\"" + action + "\",\"weight\":0.3}";
+                producer.send(new ProducerRecord<>(TOPIC, String.valueOf(i), event.getBytes(StandardCharsets.UTF_8)));
+                if (i % (EVENTS / POISON) == 0) {
+                    producer.send(new ProducerRecord<>(TOPIC, "poison", "{\"jobId\":".getBytes(StandardCharsets.UTF_8)));
+                }
+            }
+            producer.flush();
+        }
+    }
+
+    private long committedOffsets() {
+        return broker.doWithAdminFunction(admin -> {
+            try {
+                Map<TopicPartition, OffsetAndMetadata> committed =
+                    admin.listConsumerGroupOffsets("feedback-processor").partitionsToOffsetAndMetadata().get();
+                return committed.values().stream().mapToLong(OffsetAndMetadata::offset).sum();
+            } catch (Exception e) {
+                return -1L;
+            }
+        });
+    }
+
+    private int deadLetters() {
+        Map<String, Object> props = KafkaTestUtils.consumerProps("dlt-reader", "false", broker);
+        props.put("auto.offset.reset", "earliest");
+        try (KafkaConsumer<String, byte[]> consumer =
+                 new KafkaConsumer<>(props, new StringDeserializer(), new ByteArrayDeserializer())) {
+            consumer.subscribe(List.of(DLT));
+            int count = 0;
+            long deadline = System.currentTimeMillis() + 10_000;
+            while (count < POISON && System.currentTimeMillis() < deadline) {
+                ConsumerRecords<String, byte[]> records = consumer.poll(Duration.ofMillis(200));
+                count += records.count();
+            }
+            return count;
+        }
+    }
+
+    private RedisTemplate<String, String> redis() {
+        @SuppressWarnings("unchecked")
+        RedisTemplate<String, String> redisTemplate = mock(RedisTemplate.class);
+        @SuppressWarnings("unchecked")
+        HashOperations<String, Object, Object> hashOperations = mock(HashOperations.class);
+        when(redisTemplate.<Object, Object>opsForHash()).thenReturn(hashOperations);
+        return redisTemplate;
+    }
+
+    private static void awaitTrue(BooleanSupplier condition, Duration timeout)
+            throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                fail("Condition not met within " + timeout);
+            }
+            Thread.sleep(50);
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.neuramatch.matching.kafka;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.neuramatch.matching.learning.OnlineRankingLearner;
+import com.neuramatch.matching.service.FeedbackRollupService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
+import org.springframework.kafka.support.Acknowledgment;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for FeedbackEventConsumer
+ */
+@ExtendWith(MockitoExtension.class)
+class FeedbackEventConsumerTest {
+
+    @Mock
+    private FeedbackCounters feedbackCounters;
+
+    @Mock
+    private FeedbackAggregationService aggregationService;
+
+    @Mock
+    private FeedbackRollupService rollupService;
+
+    @Mock
+    private OnlineRankingLearner rankingLearner;
+
+    @Mock
+    private DeadLetterPublishingRecoverer deadLetterRecoverer;
+
+    @Mock
+    private Acknowledgment ack;
+
+    private FeedbackEventConsumer consumer;
+
+    @BeforeEach
+    void setUp() {
+        consumer = new FeedbackEventConsumer(feedbackCounters, aggregationService, rollupService, rankingLearner,
+            deadLetterRecoverer, new ObjectMapper(), new SimpleMeterRegistry());
+        lenient().when(rollupService.appliedOffsets("feedback-events")).thenReturn(Map.of());
+    }
+
+    @Test
+    void processFeedbackBatch_ShouldApplyInBulkThenDeadLetterPoisonAndCommit() {
+        // Given: two valid events and two poison records
+        List<ConsumerRecord<String, byte[]>> records = List.of(
+            record(0, event(1L, "VIEWED")),
+            record(1, "{not json"),
+            record(2, event(2L, "HIRED")),
+            record(3, "{\"jobId\":3,\"resumeId\":4,\"action\":\"NOT_AN_ACTION\",\"weight\":0.1}"));
+        when(feedbackCounters.recordAll(any())).thenReturn(42L);
+
+        // When
+        consumer.processFeedbackBatch(records, ack, null);
+
+        // Then
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<FeedbackEvent>> applied = ArgumentCaptor.forClass(List.class);
+        verify(aggregationService).aggregateAll(applied.capture());
+        assertThat(applied.getValue()).extracting(FeedbackEvent::getJobId).containsExactly(1L, 2L);
+        verify(feedbackCounters).recordAll(List.of("VIEWED", "HIRED"));
+
+        InOrder order = inOrder(rollupService, deadLetterRecoverer, feedbackCounters, aggregationService,
+            rankingLearner, ack);
+        order.verify(rollupService).applyBatch(applied.getValue(), Map.of(partition0(), 4L));
+        order.verify(deadLetterRecoverer, times(2)).accept(any(), any());
+        order.verify(feedbackCounters).recordAll(any());
+        order.verify(aggregationService).aggregateAll(applied.getValue());
+        order.verify(rankingLearner).learn(applied.getValue());
+        order.verify(ack).acknowledge();
+        verify(feedbackCounters, never()).flush();
+    }
+
+    @Test
+    void processFeedbackBatch_WhenRollupFails_ShouldLeaveInMemoryStateAndDeadLettersUntouched() {
+        // Given
+        when(rollupService.applyBatch(any(), any())).thenThrow(new IllegalStateException("db down"));
+
+        // When / Then: the batch is redelivered and applied once, in full
+        assertThatThrownBy(() -> consumer.processFeedbackBatch(List.of(
+            record(0, event(1L, "VIEWED")),
+            record(1, "{not json")), ack, null))
+            .isInstanceOf(IllegalStateException.class);
+        verify(feedbackCounters, never()).recordAll(any());
+        verifyNoInteractions(aggregationService, rankingLearner, deadLetterRecoverer);
+        verify(ack, never()).acknowledge();
+    }
+
+    @Test
+    void processFeedbackBatch_ShouldSkipRecordsBelowTheStoredOffsetWithoutDeadLetteringThem() {
+        // Given: offsets below 2, including a poison record, were applied before a redelivery
+        when(rollupService.appliedOffsets("feedback-events")).thenReturn(Map.of(partition0(), 2L));
+        when(feedbackCounters.recordAll(any())).thenReturn(3L);
+
+        // When
+        consumer.processFeedbackBatch(List.of(
+            record(0, event(1L, "VIEWED")),
+            record(1, "{not json"),
+            record(2, event(1L, "SAVED"))), ack, null);
+
+        // Then
+        verify(rollupService).applyBatch(argThat(events -> events.size() == 1), eq(Map.of(partition0(), 3L)));
+        verify(feedbackCounters).recordAll(List.of("SAVED"));
+        verifyNoInteractions(deadLetterRecoverer);
+        verify(ack).acknowledge();
+    }
+
+    @Test
+    void processFeedbackBatch_WhenDeadLetterPublishFails_ShouldStillCommit() {
+        // Given: the record's offset is already stored, so failing the batch would only skip it
+        doThrow(new IllegalStateException("broker down")).when(deadLetterRecoverer).accept(any(), any());
+
+        // When
+        consumer.processFeedbackBatch(List.of(record(0, "{not json")), ack, null);
+
+        // Then
+        verify(rollupService).applyBatch(List.of(), Map.of(partition0(), 1L));
+        verify(ack).acknowledge();
+    }
+
+    private TopicPartition partition0() {
+        return new TopicPartition("feedback-events", 0);
+    }
+
+    private ConsumerRecord<String, byte[]> record(long offset, String value) {
+        return new ConsumerRecord<>("feedback-events", 0, offset, null, value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String event(Long jobId, String action) {
+        return "{\"feedbackId\":1,\"jobId\":" + jobId + ",\"resumeId\":10,\"action\":\"" + action
+            + "\",\"weight\":0.5,\"timestamp\":\"2026-03-01T12:00:00\"}";
+    }
+}
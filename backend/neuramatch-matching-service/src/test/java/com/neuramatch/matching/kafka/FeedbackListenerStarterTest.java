@@ -0,0 +1,47 @@
+package com.neuramatch.matching.kafka;
+
+import com.neuramatch.matching.service.FeedbackRollupService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.listener.MessageListenerContainer;
+
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for FeedbackListenerStarter
+ */
+@ExtendWith(MockitoExtension.class)
+class FeedbackListenerStarterTest {
+
+    @Mock
+    private FeedbackRollupService rollupService;
+
+    @Mock
+    private KafkaListenerEndpointRegistry listenerRegistry;
+
+    @Mock
+    private MessageListenerContainer container;
+
+    @InjectMocks
+    private FeedbackListenerStarter starter;
+
+    @Test
+    void start_ShouldDecideTheBackfillBeforeStartingTheListener() {
+        // Given
+        when(rollupService.prepareBackfill()).thenReturn(true);
+        when(listenerRegistry.getListenerContainer(FeedbackEventConsumer.LISTENER_ID)).thenReturn(container);
+
+        // When
+        starter.start();
+
+        // Then
+        InOrder order = inOrder(rollupService, container);
+        order.verify(rollupService).prepareBackfill();
+        order.verify(container).start();
+    }
+}
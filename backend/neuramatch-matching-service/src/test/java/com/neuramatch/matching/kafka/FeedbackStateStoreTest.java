@@ -0,0 +1,136 @@
+package com.neuramatch.matching.kafka;
+
+import com.neuramatch.matching.entity.MatchFeedback;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for FeedbackStateStore
+ */
+class FeedbackStateStoreTest {
+
+    private static final int VIEWED = MatchFeedback.FeedbackAction.VIEWED.ordinal();
+    private static final int HIRED = MatchFeedback.FeedbackAction.HIRED.ordinal();
+
+    @Test
+    void pack_ShouldRoundTripAndRejectIdsOutOfRange() {
+        long key = FeedbackStateStore.pack(123L, 456L);
+
+        assertThat(FeedbackStateStore.jobIdOf(key)).isEqualTo(123L);
+        assertThat(FeedbackStateStore.resumeIdOf(key)).isEqualTo(456L);
+        assertThat(FeedbackStateStore.pack(1L << 31, 1L)).isEqualTo(FeedbackStateStore.EMPTY);
+        assertThat(FeedbackStateStore.pack(null, 1L)).isEqualTo(FeedbackStateStore.EMPTY);
+    }
+
+    @Test
+    void add_FromManyThreads_ShouldNotLoseIncrements() throws Exception {
+        // Given
+        FeedbackStateStore store = new FeedbackStateStore(8, 10_000);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+
+        // When: 8 threads x 10k updates over 100 pairs, half through the batch path
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            boolean batched = t % 2 == 0;
+            futures.add(pool.submit(() -> {
+                long[] keys = new long[100];
+                int[] actions = new int[100];
+                double[] weights = new double[100];
+                for (int round = 0; round < 100; round++) {
+                    for (int i = 0; i < 100; i++) {
+                        if (batched) {
+                            keys[i] = FeedbackStateStore.pack((long) i, 1L);
+                            actions[i] = VIEWED;
+                            weights[i] = 0.5;
+                        } else {
+                            store.add(FeedbackStateStore.pack((long) i, 1L), VIEWED, 0.5, 1);
+                        }
+                    }
+                    if (batched) {
+                        store.addAll(keys, actions, weights, 100, 1);
+                    }
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        pool.shutdown();
+
+        // Then
+        assertThat(store.size()).isEqualTo(100);
+        FeedbackStateStore.Entry entry = store.get(FeedbackStateStore.pack(7L, 1L));
+        assertThat(entry.getActionCounts()[VIEWED]).isEqualTo(800);
+        assertThat(entry.getTotalWeight()).isEqualTo(400.0);
+    }
+
+    @Test
+    void add_BeyondCapacity_ShouldEvictAndStayBounded() {
+        // Given: room for 64 pairs in one stripe
+        FeedbackStateStore store = new FeedbackStateStore(1, 64);
+
+        // When
+        for (long job = 0; job < 1000; job++) {
+            store.add(FeedbackStateStore.pack(job, 1L), VIEWED, 0.1, (int) job);
+        }
+
+        // Then: bounded, and the newest pair survived
+        assertThat(store.size()).isEqualTo(64);
+        assertThat(store.get(FeedbackStateStore.pack(999L, 1L))).isNotNull();
+        assertThat(store.memoryBytes() / store.size()).isLessThan(100);
+    }
+
+    @Test
+    void evictIdleSince_ShouldRemoveOnlyStalePairs() {
+        FeedbackStateStore store = new FeedbackStateStore(4, 1000);
+        for (long job = 0; job < 200; job++) {
+            store.add(FeedbackStateStore.pack(job, 1L), VIEWED, 0.1, job < 150 ? 10 : 100);
+        }
+
+        int removed = store.evictIdleSince(50);
+
+        assertThat(removed).isEqualTo(150);
+        assertThat(store.size()).isEqualTo(50);
+        assertThat(store.get(FeedbackStateStore.pack(3L, 1L))).isNull();
+        assertThat(store.get(FeedbackStateStore.pack(160L, 1L))).isNotNull();
+    }
+
+    @Test
+    void writeTo_ShouldRestoreCountsWeightsAndUnknownActions() throws Exception {
+        // Given
+        FeedbackStateStore store = new FeedbackStateStore(4, 1000);
+        long key = FeedbackStateStore.pack(5L, 9L);
+        store.add(key, VIEWED, 0.1, 42);
+        store.add(key, HIRED, 1.0, 43);
+        store.add(key, FeedbackStateStore.actionSlot("SOMETHING_NEW"), 0.2, 44);
+        store.add(FeedbackStateStore.pack(6L, 9L), VIEWED, 0.1, 44);
+
+        // When
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            store.writeTo(out);
+        }
+        FeedbackStateStore restored = new FeedbackStateStore(2, 1000);
+        restored.readFrom(ByteBuffer.wrap(bytes.toByteArray()));
+
+        // Then
+        FeedbackStateStore.Entry entry = restored.get(key);
+        assertThat(restored.size()).isEqualTo(2);
+        assertThat(entry.getActionCounts()[VIEWED]).isEqualTo(1);
+        assertThat(entry.getActionCounts()[HIRED]).isEqualTo(1);
+        assertThat(entry.getActionCounts()[FeedbackStateStore.OTHER_ACTION]).isEqualTo(1);
+        assertThat(entry.totalFeedback()).isEqualTo(3);
+        assertThat(entry.getTotalWeight()).isCloseTo(1.3, within(1e-6));
+        assertThat(entry.getLastMinute()).isEqualTo(44);
+    }
+}
@@ -0,0 +1,135 @@
+package com.neuramatch.matching.learning;
+
+import com.neuramatch.matching.entity.MatchFeedback;
+import com.neuramatch.matching.kafka.FeedbackEvent;
+import com.neuramatch.matching.ranking.FeatureBasedRankingService;
+import com.neuramatch.matching.ranking.RankingExecutor;
+import com.neuramatch.matching.ranking.ScoreBuffer;
+import com.neuramatch.matching.search.ResumeJobMatchingService;
+import com.neuramatch.matching.vector.JobVector;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark of the feature stage with the hand-tuned versus a learned candidate model,
+ * and of one feedback mini-batch update, over a replayed synthetic feedback stream.
+ *
+ * Run with (add {@code -prof gc} to check the per-row scoring allocates nothing):
+ * <pre>
+ *   mvn -pl neuramatch-matching-service test-compile dependency:build-classpath -Dmdep.outputFile=cp.txt
+ *   java -cp target/test-classes:target/classes:$(cat cp.txt) org.openjdk.jmh.Main OnlineRankingLearnerBenchmark
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class OnlineRankingLearnerBenchmark {
+
+    private static final int BATCH_SIZE = 500;
+
+    @Param({"500", "5000"})
+    private int candidates;
+
+    private FeatureBasedRankingService priorRanking;
+    private FeatureBasedRankingService learnedRanking;
+    private OnlineRankingLearner learner;
+    private List<ResumeJobMatchingService.CandidateMatch> recall;
+    private List<FeedbackEvent> batch;
+    private JobVector job;
+
+    @Setup
+    public void setUp() {
+        RankingExecutor executor = new RankingExecutor(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(executor, "parallelThreshold", Integer.MAX_VALUE);
+        ReflectionTestUtils.setField(executor, "chunkSize", 256);
+        ReflectionTestUtils.invokeMethod(executor, "init");
+
+        learner = new OnlineRankingLearner(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(learner, "enabled", true);
+        ReflectionTestUtils.setField(learner, "learningRate", 0.05);
+        ReflectionTestUtils.setField(learner, "l2", 0.001);
+        ReflectionTestUtils.setField(learner, "priorScale", 4.0);
+        ReflectionTestUtils.setField(learner, "maxServedPairs", 100_000);
+        ReflectionTestUtils.invokeMethod(learner, "init");
+
+        // Disabled learner: always serves the hand-tuned prior
+        priorRanking = new FeatureBasedRankingService(executor, new OnlineRankingLearner(new SimpleMeterRegistry()));
+        learnedRanking = new FeatureBasedRankingService(executor, learner);
+
+        job = new JobVector();
+        job.setJobId(1L);
+        job.setLocation("Berlin");
+        job.setMinYearsExperience(4);
+        job.setMaxYearsExperience(10);
+
+        Random random = new Random(1);
+        String[] locations = {"Berlin", "Munich", "Hamburg", "Remote", "Paris"};
+        recall = new ArrayList<>(candidates);
+        for (long id = 0; id < candidates; id++) {
+            recall.add(ResumeJobMatchingService.CandidateMatch.builder()
+                .resumeId(id)
+                .location(locations[random.nextInt(locations.length)])
+                .yearsOfExperience(random.nextInt(20))
+                .qualityScore(random.nextInt(100))
+                .semanticSimilarity(random.nextDouble())
+                .build());
+        }
+
+        // Replay: rank every candidate once, then feed back hires for local candidates
+        // and rejections for the rest until the model has moved off the prior
+        learnedRanking.rerankCandidates(buffer(), job, candidates);
+        List<FeedbackEvent> events = new ArrayList<>(candidates);
+        for (ResumeJobMatchingService.CandidateMatch candidate : recall) {
+            MatchFeedback.FeedbackAction action = "Berlin".equals(candidate.getLocation())
+                ? MatchFeedback.FeedbackAction.HIRED : MatchFeedback.FeedbackAction.REJECTED;
+            events.add(FeedbackEvent.builder()
+                .jobId(job.getJobId())
+                .resumeId(candidate.getResumeId())
+                .action(action.name())
+                .weight(action.getWeight())
+                .build());
+        }
+        for (int from = 0; from < events.size(); from += BATCH_SIZE) {
+            learner.learn(events.subList(from, Math.min(from + BATCH_SIZE, events.size())));
+        }
+        batch = events.subList(0, Math.min(BATCH_SIZE, events.size()));
+    }
+
+    @Benchmark
+    public void featureStagePrior(Blackhole blackhole) {
+        ScoreBuffer<ResumeJobMatchingService.CandidateMatch> buffer = buffer();
+        priorRanking.rerankCandidates(buffer, job, 50);
+        blackhole.consume(buffer.activeRows());
+    }
+
+    @Benchmark
+    public void featureStageLearned(Blackhole blackhole) {
+        ScoreBuffer<ResumeJobMatchingService.CandidateMatch> buffer = buffer();
+        learnedRanking.rerankCandidates(buffer, job, 50);
+        blackhole.consume(buffer.activeRows());
+    }
+
+    @Benchmark
+    public int learnBatch() {
+        return learner.learn(batch);
+    }
+
+    private ScoreBuffer<ResumeJobMatchingService.CandidateMatch> buffer() {
+        ScoreBuffer<ResumeJobMatchingService.CandidateMatch> buffer = new ScoreBuffer<>(recall);
+        double[] hybrid = buffer.column("hybrid");
+        for (int row = 0; row < recall.size(); row++) {
+            hybrid[row] = recall.get(row).getSemanticSimilarity();
+        }
+        return buffer;
+    }
+}
@@ -0,0 +1,141 @@
+package com.neuramatch.matching.learning;
+
+import com.neuramatch.matching.entity.MatchFeedback;
+import com.neuramatch.matching.kafka.FeedbackEvent;
+import com.neuramatch.matching.ranking.FeatureBasedRankingService;
+import com.neuramatch.matching.ranking.RankingModel;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for OnlineRankingLearner
+ */
+class OnlineRankingLearnerTest {
+
+    private static final int LOCATION = 4;
+
+    private OnlineRankingLearner learner;
+
+    @BeforeEach
+    void setUp() {
+        learner = newLearner();
+    }
+
+    @Test
+    void candidateModel_BeforeAnyFeedback_ShouldBeTheHandTunedPrior() {
+        assertThat(learner.candidateModel()).isSameAs(FeatureBasedRankingService.CANDIDATE_PRIOR);
+        assertThat(learner.learn(List.of(feedback(1L, 1L, MatchFeedback.FeedbackAction.HIRED)))).isZero();
+        assertThat(learner.candidateModel().version()).isZero();
+    }
+
+    @Test
+    void learn_ShouldShiftWeightTowardsTheFeatureThatPredictsFeedback() {
+        // Given: 400 served candidates; same-location ones get hired, the others rejected
+        Random random = new Random(3);
+        List<FeedbackEvent> events = new ArrayList<>();
+        for (long resumeId = 0; resumeId < 400; resumeId++) {
+            boolean local = resumeId % 2 == 0;
+            double[][] columns = new double[5][1];
+            for (int f = 0; f < LOCATION; f++) {
+                columns[f][0] = random.nextDouble();
+            }
+            columns[LOCATION][0] = local ? 1.0 : 0.5;
+            learner.recordServed(7L, resumeId, columns, 0);
+            events.add(feedback(7L, resumeId, local
+                ? MatchFeedback.FeedbackAction.HIRED : MatchFeedback.FeedbackAction.REJECTED));
+        }
+        events.add(feedback(8L, 1L, MatchFeedback.FeedbackAction.HIRED)); // never served
+
+        // When: replayed as mini-batches of 100
+        int trained = 0;
+        for (int epoch = 0; epoch < 5; epoch++) {
+            for (int from = 0; from < events.size(); from += 100) {
+                trained += learner.learn(events.subList(from, Math.min(from + 100, events.size())));
+            }
+        }
+
+        // Then
+        RankingModel model = learner.candidateModel();
+        assertThat(trained).isEqualTo(2000);
+        assertThat(model.version()).isEqualTo(20); // the trailing batch of one unmatched event publishes nothing
+        assertThat(model.samples()).isEqualTo(2000);
+        assertThat(model.weight(LOCATION))
+            .isGreaterThan(2 * FeatureBasedRankingService.CANDIDATE_PRIOR.weight(LOCATION));
+        double norm = 0;
+        for (int i = 0; i < model.featureCount(); i++) {
+            norm += Math.abs(model.weight(i));
+        }
+        assertThat(norm).isCloseTo(1.0, within(1e-9));
+    }
+
+    @Test
+    void learn_WithIdsBeyondTheIntRange_ShouldTrainOnTheServedPair() {
+        // Given
+        long jobId = Integer.MAX_VALUE + 5L;
+        long resumeId = 1L << 40;
+        learner.recordServed(jobId, resumeId, new double[][] {{0.9}, {0.8}, {0.7}, {1.0}, {1.0}}, 0);
+
+        // When
+        int trained = learner.learn(List.of(
+            feedback(jobId, resumeId, MatchFeedback.FeedbackAction.HIRED),
+            feedback(jobId, resumeId + 1, MatchFeedback.FeedbackAction.HIRED)));
+
+        // Then
+        assertThat(trained).isEqualTo(1);
+        assertThat(learner.candidateModel().version()).isEqualTo(1);
+    }
+
+    @Test
+    void writeSnapshot_ShouldRestoreTheLearnedModelAndRebuildShouldResetIt() throws Exception {
+        // Given
+        double[][] columns = {{0.9}, {0.8}, {0.7}, {1.0}, {1.0}};
+        learner.recordServed(1L, 2L, columns, 0);
+        learner.learn(List.of(feedback(1L, 2L, MatchFeedback.FeedbackAction.HIRED)));
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            learner.writeSnapshot(out);
+        }
+
+        // When
+        OnlineRankingLearner restored = newLearner();
+        restored.restoreSnapshot(ByteBuffer.wrap(bytes.toByteArray()));
+
+        // Then
+        assertThat(restored.candidateModel().weights()).isEqualTo(learner.candidateModel().weights());
+        assertThat(restored.candidateModel().version()).isEqualTo(1);
+
+        restored.rebuild();
+        assertThat(restored.candidateModel()).isSameAs(FeatureBasedRankingService.CANDIDATE_PRIOR);
+    }
+
+    private static OnlineRankingLearner newLearner() {
+        OnlineRankingLearner learner = new OnlineRankingLearner(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(learner, "enabled", true);
+        ReflectionTestUtils.setField(learner, "learningRate", 0.05);
+        ReflectionTestUtils.setField(learner, "l2", 0.001);
+        ReflectionTestUtils.setField(learner, "priorScale", 4.0);
+        ReflectionTestUtils.setField(learner, "maxServedPairs", 1000);
+        ReflectionTestUtils.invokeMethod(learner, "init");
+        return learner;
+    }
+
+    private static FeedbackEvent feedback(Long jobId, Long resumeId, MatchFeedback.FeedbackAction action) {
+        return FeedbackEvent.builder()
+            .jobId(jobId)
+            .resumeId(resumeId)
+            .action(action.name())
+            .weight(action.getWeight())
+            .build();
+    }
+}
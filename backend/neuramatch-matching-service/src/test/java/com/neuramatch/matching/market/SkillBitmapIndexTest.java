@@ -0,0 +1,86 @@
+package com.neuramatch.matching.market;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for SkillBitmapIndex
+ */
+class SkillBitmapIndexTest {
+
+    private static final int JAVA = 1;
+    private static final int KAFKA = 2;
+
+    @Test
+    void count_ShouldIntersectSkillWithEveryGivenFacet() {
+        // Given: 1000 Java documents, every other one in Berlin, every third one remote
+        SkillBitmapIndex index = new SkillBitmapIndex();
+        for (int id = 0; id < 1000; id++) {
+            index.put(id, id < 100 ? new int[]{JAVA, KAFKA} : new int[]{JAVA},
+                id % 2 == 0 ? "berlin" : "london", "MID", id % 3 == 0 ? "REMOTE" : "ONSITE");
+        }
+
+        // Then
+        assertThat(index.count(JAVA, filters(null, null, null))).isEqualTo(1000);
+        assertThat(index.count(JAVA, filters("berlin", null, null))).isEqualTo(500);
+        assertThat(index.count(JAVA, filters("berlin", "MID", "REMOTE"))).isEqualTo(167);
+        assertThat(index.count(KAFKA, filters("london", null, null))).isEqualTo(50);
+        assertThat(index.count(null, filters(null, null, "REMOTE"))).isEqualTo(334);
+        assertThat(index.count(JAVA, filters("paris", null, null))).isZero();
+        assertThat(index.count(99, filters(null, null, null))).isZero();
+    }
+
+    @Test
+    void put_WhenDocumentChanges_ShouldClearItsOldBits() {
+        SkillBitmapIndex index = new SkillBitmapIndex();
+        index.put(7, new int[]{JAVA}, "berlin", "ENTRY", "ONSITE");
+
+        index.put(7, new int[]{KAFKA}, "london", "MID", null);
+
+        assertThat(index.count(JAVA, filters(null, null, null))).isZero();
+        assertThat(index.count(KAFKA, filters("london", "MID", null))).isEqualTo(1);
+        assertThat(index.count(null, filters("berlin", null, null))).isZero();
+        assertThat(index.size()).isEqualTo(1);
+
+        index.remove(7);
+
+        assertThat(index.count(KAFKA, filters(null, null, null))).isZero();
+        assertThat(index.size()).isZero();
+    }
+
+    @Test
+    void writeTo_ShouldRestoreDocumentsAndBitmaps() throws Exception {
+        // Given
+        SkillBitmapIndex index = new SkillBitmapIndex();
+        index.put(1, new int[]{JAVA, KAFKA}, "berlin", "SENIOR", "HYBRID");
+        index.put(2, new int[]{JAVA}, null, null, null);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            index.writeTo(out);
+        }
+
+        // When
+        SkillBitmapIndex restored = new SkillBitmapIndex();
+        restored.readFrom(ByteBuffer.wrap(bytes.toByteArray()));
+
+        // Then
+        assertThat(restored.documentIds()).containsExactlyInAnyOrder(1, 2);
+        assertThat(restored.count(JAVA, filters(null, null, null))).isEqualTo(2);
+        assertThat(restored.count(KAFKA, filters("berlin", "SENIOR", "HYBRID"))).isEqualTo(1);
+    }
+
+    private Map<String, String> filters(String location, String experience, String remote) {
+        Map<String, String> filters = new HashMap<>();
+        filters.put(SkillBitmapIndex.LOCATION, location);
+        filters.put(SkillBitmapIndex.EXPERIENCE, experience);
+        filters.put(SkillBitmapIndex.REMOTE, remote);
+        return filters;
+    }
+}
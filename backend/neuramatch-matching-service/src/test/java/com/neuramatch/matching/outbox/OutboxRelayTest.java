@@ -0,0 +1,102 @@
+package com.neuramatch.matching.outbox;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for OutboxRelay
+ */
+@ExtendWith(MockitoExtension.class)
+class OutboxRelayTest {
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private KafkaTemplate<String, String> kafkaTemplate;
+
+    private OutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        relay = new OutboxRelay(outboxEventRepository, transactionTemplate, new KafkaProperties(), new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(relay, "kafkaTemplate", kafkaTemplate);
+        ReflectionTestUtils.setField(relay, "enabled", true);
+        ReflectionTestUtils.setField(relay, "batchSize", 3);
+        ReflectionTestUtils.setField(relay, "maxBatchesPerRun", 10);
+        ReflectionTestUtils.setField(relay, "sendTimeoutMs", 1000L);
+        lenient().when(transactionTemplate.execute(any()))
+            .thenAnswer(invocation -> invocation.<TransactionCallback<Integer>>getArgument(0).doInTransaction(null));
+    }
+
+    @Test
+    void relay_ShouldDrainFullBatchesAndDeleteAcknowledgedRecords() {
+        // Given: one full batch, then a partial one
+        when(outboxEventRepository.lockNextBatch(3)).thenReturn(events(1, 3)).thenReturn(events(4, 5));
+        when(kafkaTemplate.send(anyString(), anyString(), anyString())).thenReturn(acked());
+
+        // When
+        relay.relay();
+
+        // Then
+        verify(outboxEventRepository).deleteAllByIdInBatch(List.of(1L, 2L, 3L));
+        verify(outboxEventRepository).deleteAllByIdInBatch(List.of(4L, 5L));
+        verify(outboxEventRepository, times(2)).lockNextBatch(3);
+        verify(kafkaTemplate, times(5)).send(eq("feedback-events"), anyString(), anyString());
+    }
+
+    @Test
+    void publishBatch_WhenSendFails_ShouldKeepUnacknowledgedRecords() {
+        // Given
+        when(outboxEventRepository.lockNextBatch(3)).thenReturn(events(1, 3));
+        when(kafkaTemplate.send(anyString(), anyString(), anyString()))
+            .thenReturn(acked())
+            .thenReturn(CompletableFuture.failedFuture(new RuntimeException("broker down")))
+            .thenReturn(acked());
+
+        // When
+        int published = relay.publishBatch();
+
+        // Then: record 2 stays for the next run
+        assertThat(published).isEqualTo(-1);
+        verify(outboxEventRepository).deleteAllByIdInBatch(List.of(1L, 3L));
+    }
+
+    private List<OutboxEvent> events(long from, long to) {
+        return LongStream.rangeClosed(from, to)
+            .mapToObj(id -> OutboxEvent.builder()
+                .id(id)
+                .topic("feedback-events")
+                .eventKey(String.valueOf(id))
+                .payload("{\"feedbackId\":" + id + "}")
+                .createdAt(LocalDateTime.now())
+                .build())
+            .toList();
+    }
+
+    private CompletableFuture<SendResult<String, String>> acked() {
+        return CompletableFuture.completedFuture(null);
+    }
+}
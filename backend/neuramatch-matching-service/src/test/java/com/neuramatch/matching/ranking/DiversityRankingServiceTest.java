@@ -0,0 +1,236 @@
+package com.neuramatch.matching.ranking;
+
+import com.neuramatch.matching.search.ResumeJobMatchingService;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for DiversityRankingService
+ */
+class DiversityRankingServiceTest {
+
+    private static final String[] LOCATIONS = {"Berlin", "berlin", "London", "Paris", null};
+    private static final String[] COMPANIES = {"Acme", "ACME", "Globex", "Initech", "Umbrella", null};
+    private static final String[] REMOTE_TYPES = {"REMOTE", "HYBRID", "ONSITE", null};
+
+    private final DiversityRankingService diversityService = new DiversityRankingService();
+
+    private final MultiStageRankingService.DiversityConfig config = MultiStageRankingService.DiversityConfig.builder()
+        .diversityWeight(0.3)
+        .companyDiversityWeight(0.5)
+        .locationDiversityWeight(0.3)
+        .build();
+
+    @Test
+    void diversifyResults_ShouldMatchNaiveMmrSelection() {
+        // Given
+        List<MultiStageRankingService.RankedMatch<ResumeJobMatchingService.CandidateMatch>> candidates = candidates(300, 11);
+        List<MultiStageRankingService.RankedMatch<ResumeJobMatchingService.CandidateMatch>> reference = candidates(300, 11);
+
+        // When
+        List<MultiStageRankingService.RankedMatch<ResumeJobMatchingService.CandidateMatch>> results =
+            diversityService.diversifyResults(candidates, config, 25);
+
+        // Then
+        List<MultiStageRankingService.RankedMatch<ResumeJobMatchingService.CandidateMatch>> expected =
+            naiveMmr(reference, 25, (c, selected) -> candidateDiversity(c.getMatch(), selected));
+        assertThat(results).extracting(r -> r.getMatch().getResumeId())
+            .containsExactlyElementsOf(expected.stream().map(r -> r.getMatch().getResumeId()).toList());
+        assertThat(results).extracting(MultiStageRankingService.RankedMatch::getFinalScore)
+            .containsExactlyElementsOf(expected.stream().map(MultiStageRankingService.RankedMatch::getFinalScore).toList());
+        assertThat(results.get(24).getRank()).isEqualTo(25);
+    }
+
+    @Test
+    void diversifyJobResults_ShouldMatchNaiveMmrSelection() {
+        // Given
+        List<MultiStageRankingService.RankedMatch<ResumeJobMatchingService.JobMatch>> jobs = jobs(300, 5);
+        List<MultiStageRankingService.RankedMatch<ResumeJobMatchingService.JobMatch>> reference = jobs(300, 5);
+
+        // When
+        List<MultiStageRankingService.RankedMatch<ResumeJobMatchingService.JobMatch>> results =
+            diversityService.diversifyJobResults(jobs, config, 25);
+
+        // Then
+        List<MultiStageRankingService.RankedMatch<ResumeJobMatchingService.JobMatch>> expected =
+            naiveMmr(reference, 25, (j, selected) -> jobDiversity(j.getMatch(), selected));
+        assertThat(results).extracting(r -> r.getMatch().getJobId())
+            .containsExactlyElementsOf(expected.stream().map(r -> r.getMatch().getJobId()).toList());
+        assertThat(results).extracting(MultiStageRankingService.RankedMatch::getDiversityScore)
+            .containsExactlyElementsOf(expected.stream().map(MultiStageRankingService.RankedMatch::getDiversityScore).toList());
+    }
+
+    @Test
+    void diversifyJobResults_ShouldSpreadCompanies() {
+        // Given: equally relevant jobs, half of them from one company
+        List<MultiStageRankingService.RankedMatch<ResumeJobMatchingService.JobMatch>> jobs = new ArrayList<>();
+        for (long id = 0; id < 20; id++) {
+            jobs.add(MultiStageRankingService.RankedMatch.<ResumeJobMatchingService.JobMatch>builder()
+                .match(ResumeJobMatchingService.JobMatch.builder()
+                    .jobId(id)
+                    .companyName(id < 10 ? "Acme" : "Company " + id)
+                    .build())
+                .finalScore(0.8)
+                .build());
+        }
+
+        // When
+        List<MultiStageRankingService.RankedMatch<ResumeJobMatchingService.JobMatch>> results =
+            diversityService.diversifyJobResults(jobs, config, 5);
+
+        // Then
+        assertThat(results).extracting(r -> r.getMatch().getCompanyName())
+            .filteredOn("Acme"::equals)
+            .hasSize(1);
+    }
+
+    @Test
+    void diversifyResults_ShouldHandleLargePool() {
+        // Given
+        List<MultiStageRankingService.RankedMatch<ResumeJobMatchingService.CandidateMatch>> candidates = candidates(1000, 3);
+
+        // When
+        long start = System.nanoTime();
+        List<MultiStageRankingService.RankedMatch<ResumeJobMatchingService.CandidateMatch>> results =
+            diversityService.diversifyResults(candidates, config, 50);
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        // Then
+        assertThat(results).hasSize(50);
+        assertThat(results).extracting(r -> r.getMatch().getResumeId()).doesNotHaveDuplicates();
+        assertThat(elapsedMs).isLessThan(1000);
+    }
+
+    @Test
+    void diversifyResults_WhenPoolFitsLimit_ShouldReturnInput() {
+        List<MultiStageRankingService.RankedMatch<ResumeJobMatchingService.CandidateMatch>> candidates = candidates(5, 1);
+
+        assertThat(diversityService.diversifyResults(candidates, config, 10)).isSameAs(candidates);
+    }
+
+    // ========== Helpers ==========
+
+    private interface Diversity<T> {
+        double score(MultiStageRankingService.RankedMatch<T> item, List<MultiStageRankingService.RankedMatch<T>> selected);
+    }
+
+    /**
+     * Straightforward O(n*k^2) MMR used as the reference
+     */
+    private <T> List<MultiStageRankingService.RankedMatch<T>> naiveMmr(
+            List<MultiStageRankingService.RankedMatch<T>> items, int limit, Diversity<T> diversity) {
+
+        List<MultiStageRankingService.RankedMatch<T>> remaining = new ArrayList<>(items);
+        List<MultiStageRankingService.RankedMatch<T>> selected = new ArrayList<>();
+        selected.add(remaining.remove(0));
+
+        while (selected.size() < limit && !remaining.isEmpty()) {
+            MultiStageRankingService.RankedMatch<T> best = null;
+            double bestScore = Double.NEGATIVE_INFINITY;
+            for (MultiStageRankingService.RankedMatch<T> item : remaining) {
+                double mmr = (1 - config.getDiversityWeight()) * item.getFinalScore() +
+                             config.getDiversityWeight() * diversity.score(item, selected);
+                if (mmr > bestScore) {
+                    bestScore = mmr;
+                    best = item;
+                }
+            }
+            best.setDiversityScore(bestScore);
+            best.setFinalScore(bestScore);
+            selected.add(best);
+            remaining.remove(best);
+        }
+        return selected;
+    }
+
+    private double candidateDiversity(
+            ResumeJobMatchingService.CandidateMatch candidate,
+            List<MultiStageRankingService.RankedMatch<ResumeJobMatchingService.CandidateMatch>> selected) {
+
+        double location = candidate.getLocation() == null ? 0.5 :
+            1.0 - (double) selected.stream()
+                .filter(r -> candidate.getLocation().equalsIgnoreCase(r.getMatch().getLocation()))
+                .count() / selected.size();
+
+        double experience = 0.5;
+        if (candidate.getYearsOfExperience() != null) {
+            double average = selected.stream()
+                .map(r -> r.getMatch().getYearsOfExperience())
+                .filter(Objects::nonNull)
+                .mapToInt(Integer::intValue)
+                .average()
+                .orElse(candidate.getYearsOfExperience());
+            experience = Math.min(1.0, Math.abs(candidate.getYearsOfExperience() - average) / 10.0);
+        }
+
+        return location * config.getLocationDiversityWeight() + experience * (1 - config.getLocationDiversityWeight());
+    }
+
+    private double jobDiversity(
+            ResumeJobMatchingService.JobMatch job,
+            List<MultiStageRankingService.RankedMatch<ResumeJobMatchingService.JobMatch>> selected) {
+
+        double company = 0.5;
+        if (job.getCompanyName() != null) {
+            long same = selected.stream()
+                .filter(r -> job.getCompanyName().equalsIgnoreCase(r.getMatch().getCompanyName()))
+                .count();
+            company = same >= 2 ? 0.2 : same == 1 ? 0.6 : 1.0;
+        }
+        double location = job.getLocation() == null ? 0.5 :
+            1.0 - (double) selected.stream()
+                .filter(r -> job.getLocation().equalsIgnoreCase(r.getMatch().getLocation()))
+                .count() / selected.size();
+        double remote = job.getRemoteType() == null ? 0.5 :
+            1.0 - (double) selected.stream()
+                .filter(r -> job.getRemoteType().equalsIgnoreCase(r.getMatch().getRemoteType()))
+                .count() / selected.size();
+
+        return company * config.getCompanyDiversityWeight() +
+               location * config.getLocationDiversityWeight() +
+               remote * (1 - config.getCompanyDiversityWeight() - config.getLocationDiversityWeight());
+    }
+
+    private List<MultiStageRankingService.RankedMatch<ResumeJobMatchingService.CandidateMatch>> candidates(int count, long seed) {
+        Random random = new Random(seed);
+        List<MultiStageRankingService.RankedMatch<ResumeJobMatchingService.CandidateMatch>> candidates = new ArrayList<>();
+        double score = 1.0;
+        for (long id = 0; id < count; id++) {
+            score -= random.nextDouble() * 0.002;
+            candidates.add(MultiStageRankingService.RankedMatch.<ResumeJobMatchingService.CandidateMatch>builder()
+                .match(ResumeJobMatchingService.CandidateMatch.builder()
+                    .resumeId(id)
+                    .location(LOCATIONS[random.nextInt(LOCATIONS.length)])
+                    .yearsOfExperience(random.nextInt(6) == 0 ? null : random.nextInt(20))
+                    .build())
+                .finalScore(score)
+                .build());
+        }
+        return candidates;
+    }
+
+    private List<MultiStageRankingService.RankedMatch<ResumeJobMatchingService.JobMatch>> jobs(int count, long seed) {
+        Random random = new Random(seed);
+        List<MultiStageRankingService.RankedMatch<ResumeJobMatchingService.JobMatch>> jobs = new ArrayList<>();
+        double score = 1.0;
+        for (long id = 0; id < count; id++) {
+            score -= random.nextDouble() * 0.002;
+            jobs.add(MultiStageRankingService.RankedMatch.<ResumeJobMatchingService.JobMatch>builder()
+                .match(ResumeJobMatchingService.JobMatch.builder()
+                    .jobId(id)
+                    .companyName(COMPANIES[random.nextInt(COMPANIES.length)])
+                    .location(LOCATIONS[random.nextInt(LOCATIONS.length)])
+                    .remoteType(REMOTE_TYPES[random.nextInt(REMOTE_TYPES.length)])
+                    .build())
+                .finalScore(score)
+                .build());
+        }
+        return jobs;
+    }
+}
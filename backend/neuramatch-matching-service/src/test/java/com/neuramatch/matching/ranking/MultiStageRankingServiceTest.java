@@ -0,0 +1,165 @@
+package com.neuramatch.matching.ranking;
+
+import com.neuramatch.matching.index.LexicalIndexService;
+import com.neuramatch.matching.learning.OnlineRankingLearner;
+import com.neuramatch.matching.replay.RankingRequestLogger;
+import com.neuramatch.matching.search.ResumeJobMatchingService;
+import com.neuramatch.matching.vector.JobVector;
+import com.neuramatch.matching.vector.JobVectorRepository;
+import com.neuramatch.matching.vector.ResumeVectorRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Unit tests for MultiStageRankingService
+ */
+class MultiStageRankingServiceTest {
+
+    private MultiStageRankingService rankingService;
+    private JobVector job;
+
+    @BeforeEach
+    void setUp() {
+        RankingExecutor executor = new RankingExecutor(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(executor, "parallelThreshold", 1000);
+        ReflectionTestUtils.setField(executor, "chunkSize", 64);
+        ReflectionTestUtils.invokeMethod(executor, "init");
+
+        LexicalIndexService lexicalIndexService = new LexicalIndexService(
+            mock(JobVectorRepository.class), mock(ResumeVectorRepository.class));
+        ReflectionTestUtils.setField(lexicalIndexService, "enabled", true);
+        ReflectionTestUtils.setField(lexicalIndexService, "k1", 1.2);
+        ReflectionTestUtils.setField(lexicalIndexService, "b", 0.75);
+        ReflectionTestUtils.invokeMethod(lexicalIndexService, "init");
+
+        rankingService = new MultiStageRankingService(
+            new HybridScoringService(executor, lexicalIndexService),
+            new FeatureBasedRankingService(executor, new OnlineRankingLearner(new SimpleMeterRegistry())),
+            new DiversityRankingService(),
+            executor,
+            new SimpleMeterRegistry(),
+            new RankingRequestLogger(new SimpleMeterRegistry()));
+        ReflectionTestUtils.setField(rankingService, "hybridBudgetShare", 0.6);
+        ReflectionTestUtils.setField(rankingService, "diversityReserveMs", 2L);
+
+        job = new JobVector();
+        job.setTitle("Backend Engineer");
+        job.setRequiredSkills(new String[]{"Java", "Spring"});
+        job.setMinYearsExperience(3);
+        job.setMaxYearsExperience(8);
+    }
+
+    @Test
+    void rankCandidates_ShouldReturnBestFeatureScoresWithBreakdownsOnlyOnPage() {
+        // Given: a large recall set
+        Random random = new Random(7);
+        List<ResumeJobMatchingService.CandidateMatch> candidates = new ArrayList<>();
+        for (long id = 0; id < 5000; id++) {
+            candidates.add(ResumeJobMatchingService.CandidateMatch.builder()
+                .resumeId(id)
+                .semanticSimilarity(random.nextDouble())
+                .qualityScore(random.nextInt(100))
+                .yearsOfExperience(random.nextInt(15))
+                .build());
+        }
+        MultiStageRankingService.RankingConfig config = MultiStageRankingService.RankingConfig.builder()
+            .stage2Limit(500)
+            .stage3Limit(50)
+            .finalLimit(10)
+            .enableDiversity(false)
+            .build();
+
+        // When
+        List<MultiStageRankingService.RankedMatch<ResumeJobMatchingService.CandidateMatch>> results =
+            rankingService.rankCandidates(candidates, job, config);
+
+        // Then
+        assertThat(results).hasSize(10);
+        assertThat(results).extracting(MultiStageRankingService.RankedMatch::getRank)
+            .containsExactly(1, 2, 3, 4, 5, 6, 7, 8, 9, 10);
+        assertThat(results).isSortedAccordingTo((a, b) -> Double.compare(b.getFinalScore(), a.getFinalScore()));
+        assertThat(results).allSatisfy(r -> {
+            assertThat(r.getScoreBreakdown()).containsKeys("semantic", "lexical", "hybrid", "quality", "feature");
+            assertThat(r.getFeatureScore()).isEqualTo(r.getScoreBreakdown().get("feature"));
+            assertThat(r.getVectorScore()).isEqualTo(r.getMatch().getSemanticSimilarity());
+        });
+    }
+
+    @Test
+    void rankCandidates_WithDiversity_ShouldAttachBreakdownsToSelectedPage() {
+        // Given
+        List<ResumeJobMatchingService.CandidateMatch> candidates = new ArrayList<>();
+        for (long id = 0; id < 30; id++) {
+            candidates.add(ResumeJobMatchingService.CandidateMatch.builder()
+                .resumeId(id)
+                .semanticSimilarity(id / 30.0)
+                .location(id % 2 == 0 ? "Berlin" : "Paris")
+                .yearsOfExperience((int) (id % 10))
+                .build());
+        }
+
+        // When
+        List<MultiStageRankingService.RankedMatch<ResumeJobMatchingService.CandidateMatch>> results =
+            rankingService.rankCandidates(candidates, job, MultiStageRankingService.getDefaultConfig());
+
+        // Then
+        assertThat(results).hasSize(10);
+        assertThat(results).allSatisfy(r -> assertThat(r.getScoreBreakdown()).containsKey("hybrid"));
+        assertThat(results.get(0).getMatch().getResumeId()).isEqualTo(29L);
+    }
+
+    @Test
+    void rankCandidates_WithExpiredDeadline_ShouldSkipStagesAndStillReturnPage() {
+        // Given
+        List<ResumeJobMatchingService.CandidateMatch> candidates = new ArrayList<>();
+        for (long id = 0; id < 200; id++) {
+            candidates.add(ResumeJobMatchingService.CandidateMatch.builder()
+                .resumeId(id)
+                .semanticSimilarity(id / 200.0)
+                .build());
+        }
+        Deadline expired = Deadline.in(java.time.Duration.ofNanos(1));
+
+        // When
+        MultiStageRankingService.RankingResult<ResumeJobMatchingService.CandidateMatch> result =
+            rankingService.rankCandidates(candidates, job, MultiStageRankingService.getDefaultConfig(), expired);
+
+        // Then: semantic order carried through the skipped stages
+        assertThat(result.getSkippedStages()).containsExactly("hybrid", "feature", "diversity");
+        assertThat(result.getResults()).hasSize(10);
+        assertThat(result.getResults()).extracting(r -> r.getMatch().getResumeId())
+            .startsWith(199L, 198L, 197L);
+        assertThat(result.getResults().get(0).getFeatureScore()).isEqualTo(199 / 200.0);
+    }
+
+    @Test
+    void rankCandidates_WithGenerousDeadline_ShouldRunAllStages() {
+        // Given
+        List<ResumeJobMatchingService.CandidateMatch> candidates = new ArrayList<>();
+        for (long id = 0; id < 30; id++) {
+            candidates.add(ResumeJobMatchingService.CandidateMatch.builder()
+                .resumeId(id)
+                .semanticSimilarity(id / 30.0)
+                .build());
+        }
+
+        // When
+        MultiStageRankingService.RankingResult<ResumeJobMatchingService.CandidateMatch> result =
+            rankingService.rankCandidates(candidates, job, MultiStageRankingService.getDefaultConfig(),
+                Deadline.in(java.time.Duration.ofSeconds(30)));
+
+        // Then
+        assertThat(result.getSkippedStages()).isEmpty();
+        assertThat(result.isPartial()).isFalse();
+        assertThat(result.getResults()).hasSize(10);
+    }
+}
@@ -0,0 +1,104 @@
+package com.neuramatch.matching.ranking;
+
+import com.neuramatch.matching.index.LexicalIndexService;
+import com.neuramatch.matching.learning.OnlineRankingLearner;
+import com.neuramatch.matching.search.ResumeJobMatchingService;
+import com.neuramatch.matching.vector.JobVector;
+import com.neuramatch.matching.vector.JobVectorRepository;
+import com.neuramatch.matching.vector.ResumeIndexedEvent;
+import com.neuramatch.matching.vector.ResumeVector;
+import com.neuramatch.matching.vector.ResumeVectorRepository;
+import org.mockito.Mockito;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark of the hybrid + feature ranking stages over different recall-set sizes,
+ * sequential versus fork/join.
+ *
+ * Run with:
+ * <pre>
+ *   mvn -pl neuramatch-matching-service test-compile dependency:build-classpath -Dmdep.outputFile=cp.txt
+ *   java -cp target/test-classes:target/classes:$(cat cp.txt) org.openjdk.jmh.Main RankingStageBenchmark
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RankingStageBenchmark {
+
+    @Param({"500", "2000", "5000", "20000"})
+    private int candidates;
+
+    @Param({"true", "false"})
+    private boolean parallel;
+
+    private HybridScoringService hybridScoringService;
+    private FeatureBasedRankingService featureRankingService;
+    private List<ResumeJobMatchingService.CandidateMatch> recall;
+    private JobVector job;
+
+    @Setup
+    public void setUp() {
+        RankingExecutor executor = new RankingExecutor(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(executor, "parallelThreshold", parallel ? 0 : Integer.MAX_VALUE);
+        ReflectionTestUtils.setField(executor, "chunkSize", 256);
+        ReflectionTestUtils.invokeMethod(executor, "init");
+
+        LexicalIndexService lexicalIndexService = new LexicalIndexService(
+            Mockito.mock(JobVectorRepository.class), Mockito.mock(ResumeVectorRepository.class));
+        ReflectionTestUtils.setField(lexicalIndexService, "enabled", true);
+        ReflectionTestUtils.setField(lexicalIndexService, "k1", 1.2);
+        ReflectionTestUtils.setField(lexicalIndexService, "b", 0.75);
+        ReflectionTestUtils.invokeMethod(lexicalIndexService, "init");
+
+        hybridScoringService = new HybridScoringService(executor, lexicalIndexService);
+        featureRankingService = new FeatureBasedRankingService(executor, new OnlineRankingLearner(new SimpleMeterRegistry()));
+
+        job = new JobVector();
+        job.setTitle("Senior Backend Engineer");
+        job.setRequiredSkills(new String[]{"Java", "Spring", "Kafka", "PostgreSQL"});
+        job.setLocation("Berlin");
+        job.setMinYearsExperience(4);
+        job.setMaxYearsExperience(10);
+
+        Random random = new Random(1);
+        String[] locations = {"Berlin", "Munich", "Hamburg", "Remote", "Paris"};
+        String[] skills = {"Java", "Spring", "Kafka", "PostgreSQL", "Python", "React", "Go", "Kubernetes"};
+        recall = new ArrayList<>(candidates);
+        for (long id = 0; id < candidates; id++) {
+            recall.add(ResumeJobMatchingService.CandidateMatch.builder()
+                .resumeId(id)
+                .fullName("Candidate " + id)
+                .location(locations[random.nextInt(locations.length)])
+                .yearsOfExperience(random.nextInt(20))
+                .qualityScore(random.nextInt(100))
+                .semanticSimilarity(random.nextDouble())
+                .build());
+
+            ResumeVector resume = new ResumeVector();
+            resume.setResumeId(id);
+            resume.setTopSkills(new String[]{
+                skills[random.nextInt(skills.length)], skills[random.nextInt(skills.length)]});
+            lexicalIndexService.onResumeIndexed(new ResumeIndexedEvent(resume, null));
+        }
+    }
+
+    @Benchmark
+    public void hybridAndFeatureStages(Blackhole blackhole) {
+        ScoreBuffer<ResumeJobMatchingService.CandidateMatch> buffer = new ScoreBuffer<>(recall);
+        hybridScoringService.scoreCandidatesWithHybrid(buffer, job, 500);
+        featureRankingService.rerankCandidates(buffer, job, 50);
+        blackhole.consume(buffer.activeRows());
+    }
+}
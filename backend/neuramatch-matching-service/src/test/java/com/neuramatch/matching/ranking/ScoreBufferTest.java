@@ -0,0 +1,148 @@
+package com.neuramatch.matching.ranking;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for ScoreBuffer
+ */
+class ScoreBufferTest {
+
+    @Test
+    void cut_ShouldKeepHighestScoresBestFirst() {
+        // Given
+        ScoreBuffer<String> buffer = new ScoreBuffer<>(List.of("a", "b", "c", "d", "e"));
+        double[] scores = buffer.scores();
+        scores[0] = 0.1;
+        scores[1] = 0.9;
+        scores[2] = 0.5;
+        scores[3] = 0.7;
+        scores[4] = 0.3;
+
+        // When
+        buffer.cut(3);
+
+        // Then
+        assertThat(buffer.size()).isEqualTo(3);
+        assertThat(buffer.activeRows()).containsExactly(1, 3, 2);
+    }
+
+    @Test
+    void cut_WhenScoresTie_ShouldKeepRecallOrder() {
+        // Given
+        ScoreBuffer<String> buffer = new ScoreBuffer<>(List.of("a", "b", "c", "d"));
+        java.util.Arrays.fill(buffer.scores(), 0.5);
+
+        // When
+        buffer.cut(2);
+
+        // Then
+        assertThat(buffer.activeRows()).containsExactly(0, 1);
+    }
+
+    @Test
+    void cut_ShouldMatchFullSortOnRandomScores() {
+        // Given
+        Random random = new Random(42);
+        List<Integer> items = IntStream.range(0, 5000).boxed().toList();
+        ScoreBuffer<Integer> buffer = new ScoreBuffer<>(items);
+        for (int i = 0; i < items.size(); i++) {
+            buffer.scores()[i] = Math.round(random.nextDouble() * 1000) / 1000.0;
+        }
+        List<Integer> expected = new ArrayList<>(items);
+        expected.sort(Comparator.comparingDouble((Integer row) -> -buffer.scores()[row]));
+
+        // When: two successive stage cuts
+        buffer.cut(500);
+        buffer.cut(100);
+
+        // Then
+        assertThat(buffer.activeRows()).containsExactly(expected.subList(0, 100).stream().mapToInt(i -> i).toArray());
+    }
+
+    @Test
+    void cut_WhenLimitExceedsSize_ShouldSortAllRows() {
+        // Given
+        ScoreBuffer<String> buffer = new ScoreBuffer<>(List.of("a", "b"));
+        buffer.scores()[0] = 0.2;
+        buffer.scores()[1] = 0.8;
+
+        // When
+        buffer.cut(10);
+
+        // Then
+        assertThat(buffer.activeRows()).containsExactly(1, 0);
+    }
+
+    @Test
+    void breakdown_ShouldIncludeEveryWrittenColumn() {
+        // Given
+        ScoreBuffer<String> buffer = new ScoreBuffer<>(List.of("a"));
+        buffer.column("semantic")[0] = 0.8;
+        buffer.column("lexical")[0] = 0.4;
+
+        // When / Then
+        assertThat(buffer.breakdown(0)).containsExactly(entry("semantic", 0.8), entry("lexical", 0.4));
+        assertThat(buffer.value("missing", 0)).isZero();
+    }
+
+    @Test
+    void scoreAndCut_InParallel_ShouldMatchSequentialResult() {
+        // Given
+        List<Integer> items = IntStream.range(0, 10_000).boxed().toList();
+        ScoreBuffer<Integer> sequential = new ScoreBuffer<>(items);
+        ScoreBuffer<Integer> parallel = new ScoreBuffer<>(items);
+        ScoreBuffer.RowScorer scorer = row -> {
+            double score = ((row * 7919L) % 1000) / 1000.0;
+            sequential.scores()[row] = score;
+            parallel.scores()[row] = score;
+        };
+        java.util.concurrent.ForkJoinPool pool = new java.util.concurrent.ForkJoinPool(4);
+
+        // When
+        sequential.scoreAndCut(scorer, 200);
+        long busyNanos = parallel.scoreAndCut(scorer, 200, pool, 128);
+        pool.shutdown();
+
+        // Then
+        assertThat(parallel.activeRows()).containsExactly(sequential.activeRows());
+        assertThat(busyNanos).isPositive();
+    }
+
+    @Test
+    void scoreAndCut_WhenDeadlineExpires_ShouldDropUnscoredRowsButFillTheCut() {
+        // Given
+        List<Integer> items = IntStream.range(0, 1000).boxed().toList();
+        ScoreBuffer<Integer> buffer = new ScoreBuffer<>(items);
+        buffer.setDeadline(Deadline.in(java.time.Duration.ofNanos(1)));
+        int[] scored = new int[1];
+
+        // When
+        buffer.scoreAndCut(row -> {
+            buffer.scores()[row] = row;
+            scored[0]++;
+        }, 50);
+
+        // Then
+        assertThat(scored[0]).isEqualTo(50);
+        assertThat(buffer.size()).isEqualTo(50);
+        assertThat(buffer.isPartial()).isTrue();
+    }
+
+    @Test
+    void truncate_ShouldKeepLeadingRows() {
+        ScoreBuffer<String> buffer = new ScoreBuffer<>(List.of("a", "b", "c"));
+
+        buffer.truncate(2);
+
+        assertThat(buffer.activeRows()).containsExactly(0, 1);
+        assertThat(buffer.isPartial()).isTrue();
+    }
+}
@@ -0,0 +1,176 @@
+package com.neuramatch.matching.replay;
+
+import com.neuramatch.matching.ranking.FeatureBasedRankingService;
+import com.neuramatch.matching.ranking.MultiStageRankingService;
+import com.neuramatch.matching.ranking.RankingExecutor;
+import com.neuramatch.matching.ranking.RankingModel;
+import com.neuramatch.matching.ranking.ScoreBuffer;
+import com.neuramatch.matching.search.ResumeJobMatchingService;
+import com.neuramatch.matching.vector.JobVector;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for RankingReplayHarness
+ */
+class RankingReplayHarnessTest {
+
+    private static final long JOB_ID = 9L;
+    private static final long HIRED_RESUME = 45L;
+
+    @TempDir
+    Path logDir;
+
+    private final RankingExecutor executor =
+        RankingExecutor.standalone(new SimpleMeterRegistry(), 1, Integer.MAX_VALUE, 256);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void log_ShouldWriteRecordsThatReadBackDespiteATruncatedTail() throws Exception {
+        // Given: one logged request, then half a record from an interrupted write
+        RankingRequestLogger logger = newLogger();
+        List<ResumeJobMatchingService.CandidateMatch> candidates = List.of(
+            ResumeJobMatchingService.CandidateMatch.builder().resumeId(1L).semanticSimilarity(0.9)
+                .qualityScore(80).location("Berlin").build(),
+            ResumeJobMatchingService.CandidateMatch.builder().resumeId(2L).semanticSimilarity(0.4).build());
+        ScoreBuffer<ResumeJobMatchingService.CandidateMatch> buffer = new ScoreBuffer<>(candidates);
+        buffer.column("lexical")[0] = 0.5;
+        List<MultiStageRankingService.RankedMatch<ResumeJobMatchingService.CandidateMatch>> results = List.of(
+            MultiStageRankingService.RankedMatch.<ResumeJobMatchingService.CandidateMatch>builder()
+                .match(candidates.get(0)).rank(1).build());
+
+        logger.log(job(), MultiStageRankingService.getDefaultConfig(), candidates, buffer, results);
+        logger.flush();
+        ReflectionTestUtils.invokeMethod(logger, "shutdown");
+        Path file;
+        try (Stream<Path> files = Files.list(logDir)) {
+            file = files.findFirst().orElseThrow();
+        }
+        Files.write(file, new byte[]{0, 0, 1, 0, 42}, StandardOpenOption.APPEND);
+
+        // When
+        List<RankingLogRecord> records = RankingLogCodec.readAll(List.of(logDir));
+
+        // Then
+        assertThat(records).hasSize(1);
+        RankingLogRecord record = records.get(0);
+        assertThat(record.getJobId()).isEqualTo(JOB_ID);
+        assertThat(record.getMinYearsExperience()).isEqualTo(5);
+        assertThat(record.getMaxYearsExperience()).isNull();
+        assertThat(record.getStage2Limit()).isEqualTo(100);
+        assertThat(record.getCandidates()).extracting(RankingLogRecord.Candidate::getLiveRank).containsExactly(1, 0);
+        RankingLogRecord.Candidate first = record.getCandidates().get(0);
+        assertThat(first.getLexical()).isEqualTo(0.5f);
+        assertThat(first.getQualityScore()).isEqualTo(80);
+        assertThat(first.getLocation()).isEqualTo("Berlin");
+        assertThat(record.getCandidates().get(1).getQualityScore()).isNull();
+    }
+
+    @Test
+    void replay_ShouldReportNdcgAndLatencyPerVariant() {
+        // Given: the hire has the lowest semantic score but the best profile
+        RankingLogRecord request = recordedRequest();
+        RankingReplayHarness harness = new RankingReplayHarness(Map.of(JOB_ID, Map.of(HIRED_RESUME, 1.0, 3L, 0.0)));
+        RankingModel qualityFirst = new RankingModel(
+            new String[]{"hybrid", "quality", "recency", "experienceBoost", "locationBoost"},
+            new double[]{0.1, 0.6, 0.0, 0.2, 0.1}, 0, 0);
+
+        // When
+        RankingReplayHarness.Report live = harness.live(List.of(request));
+        RankingReplayHarness.Report narrow = harness.replay("narrow", List.of(request),
+            new PipelineReplayEngine(executor, qualityFirst), config(20));
+        RankingReplayHarness.Report wide = harness.replay("wide", List.of(request),
+            new PipelineReplayEngine(executor, qualityFirst), config(50));
+        RankingReplayHarness.Report prior = harness.replay("prior", List.of(request),
+            new PipelineReplayEngine(executor, FeatureBasedRankingService.CANDIDATE_PRIOR), config(50));
+
+        // Then: cut before the feature stage at 20; found and ranked first at 50
+        assertThat(live.getJudged()).isEqualTo(1);
+        assertThat(live.getNdcg()).isZero();
+        assertThat(narrow.getNdcg()).isZero();
+        assertThat(wide.getNdcg()).isCloseTo(1.0, within(1e-9));
+        assertThat(prior.getNdcg()).isBetween(0.0, 1.0);
+        assertThat(wide.getLatency()).containsKeys("hybrid", "feature", "total");
+        RankingReplayHarness.StageLatency total = wide.getLatency().get("total");
+        assertThat(total.getP99Micros()).isGreaterThanOrEqualTo(total.getP50Micros()).isPositive();
+    }
+
+    @Test
+    void ndcg_ShouldDiscountRelevantResultsByRank() {
+        RankingReplayHarness harness = new RankingReplayHarness(Map.of(JOB_ID, Map.of(1L, 1.0, 2L, 0.5)));
+        RankingLogRecord request = recordedRequest();
+
+        assertThat(harness.ndcg(request, new long[]{1, 2, 3}, 10)).isCloseTo(1.0, within(1e-9));
+        double ideal = 1.0 + 0.5 / (Math.log(3) / Math.log(2));
+        double swapped = 0.5 + 1.0 / (Math.log(3) / Math.log(2));
+        assertThat(harness.ndcg(request, new long[]{2, 1, 3}, 10)).isCloseTo(swapped / ideal, within(1e-9));
+        assertThat(new RankingReplayHarness(Map.of()).ndcg(request, new long[]{1}, 10)).isNaN();
+    }
+
+    private RankingRequestLogger newLogger() {
+        RankingRequestLogger logger = new RankingRequestLogger(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(logger, "enabled", true);
+        ReflectionTestUtils.setField(logger, "directory", logDir.toString());
+        ReflectionTestUtils.setField(logger, "sampleRate", 1.0);
+        ReflectionTestUtils.setField(logger, "queueCapacity", 10);
+        ReflectionTestUtils.setField(logger, "maxFileBytes", 1_000_000L);
+        ReflectionTestUtils.invokeMethod(logger, "init");
+        return logger;
+    }
+
+    private static JobVector job() {
+        JobVector job = new JobVector();
+        job.setJobId(JOB_ID);
+        job.setMinYearsExperience(5);
+        job.setLocation("Berlin");
+        return job;
+    }
+
+    /**
+     * 50 candidates in semantic order; only the hire is experienced, local and high quality
+     */
+    private static RankingLogRecord recordedRequest() {
+        List<RankingLogRecord.Candidate> candidates = new ArrayList<>();
+        for (long id = 0; id < 50; id++) {
+            boolean hire = id == HIRED_RESUME;
+            candidates.add(new RankingLogRecord.Candidate(id, 1.0f - id / 50f, 0.5f, 0f, 0f,
+                hire ? 100 : 10, hire ? 6 : 1, hire ? "Berlin" : "Paris", null, id < 10 ? (int) id + 1 : 0));
+        }
+        return RankingLogRecord.builder()
+            .timestamp(System.currentTimeMillis())
+            .jobId(JOB_ID)
+            .queryVector(new float[0])
+            .minYearsExperience(5)
+            .location("Berlin")
+            .stage2Limit(100)
+            .stage3Limit(20)
+            .finalLimit(10)
+            .candidates(candidates)
+            .build();
+    }
+
+    private static MultiStageRankingService.RankingConfig config(int stage2Limit) {
+        MultiStageRankingService.RankingConfig config = MultiStageRankingService.getDefaultConfig();
+        config.setStage2Limit(stage2Limit);
+        config.setEnableDiversity(false);
+        return config;
+    }
+}
@@ -0,0 +1,102 @@
+package com.neuramatch.matching.salary;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.nio.ByteBuffer;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for QuantileSketch
+ */
+class QuantileSketchTest {
+
+    @Test
+    void quantiles_OverManyValues_ShouldStayAccurateWithBoundedMemory() {
+        // Given: 200k values, uniform over 0..200k in shuffled order
+        QuantileSketch sketch = new QuantileSketch(200);
+        Random random = new Random(7);
+        int n = 200_000;
+        int[] values = new int[n];
+        for (int i = 0; i < n; i++) {
+            values[i] = i;
+        }
+        for (int i = n - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = values[i];
+            values[i] = values[j];
+            values[j] = swap;
+        }
+
+        // When
+        for (int value : values) {
+            sketch.add(value);
+        }
+        double[] quantiles = sketch.quantiles(0.25, 0.5, 0.75, 0.0, 1.0);
+
+        // Then: within 2% rank error, exact extremes, and a few hundred values retained
+        assertThat(quantiles[0]).isCloseTo(0.25 * n, within(0.02 * n));
+        assertThat(quantiles[1]).isCloseTo(0.50 * n, within(0.02 * n));
+        assertThat(quantiles[2]).isCloseTo(0.75 * n, within(0.02 * n));
+        assertThat(quantiles[3]).isEqualTo(0.0);
+        assertThat(quantiles[4]).isEqualTo(n - 1.0);
+        assertThat(sketch.count()).isEqualTo(n);
+        assertThat(sketch.mean()).isCloseTo((n - 1) / 2.0, within(1e-6));
+        assertThat(sketch.retained()).isLessThan(1000);
+    }
+
+    @Test
+    void merge_ShouldMatchTheCombinedDistribution() {
+        // Given: low salaries in one sketch, high in the other
+        QuantileSketch low = new QuantileSketch(200);
+        QuantileSketch high = new QuantileSketch(200);
+        for (int i = 0; i < 50_000; i++) {
+            low.add(50_000 + i % 10_000);
+            high.add(150_000 + i % 10_000);
+        }
+
+        // When
+        QuantileSketch merged = new QuantileSketch(200);
+        merged.merge(low);
+        merged.merge(high);
+
+        // Then
+        double[] quantiles = merged.quantiles(0.25, 0.75);
+        assertThat(merged.count()).isEqualTo(100_000);
+        assertThat(quantiles[0]).isBetween(50_000.0, 60_000.0);
+        assertThat(quantiles[1]).isBetween(150_000.0, 160_000.0);
+        assertThat(merged.min()).isEqualTo(50_000f);
+        assertThat(merged.max()).isEqualTo(159_999f);
+        assertThat(low.count()).isEqualTo(50_000);
+    }
+
+    @Test
+    void quantiles_WhenEmpty_ShouldBeNaN() {
+        assertThat(new QuantileSketch(200).quantiles(0.5)).containsExactly(Double.NaN);
+    }
+
+    @Test
+    void writeTo_ShouldRoundTrip() throws Exception {
+        // Given
+        QuantileSketch sketch = new QuantileSketch(64);
+        for (int i = 1; i <= 5_000; i++) {
+            sketch.add(i * 10f);
+        }
+
+        // When
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            sketch.writeTo(out);
+        }
+        QuantileSketch restored = QuantileSketch.readFrom(ByteBuffer.wrap(bytes.toByteArray()), 64);
+
+        // Then
+        assertThat(restored.count()).isEqualTo(sketch.count());
+        assertThat(restored.mean()).isEqualTo(sketch.mean());
+        assertThat(restored.retained()).isEqualTo(sketch.retained());
+        assertThat(restored.quantiles(0.1, 0.5, 0.9)).containsExactly(sketch.quantiles(0.1, 0.5, 0.9));
+    }
+}
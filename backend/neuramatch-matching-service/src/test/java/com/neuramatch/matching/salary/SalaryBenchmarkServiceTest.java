@@ -0,0 +1,109 @@
+package com.neuramatch.matching.salary;
+
+import com.neuramatch.matching.dto.SalaryBenchmarkDTO;
+import com.neuramatch.matching.graph.SkillGraphTableService;
+import com.neuramatch.matching.vector.JobIndexedEvent;
+import com.neuramatch.matching.vector.JobVector;
+import com.neuramatch.matching.vector.JobVectorRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Collection;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for SalaryBenchmarkService
+ */
+@ExtendWith(MockitoExtension.class)
+class SalaryBenchmarkServiceTest {
+
+    @Mock
+    private JobVectorRepository jobVectorRepository;
+
+    @Mock
+    private SkillGraphTableService skillGraphTableService;
+
+    private SalaryBenchmarkService salaryBenchmarkService;
+
+    @BeforeEach
+    void setUp() {
+        salaryBenchmarkService = new SalaryBenchmarkService(jobVectorRepository, skillGraphTableService);
+        ReflectionTestUtils.setField(salaryBenchmarkService, "sketchK", 200);
+        ReflectionTestUtils.setField(salaryBenchmarkService, "highConfidenceSamples", 50);
+        ReflectionTestUtils.setField(salaryBenchmarkService, "mediumConfidenceSamples", 20);
+
+        // Skill ids: java=1, python=2, anything else unknown
+        lenient().when(skillGraphTableService.resolveIds(anyCollection(), anyBoolean())).thenAnswer(invocation -> {
+            Collection<String> names = invocation.getArgument(0);
+            return names.stream()
+                .mapToInt(name -> switch (name) {
+                    case "Java" -> 1;
+                    case "Python" -> 2;
+                    default -> -5;
+                })
+                .sorted()
+                .toArray();
+        });
+    }
+
+    @Test
+    void getBenchmark_ShouldFilterByLocationAndBandAndMergeSkills() {
+        // Given: senior Java in Berlin at 105k..134k, mid Python remote at 65k..74k (midpoints)
+        for (long i = 0; i < 30; i++) {
+            index(i, new String[]{"Java"}, "Berlin, Germany", "ONSITE", 7, 100_000 + (int) i * 1000);
+        }
+        for (long i = 30; i < 40; i++) {
+            index(i, new String[]{"Python"}, "Anywhere", "REMOTE", 4, 60_000 + (int) (i - 30) * 1000);
+        }
+
+        // When
+        SalaryBenchmarkDTO javaBerlin = salaryBenchmarkService.getBenchmark(List.of("Java"), 8, "berlin", null);
+        SalaryBenchmarkDTO javaRemote = salaryBenchmarkService.getBenchmark(List.of("Java"), 8, "Remote", null);
+        SalaryBenchmarkDTO both = salaryBenchmarkService.getBenchmark(List.of("Java", "Python"), null, null, null);
+
+        // Then
+        assertThat(javaBerlin.getSampleSize()).isEqualTo(30);
+        assertThat(javaBerlin.getConfidence()).isEqualTo("MEDIUM");
+        assertThat(javaBerlin.getMin()).isEqualTo(105_000);
+        assertThat(javaBerlin.getMax()).isEqualTo(134_000);
+        assertThat(javaBerlin.getMedian()).isBetween(118_000, 121_000);
+        assertThat(javaRemote.getSampleSize()).isZero();
+        assertThat(javaRemote.getMedian()).isNull();
+        assertThat(both.getSampleSize()).isEqualTo(40);
+        assertThat(both.getMin()).isEqualTo(65_000);
+    }
+
+    @Test
+    void onJobIndexed_WhenPostingIsUnchanged_ShouldNotCountItTwice() {
+        // When: the same posting is indexed twice, and one without a salary arrives
+        index(1L, new String[]{"Java"}, "Berlin", "ONSITE", 2, 50_000);
+        index(1L, new String[]{"Java"}, "Berlin", "ONSITE", 2, 50_000);
+        index(2L, new String[]{"Java", "Rust"}, "Berlin", "ONSITE", 2, null);
+
+        // Then
+        SalaryBenchmarkDTO benchmark = salaryBenchmarkService.getBenchmark(List.of("Java"), 1, "Berlin", "Software");
+        assertThat(benchmark.getSampleSize()).isEqualTo(1);
+        assertThat(benchmark.getAverage()).isEqualTo(55_000);
+        assertThat(benchmark.getIndustry()).isEqualTo("Software");
+    }
+
+    private void index(Long jobId, String[] skills, String location, String remoteType, int years, Integer minSalary) {
+        JobVector job = new JobVector();
+        job.setJobId(jobId);
+        job.setRequiredSkills(skills);
+        job.setLocation(location);
+        job.setRemoteType(remoteType);
+        job.setMinYearsExperience(years);
+        job.setMinSalary(minSalary);
+        job.setMaxSalary(minSalary != null ? minSalary + 10_000 : null);
+        salaryBenchmarkService.onJobIndexed(new JobIndexedEvent(job, null, true));
+    }
+}
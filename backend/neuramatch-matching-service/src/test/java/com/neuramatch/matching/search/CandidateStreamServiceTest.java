@@ -0,0 +1,168 @@
+package com.neuramatch.matching.search;
+
+import com.neuramatch.matching.ranking.Deadline;
+import com.neuramatch.matching.ranking.MultiStageRankingService;
+import com.neuramatch.matching.vector.JobVector;
+import com.neuramatch.matching.vector.JobVectorRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for CandidateStreamService
+ */
+@ExtendWith(MockitoExtension.class)
+class CandidateStreamServiceTest {
+
+    @Mock
+    private ResumeJobMatchingService matchingService;
+
+    @Mock
+    private JobVectorRepository jobVectorRepository;
+
+    @Mock
+    private MultiStageRankingService rankingService;
+
+    private CandidateStreamService service;
+    private RecordingEmitter emitter;
+
+    @BeforeEach
+    void setUp() {
+        emitter = new RecordingEmitter();
+        service = new CandidateStreamService(matchingService, jobVectorRepository, rankingService,
+            new SimpleMeterRegistry()) {
+            @Override
+            SseEmitter createEmitter(long timeoutMs) {
+                return emitter;
+            }
+        };
+        ReflectionTestUtils.setField(service, "maxConcurrent", 1);
+        ReflectionTestUtils.setField(service, "queueCapacity", 1);
+        ReflectionTestUtils.setField(service, "timeoutMs", 1000L);
+        ReflectionTestUtils.setField(service, "recallLimit", 50);
+        service.init();
+
+        when(jobVectorRepository.findByJobId(1L)).thenReturn(Optional.of(JobVector.builder().jobId(1L).build()));
+        when(matchingService.findMatchingCandidatesForJob(eq(1L), argThat(c -> c.getLimit() == 50)))
+            .thenReturn(candidates(5));
+    }
+
+    @Test
+    void streamCandidates_ShouldSendRecallThenEachStageThenFinal() throws Exception {
+        // Given: ranking reports two intermediate stages
+        when(rankingService.rankCandidates(anyList(), any(), any(), any(Deadline.class), any()))
+            .thenAnswer(invocation -> {
+                MultiStageRankingService.StageListener<ResumeJobMatchingService.CandidateMatch> listener =
+                    invocation.getArgument(4);
+                listener.onStage("hybrid", List.of());
+                listener.onStage("feature", List.of());
+                return new MultiStageRankingService.RankingResult<>(List.of(), List.of("diversity"), false);
+            });
+
+        // When
+        service.streamCandidates(1L, null, config(3));
+        awaitStreams();
+
+        // Then
+        assertThat(emitter.events).extracting(CandidateStreamService.StageEvent::getStage)
+            .containsExactly("recall", "hybrid", "feature", "final");
+        assertThat(emitter.events).extracting(CandidateStreamService.StageEvent::getSequence)
+            .containsExactly(1, 2, 3, 4);
+        assertThat(emitter.events.get(0).getResults()).hasSize(3);
+        assertThat(emitter.events.get(3).isLast()).isTrue();
+        assertThat(emitter.events.get(3).getSkippedStages()).containsExactly("diversity");
+        assertThat(emitter.completed).isTrue();
+    }
+
+    @Test
+    void streamCandidates_WhenClientDisconnects_ShouldCancelDeadlineAndStopSending() throws Exception {
+        // Given: the client is gone by the time the first refinement is sent
+        emitter.failAfter = 1;
+        ArgumentCaptor<Deadline> deadline = ArgumentCaptor.forClass(Deadline.class);
+        when(rankingService.rankCandidates(anyList(), any(), any(), deadline.capture(), any()))
+            .thenAnswer(invocation -> {
+                MultiStageRankingService.StageListener<ResumeJobMatchingService.CandidateMatch> listener =
+                    invocation.getArgument(4);
+                listener.onStage("hybrid", List.of());
+                listener.onStage("feature", List.of());
+                return new MultiStageRankingService.RankingResult<>(List.of(), List.of("feature", "diversity"), true);
+            });
+
+        // When
+        service.streamCandidates(1L, null, config(3));
+        awaitStreams();
+
+        // Then
+        assertThat(deadline.getValue().isCancelled()).isTrue();
+        assertThat(deadline.getValue().isExpired()).isTrue();
+        assertThat(emitter.attempts).isEqualTo(2);
+        assertThat(emitter.events).extracting(CandidateStreamService.StageEvent::getStage).containsExactly("recall");
+        assertThat(emitter.completed).isFalse();
+    }
+
+    private void awaitStreams() throws InterruptedException {
+        ThreadPoolExecutor pool = (ThreadPoolExecutor) ReflectionTestUtils.getField(service, "streamPool");
+        pool.shutdown();
+        assertThat(pool.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    private MultiStageRankingService.RankingConfig config(int finalLimit) {
+        MultiStageRankingService.RankingConfig config = MultiStageRankingService.getDefaultConfig();
+        config.setFinalLimit(finalLimit);
+        return config;
+    }
+
+    private List<ResumeJobMatchingService.CandidateMatch> candidates(int count) {
+        return LongStream.rangeClosed(1, count)
+            .mapToObj(id -> ResumeJobMatchingService.CandidateMatch.builder()
+                .resumeId(id)
+                .overallScore(100 - id)
+                .semanticSimilarity(0.9)
+                .build())
+            .toList();
+    }
+
+    /**
+     * Captures stage events; fails every send after {@code failAfter} like a closed connection
+     */
+    private static class RecordingEmitter extends SseEmitter {
+
+        final List<CandidateStreamService.StageEvent> events = new CopyOnWriteArrayList<>();
+        volatile int failAfter = Integer.MAX_VALUE;
+        volatile int attempts;
+        volatile boolean completed;
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            if (++attempts > failAfter) {
+                throw new IOException("Broken pipe");
+            }
+            builder.build().stream()
+                .filter(part -> part.getData() instanceof CandidateStreamService.StageEvent)
+                .forEach(part -> events.add((CandidateStreamService.StageEvent) part.getData()));
+        }
+
+        @Override
+        public void complete() {
+            completed = true;
+        }
+    }
+}
@@ -0,0 +1,236 @@
+package com.neuramatch.matching.search;
+
+import com.neuramatch.matching.entity.MatchFeedback;
+import com.neuramatch.matching.index.LexicalIndexService;
+import com.neuramatch.matching.kafka.FeedbackEvent;
+import com.neuramatch.matching.learning.OnlineRankingLearner;
+import com.neuramatch.matching.ranking.FeatureBasedRankingService;
+import com.neuramatch.matching.ranking.HybridScoringService;
+import com.neuramatch.matching.ranking.RankingExecutor;
+import com.neuramatch.matching.vector.JobVector;
+import com.neuramatch.matching.vector.JobVectorRepository;
+import com.neuramatch.matching.vector.ResumeVectorRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for MatchPaginationService
+ */
+@ExtendWith(MockitoExtension.class)
+class MatchPaginationServiceTest {
+
+    @Mock
+    private ResumeJobMatchingService matchingService;
+
+    @Mock
+    private TopCandidatesService topCandidatesService;
+
+    @Mock
+    private OnlineRankingLearner rankingLearner;
+
+    private MatchPaginationService service;
+
+    private final ResumeJobMatchingService.MatchingCriteria filtered =
+        ResumeJobMatchingService.MatchingCriteria.builder().location("Berlin").build();
+
+    @BeforeEach
+    void setUp() {
+        service = newService(rankingLearner);
+    }
+
+    private MatchPaginationService newService(OnlineRankingLearner learner) {
+        MatchPaginationService service = new MatchPaginationService(matchingService, topCandidatesService,
+            learner, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(service, "snapshotTtlMs", 60_000L);
+        ReflectionTestUtils.setField(service, "prefetchPages", 3);
+        ReflectionTestUtils.setField(service, "maxSnapshotSize", 1000);
+        ReflectionTestUtils.setField(service, "maxSnapshots", 2);
+        ReflectionTestUtils.setField(service, "maxTotalResults", 1000L);
+        return service;
+    }
+
+    @Test
+    void candidatesPage_ShouldServeDeepPagesFromSnapshotWithoutRecomputing() {
+        // Given: 6 ranked candidates, page size 2, snapshot depth 6
+        when(matchingService.findCandidatesToServe(eq(1L), argThat(c -> c.getLimit() == 6)))
+            .thenReturn(candidates(1, 6));
+
+        // When
+        MatchPaginationService.Page<ResumeJobMatchingService.CandidateMatch> first =
+            service.candidatesPage(1L, filtered, 2, false, null);
+        MatchPaginationService.Page<ResumeJobMatchingService.CandidateMatch> second =
+            service.candidatesPage(1L, filtered, 2, false, first.getNextCursor());
+        MatchPaginationService.Page<ResumeJobMatchingService.CandidateMatch> third =
+            service.candidatesPage(1L, filtered, 2, false, second.getNextCursor());
+
+        // Then
+        assertThat(ids(first)).containsExactly(1L, 2L);
+        assertThat(ids(second)).containsExactly(3L, 4L);
+        assertThat(ids(third)).containsExactly(5L, 6L);
+        assertThat(second.getSource()).isEqualTo("snapshot");
+        verify(matchingService, times(1)).findCandidatesToServe(any(), any());
+    }
+
+    @Test
+    void candidatesPage_PastSnapshot_ShouldContinueWithKeysetScanExcludingServedIds() {
+        // Given: a full snapshot (depth = one page), so more may exist beyond it
+        ReflectionTestUtils.setField(service, "prefetchPages", 1);
+        when(matchingService.findCandidatesToServe(eq(1L), any())).thenReturn(candidates(1, 6));
+        when(matchingService.continueCandidatesForJob(eq(1L), any(), eq(List.of(1L, 2L, 3L, 4L, 5L, 6L)),
+                eq(-1.0), eq(Long.MIN_VALUE), eq(6)))
+            .thenReturn(new ResumeJobMatchingService.Continuation<>(candidates(7, 12), 0.4, 12L, false));
+        when(matchingService.continueCandidatesForJob(eq(1L), any(), any(), eq(0.4), eq(12L), eq(6)))
+            .thenReturn(new ResumeJobMatchingService.Continuation<>(candidates(13, 14), 0.5, 14L, true));
+
+        // When
+        MatchPaginationService.Page<ResumeJobMatchingService.CandidateMatch> first =
+            service.candidatesPage(1L, filtered, 6, false, null);
+        MatchPaginationService.Page<ResumeJobMatchingService.CandidateMatch> second =
+            service.candidatesPage(1L, filtered, 6, false, first.getNextCursor());
+        MatchPaginationService.Page<ResumeJobMatchingService.CandidateMatch> third =
+            service.candidatesPage(1L, filtered, 6, false, second.getNextCursor());
+
+        // Then
+        assertThat(ids(second)).containsExactly(7L, 8L, 9L, 10L, 11L, 12L);
+        assertThat(second.getSource()).isEqualTo("keyset");
+        assertThat(ids(third)).containsExactly(13L, 14L);
+        assertThat(third.getNextCursor()).isNull();
+    }
+
+    @Test
+    void candidatesPage_UnfilteredFirstPage_ShouldUseMaterializedList() {
+        // Given
+        when(topCandidatesService.capacity()).thenReturn(10);
+        when(topCandidatesService.getTopCandidates(1L, 10, false)).thenReturn(TopCandidatesService.TopCandidates.builder()
+            .jobId(1L).candidates(candidates(1, 3)).materialized(true)
+            .computedAt(Instant.now()).updatedAt(Instant.now()).build());
+
+        // When
+        MatchPaginationService.Page<ResumeJobMatchingService.CandidateMatch> first =
+            service.candidatesPage(1L, null, 2, false, null);
+        MatchPaginationService.Page<ResumeJobMatchingService.CandidateMatch> second =
+            service.candidatesPage(1L, null, 2, false, first.getNextCursor());
+
+        // Then: fewer than K candidates exist, so the list is the whole result
+        assertThat(first.getSource()).isEqualTo("materialized");
+        assertThat(ids(second)).containsExactly(3L);
+        assertThat(second.getNextCursor()).isNull();
+        verifyNoInteractions(matchingService);
+    }
+
+    @Test
+    void candidatesPage_WithEvictedOrForeignCursor_ShouldReject() {
+        // Given: cap of 2 snapshots
+        when(matchingService.findCandidatesToServe(any(), any())).thenReturn(candidates(1, 6));
+        String oldest = service.candidatesPage(1L, filtered, 2, false, null).getNextCursor();
+        service.candidatesPage(1L, filtered, 2, false, null);
+        String live = service.candidatesPage(1L, filtered, 2, false, null).getNextCursor();
+
+        // Then
+        assertThat(service.snapshotCount()).isEqualTo(2);
+        assertThatThrownBy(() -> service.candidatesPage(1L, filtered, 2, false, oldest))
+            .isInstanceOf(MatchPaginationService.CursorExpiredException.class);
+        assertThatThrownBy(() -> service.candidatesPage(2L, filtered, 2, false, live))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> service.candidatesPage(1L, filtered, 2, false, "not-a-cursor"))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void candidatesPage_ShouldRecordTheCapturedFeaturesOfEveryServedPage() {
+        // Given
+        List<ResumeJobMatchingService.CandidateMatch> ranked = candidates(1, 6);
+        ranked.forEach(candidate -> candidate.setRankingFeatures(new float[] {candidate.getResumeId()}));
+        when(matchingService.findCandidatesToServe(eq(1L), any())).thenReturn(ranked);
+
+        // When
+        MatchPaginationService.Page<ResumeJobMatchingService.CandidateMatch> first =
+            service.candidatesPage(1L, filtered, 2, false, null);
+        service.candidatesPage(1L, filtered, 2, false, first.getNextCursor());
+
+        // Then: the rows captured at ranking time, nothing scored again
+        for (ResumeJobMatchingService.CandidateMatch served : ranked.subList(0, 4)) {
+            verify(rankingLearner).recordServed(1L, served.getResumeId(), served.getRankingFeatures());
+        }
+        verify(rankingLearner, never()).recordServed(eq(1L), eq(5L), any(float[].class));
+        verify(matchingService, times(1)).findCandidatesToServe(any(), any());
+    }
+
+    @Test
+    void candidatesPage_FeedbackOnAServedPair_ShouldTrainTheRankingModel() {
+        // Given: candidates ranked with their features captured, as the matching service does
+        OnlineRankingLearner learner = new OnlineRankingLearner(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(learner, "enabled", true);
+        ReflectionTestUtils.setField(learner, "learningRate", 0.05);
+        ReflectionTestUtils.setField(learner, "l2", 0.001);
+        ReflectionTestUtils.setField(learner, "priorScale", 4.0);
+        ReflectionTestUtils.setField(learner, "maxServedPairs", 1000);
+        ReflectionTestUtils.invokeMethod(learner, "init");
+        service = newService(learner);
+
+        List<ResumeJobMatchingService.CandidateMatch> ranked = candidates(1, 6);
+        captureFeatures(ranked, JobVector.builder().jobId(1L).build(), learner);
+        when(matchingService.findCandidatesToServe(eq(1L), any())).thenReturn(ranked);
+
+        // When: page one (resumes 1 and 2) is served, then feedback arrives
+        service.candidatesPage(1L, filtered, 2, false, null);
+        int trained = learner.learn(List.of(feedback(1L, 2L, MatchFeedback.FeedbackAction.HIRED)));
+        int notServed = learner.learn(List.of(feedback(1L, 5L, MatchFeedback.FeedbackAction.HIRED)));
+
+        // Then
+        assertThat(ranked).allMatch(candidate -> candidate.getRankingFeatures().length
+            == FeatureBasedRankingService.CANDIDATE_PRIOR.featureCount());
+        assertThat(trained).isEqualTo(1);
+        assertThat(notServed).isZero();
+        assertThat(learner.candidateModel().version()).isEqualTo(1);
+    }
+
+    private void captureFeatures(List<ResumeJobMatchingService.CandidateMatch> candidates, JobVector job,
+                                 OnlineRankingLearner learner) {
+        RankingExecutor executor = new RankingExecutor(new SimpleMeterRegistry());
+        LexicalIndexService lexicalIndexService = new LexicalIndexService(
+            mock(JobVectorRepository.class), mock(ResumeVectorRepository.class));
+        ReflectionTestUtils.setField(lexicalIndexService, "enabled", true);
+        ReflectionTestUtils.setField(lexicalIndexService, "k1", 1.2);
+        ReflectionTestUtils.setField(lexicalIndexService, "b", 0.75);
+        ReflectionTestUtils.invokeMethod(lexicalIndexService, "init");
+
+        double[] hybrid = new HybridScoringService(executor, lexicalIndexService).candidateHybridScores(candidates, job);
+        new FeatureBasedRankingService(executor, learner).captureCandidateFeatures(candidates, job, hybrid);
+    }
+
+    private FeedbackEvent feedback(Long jobId, Long resumeId, MatchFeedback.FeedbackAction action) {
+        return FeedbackEvent.builder()
+            .jobId(jobId)
+            .resumeId(resumeId)
+            .action(action.name())
+            .weight(action.getWeight())
+            .build();
+    }
+
+    private List<ResumeJobMatchingService.CandidateMatch> candidates(long from, long to) {
+        return LongStream.rangeClosed(from, to)
+            .mapToObj(id -> ResumeJobMatchingService.CandidateMatch.builder()
+                .resumeId(id)
+                .overallScore(100 - id)
+                .build())
+            .toList();
+    }
+
+    private List<Long> ids(MatchPaginationService.Page<ResumeJobMatchingService.CandidateMatch> page) {
+        return page.getItems().stream().map(ResumeJobMatchingService.CandidateMatch::getResumeId).toList();
+    }
+}
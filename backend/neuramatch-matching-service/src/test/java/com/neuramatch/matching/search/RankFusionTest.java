@@ -0,0 +1,34 @@
+package com.neuramatch.matching.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for RankFusion
+ */
+class RankFusionTest {
+
+    @Test
+    void reciprocalRank_ShouldPromoteIdsFoundByBothRetrievers() {
+        // Given
+        List<Long> vector = List.of(1L, 2L, 3L, 4L);
+        List<Long> lexical = List.of(9L, 3L, 8L);
+
+        // When
+        List<Long> fused = RankFusion.reciprocalRank(List.of(vector, lexical), 60, 10);
+
+        // Then: 3 is in both lists, lexical-only 9 ties with vector-only 1 and keeps first-seen order
+        assertThat(fused.get(0)).isEqualTo(3L);
+        assertThat(fused).containsExactly(3L, 1L, 9L, 2L, 8L, 4L);
+    }
+
+    @Test
+    void reciprocalRank_ShouldRespectLimit() {
+        List<Long> fused = RankFusion.reciprocalRank(List.of(List.of(1L, 2L, 3L), List.of(4L)), 60, 2);
+
+        assertThat(fused).containsExactly(1L, 4L);
+    }
+}
@@ -1,6 +1,10 @@
 package com.neuramatch.matching.search;
 
-import com.neuramatch.matching.embedding.EmbeddingService;
+import com.neuramatch.matching.embedding.GeminiEmbeddingService;
+import com.neuramatch.matching.graph.SkillResolution;
+import com.neuramatch.matching.index.LexicalIndexService;
+import com.neuramatch.matching.ranking.FeatureBasedRankingService;
+import com.neuramatch.matching.ranking.HybridScoringService;
 import com.neuramatch.matching.service.SkillEnrichmentService;
 import com.neuramatch.matching.vector.JobVector;
 import com.neuramatch.matching.vector.JobVectorRepository;
@@ -16,9 +20,11 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.*;
+import static org.mockito.AdditionalMatchers.aryEq;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
@@ -35,11 +41,20 @@ class ResumeJobMatchingServiceTest {
     private JobVectorRepository jobVectorRepository;
 
     @Mock
-    private EmbeddingService embeddingService;
+    private GeminiEmbeddingService embeddingService;
 
     @Mock
     private SkillEnrichmentService skillEnrichmentService;
 
+    @Mock
+    private LexicalIndexService lexicalIndexService;
+
+    @Mock
+    private HybridScoringService hybridScoringService;
+
+    @Mock
+    private FeatureBasedRankingService featureRankingService;
+
     @InjectMocks
     private ResumeJobMatchingService matchingService;
 
@@ -79,6 +94,9 @@ class ResumeJobMatchingServiceTest {
             .isActive(true)
             .build();
         mockJob.setEmbeddingFromList(mockEmbedding);
+
+        lenient().when(skillEnrichmentService.resolveSkills(anyCollection()))
+            .thenReturn(new SkillResolution(Map.of(), Map.of(), false));
     }
 
     @Test
@@ -87,8 +105,8 @@ class ResumeJobMatchingServiceTest {
         when(resumeVectorRepository.findByResumeId(100L)).thenReturn(Optional.of(mockResume));
         when(jobVectorRepository.findMatchingJobsByExperience(anyString(), anyInt(), anyInt()))
             .thenReturn(Arrays.asList(mockJob));
-        when(embeddingService.cosineSimilarity(anyList(), anyList())).thenReturn(0.85);
-        when(skillEnrichmentService.calculateSkillCoverage(anyList(), anyList(), anyBoolean()))
+        when(embeddingService.cosineSimilarity(any(float[].class), any(float[].class))).thenReturn(0.85);
+        when(skillEnrichmentService.calculateSkillCoverage(anyCollection(), anyCollection(), anyBoolean(), any()))
             .thenReturn(0.90);
 
         // When
@@ -112,8 +130,8 @@ class ResumeJobMatchingServiceTest {
         when(jobVectorRepository.findByJobId(200L)).thenReturn(Optional.of(mockJob));
         when(resumeVectorRepository.findSimilarResumesWithExperience(anyString(), anyInt(), anyInt()))
             .thenReturn(Arrays.asList(mockResume));
-        when(embeddingService.cosineSimilarity(anyList(), anyList())).thenReturn(0.82);
-        when(skillEnrichmentService.calculateSkillCoverage(anyList(), anyList(), anyBoolean()))
+        when(embeddingService.cosineSimilarity(any(float[].class), any(float[].class))).thenReturn(0.82);
+        when(skillEnrichmentService.calculateSkillCoverage(anyCollection(), anyCollection(), anyBoolean(), any()))
             .thenReturn(0.85);
 
         // When
@@ -129,6 +147,26 @@ class ResumeJobMatchingServiceTest {
 
         verify(jobVectorRepository).findByJobId(200L);
         verify(resumeVectorRepository).findSimilarResumesWithExperience(anyString(), eq(3), anyInt());
+        verifyNoInteractions(hybridScoringService, featureRankingService);
+    }
+
+    @Test
+    void findCandidatesToServe_ShouldCaptureRankingFeaturesOfTheRankedList() {
+        // Given
+        when(jobVectorRepository.findByJobId(200L)).thenReturn(Optional.of(mockJob));
+        when(resumeVectorRepository.findSimilarResumesWithExperience(anyString(), anyInt(), anyInt()))
+            .thenReturn(Arrays.asList(mockResume));
+        when(embeddingService.cosineSimilarity(any(float[].class), any(float[].class))).thenReturn(0.82);
+        when(skillEnrichmentService.calculateSkillCoverage(anyCollection(), anyCollection(), anyBoolean(), any()))
+            .thenReturn(0.85);
+        double[] hybrid = {0.7};
+        when(hybridScoringService.candidateHybridScores(anyList(), eq(mockJob))).thenReturn(hybrid);
+
+        // When
+        List<ResumeJobMatchingService.CandidateMatch> matches = matchingService.findCandidatesToServe(200L, null);
+
+        // Then
+        verify(featureRankingService).captureCandidateFeatures(matches, mockJob, hybrid);
     }
 
     @Test
@@ -143,10 +181,10 @@ class ResumeJobMatchingServiceTest {
 
         when(resumeVectorRepository.findByResumeId(100L)).thenReturn(Optional.of(mockResume));
         when(jobVectorRepository.findMatchingJobsWithFilters(
-            anyString(), anyInt(), anyInt(), anyString(), anyString(), anyString(), anyInt()))
+            anyString(), anyInt(), anyInt(), anyString(), anyString(), any(), anyInt()))
             .thenReturn(Arrays.asList(mockJob));
-        when(embeddingService.cosineSimilarity(anyList(), anyList())).thenReturn(0.90);
-        when(skillEnrichmentService.calculateSkillCoverage(anyList(), anyList(), anyBoolean()))
+        when(embeddingService.cosineSimilarity(any(float[].class), any(float[].class))).thenReturn(0.90);
+        when(skillEnrichmentService.calculateSkillCoverage(anyCollection(), anyCollection(), anyBoolean(), any()))
             .thenReturn(0.95);
 
         // When
@@ -170,8 +208,8 @@ class ResumeJobMatchingServiceTest {
     @Test
     void calculateJobMatch_ShouldCalculateWeightedScore() {
         // Given
-        when(embeddingService.cosineSimilarity(anyList(), anyList())).thenReturn(0.85);
-        when(skillEnrichmentService.calculateSkillCoverage(anyList(), anyList(), anyBoolean()))
+        when(embeddingService.cosineSimilarity(any(float[].class), any(float[].class))).thenReturn(0.85);
+        when(skillEnrichmentService.calculateSkillCoverage(anyCollection(), anyCollection(), anyBoolean(), any()))
             .thenReturn(0.90);
 
         // When - Use reflection or make the method public for testing
@@ -235,12 +273,12 @@ class ResumeJobMatchingServiceTest {
         when(jobVectorRepository.findMatchingJobsByExperience(anyString(), anyInt(), anyInt()))
             .thenReturn(Arrays.asList(mockJob, lowScoreJob));
 
-        when(embeddingService.cosineSimilarity(eq(mockEmbedding), eq(mockEmbedding)))
+        when(embeddingService.cosineSimilarity(any(float[].class), any(float[].class)))
             .thenReturn(0.95); // High similarity
-        when(embeddingService.cosineSimilarity(eq(mockEmbedding), anyList()))
+        when(embeddingService.cosineSimilarity(any(float[].class), aryEq(new float[]{0.9f, 0.8f, 0.7f})))
             .thenReturn(0.50); // Low similarity
 
-        when(skillEnrichmentService.calculateSkillCoverage(anyList(), anyList(), anyBoolean()))
+        when(skillEnrichmentService.calculateSkillCoverage(anyCollection(), anyCollection(), anyBoolean(), any()))
             .thenReturn(0.80);
 
         // When
@@ -253,4 +291,79 @@ class ResumeJobMatchingServiceTest {
         assertThat(matches.get(0).getOverallScore())
             .isGreaterThan(matches.get(1).getOverallScore());
     }
+
+    @Test
+    void scorePair_ShouldScoreExactlyTheRequestedPair() {
+        // Given
+        when(jobVectorRepository.findByJobId(200L)).thenReturn(Optional.of(mockJob));
+        when(resumeVectorRepository.findByResumeId(100L)).thenReturn(Optional.of(mockResume));
+        when(embeddingService.cosineSimilarity(any(float[].class), any(float[].class))).thenReturn(0.85);
+        when(skillEnrichmentService.calculateSkillCoverage(anyCollection(), anyCollection(), anyBoolean(), any()))
+            .thenReturn(1.0);
+
+        // When
+        Optional<ResumeJobMatchingService.JobMatch> match = matchingService.scorePair(200L, 100L);
+
+        // Then: 0.4 * 0.85 + 0.3 + 0.2 + 0.1
+        assertThat(match).isPresent();
+        assertThat(match.get().getJobId()).isEqualTo(200L);
+        assertThat(match.get().getResumeId()).isEqualTo(100L);
+        assertThat(match.get().getOverallScore()).isCloseTo(94.0, within(1e-9));
+        verify(skillEnrichmentService, times(1)).resolveSkills(anyCollection());
+        verifyNoMoreInteractions(jobVectorRepository, resumeVectorRepository);
+    }
+
+    @Test
+    void scorePair_WhenJobOrResumeMissing_ShouldReturnEmpty() {
+        // Given
+        when(jobVectorRepository.findByJobId(200L)).thenReturn(Optional.of(mockJob));
+        when(jobVectorRepository.findByJobId(999L)).thenReturn(Optional.empty());
+        when(resumeVectorRepository.findByResumeId(100L)).thenReturn(Optional.of(mockResume));
+        when(resumeVectorRepository.findByResumeId(999L)).thenReturn(Optional.empty());
+
+        // When/Then
+        assertThat(matchingService.scorePair(999L, 100L)).isEmpty();
+        assertThat(matchingService.scorePair(200L, 999L)).isEmpty();
+        verifyNoInteractions(embeddingService, skillEnrichmentService);
+    }
+
+    @Test
+    void scorePairs_ShouldFollowInputOrderAndSkipPairsThatAreNotIndexed() {
+        // Given
+        ResumeVector otherResume = ResumeVector.builder()
+            .resumeId(101L)
+            .fullName("Jane Roe")
+            .yearsOfExperience(4)
+            .isActive(true)
+            .build();
+        otherResume.setEmbeddingFromList(mockEmbedding);
+
+        when(jobVectorRepository.findByJobIdIn(anyCollection())).thenReturn(List.of(mockJob));
+        when(resumeVectorRepository.findByResumeIdIn(anyCollection())).thenReturn(List.of(mockResume, otherResume));
+        when(embeddingService.cosineSimilarity(any(float[].class), any(float[].class))).thenReturn(0.80);
+        when(skillEnrichmentService.calculateSkillCoverage(anyCollection(), anyCollection(), anyBoolean(), any()))
+            .thenReturn(0.50);
+
+        List<ResumeJobMatchingService.PairRef> pairs = List.of(
+            new ResumeJobMatchingService.PairRef(200L, 101L),
+            new ResumeJobMatchingService.PairRef(999L, 100L), // job not indexed
+            new ResumeJobMatchingService.PairRef(200L, 100L),
+            new ResumeJobMatchingService.PairRef(200L, 998L)); // resume not indexed
+
+        // When
+        List<ResumeJobMatchingService.JobMatch> matches = matchingService.scorePairs(pairs);
+
+        // Then
+        assertThat(matches).extracting(ResumeJobMatchingService.JobMatch::getResumeId).containsExactly(101L, 100L);
+        assertThat(matches).extracting(ResumeJobMatchingService.JobMatch::getJobId).containsOnly(200L);
+        verify(jobVectorRepository, times(1)).findByJobIdIn(anyCollection());
+        verify(resumeVectorRepository, times(1)).findByResumeIdIn(anyCollection());
+        verify(skillEnrichmentService, times(1)).resolveSkills(anyCollection());
+    }
+
+    @Test
+    void scorePairs_WithNoPairs_ShouldNotQuery() {
+        assertThat(matchingService.scorePairs(List.of())).isEmpty();
+        verifyNoInteractions(jobVectorRepository, resumeVectorRepository);
+    }
 }
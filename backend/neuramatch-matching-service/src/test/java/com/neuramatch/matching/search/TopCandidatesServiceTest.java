@@ -0,0 +1,180 @@
+package com.neuramatch.matching.search;
+
+import com.neuramatch.matching.vector.JobVector;
+import com.neuramatch.matching.vector.JobVectorRepository;
+import com.neuramatch.matching.vector.ResumeVector;
+import com.pgvector.PGvector;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for TopCandidatesService
+ */
+@ExtendWith(MockitoExtension.class)
+class TopCandidatesServiceTest {
+
+    @Mock
+    private ResumeJobMatchingService matchingService;
+
+    @Mock
+    private JobVectorRepository jobVectorRepository;
+
+    private TopCandidatesService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new TopCandidatesService(matchingService, jobVectorRepository, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(service, "enabled", true);
+        ReflectionTestUtils.setField(service, "k", 3);
+        ReflectionTestUtils.setField(service, "maxJobs", 10);
+        ReflectionTestUtils.setField(service, "maxAgeMs", 60_000L);
+        ReflectionTestUtils.setField(service, "idleEvictMs", 60_000L);
+        ReflectionTestUtils.setField(service, "reverseAnnLimit", 50);
+        ReflectionTestUtils.invokeMethod(service, "init");
+
+        when(matchingService.findCandidatesToServe(eq(1L), any()))
+            .thenReturn(List.of(candidate(10L, 90), candidate(11L, 80), candidate(12L, 70)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReflectionTestUtils.invokeMethod(service, "shutdown");
+    }
+
+    @Test
+    void getTopCandidates_ShouldComputeOnceThenServeMaterializedList() {
+        // When
+        TopCandidatesService.TopCandidates first = service.getTopCandidates(1L, 2, false);
+        TopCandidatesService.TopCandidates second = service.getTopCandidates(1L, 3, false);
+
+        // Then
+        assertThat(first.isMaterialized()).isTrue();
+        assertThat(first.getCandidates()).extracting(ResumeJobMatchingService.CandidateMatch::getResumeId)
+            .containsExactly(10L, 11L);
+        assertThat(second.getCandidates()).hasSize(3);
+        verify(matchingService, times(1)).findCandidatesToServe(eq(1L), any());
+    }
+
+    @Test
+    void getTopCandidates_WithRefreshOrLimitAboveK_ShouldRecompute() {
+        // Given
+        service.getTopCandidates(1L, 3, false);
+
+        // When
+        service.getTopCandidates(1L, 3, true);
+        TopCandidatesService.TopCandidates wide = service.getTopCandidates(1L, 10, false);
+
+        // Then
+        assertThat(wide.isMaterialized()).isFalse();
+        verify(matchingService, times(3)).findCandidatesToServe(eq(1L), any());
+    }
+
+    @Test
+    void applyResume_ShouldInsertOnlyWhenBeatingKthScore() {
+        // Given
+        service.getTopCandidates(1L, 3, false);
+        ResumeVector strong = resume(20L);
+        ResumeVector weak = resume(21L);
+        when(matchingService.findNearestJobs(any(), anyInt())).thenReturn(List.of(job(1L), job(2L)));
+        when(matchingService.scoreCandidateForJobs(eq(strong), any())).thenReturn(Map.of(1L, candidate(20L, 85)));
+        when(matchingService.scoreCandidateForJobs(eq(weak), any())).thenReturn(Map.of(1L, candidate(21L, 60)));
+
+        // When
+        service.applyResume(strong);
+        service.applyResume(weak);
+
+        // Then: job 2 is not materialized and is never scored
+        TopCandidatesService.TopCandidates top = service.getTopCandidates(1L, 3, false);
+        assertThat(top.getCandidates()).extracting(ResumeJobMatchingService.CandidateMatch::getResumeId)
+            .containsExactly(10L, 20L, 11L);
+        assertThat(top.getIncrementalUpdates()).isEqualTo(1);
+        verify(matchingService).scoreCandidateForJobs(eq(strong), argThat(jobs -> jobs.size() == 1));
+    }
+
+    @Test
+    void applyResume_WhenListedResumeNoLongerQualifies_ShouldDropIt() {
+        // Given: resume 11 is listed but no longer near the job or eligible for it
+        service.getTopCandidates(1L, 3, false);
+        ResumeVector updated = resume(11L);
+        when(matchingService.findNearestJobs(any(), anyInt())).thenReturn(List.of());
+        when(jobVectorRepository.findByJobIdIn(List.of(1L))).thenReturn(List.of(job(1L)));
+        when(matchingService.scoreCandidateForJobs(eq(updated), any())).thenReturn(Map.of());
+
+        // When
+        service.applyResume(updated);
+
+        // Then
+        assertThat(service.getTopCandidates(1L, 3, false).getCandidates())
+            .extracting(ResumeJobMatchingService.CandidateMatch::getResumeId)
+            .containsExactly(10L, 12L);
+    }
+
+    @Test
+    void removeResume_ShouldDropCandidateAndMarkListDirty() {
+        // Given
+        service.getTopCandidates(1L, 3, false);
+
+        // When
+        service.removeResume(10L);
+
+        // Then
+        TopCandidatesService.TopCandidates top = service.getTopCandidates(1L, 3, false);
+        assertThat(top.getCandidates()).extracting(ResumeJobMatchingService.CandidateMatch::getResumeId)
+            .containsExactly(11L, 12L);
+        assertThat(top.isDirty()).isTrue();
+    }
+
+    @Test
+    void getTopCandidates_WhenAtCapacity_ShouldEvictLeastRecentlyReadList() throws InterruptedException {
+        // Given: room for two lists, job 1 read most recently
+        ReflectionTestUtils.setField(service, "maxJobs", 2);
+        when(matchingService.findCandidatesToServe(eq(2L), any())).thenReturn(List.of(candidate(20L, 90)));
+        when(matchingService.findCandidatesToServe(eq(3L), any())).thenReturn(List.of(candidate(30L, 90)));
+        service.getTopCandidates(2L, 3, false);
+        Thread.sleep(5);
+        service.getTopCandidates(1L, 3, false);
+
+        // When
+        TopCandidatesService.TopCandidates top = service.getTopCandidates(3L, 3, false);
+
+        // Then
+        assertThat(top.isMaterialized()).isTrue();
+        assertThat(service.size()).isEqualTo(2);
+        service.getTopCandidates(1L, 3, false);
+        verify(matchingService, times(1)).findCandidatesToServe(eq(1L), any());
+        service.getTopCandidates(2L, 3, false);
+        verify(matchingService, times(2)).findCandidatesToServe(eq(2L), any());
+    }
+
+    private ResumeJobMatchingService.CandidateMatch candidate(Long resumeId, double score) {
+        return ResumeJobMatchingService.CandidateMatch.builder()
+            .resumeId(resumeId)
+            .overallScore(score)
+            .build();
+    }
+
+    private ResumeVector resume(Long resumeId) {
+        return ResumeVector.builder()
+            .resumeId(resumeId)
+            .embedding(new PGvector(new float[] {1f, 0f}))
+            .isActive(true)
+            .build();
+    }
+
+    private JobVector job(Long jobId) {
+        return JobVector.builder().jobId(jobId).isActive(true).build();
+    }
+}
@@ -0,0 +1,57 @@
+package com.neuramatch.matching.service;
+
+import com.neuramatch.matching.dto.BidirectionalScoreDTO;
+import com.neuramatch.matching.search.ResumeJobMatchingService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for BidirectionalMatchingService
+ */
+@ExtendWith(MockitoExtension.class)
+class BidirectionalMatchingServiceTest {
+
+    @Mock
+    private ResumeJobMatchingService matchingService;
+
+    @Mock
+    private TemporalDecayService temporalDecayService;
+
+    @InjectMocks
+    private BidirectionalMatchingService bidirectionalMatchingService;
+
+    @Test
+    void calculateBidirectionalScore_ShouldUseTheDirectPairScore() {
+        // Given
+        when(matchingService.scorePair(1L, 2L)).thenReturn(Optional.of(
+            ResumeJobMatchingService.JobMatch.builder().jobId(1L).resumeId(2L).overallScore(80.0).build()));
+
+        // When
+        BidirectionalScoreDTO score = bidirectionalMatchingService.calculateBidirectionalScore(1L, 2L);
+
+        // Then
+        assertThat(score.getJobToResumeScore()).isCloseTo(0.8, within(1e-9));
+        assertThat(score.getHarmonicMean()).isPositive();
+    }
+
+    @Test
+    void calculateBidirectionalScore_WhenPairNotIndexed_ShouldScoreZeroInsteadOfFailing() {
+        // Given
+        when(matchingService.scorePair(1L, 999L)).thenReturn(Optional.empty());
+
+        // When
+        BidirectionalScoreDTO score = bidirectionalMatchingService.calculateBidirectionalScore(1L, 999L);
+
+        // Then
+        assertThat(score.getJobToResumeScore()).isZero();
+        assertThat(score.getHarmonicMean()).isZero();
+    }
+}
@@ -0,0 +1,214 @@
+package com.neuramatch.matching.service;
+
+import com.neuramatch.matching.entity.MatchFeedback;
+import com.neuramatch.matching.kafka.FeedbackEvent;
+import com.neuramatch.matching.entity.FeedbackAppliedOffset;
+import com.neuramatch.matching.repository.FeedbackOffsetRepository;
+import com.neuramatch.matching.repository.FeedbackRollupRepository;
+import com.neuramatch.matching.repository.MatchFeedbackRepository;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for FeedbackRollupService
+ */
+@ExtendWith(MockitoExtension.class)
+class FeedbackRollupServiceTest {
+
+    @Mock
+    private FeedbackRollupRepository rollupRepository;
+
+    @Mock
+    private MatchFeedbackRepository feedbackRepository;
+
+    @Mock
+    private FeedbackOffsetRepository offsetRepository;
+
+    private FeedbackRollupService rollupService;
+
+    @BeforeEach
+    void setUp() {
+        rollupService = new FeedbackRollupService(rollupRepository, feedbackRepository, offsetRepository);
+        ReflectionTestUtils.setField(rollupService, "backfillOnStartup", true);
+    }
+
+    @Test
+    void applyBatch_ShouldGroupEventsIntoOneUpsert() {
+        // Given: three events on two (job, action, day) cells
+        List<FeedbackEvent> events = List.of(
+            event(1L, "VIEWED", "2026-03-01T10:15:00"),
+            event(1L, "VIEWED", "2026-03-01T23:59:59"),
+            event(2L, "HIRED", "2026-03-02T08:00:00"));
+
+        // When
+        int cells = rollupService.applyBatch(events, Map.of());
+
+        // Then
+        assertThat(cells).isEqualTo(2);
+        verify(rollupRepository).incrementAll("{1,2}", "{VIEWED,HIRED}", "{2026-03-01,2026-03-02}", "{2,1}");
+    }
+
+    @Test
+    void applyBatch_WithEmptyBatch_ShouldNotTouchTheDatabase() {
+        assertThat(rollupService.applyBatch(List.of(), Map.of())).isZero();
+        verifyNoInteractions(rollupRepository, offsetRepository);
+    }
+
+    @Test
+    void applyBatch_ShouldAdvanceAppliedOffsetsWithTheRollups() {
+        // Given
+        Map<TopicPartition, Long> nextOffsets = Map.of(new TopicPartition("feedback-events", 2), 41L);
+
+        // When
+        rollupService.applyBatch(List.of(event(1L, "VIEWED", "2026-03-01T10:15:00")), nextOffsets);
+
+        // Then
+        InOrder order = inOrder(rollupRepository, offsetRepository);
+        order.verify(rollupRepository).incrementAll("{1}", "{VIEWED}", "{2026-03-01}", "{1}");
+        order.verify(offsetRepository).advanceAll("{feedback-events}", "{2}", "{41}");
+    }
+
+    @Test
+    void applyBatch_WithOnlyPoisonRecords_ShouldStillAdvanceOffsets() {
+        // When
+        int cells = rollupService.applyBatch(List.of(), Map.of(new TopicPartition("feedback-events", 0), 7L));
+
+        // Then
+        assertThat(cells).isZero();
+        verify(offsetRepository).advanceAll("{feedback-events}", "{0}", "{7}");
+        verifyNoInteractions(rollupRepository);
+    }
+
+    @Test
+    void appliedOffsets_ShouldKeyStoredOffsetsByPartition() {
+        // Given
+        when(offsetRepository.findByTopic("feedback-events")).thenReturn(List.of(
+            new FeedbackAppliedOffset(1L, "feedback-events", 0, 12L),
+            new FeedbackAppliedOffset(2L, "feedback-events", 1, 30L)));
+
+        // When
+        Map<TopicPartition, Long> offsets = rollupService.appliedOffsets("feedback-events");
+
+        // Then
+        assertThat(offsets).containsOnly(
+            entry(new TopicPartition("feedback-events", 0), 12L),
+            entry(new TopicPartition("feedback-events", 1), 30L));
+    }
+
+    @Test
+    void countsByAction_ShouldUseRollupsForWholeDaysAndRawRowsOtherwise() {
+        // Given
+        FeedbackRollupRepository.ActionCount viewed = mock(FeedbackRollupRepository.ActionCount.class);
+        when(viewed.getAction()).thenReturn("VIEWED");
+        when(viewed.getCount()).thenReturn(120L);
+        when(rollupRepository.sumByActionBetween(7L, LocalDate.of(2026, 3, 1), LocalDate.of(2026, 3, 8)))
+            .thenReturn(List.of(viewed));
+
+        MatchFeedbackRepository.ActionCount hired = mock(MatchFeedbackRepository.ActionCount.class);
+        when(hired.getAction()).thenReturn(MatchFeedback.FeedbackAction.HIRED);
+        when(hired.getCount()).thenReturn(3L);
+        LocalDateTime from = LocalDateTime.of(2026, 3, 1, 9, 30);
+        LocalDateTime to = LocalDateTime.of(2026, 3, 1, 17, 0);
+        when(feedbackRepository.countByActionForJobBetween(7L, from, to)).thenReturn(List.of(hired));
+
+        // When
+        Map<String, Long> days = rollupService.countsByAction(7L,
+            LocalDate.of(2026, 3, 1).atStartOfDay(), LocalDate.of(2026, 3, 8).atStartOfDay());
+        Map<String, Long> hours = rollupService.countsByAction(7L, from, to);
+
+        // Then
+        assertThat(days).containsExactly(entry("VIEWED", 120L));
+        assertThat(hours).containsExactly(entry("HIRED", 3L));
+        verify(feedbackRepository, never()).countByActionForJobBetween(eq(7L), eq(LocalDate.of(2026, 3, 1).atStartOfDay()), any());
+    }
+
+    @Test
+    void applyBatch_AfterPreparingBackfillOfEmptyRollups_ShouldSeedOnceBeforeTheFirstBatchsEarliestEvent() {
+        // Given
+        when(rollupRepository.count()).thenReturn(0L);
+        assertThat(rollupService.prepareBackfill()).isTrue();
+
+        // When
+        rollupService.applyBatch(List.of(
+            event(1L, "VIEWED", "2026-03-01T10:15:00"),
+            event(2L, "HIRED", "2026-03-01T09:00:00")), Map.of());
+        rollupService.applyBatch(List.of(event(1L, "VIEWED", "2026-03-01T11:00:00")), Map.of());
+
+        // Then: older feedback comes from the backfill, the batches from the consumer
+        InOrder order = inOrder(rollupRepository);
+        order.verify(rollupRepository).backfillBefore(LocalDateTime.of(2026, 3, 1, 9, 0));
+        order.verify(rollupRepository, times(2)).incrementAll(anyString(), anyString(), anyString(), anyString());
+        verify(rollupRepository, times(1)).backfillBefore(any());
+    }
+
+    @Test
+    void applyBatch_WhenRollupsAlreadyExist_ShouldNotBackfill() {
+        // Given
+        when(rollupRepository.count()).thenReturn(12L);
+        when(rollupRepository.countTotals()).thenReturn(4L);
+
+        // When
+        boolean pending = rollupService.prepareBackfill();
+        rollupService.applyBatch(List.of(event(1L, "VIEWED", "2026-03-01T10:15:00")), Map.of());
+
+        // Then
+        assertThat(pending).isFalse();
+        verify(rollupRepository, never()).backfillBefore(any());
+    }
+
+    @Test
+    void prepareBackfill_WhenRollupsExistWithoutTotals_ShouldSeedTotalsFromRollups() {
+        // Given
+        when(rollupRepository.count()).thenReturn(12L);
+        when(rollupRepository.countTotals()).thenReturn(0L);
+
+        // When
+        boolean pending = rollupService.prepareBackfill();
+
+        // Then
+        assertThat(pending).isFalse();
+        verify(rollupRepository).seedTotalsFromRollups();
+        verify(rollupRepository, never()).backfillBefore(any());
+    }
+
+    @Test
+    void countsByAction_AllTime_ShouldReadTheRunningTotals() {
+        // Given
+        FeedbackRollupRepository.ActionCount viewed = mock(FeedbackRollupRepository.ActionCount.class);
+        when(viewed.getAction()).thenReturn("VIEWED");
+        when(viewed.getCount()).thenReturn(4_200L);
+        when(rollupRepository.totalsByAction(7L)).thenReturn(List.of(viewed));
+
+        // When
+        Map<String, Long> counts = rollupService.countsByAction(7L);
+
+        // Then
+        assertThat(counts).containsExactly(entry("VIEWED", 4_200L));
+        verify(rollupRepository, never()).sumByActionBetween(any(), any(), any());
+    }
+
+    private FeedbackEvent event(Long jobId, String action, String timestamp) {
+        return FeedbackEvent.builder()
+            .jobId(jobId)
+            .resumeId(1L)
+            .action(action)
+            .weight(MatchFeedback.FeedbackAction.valueOf(action).getWeight())
+            .timestamp(timestamp)
+            .build();
+    }
+}
@@ -1,6 +1,7 @@
 package com.neuramatch.matching.service;
 
 import com.neuramatch.matching.dto.SkillEnrichmentDTO;
+import com.neuramatch.matching.graph.SkillResolution;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -196,7 +197,8 @@ class SkillEnrichmentServiceTest {
         List<String> candidateSkills = List.of("java", "python", "sql");
         List<String> requiredSkills = List.of("java", "python", "sql");
 
-        when(skillGraphService.resolveSkillSynonym(anyString())).thenAnswer(inv -> inv.getArgument(0).toString().toLowerCase());
+        when(skillGraphService.resolveSkills(anyCollection(), eq(0.75)))
+            .thenReturn(new SkillResolution(Map.of(), Map.of(), false));
 
         // When
         double coverage = skillEnrichmentService.calculateSkillCoverage(candidateSkills, requiredSkills, false);
@@ -211,7 +213,8 @@ class SkillEnrichmentServiceTest {
         List<String> candidateSkills = List.of("java", "python");
         List<String> requiredSkills = List.of("java", "python", "sql", "docker");
 
-        when(skillGraphService.resolveSkillSynonym(anyString())).thenAnswer(inv -> inv.getArgument(0).toString().toLowerCase());
+        when(skillGraphService.resolveSkills(anyCollection(), eq(0.75)))
+            .thenReturn(new SkillResolution(Map.of(), Map.of(), false));
 
         // When
         double coverage = skillEnrichmentService.calculateSkillCoverage(candidateSkills, requiredSkills, false);
@@ -226,9 +229,8 @@ class SkillEnrichmentServiceTest {
         List<String> candidateSkills = List.of("mysql");
         List<String> requiredSkills = List.of("postgresql");
 
-        when(skillGraphService.resolveSkillSynonym("mysql")).thenReturn("mysql");
-        when(skillGraphService.resolveSkillSynonym("postgresql")).thenReturn("postgresql");
-        when(skillGraphService.findAlternatives("postgresql", 0.75)).thenReturn(List.of("mysql"));
+        when(skillGraphService.resolveSkills(List.of("mysql", "postgresql"), 0.75))
+            .thenReturn(new SkillResolution(Map.of(), Map.of("postgresql", List.of("mysql")), false));
 
         // When
         double coverage = skillEnrichmentService.calculateSkillCoverage(candidateSkills, requiredSkills, true);
@@ -0,0 +1,76 @@
+package com.neuramatch.matching.snapshot;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for SnapshotFile
+ */
+class SnapshotFileTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void open_ShouldReadBackSectionsAndHeader() throws Exception {
+        // Given
+        Path file = dir.resolve("matching-1.snap");
+        Map<String, byte[]> payloads = new LinkedHashMap<>();
+        payloads.put("first", "hello".getBytes(StandardCharsets.UTF_8));
+        payloads.put("second", new byte[]{1, 2, 3, 4});
+        SnapshotFile.write(file, 1000L, 2000L, payloads);
+
+        // When
+        SnapshotFile snapshot = SnapshotFile.open(file);
+
+        // Then
+        assertThat(snapshot.getWatermarkMillis()).isEqualTo(1000L);
+        assertThat(snapshot.getCreatedAtMillis()).isEqualTo(2000L);
+        assertThat(snapshot.sectionNames()).containsExactly("first", "second");
+        assertThat(bytes(snapshot.section("first"))).isEqualTo("hello".getBytes(StandardCharsets.UTF_8));
+        assertThat(snapshot.section("second").getInt()).isEqualTo(0x01020304);
+        assertThat(snapshot.section("missing")).isNull();
+    }
+
+    @Test
+    void section_WhenPayloadCorrupted_ShouldFailChecksum() throws Exception {
+        // Given
+        Path file = dir.resolve("matching-2.snap");
+        SnapshotFile.write(file, 0L, 0L, Map.of("data", new byte[]{10, 20, 30}));
+        byte[] raw = Files.readAllBytes(file);
+        raw[raw.length - 1] ^= 0x7F;
+        Files.write(file, raw);
+
+        // When / Then
+        SnapshotFile snapshot = SnapshotFile.open(file);
+        assertThatThrownBy(() -> snapshot.section("data"))
+            .isInstanceOf(IOException.class)
+            .hasMessageContaining("Checksum mismatch");
+    }
+
+    @Test
+    void open_WhenNotASnapshot_ShouldThrow() throws Exception {
+        // Given
+        Path file = dir.resolve("matching-3.snap");
+        Files.write(file, new byte[64]);
+
+        // When / Then
+        assertThatThrownBy(() -> SnapshotFile.open(file)).isInstanceOf(IOException.class);
+    }
+
+    private static byte[] bytes(ByteBuffer buffer) {
+        byte[] out = new byte[buffer.remaining()];
+        buffer.get(out);
+        return out;
+    }
+}
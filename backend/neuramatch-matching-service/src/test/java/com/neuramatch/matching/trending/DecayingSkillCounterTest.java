@@ -0,0 +1,100 @@
+package com.neuramatch.matching.trending;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.nio.ByteBuffer;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for DecayingSkillCounter
+ */
+class DecayingSkillCounterTest {
+
+    private static final long DAY = 86_400_000L;
+    private static final long T0 = 1_700_000_000_000L;
+
+    @Test
+    void estimate_ShouldHalveAfterEachHalfLife() {
+        DecayingSkillCounter counter = new DecayingSkillCounter(new double[]{30, 7}, 4, 1024, 16, T0);
+        for (int i = 0; i < 100; i++) {
+            counter.add(42, T0);
+        }
+
+        // Half-lives are sorted: index 0 is 7 days
+        assertThat(counter.estimate(0, 42, T0)).isCloseTo(100.0, within(1e-6));
+        assertThat(counter.estimate(0, 42, T0 + 7 * DAY)).isCloseTo(50.0, within(1e-6));
+        assertThat(counter.estimate(1, 42, T0 + 30 * DAY)).isCloseTo(50.0, within(1e-6));
+        assertThat(counter.estimate(0, 7, T0)).isZero();
+    }
+
+    @Test
+    void ratePerDay_ShouldShowGrowthOnlyForAcceleratingSkills() {
+        // Given: skill 1 posted twice a day throughout, skill 2 only in the last week
+        DecayingSkillCounter counter = new DecayingSkillCounter(new double[]{7, 90}, 4, 1024, 16, T0);
+        for (int day = 0; day < 365; day++) {
+            counter.add(1, T0 + day * DAY);
+            counter.add(1, T0 + day * DAY + DAY / 2);
+            if (day >= 358) {
+                for (int i = 0; i < 5; i++) {
+                    counter.add(2, T0 + day * DAY);
+                }
+            }
+        }
+        long now = T0 + 365 * DAY;
+
+        // Then: steady skill at ~2/day on both, new skill far above its baseline
+        assertThat(counter.ratePerDay(0, 1, now)).isCloseTo(2.0, within(0.2));
+        assertThat(counter.ratePerDay(1, 1, now)).isCloseTo(2.0, within(0.2));
+        assertThat(counter.ratePerDay(0, 2, now)).isGreaterThan(5 * counter.ratePerDay(1, 2, now));
+    }
+
+    @Test
+    void heavyHitters_ShouldKeepTheTopKByRecentCount() {
+        // Given: room for 3, ten skills with increasing counts
+        DecayingSkillCounter counter = new DecayingSkillCounter(new double[]{7}, 4, 4096, 3, T0);
+        for (int skill = 0; skill < 10; skill++) {
+            for (int i = 0; i <= skill * 10; i++) {
+                counter.add(skill, T0);
+            }
+        }
+
+        assertThat(counter.heavyHitters()).containsExactlyInAnyOrder(7, 8, 9);
+    }
+
+    @Test
+    void add_FarInTheFuture_ShouldMoveTheLandmarkWithoutOverflow() {
+        DecayingSkillCounter counter = new DecayingSkillCounter(new double[]{1}, 4, 1024, 16, T0);
+        counter.add(3, T0);
+        long later = T0 + 5_000 * DAY;
+        counter.add(3, later);
+
+        assertThat(counter.estimate(0, 3, later)).isCloseTo(1.0, within(1e-6));
+        assertThat(counter.heavyHitters()).containsExactly(3);
+    }
+
+    @Test
+    void writeTo_ShouldRoundTripAndRejectChangedDimensions() throws Exception {
+        // Given
+        DecayingSkillCounter counter = new DecayingSkillCounter(new double[]{7, 30}, 4, 1024, 16, T0);
+        counter.add(5, T0);
+        counter.add(5, T0 + DAY);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            counter.writeTo(out);
+        }
+
+        // When
+        DecayingSkillCounter restored = new DecayingSkillCounter(new double[]{7, 30}, 4, 1024, 16, T0 + DAY);
+        restored.readFrom(ByteBuffer.wrap(bytes.toByteArray()));
+
+        // Then
+        assertThat(restored.estimate(1, 5, T0 + DAY)).isEqualTo(counter.estimate(1, 5, T0 + DAY));
+        assertThat(restored.heavyHitters()).containsExactly(5);
+        assertThatThrownBy(() -> new DecayingSkillCounter(new double[]{7}, 4, 1024, 16, T0)
+            .readFrom(ByteBuffer.wrap(bytes.toByteArray())))
+            .isInstanceOf(IllegalStateException.class);
+    }
+}
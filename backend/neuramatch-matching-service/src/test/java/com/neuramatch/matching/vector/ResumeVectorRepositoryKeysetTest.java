@@ -0,0 +1,192 @@
+package com.neuramatch.matching.vector;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.utility.DockerImageName;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.lang.reflect.Proxy;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Runs ResumeVectorRepository's keyset queries against a real pgvector database with the
+ * HNSW index forced, so pages past a served snapshot come from the index scan.
+ * Skipped when Docker is not available.
+ */
+class ResumeVectorRepositoryKeysetTest {
+
+    private static final int RESUMES = 600;
+    private static final int DIMENSIONS = 8;
+    private static final int SNAPSHOT_SIZE = 100; // deeper than the default ef_search of 40
+    private static final int PAGE_SIZE = 20;
+
+    private static PostgreSQLContainer<?> postgres;
+    private static NamedParameterJdbcTemplate jdbc;
+    private static TransactionTemplate transactions;
+    private static ResumeVectorRepository repository;
+
+    @BeforeAll
+    static void startPostgres() {
+        assumeTrue(DockerClientFactory.instance().isDockerAvailable(), "Docker is required for pgvector tests");
+
+        postgres = new PostgreSQLContainer<>(
+            DockerImageName.parse("pgvector/pgvector:pg15").asCompatibleSubstituteFor("postgres"));
+        postgres.start();
+
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+            postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword());
+        jdbc = new NamedParameterJdbcTemplate(dataSource);
+        transactions = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        repository = nativeQueries(ResumeVectorRepository.class);
+
+        jdbc.getJdbcTemplate().execute("CREATE EXTENSION IF NOT EXISTS vector");
+        jdbc.getJdbcTemplate().execute("""
+            CREATE TABLE resume_vectors (
+                resume_id bigint PRIMARY KEY,
+                embedding vector(8) NOT NULL,
+                years_of_experience integer,
+                location text,
+                remote_preference text,
+                quality_score integer,
+                is_active boolean
+            )
+            """);
+
+        Random random = new Random(42);
+        for (long id = 1; id <= RESUMES; id++) {
+            jdbc.update("""
+                INSERT INTO resume_vectors (resume_id, embedding, years_of_experience, is_active)
+                VALUES (:id, CAST(:embedding AS vector), 5, :active)
+                """, new MapSqlParameterSource()
+                .addValue("id", id)
+                .addValue("embedding", randomVector(random))
+                .addValue("active", id % 5 != 0));
+        }
+        jdbc.getJdbcTemplate().execute(
+            "CREATE INDEX idx_resume_vector_embedding ON resume_vectors USING hnsw (embedding vector_cosine_ops)");
+    }
+
+    @AfterAll
+    static void stopPostgres() {
+        if (postgres != null) {
+            postgres.stop();
+        }
+    }
+
+    @Test
+    void findNeighborsAfter_PastASnapshotDeeperThanDefaultEfSearch_ShouldReturnFullPages() {
+        // Given: the first SNAPSHOT_SIZE active resumes were served from the snapshot
+        String query = randomVector(new Random(7));
+        List<Long> snapshot = jdbc.queryForList("""
+            SELECT resume_id FROM resume_vectors
+            WHERE is_active = true
+            ORDER BY embedding <=> CAST(:query AS vector), resume_id
+            LIMIT :limit
+            """, new MapSqlParameterSource("query", query).addValue("limit", SNAPSHOT_SIZE), Long.class);
+        String exclude = snapshot.stream().map(String::valueOf).collect(Collectors.joining(",", "{", "}"));
+
+        // When: the first keyset page starts below any distance, the second after the first
+        List<ResumeVectorRepository.Neighbor> first = pageAfter(query, exclude, -1.0, Long.MIN_VALUE, SNAPSHOT_SIZE);
+        ResumeVectorRepository.Neighbor last = first.get(first.size() - 1);
+        List<ResumeVectorRepository.Neighbor> second = pageAfter(query, exclude, last.getDistance(), last.getId(),
+            SNAPSHOT_SIZE + PAGE_SIZE);
+
+        // Then
+        assertThat(first).hasSize(PAGE_SIZE);
+        assertThat(second).hasSize(PAGE_SIZE);
+        assertThat(first).extracting(ResumeVectorRepository.Neighbor::getId)
+            .doesNotContainAnyElementsOf(snapshot)
+            .allMatch(id -> id % 5 != 0);
+        assertThat(second).extracting(ResumeVectorRepository.Neighbor::getId)
+            .doesNotContainAnyElementsOf(snapshot)
+            .doesNotContainAnyElementsOf(first.stream().map(ResumeVectorRepository.Neighbor::getId).toList());
+        assertThat(first).extracting(ResumeVectorRepository.Neighbor::getDistance).isSorted();
+        assertThat(second).extracting(ResumeVectorRepository.Neighbor::getDistance)
+            .isSorted()
+            .allMatch(distance -> distance >= last.getDistance());
+    }
+
+    private List<ResumeVectorRepository.Neighbor> pageAfter(String query, String exclude,
+                                                            double afterDistance, long afterId, int served) {
+        return transactions.execute(status -> {
+            // The table is small enough that the planner would otherwise prefer an exact seq scan
+            jdbc.getJdbcTemplate().execute("SET LOCAL enable_seqscan = off");
+            return repository.findNeighborsAfter(query, null, null, null, null, null,
+                exclude, afterDistance, afterId, served + PAGE_SIZE, PAGE_SIZE);
+        });
+    }
+
+    /**
+     * The repository's default methods as written, with its native queries run over JDBC
+     */
+    @SuppressWarnings("unchecked")
+    private static <R> R nativeQueries(Class<R> repositoryType) {
+        return (R) Proxy.newProxyInstance(repositoryType.getClassLoader(), new Class<?>[] {repositoryType},
+            (proxy, method, args) -> {
+                if (method.isDefault()) {
+                    return InvocationHandler.invokeDefault(proxy, method, args);
+                }
+                String sql = method.getAnnotation(Query.class).value();
+                MapSqlParameterSource params = parameters(method, args);
+                if (method.getReturnType() == String.class) {
+                    return jdbc.queryForObject(sql, params, String.class);
+                }
+                return jdbc.query(sql, params, (rs, row) -> neighbor(rs.getLong("id"), rs.getDouble("distance")));
+            });
+    }
+
+    private static MapSqlParameterSource parameters(Method method, Object[] args) {
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        Parameter[] parameters = method.getParameters();
+        for (int i = 0; i < parameters.length; i++) {
+            Class<?> type = parameters[i].getType();
+            int sqlType = type == Integer.class || type == int.class ? Types.INTEGER
+                : type == Long.class || type == long.class ? Types.BIGINT
+                : type == Double.class || type == double.class ? Types.DOUBLE
+                : Types.VARCHAR;
+            params.addValue(parameters[i].getAnnotation(Param.class).value(), args[i], sqlType);
+        }
+        return params;
+    }
+
+    private static ResumeVectorRepository.Neighbor neighbor(long id, double distance) {
+        return new ResumeVectorRepository.Neighbor() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public Double getDistance() {
+                return distance;
+            }
+        };
+    }
+
+    private static String randomVector(Random random) {
+        List<String> values = new ArrayList<>(DIMENSIONS);
+        for (int i = 0; i < DIMENSIONS; i++) {
+            values.add(String.valueOf(random.nextFloat() * 2 - 1));
+        }
+        return values.stream().collect(Collectors.joining(",", "[", "]"));
+    }
+}
@@ -0,0 +1,119 @@
+package com.neuramatch.matching.warmup;
+
+import com.neuramatch.matching.embedding.GeminiEmbeddingService;
+import com.neuramatch.matching.entity.SkillNode;
+import com.neuramatch.matching.repository.SkillGraphRepository;
+import com.neuramatch.matching.search.SemanticSearchService;
+import com.neuramatch.matching.vector.JobVectorRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for WarmupService
+ */
+@ExtendWith(MockitoExtension.class)
+class WarmupServiceTest {
+
+    @Mock
+    private SkillGraphRepository skillGraphRepository;
+
+    @Mock
+    private JobVectorRepository jobVectorRepository;
+
+    @Mock
+    private SemanticSearchService searchService;
+
+    @Mock
+    private GeminiEmbeddingService geminiEmbeddingService;
+
+    @Mock
+    private SearchQueryRecorder searchQueryRecorder;
+
+    @InjectMocks
+    private WarmupService warmupService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(warmupService, "enabled", true);
+        ReflectionTestUtils.setField(warmupService, "timeBudgetMs", 60_000L);
+        ReflectionTestUtils.setField(warmupService, "hotSkills", 10);
+        ReflectionTestUtils.setField(warmupService, "hotJobs", 10);
+        ReflectionTestUtils.setField(warmupService, "replayQueries", 10);
+        ReflectionTestUtils.setField(warmupService, "replayMaxRequests", 4);
+    }
+
+    @Test
+    void warmUp_ShouldReplayOnlySearchesWithCachedEmbeddings() {
+        // Given
+        SkillNode java = new SkillNode();
+        java.setName("Java");
+        when(skillGraphRepository.findPopularSkills(anyDouble())).thenReturn(List.of(java));
+        when(jobVectorRepository.findRecentlyUpdatedActiveJobIds(10)).thenReturn(List.of(1L, 2L));
+        when(searchQueryRecorder.recent(10)).thenReturn(List.of(
+            search("jobs", "java backend"),
+            search("resumes", "never embedded")));
+        when(geminiEmbeddingService.isCached("java backend")).thenReturn(true);
+        when(geminiEmbeddingService.isCached("never embedded")).thenReturn(false);
+
+        // When
+        warmupService.warmUp();
+
+        // Then
+        assertThat(warmupService.isReady()).isTrue();
+        assertThat(warmupService.getStatus().getSteps())
+            .extracting(WarmupService.WarmupStep::getName, WarmupService.WarmupStep::getItems)
+            .containsExactly(
+                tuple("skill-graph", 1),
+                tuple("job-vectors", 2),
+                tuple("query-embeddings", 1),
+                tuple("search-replay", 4));
+        verify(searchService, times(4)).searchJobs(eq("java backend"), any(), eq(20));
+        verify(searchService, never()).searchResumes(any(), any(), anyInt());
+    }
+
+    @Test
+    void warmUp_WhenBudgetIsZero_ShouldSkipStepsButBecomeReady() {
+        // Given
+        ReflectionTestUtils.setField(warmupService, "timeBudgetMs", 0L);
+
+        // When
+        warmupService.warmUp();
+
+        // Then
+        assertThat(warmupService.isReady()).isTrue();
+        assertThat(warmupService.getStatus().getSteps())
+            .extracting(WarmupService.WarmupStep::getStatus)
+            .containsOnly("skipped");
+        verifyNoInteractions(skillGraphRepository, jobVectorRepository, searchService);
+    }
+
+    @Test
+    void warmUp_WhenStepFails_ShouldContinueWithNextStep() {
+        // Given
+        when(skillGraphRepository.findPopularSkills(anyDouble())).thenThrow(new RuntimeException("neo4j down"));
+        when(jobVectorRepository.findRecentlyUpdatedActiveJobIds(10)).thenReturn(List.of(1L));
+
+        // When
+        warmupService.warmUp();
+
+        // Then
+        assertThat(warmupService.getStatus().getSteps().get(0).getStatus()).isEqualTo("failed");
+        assertThat(warmupService.getStatus().getSteps().get(1).getStatus()).isEqualTo("done");
+        verify(searchService).findSimilarJobs(1L, 10);
+    }
+
+    private static SearchQueryRecorder.RecordedSearch search(String type, String query) {
+        return SearchQueryRecorder.RecordedSearch.builder().type(type).query(query).limit(20).build();
+    }
+}
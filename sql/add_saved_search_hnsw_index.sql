@@ -0,0 +1,8 @@
+-- HNSW index for percolating new jobs against saved searches
+-- Run after the matching service has created the saved_searches table
+
+CREATE INDEX IF NOT EXISTS idx_saved_search_embedding ON saved_searches
+USING hnsw (embedding vector_cosine_ops)
+WITH (m = 16, ef_construction = 64);
+
+SELECT 'HNSW index on saved_searches.embedding created.' AS status;